@@ -36,6 +36,10 @@ import io.github.xiaomisum.ryze.report.ReporterListener;
 import io.github.xiaomisum.ryze.template.TemplateEngine;
 import io.github.xiaomisum.ryze.template.freemarker.FreeMarkerTemplateEngine;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -46,6 +50,7 @@ import java.util.Objects;
  * </p>
  * <p>
  * Configure类支持通过系统属性配置是否启用Allure报告功能，默认情况下启用该功能。
+ * 测试结果保留策略同样支持通过系统属性配置，默认保留全部结果。
  * </p>
  *
  */
@@ -57,6 +62,23 @@ public class Configure {
      */
     private static final String RYZE_ENABLE_ALLURE_REPORT = "ryze.report.allure";
 
+    /**
+     * 系统属性键名，用于配置测试结果保留策略
+     */
+    private static final String RYZE_RESULT_RETENTION = "ryze.result.retention";
+
+    /**
+     * 系统属性键名，用于配置 sampled 保留策略的采样间隔
+     */
+    private static final String RYZE_RESULT_SAMPLE_INTERVAL = "ryze.result.sample.interval";
+
+    /**
+     * 系统属性键名，用于配置压测容器（线程组、到达率组）的测试结果保留策略
+     */
+    private static final String RYZE_LOAD_RESULT_RETENTION = "ryze.load.result.retention";
+
+    private static final Logger log = LoggerFactory.getLogger(Configure.class);
+
     /**
      * 是否启用Allure报告功能的配置项
      */
@@ -80,6 +102,26 @@ public class Configure {
      */
     private GlobalContext globalContext;
 
+    /**
+     * 测试结果保留策略
+     * <p>默认保留全部结果，可通过系统属性 -Dryze.result.retention 配置，取值无效时使用默认值</p>
+     */
+    private ResultRetention resultRetention = resultRetention(System.getProperty(RYZE_RESULT_RETENTION));
+
+    /**
+     * sampled 保留策略的采样间隔，每 resultSampleInterval 个通过的子结果保留 1 个
+     * <p>默认值为 100，可通过系统属性 -Dryze.result.sample.interval 配置</p>
+     */
+    private int resultSampleInterval = Integer.getInteger(RYZE_RESULT_SAMPLE_INTERVAL, 100);
+
+    /**
+     * 压测容器（线程组、到达率组）的测试结果保留策略
+     * <p>压测容器的结果数随虚拟用户数与持续时长增长，默认只保留统计数据，
+     * 可通过系统属性 -Dryze.load.result.retention 配置，取值无效时使用默认值</p>
+     */
+    private ResultRetention loadResultRetention = resultRetention(RYZE_LOAD_RESULT_RETENTION,
+            System.getProperty(RYZE_LOAD_RESULT_RETENTION), ResultRetention.aggregates);
+
     /**
      * 默认构造函数
      * <p>
@@ -100,6 +142,37 @@ public class Configure {
         this.enableAllureReport = enableAllureReport;
     }
 
+    /**
+     * 解析测试结果保留策略，未配置或取值无效时返回默认的 {@link ResultRetention#all}
+     *
+     * @param value 保留策略名称
+     * @return 测试结果保留策略
+     */
+    static ResultRetention resultRetention(String value) {
+        return resultRetention(RYZE_RESULT_RETENTION, value, ResultRetention.all);
+    }
+
+    /**
+     * 解析测试结果保留策略，未配置或取值无效时返回默认值
+     *
+     * @param property     系统属性键名，用于输出警告日志
+     * @param value        保留策略名称
+     * @param defaultValue 默认的保留策略
+     * @return 测试结果保留策略
+     */
+    static ResultRetention resultRetention(String property, String value, ResultRetention defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return ResultRetention.valueOf(value.trim());
+        } catch (IllegalArgumentException e) {
+            log.warn("测试结果保留策略 {}={} 无效，可选值为 {}，使用默认值 {}", property, value,
+                    Arrays.toString(ResultRetention.values()), defaultValue);
+            return defaultValue;
+        }
+    }
+
     /**
      * 创建默认配置对象
      * <p>
@@ -184,4 +257,58 @@ public class Configure {
     public void setGlobalContext(GlobalContext globalContext) {
         this.globalContext = globalContext;
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取测试结果保留策略
+     *
+     * @return 测试结果保留策略
+     */
+    public ResultRetention getResultRetention() {
+        return resultRetention;
+    }
+
+    /**
+     * 设置测试结果保留策略
+     *
+     * @param resultRetention 测试结果保留策略
+     */
+    public void setResultRetention(ResultRetention resultRetention) {
+        this.resultRetention = resultRetention;
+    }
+
+    /**
+     * 获取 sampled 保留策略的采样间隔
+     *
+     * @return 采样间隔
+     */
+    public int getResultSampleInterval() {
+        return resultSampleInterval;
+    }
+
+    /**
+     * 设置 sampled 保留策略的采样间隔
+     *
+     * @param resultSampleInterval 采样间隔，每 resultSampleInterval 个通过的子结果保留 1 个
+     */
+    public void setResultSampleInterval(int resultSampleInterval) {
+        this.resultSampleInterval = resultSampleInterval;
+    }
+
+    /**
+     * 获取压测容器（线程组、到达率组）的测试结果保留策略
+     *
+     * @return 测试结果保留策略
+     */
+    public ResultRetention getLoadResultRetention() {
+        return loadResultRetention;
+    }
+
+    /**
+     * 设置压测容器（线程组、到达率组）的测试结果保留策略
+     *
+     * @param loadResultRetention 测试结果保留策略
+     */
+    public void setLoadResultRetention(ResultRetention loadResultRetention) {
+        this.loadResultRetention = loadResultRetention;
+    }
+}
@@ -25,9 +25,11 @@
 
 package io.github.xiaomisum.ryze;
 
+import io.github.xiaomisum.ryze.support.NanoClock;
+
 import java.io.Serializable;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 
 /**
  * 测试结果抽象基类
@@ -65,12 +67,22 @@ public abstract class Result implements Serializable {
      */
     private LocalDateTime startTime;
 
+    /**
+     * 测试开始的单调时间（{@link System#nanoTime()}），0 表示未记录
+     */
+    private long startNanos;
+
     /**
      * 测试结束时间
      * <p>记录测试元素执行完成的时间戳</p>
      */
     private LocalDateTime endTime;
 
+    /**
+     * 测试结束的单调时间（{@link System#nanoTime()}），0 表示未记录
+     */
+    private long endNanos;
+
     /**
      * 测试过程中抛出的异常
      * <p>如果测试执行过程中发生异常，将异常对象保存在此字段中</p>
@@ -108,21 +120,21 @@ public abstract class Result implements Serializable {
 
     /**
      * 标记测试开始
-     * <p>设置测试开始时间，如果已设置则不重复设置</p>
+     * <p>记录测试开始的单调时间，如果已设置则不重复设置，墙钟时间在读取时才换算</p>
      */
     public void testStart() {
-        if (startTime == null) {
-            setStartTime(LocalDateTime.now(ZoneId.systemDefault()));
+        if (startTime == null && startNanos == 0) {
+            startNanos = NanoClock.now();
         }
     }
 
     /**
      * 标记测试结束
-     * <p>设置测试结束时间，如果已设置则不重复设置</p>
+     * <p>记录测试结束的单调时间，如果已设置则不重复设置，墙钟时间在读取时才换算</p>
      */
     public void testEnd() {
-        if (endTime == null) {
-            setEndTime(LocalDateTime.now(ZoneId.systemDefault()));
+        if (endTime == null && endNanos == 0) {
+            endNanos = NanoClock.now();
         }
     }
 
@@ -168,6 +180,9 @@ public abstract class Result implements Serializable {
      * @return 测试开始时间
      */
     public LocalDateTime getStartTime() {
+        if (startTime == null && startNanos != 0) {
+            startTime = NanoClock.toLocalDateTime(startNanos);
+        }
         return startTime;
     }
 
@@ -186,6 +201,9 @@ public abstract class Result implements Serializable {
      * @return 测试结束时间
      */
     public LocalDateTime getEndTime() {
+        if (endTime == null && endNanos != 0) {
+            endTime = NanoClock.toLocalDateTime(endNanos);
+        }
         return endTime;
     }
 
@@ -198,6 +216,38 @@ public abstract class Result implements Serializable {
         this.endTime = endTime;
     }
 
+    /**
+     * 获取测试开始的单调时间
+     *
+     * @return {@link System#nanoTime()} 取得的开始时间，未记录时返回 0
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * 获取测试结束的单调时间
+     *
+     * @return {@link System#nanoTime()} 取得的结束时间，未记录时返回 0
+     */
+    public long getEndNanos() {
+        return endNanos;
+    }
+
+    /**
+     * 获取测试执行耗时
+     *
+     * @return 耗时(纳秒)，开始或结束时间未记录时返回 0
+     */
+    public long getElapsedNanos() {
+        if (startNanos != 0 && endNanos != 0) {
+            return endNanos - startNanos;
+        }
+        var start = getStartTime();
+        var end = getEndTime();
+        return start == null || end == null ? 0 : Duration.between(start, end).toNanos();
+    }
+
     /**
      * 获取测试过程中抛出的异常
      *
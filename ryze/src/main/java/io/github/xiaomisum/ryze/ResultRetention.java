@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze;
+
+/**
+ * 测试结果保留策略枚举
+ * <p>
+ * 控制测试套件结果保留哪些子结果，以及通过的取样结果是否保留请求/响应数据。
+ * 长时间运行的压测场景下，使用 all 以外的策略可使内存占用不随迭代次数增长。
+ * 无论采用哪种策略，测试套件结果都会统计子结果的总数与失败数。
+ * </p>
+ *
+ * @author xiaomi
+ */
+public enum ResultRetention {
+
+    /**
+     * 保留全部子结果及其请求/响应数据
+     */
+    all,
+
+    /**
+     * 只保留失败的子结果，加入测试套件结果的通过的取样结果释放请求/响应数据，直接执行的取样器结果不受影响
+     */
+    failures,
+
+    /**
+     * 保留失败的子结果，以及按采样间隔抽取的通过的子结果
+     */
+    sampled,
+
+    /**
+     * 不保留子结果，只保留统计数据，加入测试套件结果的通过的取样结果释放请求/响应数据，直接执行的取样器结果不受影响
+     */
+    aggregates;
+
+    /**
+     * 判断是否保留指定的子结果
+     *
+     * @param child    子结果
+     * @param sequence 通过的子结果序号，从 0 开始
+     * @param interval 采样间隔，每 interval 个通过的子结果保留 1 个
+     * @return 保留返回 true，否则返回 false
+     */
+    public boolean retains(Result child, long sequence, int interval) {
+        var passed = child.getStatus().isPassed() && child.getThrowable() == null;
+        return switch (this) {
+            case all -> true;
+            case failures -> !passed;
+            case sampled -> !passed || interval <= 1 || sequence % interval == 0;
+            case aggregates -> false;
+        };
+    }
+
+    /**
+     * 判断通过的取样结果是否需要在执行完成后保留请求/响应数据
+     *
+     * @return 需要保留返回 true，否则返回 false
+     */
+    public boolean retainsPassedBodies() {
+        return this == all || this == sampled;
+    }
+}
@@ -121,6 +121,36 @@ public class Ryze {
         return new Ryze(testcase).runTest();
     }
 
+    /**
+     * 通过文件路径加载并编译测试用例
+     * <p>
+     * 编译后的测试用例为只读执行计划，可通过 {@link SessionRunner#runTest(TestElement)} 重复执行，
+     * 每次执行无需重新解析用例，也无需深拷贝整棵测试组件树。
+     * </p>
+     *
+     * @param filePath 测试用例文件路径
+     * @return 编译后的测试元件
+     */
+    public static TestElement<?> compile(String filePath) {
+        JSONObject testcase = TestDataLoaderChain.loadTestData(filePath, JSONObject.class);
+        return compile(testcase);
+    }
+
+    /**
+     * 通过Map数据加载并编译测试用例
+     *
+     * @param testcase Map格式的测试用例数据
+     * @return 编译后的测试元件
+     * @see #compile(String)
+     */
+    public static TestElement<?> compile(Map<String, Object> testcase) {
+        var element = JSON.parseObject(JSON.toJSONString(testcase), TestElement.class);
+        if (element instanceof AbstractTestElement<?, ?, ?> ele) {
+            ele.compile();
+        }
+        return element;
+    }
+
     /**
      * 执行测试的核心方法
      * <p>
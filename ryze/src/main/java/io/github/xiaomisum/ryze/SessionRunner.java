@@ -25,15 +25,17 @@
 
 package io.github.xiaomisum.ryze;
 
+import io.github.xiaomisum.ryze.config.ConfigureGroup;
 import io.github.xiaomisum.ryze.config.RyzeVariables;
 import io.github.xiaomisum.ryze.context.Context;
+import io.github.xiaomisum.ryze.context.ContextChain;
 import io.github.xiaomisum.ryze.context.ContextWrapper;
 import io.github.xiaomisum.ryze.context.SessionContext;
+import io.github.xiaomisum.ryze.testelement.AbstractTestElement;
 import io.github.xiaomisum.ryze.testelement.TestElement;
 import io.github.xiaomisum.ryze.testelement.TestElementConfigureGroup;
 import io.github.xiaomisum.ryze.testelement.TestElementConstantsInterface;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -58,7 +60,7 @@ public class SessionRunner {
     /**
      * 会话上下文，存储当前会话的上下文信息
      */
-    private final SessionContext sessionContext = new SessionContext();
+    private final SessionContext sessionContext;
 
     /**
      * 配置对象，包含测试执行的各种配置信息
@@ -71,7 +73,7 @@ public class SessionRunner {
      * 维护测试执行过程中的上下文层次结构
      * </p>
      */
-    private List<Context> contextChain = new ArrayList<>();
+    private ContextChain contextChain;
 
     /**
      * 当前上下文包装器
@@ -83,6 +85,29 @@ public class SessionRunner {
      */
     private boolean runInTestFrameworkSupport = false;
 
+    /**
+     * 发起当前执行的会话：普通会话为自身，分支会话与虚拟用户会话为派生它们的会话的发起会话
+     */
+    private SessionRunner origin = this;
+
+    /**
+     * 当前迭代的计划启动时间（{@link System#nanoTime()}），0 表示未按计划调度
+     * <p>
+     * 由到达率调度器等按计划启动迭代的压测容器设置，用于校正协调遗漏
+     * </p>
+     */
+    private long scheduledStartTime;
+
+    /**
+     * 当前迭代实际启动时间相对计划启动时间的滞后（纳秒）
+     */
+    private long scheduleLag;
+
+    /**
+     * 当前迭代序号，压测容器每启动一次迭代递增，非压测场景下为0
+     */
+    private long iteration;
+
     /**
      * 构造函数
      *
@@ -90,9 +115,26 @@ public class SessionRunner {
      */
     SessionRunner(Configure configure) {
         this.configure = configure;
+        this.sessionContext = new SessionContext();
         initContextChain();
     }
 
+    /**
+     * 分支会话构造函数，与父会话共享配置，使用独立的会话上下文与上下文链
+     *
+     * @param parent       父会话
+     * @param contextChain 分支上下文链
+     */
+    private SessionRunner(SessionRunner parent, List<Context> contextChain) {
+        this.configure = parent.configure;
+        this.sessionContext = new SessionContext();
+        this.sessionContext.setConfigGroup(parent.isolateSessionConfig());
+        this.runInTestFrameworkSupport = parent.runInTestFrameworkSupport;
+        this.contextChain = parent.replaceSessionContext(contextChain, sessionContext);
+        this.context = parent.context;
+        this.origin = parent.origin;
+    }
+
     /**
      * 获取当前线程的SessionRunner实例，如果不存在则创建新的实例
      *
@@ -170,8 +212,7 @@ public class SessionRunner {
      */
     private void initContextChain() {
         // 会话上下文（运行用例）
-        contextChain.add(configure.getGlobalContext());
-        contextChain.add(sessionContext);
+        contextChain = ContextChain.of(configure.getGlobalContext()).append(sessionContext);
 
         // 会话上下文默认值：添加一个空的变量配置
         // SessionRunner 可能直接运行某个 Sampler，而不是 Testsuite，比如 Groovy/Java 用例
@@ -213,11 +254,11 @@ public class SessionRunner {
      *
      * @param element  测试元件
      * @param <T>      测试元件对应的执行结果类
-     * @param validate 是否校验测试元件数据
+     * @param validate 是否校验测试元件数据，已编译的测试元件在编译时已完成校验
      * @return 测试元件的执行结果
      */
     public <T extends Result> T runTest(TestElement<T> element, boolean validate) {
-        if (validate) {
+        if (validate && !(element instanceof AbstractTestElement<?, ?, ?> ele && ele.isCompiled())) {
             element.validate().valid();
         }
         try {
@@ -229,6 +270,70 @@ public class SessionRunner {
         }
     }
 
+    /**
+     * 派生分支会话
+     * <p>
+     * 分支会话与当前会话共享配置，但拥有独立的上下文链、当前上下文包装器与会话上下文
+     * （初始配置为当前会话配置的浅拷贝，变量为当前会话变量的快照），
+     * 用于在其他线程中并行执行子元件，各分支写入的会话变量互不干扰，由调用方决定是否回写。
+     * </p>
+     *
+     * @param contextChain 分支上下文链
+     * @return 分支会话
+     */
+    public SessionRunner branch(List<Context> contextChain) {
+        return new SessionRunner(this, contextChain);
+    }
+
+    /**
+     * 派生虚拟用户会话
+     * <p>
+     * 虚拟用户会话与当前会话共享配置，但拥有独立的会话上下文（初始配置为当前会话配置的浅拷贝），
+     * 上下文链中的会话层级会被替换为虚拟用户自己的会话上下文，其余层级保持共享。
+     * 用于压测场景下多个虚拟用户并发执行同一份用例。
+     * </p>
+     *
+     * @param contextChain 虚拟用户的上下文链，通常为当前会话上下文链的隔离副本
+     * @return 虚拟用户会话
+     */
+    public SessionRunner virtualUser(List<Context> contextChain) {
+        var user = new SessionRunner(configure);
+        user.runInTestFrameworkSupport = runInTestFrameworkSupport;
+        user.origin = origin;
+        user.sessionContext.setConfigGroup(isolateSessionConfig());
+        user.contextChain = replaceSessionContext(contextChain, user.sessionContext);
+        user.context = new ContextWrapper(user);
+        return user;
+    }
+
+    /**
+     * 复制会话配置，变量配置替换为独立的快照
+     *
+     * @return 会话配置副本
+     */
+    private ConfigureGroup isolateSessionConfig() {
+        var group = sessionContext.getConfigGroup().copy();
+        var variables = group.getVariables();
+        group.put(TestElementConstantsInterface.VARIABLES, variables == null ? new RyzeVariables() : variables.copy());
+        return group;
+    }
+
+    /**
+     * 将上下文链中当前会话的会话上下文替换为指定的会话上下文，其余层级保持共享
+     *
+     * @param contextChain 上下文链
+     * @param replacement  替换后的会话上下文
+     * @return 替换后的上下文链
+     */
+    private ContextChain replaceSessionContext(List<Context> contextChain, SessionContext replacement) {
+        ContextChain chain = null;
+        for (Context context : contextChain) {
+            var level = context == sessionContext ? replacement : context;
+            chain = chain == null ? ContextChain.of(level) : chain.append(level);
+        }
+        return chain;
+    }
+
     /**
      * 获取上下文链
      *
@@ -244,7 +349,7 @@ public class SessionRunner {
      * @param contextChain 上下文链列表
      */
     public void setContextChain(List<Context> contextChain) {
-        this.contextChain = contextChain;
+        this.contextChain = ContextChain.of(contextChain);
     }
 
     /**
@@ -274,6 +379,76 @@ public class SessionRunner {
         return runInTestFrameworkSupport;
     }
 
+    /**
+     * 获取当前迭代的计划启动时间
+     *
+     * @return 计划启动时间（{@link System#nanoTime()}），0 表示未按计划调度
+     */
+    public long getScheduledStartTime() {
+        return scheduledStartTime;
+    }
+
+    /**
+     * 设置当前迭代的计划启动时间
+     * <p>
+     * 应在迭代实际启动时调用，同时记录实际启动时间相对计划启动时间的滞后
+     * </p>
+     *
+     * @param scheduledStartTime 计划启动时间（{@link System#nanoTime()}）
+     */
+    public void setScheduledStartTime(long scheduledStartTime) {
+        this.scheduledStartTime = scheduledStartTime;
+        this.scheduleLag = scheduledStartTime == 0 ? 0 : Math.max(0, System.nanoTime() - scheduledStartTime);
+    }
+
+    /**
+     * 获取当前迭代实际启动时间相对计划启动时间的滞后
+     *
+     * @return 滞后时长（纳秒），未按计划调度时返回 0
+     */
+    public long getScheduleLag() {
+        return scheduleLag;
+    }
+
+    /**
+     * 获取会话上下文
+     *
+     * @return 会话上下文
+     */
+    public SessionContext getSessionContext() {
+        return sessionContext;
+    }
+
+    /**
+     * 获取发起当前执行的会话
+     * <p>
+     * 并行分支与压测虚拟用户运行在各自派生的会话中，通过发起会话可以将它们归属到同一次执行。
+     * </p>
+     *
+     * @return 发起会话，普通会话返回自身
+     */
+    public SessionRunner getOrigin() {
+        return origin;
+    }
+
+    /**
+     * 获取当前迭代序号
+     *
+     * @return 迭代序号，非压测场景下为0
+     */
+    public long getIteration() {
+        return iteration;
+    }
+
+    /**
+     * 开始新的迭代，迭代序号递增
+     *
+     * @return 新的迭代序号
+     */
+    public long nextIteration() {
+        return ++iteration;
+    }
+
     /**
      * 获取配置对象
      *
@@ -25,8 +25,8 @@
 
 package io.github.xiaomisum.ryze.assertion.builtin;
 
-import com.alibaba.fastjson2.JSONPath;
 import io.github.xiaomisum.ryze.assertion.AbstractAssertion;
+import io.github.xiaomisum.ryze.support.JSONPathAware;
 import io.github.xiaomisum.ryze.support.ValidateResult;
 import io.github.xiaomisum.ryze.testelement.KW;
 import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
@@ -53,7 +53,7 @@ import org.apache.commons.lang3.StringUtils;
  * @see AbstractAssertion 抽象断言类
  */
 @KW({"JSONAssertion", "json_assertion", "json"})
-public class JSONAssertion extends AbstractAssertion {
+public class JSONAssertion extends AbstractAssertion implements JSONPathAware {
 
 
     /**
@@ -75,8 +75,7 @@ public class JSONAssertion extends AbstractAssertion {
      */
     @Override
     protected Object extractActualValue(SampleResult result) {
-        var target = result.getResponse().bytesAsString();
-        return JSONPath.extract(target, field);
+        return result.getResponse().jsonPath(field);
     }
 
     /**
@@ -95,6 +94,11 @@ public class JSONAssertion extends AbstractAssertion {
         return result;
     }
 
+    @Override
+    public String jsonPath() {
+        return field;
+    }
+
     /**
      * JSON断言构建器类
      */
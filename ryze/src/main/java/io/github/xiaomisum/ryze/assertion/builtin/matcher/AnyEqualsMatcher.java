@@ -57,6 +57,12 @@ import java.util.Collection;
  */
 @KW({"equals_any", "any_equals", "equal_any", "any_equal", "eq_any", "any_eq"})
 public class AnyEqualsMatcher extends ProxyMatcher {
+
+    /**
+     * 最近一次匹配失败时的第一处差异，用于输出失败描述
+     */
+    private transient Comparator.Difference difference;
+
     public AnyEqualsMatcher() {
 
     }
@@ -97,13 +103,29 @@ public class AnyEqualsMatcher extends ProxyMatcher {
      */
     @Override
     public boolean matches(Object actualValue) {
+        difference = null;
         if (expectedValue instanceof Object[] expectedArray) {
             expectedValue = Collections.newArrayList(expectedArray);
         }
         if (expectedValue instanceof Collection<?> expectedCollection && PrimitiveTypeChecker.isPrimitiveOrWrapper(actualValue)) {
             return expectedCollection.stream().anyMatch(e -> Comparator.areEqual(actualValue, e, !strict));
         }
-        return Comparator.areEqual(actualValue, expectedValue, !strict);
+        difference = Comparator.diff(actualValue, expectedValue, !strict);
+        return difference == null;
+    }
+
+    /**
+     * 描述匹配失败的原因，嵌套结构不相等时附加第一处差异的位置、期望值与实际值
+     *
+     * @param item        实际值
+     * @param description 描述对象
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        super.describeMismatch(item, description);
+        if (difference != null && !"$".equals(difference.path())) {
+            description.appendText(", first difference at ").appendText(difference.toString());
+        }
     }
 
     /**
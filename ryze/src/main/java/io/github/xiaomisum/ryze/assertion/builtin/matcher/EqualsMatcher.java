@@ -57,6 +57,11 @@ import org.hamcrest.Description;
 @KW({"equals", "equal", "qe", "is", "=", "==", "===", "等于", "相等"})
 public class EqualsMatcher extends ProxyMatcher {
 
+    /**
+     * 最近一次匹配失败时的第一处差异，用于输出失败描述
+     */
+    private transient Comparator.Difference difference;
+
     public EqualsMatcher() {
 
     }
@@ -92,7 +97,22 @@ public class EqualsMatcher extends ProxyMatcher {
      */
     @Override
     public boolean matches(Object actualValue) {
-        return Comparator.areEqual(actualValue, expectedValue, !strict);
+        difference = Comparator.diff(actualValue, expectedValue, !strict);
+        return difference == null;
+    }
+
+    /**
+     * 描述匹配失败的原因，嵌套结构不相等时附加第一处差异的位置、期望值与实际值
+     *
+     * @param item        实际值
+     * @param description 描述对象
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        super.describeMismatch(item, description);
+        if (difference != null && !"$".equals(difference.path())) {
+            description.appendText(", first difference at ").appendText(difference.toString());
+        }
     }
 
     /**
@@ -26,6 +26,7 @@
 package io.github.xiaomisum.ryze.assertion.builtin.matcher;
 
 import io.github.xiaomisum.ryze.assertion.ProxyMatcher;
+import io.github.xiaomisum.ryze.support.Regexes;
 import io.github.xiaomisum.ryze.testelement.KW;
 import org.hamcrest.Description;
 
@@ -80,7 +81,7 @@ public class RegexMatcher extends ProxyMatcher {
     /**
      * 执行正则表达式匹配逻辑
      *
-     * <p>使用编译后的Pattern对象对实际值进行匹配。
+     * <p>使用缓存的Pattern对象对实际值进行匹配，匹配耗时超过 {@link Regexes} 的超时时长时抛出异常。
      * 实际值必须是String类型。</p>
      *
      * @param actualValue 实际值，必须是String类型
@@ -92,8 +93,7 @@ public class RegexMatcher extends ProxyMatcher {
         if (expectedValue == null || expectedValue.toString().isBlank()) {
             throw new IllegalArgumentException("Regex pattern cannot be null");
         }
-        Pattern pattern = Pattern.compile(expectedValue.toString(), !strict ? Pattern.CASE_INSENSITIVE : 0);
-        return pattern.matcher((String) actualValue).matches();
+        return Regexes.matcher(expectedValue.toString(), !strict ? Pattern.CASE_INSENSITIVE : 0, (String) actualValue).matches();
     }
 
     /**
@@ -128,6 +128,19 @@ public interface ConfigureGroup extends Validatable, Map<String, ConfigureItem>,
         return result;
     }
 
+    /**
+     * 获取配置组的修改版本号
+     *
+     * <p>通过 {@link Map} 的修改方法增删、替换配置项时版本号递增，上下文链据此判断合并配置缓存是否失效，
+     * 无需逐项比较配置项。通过 keySet、values、entrySet 视图进行的修改不计入版本号。</p>
+     *
+     * @return 修改版本号，不跟踪修改的实现返回 -1，此时上下文链逐项比较配置项
+     * @see io.github.xiaomisum.ryze.context.ContextChain#getMergedConfigGroup()
+     */
+    default long getVersion() {
+        return -1;
+    }
+
     /**
      * 获取变量配置项
      *
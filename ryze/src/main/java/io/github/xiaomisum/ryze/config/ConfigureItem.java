@@ -2,6 +2,7 @@ package io.github.xiaomisum.ryze.config;
 
 import io.github.xiaomisum.ryze.support.*;
 import io.github.xiaomisum.ryze.support.Cloneable;
+import io.github.xiaomisum.ryze.support.copier.Copiers;
 
 /**
  * 配置项接口，表示框架中最基本的配置单元
@@ -55,6 +56,6 @@ public interface ConfigureItem<T extends ConfigureItem<T>> extends Validatable,
      */
     @SuppressWarnings({"unchecked"})
     default T copy() {
-        return (T) KryoUtil.copy(this);
+        return (T) Copiers.copy(this);
     }
 }
\ No newline at end of file
@@ -29,7 +29,8 @@ import com.alibaba.fastjson2.JSONObject;
 import io.github.xiaomisum.ryze.context.ContextWrapper;
 import io.github.xiaomisum.ryze.testelement.AbstractTestElement;
 
-import java.util.Map;
+import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
@@ -42,7 +43,7 @@ import java.util.function.Consumer;
  * <p>变量配置的主要功能：
  * <ul>
  *   <li>变量存储：以键值对形式存储变量</li>
- *   <li>变量合并：支持将多个变量配置合并</li>
+ *   <li>变量合并：支持将多个变量配置合并，合并时以写时复制的分层作用域实现，不复制上级变量</li>
  *   <li>表达式计算：支持在上下文中对变量值进行表达式计算</li>
  *   <li>构建器模式：提供流畅的构建器API</li>
  * </ul></p>
@@ -55,10 +56,27 @@ import java.util.function.Consumer;
  *   <li>支持变量表达式计算</li>
  * </ul></p>
  *
+ * <p>分层作用域：{@link #merge(RyzeVariables)} 不再复制上级变量，而是将上级变量配置链接为父作用域，
+ * 当前实例只保存本层级定义或覆盖的变量。Map 的读取方法（{@code get}、{@code containsKey}、{@code size}）
+ * 与遍历方法（{@code entrySet}、{@code keySet}、{@code values}、{@code forEach}，以及基于它们的序列化）
+ * 沿作用域链进行，结果与合并后复制的变量一致；存在父作用域时遍历得到的是展开后的只读快照。
+ * 写入方法（{@code put}、{@code remove} 等）只作用于本层级；{@link JSONObject} 的类型化读取方法
+ * （{@code getString}、{@code getInteger} 等）同样只读取本层级，需要沿作用域链读取时使用 {@link #lookup(String)}。</p>
+ *
  * @author xiaomi
  */
 public class RyzeVariables extends JSONObject implements ConfigureItem<RyzeVariables> {
 
+    /**
+     * 作用域链的最大深度，超过该深度时合并退化为复制，避免查找路径过长
+     */
+    static final int MAX_SCOPE_DEPTH = 16;
+
+    /**
+     * 父作用域，拷贝（{@link #copy()}、{@link io.github.xiaomisum.ryze.support.copier.Copiers}）时展开，不与副本共享
+     */
+    private transient RyzeVariables parent;
+
     /**
      * 默认构造函数，创建空的变量配置
      */
@@ -109,34 +127,231 @@ public class RyzeVariables extends JSONObject implements ConfigureItem<RyzeVaria
     /**
      * 合并变量配置
      *
-     * <p>将当前变量配置与另一个变量配置合并，
-     * 如果另一个配置不为null，则将其变量添加到当前配置中，
-     * 已存在的键以当前配置为准。</p>
+     * <p>将另一个变量配置链接为当前变量配置的父作用域，不复制其中的变量，
+     * 同名变量以当前配置为准。父作用域中的变量通过 {@link #lookup(String)} 和 {@link #view()} 可见。</p>
+     *
+     * <p>另一个配置的作用域链已包含当前配置（会形成环）或深度超过 {@link #MAX_SCOPE_DEPTH} 时，
+     * 退化为将其可见变量复制到当前配置中。</p>
      *
      * @param other 另一个变量配置
      * @return 合并后的变量配置（当前实例）
      */
     @Override
     public RyzeVariables merge(RyzeVariables other) {
-        if (other != null) {
-            var copy = new RyzeVariables(this);
-            this.clear();
-            this.putAll(other);
-            this.putAll(copy);
+        if (other == null || other == this) {
+            return this;
+        }
+        var depth = 0;
+        for (var scope = other; scope != null; scope = scope.parent) {
+            if (scope == this || ++depth >= MAX_SCOPE_DEPTH) {
+                var visible = other.flatten();
+                parent = null;
+                absorb(visible);
+                return this;
+            }
         }
+        parent = other;
         return this;
     }
 
+    /**
+     * 按作用域链查找变量，当前层级未定义时依次查找父作用域
+     *
+     * @param name 变量名称
+     * @return 变量值，作用域链中均未定义时返回null
+     */
+    public Object lookup(String name) {
+        for (var scope = this; scope != null; scope = scope.parent) {
+            if (scope.containsLocal(name)) {
+                return scope.getLocal(name);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断作用域链中是否定义了指定变量
+     *
+     * @param name 变量名称
+     * @return 是否定义了该变量
+     */
+    public boolean containsVariable(String name) {
+        for (var scope = this; scope != null; scope = scope.parent) {
+            if (scope.containsLocal(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@link JSONObject} 为 String 类型的键提供了直接访问本层级的重载方法，
+     * 需要同时覆盖 String 与 Object 两个版本，按键读取才会沿作用域链进行
+     */
+    @Override
+    public Object get(String key) {
+        return lookup(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof String name ? lookup(name) : super.get(key);
+    }
+
+    @Override
+    public Object getOrDefault(String key, Object defaultValue) {
+        return containsVariable(key) ? lookup(key) : defaultValue;
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        return key instanceof String name ? getOrDefault(name, defaultValue) : super.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return containsVariable(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name ? containsVariable(name) : super.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return parent == null ? super.size() : flatten().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return super.isEmpty() && (parent == null || parent.isEmpty());
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return parent == null ? super.entrySet() : Collections.unmodifiableMap(flatten()).entrySet();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return parent == null ? super.keySet() : Collections.unmodifiableMap(flatten()).keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return parent == null ? super.values() : Collections.unmodifiableMap(flatten()).values();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        if (parent == null) {
+            super.forEach(action);
+        } else {
+            flatten().forEach(action);
+        }
+    }
+
+    /**
+     * 获取父作用域
+     *
+     * @return 父作用域，没有时返回null
+     */
+    public RyzeVariables getParent() {
+        return parent;
+    }
+
+    /**
+     * 获取包含父作用域变量的只读视图
+     *
+     * <p>视图的按键查找沿作用域链进行，不复制变量；仅在遍历视图时才展开作用域链。</p>
+     *
+     * @return 只读视图
+     */
+    public Map<String, Object> view() {
+        return layered(List.of(this));
+    }
+
+    /**
+     * 创建多个变量配置的只读分层视图，靠前的变量配置优先级更高
+     *
+     * @param scopes 变量配置列表，按优先级从高到低排列
+     * @return 只读视图
+     */
+    public static Map<String, Object> layered(List<RyzeVariables> scopes) {
+        return new LayeredView(scopes);
+    }
+
+    /**
+     * 将作用域链展开为新的映射，子作用域的变量覆盖父作用域的同名变量
+     *
+     * @return 展开后的变量映射
+     */
+    Map<String, Object> flatten() {
+        var scopes = new ArrayDeque<RyzeVariables>();
+        for (var scope = this; scope != null; scope = scope.parent) {
+            scopes.push(scope);
+        }
+        var result = new LinkedHashMap<String, Object>();
+        scopes.forEach(scope -> scope.forEachLocal(result::put));
+        return result;
+    }
+
+    /**
+     * 读取本层级定义的变量，不查找父作用域
+     *
+     * @param name 变量名称
+     * @return 变量值
+     */
+    private Object getLocal(String name) {
+        return super.get(name);
+    }
+
+    /**
+     * 判断本层级是否定义了指定变量，不查找父作用域
+     *
+     * @param name 变量名称
+     * @return 是否定义了该变量
+     */
+    private boolean containsLocal(String name) {
+        return super.containsKey(name);
+    }
+
+    /**
+     * 遍历本层级定义的变量，不包含父作用域
+     *
+     * @param action 遍历操作
+     */
+    private void forEachLocal(BiConsumer<? super String, ? super Object> action) {
+        super.forEach(action);
+    }
+
+    /**
+     * 将变量映射中当前配置不存在的变量复制到当前配置中
+     *
+     * @param variables 变量映射
+     */
+    private void absorb(Map<String, Object> variables) {
+        variables.forEach((key, value) -> {
+            if (!super.containsKey(key)) {
+                super.put(key, value);
+            }
+        });
+    }
+
     /**
      * 创建变量配置的副本
      *
-     * <p>创建一个新的变量配置实例，包含当前配置中的所有变量。</p>
+     * <p>创建一个新的变量配置实例，包含作用域链展开后的全部变量，不再链接父作用域，
+     * 之后对当前配置或其父作用域的修改在副本中不可见。</p>
      *
      * @return 变量配置的副本
      */
     @Override
     public RyzeVariables copy() {
-        return new RyzeVariables(this);
+        var copy = new RyzeVariables();
+        copy.putAll(flatten());
+        return copy;
     }
 
     /**
@@ -154,6 +369,51 @@ public class RyzeVariables extends JSONObject implements ConfigureItem<RyzeVaria
         return this;
     }
 
+    /**
+     * 多个变量配置的只读分层视图
+     */
+    private static final class LayeredView extends AbstractMap<String, Object> {
+
+        private final List<RyzeVariables> scopes;
+
+        private LayeredView(List<RyzeVariables> scopes) {
+            this.scopes = scopes;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (key instanceof String name) {
+                for (RyzeVariables scope : scopes) {
+                    if (scope.containsVariable(name)) {
+                        return scope.lookup(name);
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (key instanceof String name) {
+                for (RyzeVariables scope : scopes) {
+                    if (scope.containsVariable(name)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            var result = new LinkedHashMap<String, Object>();
+            for (int i = scopes.size() - 1; i >= 0; i--) {
+                result.putAll(scopes.get(i).flatten());
+            }
+            return Collections.unmodifiableMap(result).entrySet();
+        }
+    }
+
     /**
      * 变量配置构建器类，提供流畅的API用于构建变量配置
      *
@@ -196,7 +456,7 @@ public class RyzeVariables extends JSONObject implements ConfigureItem<RyzeVaria
          * @return 构建器实例
          */
         public Builder put(RyzeVariables variables) {
-            this.variables.merge(variables);
+            this.variables.absorb(variables == null ? Map.of() : variables.view());
             return this;
         }
 
@@ -207,7 +467,7 @@ public class RyzeVariables extends JSONObject implements ConfigureItem<RyzeVaria
          * @return 构建器实例
          */
         public Builder apply(RyzeVariables variables) {
-            this.variables.merge(variables);
+            this.variables.absorb(variables == null ? Map.of() : variables.view());
             return this;
         }
 
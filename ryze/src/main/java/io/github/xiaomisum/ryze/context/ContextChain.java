@@ -0,0 +1,358 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.context;
+
+import io.github.xiaomisum.ryze.config.ConfigureGroup;
+import io.github.xiaomisum.ryze.config.ConfigureItem;
+import io.github.xiaomisum.ryze.config.RyzeVariables;
+import io.github.xiaomisum.ryze.testelement.TestElementConfigureGroup;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static io.github.xiaomisum.ryze.testelement.TestElementConstantsInterface.VARIABLES;
+
+/**
+ * 结构共享的上下文链
+ * <p>
+ * 上下文链是一个不可变的持久化链表：每个节点只保存父节点引用和当前层级的上下文，
+ * 子元件通过 {@link #append(Context)} 在父链之上追加层级，无需复制整个父链，时间与空间开销均为 O(1)。
+ * </p>
+ * <p>
+ * 每个节点额外记录：
+ * <ul>
+ *   <li>最近的全局上下文、测试套件上下文、会话上下文，避免每次创建 {@link ContextWrapper} 时遍历整个链</li>
+ *   <li>截至当前层级合并后的配置组缓存，仅当本层或祖先层级的配置组被替换或其中的配置项被增删、替换时才重新合并，
+ *   有效性按父级合并结果的引用与版本号判断，不逐项比较配置项</li>
+ * </ul>
+ * </p>
+ *
+ * @author xiaomi
+ */
+public final class ContextChain extends AbstractList<Context> implements RandomAccess {
+
+    private final ContextChain parent;
+    private final Context context;
+    private final int size;
+
+    private final GlobalContext globalContext;
+    private final TestSuiteContext testContext;
+    private final Context sessionContext;
+
+    // 按顺序展开的上下文数组，首次随机访问或遍历时构建
+    private volatile Context[] elements;
+    // 合并配置组缓存及其有效性标记
+    private volatile Merged merged;
+
+    private ContextChain(ContextChain parent, Context context) {
+        this.parent = parent;
+        this.context = context;
+        this.size = parent == null ? 1 : parent.size + 1;
+        this.globalContext = context instanceof GlobalContext ctx ? ctx : parent == null ? null : parent.globalContext;
+        this.testContext = context instanceof TestSuiteContext ctx ? ctx : parent == null ? null : parent.testContext;
+        this.sessionContext = context instanceof SessionContext ? context : parent == null ? null : parent.sessionContext;
+    }
+
+    /**
+     * 创建只包含一个上下文的链
+     *
+     * @param context 上下文，不能为空
+     * @return 上下文链
+     * @throws UnsupportedOperationException 当 context 为空时抛出
+     */
+    public static ContextChain of(Context context) {
+        return new ContextChain(null, requireNonNull(context));
+    }
+
+    /**
+     * 将任意上下文列表转换为上下文链，若已经是上下文链则直接返回
+     *
+     * @param contexts 上下文列表，不能为空
+     * @return 上下文链
+     * @throws UnsupportedOperationException 当列表为空或包含空值时抛出
+     */
+    public static ContextChain of(List<Context> contexts) {
+        if (contexts instanceof ContextChain chain) {
+            return chain;
+        }
+        if (contexts == null || contexts.isEmpty()) {
+            throw new UnsupportedOperationException("上下文链为空");
+        }
+        ContextChain chain = null;
+        for (Context context : contexts) {
+            chain = chain == null ? of(context) : chain.append(context);
+        }
+        return chain;
+    }
+
+    private static Context requireNonNull(Context context) {
+        if (context == null) {
+            throw new UnsupportedOperationException("上下文链中存在空值");
+        }
+        return context;
+    }
+
+    /**
+     * 在当前链之上追加一个层级，当前链保持不变
+     *
+     * @param context 追加的上下文，不能为空
+     * @return 新的上下文链
+     * @throws UnsupportedOperationException 当 context 为空时抛出
+     */
+    public ContextChain append(Context context) {
+        return new ContextChain(this, requireNonNull(context));
+    }
+
+    /**
+     * 隔离当前层级，返回一个新链
+     * <p>
+     * 新链与当前链共享祖先层级，当前层级替换为一个新的测试套件上下文，其配置组与变量为当前层级的浅拷贝。
+     * 用于并发执行时为每个分支提供私有的当前层级，避免取样器替换配置组、提取器写入变量时互相干扰。
+     * </p>
+     *
+     * @return 当前层级被隔离后的上下文链
+     */
+    public ContextChain isolate() {
+        var group = context.getConfigGroup() == null ? new TestElementConfigureGroup() : context.getConfigGroup().copy();
+        var variables = group.getVariables();
+        group.put(VARIABLES, variables == null ? new RyzeVariables() : variables.copy());
+        var level = new TestSuiteContext();
+        level.setConfigGroup(group);
+        return parent == null ? of(level) : parent.append(level);
+    }
+
+    /**
+     * 获取父级上下文链
+     *
+     * @return 父级上下文链，根节点返回 null
+     */
+    public ContextChain getParent() {
+        return parent;
+    }
+
+    /**
+     * 获取截至当前层级合并后的配置组
+     * <p>
+     * 合并规则与逐层调用 {@link ConfigureGroup#merge(ConfigureGroup)} 一致。结果按层缓存，
+     * 当本层配置组被替换（{@link TestRunContext#setConfigGroup(ConfigureGroup)}）、配置组中的配置项被增删或替换
+     * （{@link ConfigureGroup#getVersion()}），或父级合并结果失效时才重新合并，且只合并当前一层。
+     * </p>
+     * <p>
+     * 每层只比较父级合并结果的引用与两个版本号，未变化的层级不逐项比较配置项，
+     * 一次调用的开销与链的深度成正比，与配置项数量无关；只有不跟踪版本号的配置组才逐项比较。
+     * </p>
+     *
+     * @return 合并后的只读配置组，修改会抛出 {@link UnsupportedOperationException}，需要修改时请先 {@link ConfigureGroup#copy()}
+     */
+    public ConfigureGroup getMergedConfigGroup() {
+        var parentGroup = parent == null ? null : parent.getMergedConfigGroup();
+        var group = context.getConfigGroup();
+        var version = context instanceof TestRunContext ctx ? ctx.getVersion() : 0L;
+        // 先读取版本号再合并，合并期间的修改会使下次调用时版本号不一致而重新合并
+        var groupVersion = group == null ? 0L : group.getVersion();
+        var cached = merged;
+        if (cached != null && cached.parentGroup == parentGroup && cached.group == group && cached.version == version
+                && cached.groupVersion == groupVersion && (groupVersion >= 0 || sameItems(cached.items, group))) {
+            return cached.value;
+        }
+        ConfigureGroup base = parentGroup == null ? new TestElementConfigureGroup() : parentGroup;
+        var value = new ReadOnlyConfigureGroup(base.merge(group));
+        var items = group == null || groupVersion >= 0 ? null : new HashMap<>(group);
+        merged = new Merged(parentGroup, group, version, groupVersion, items, value);
+        return value;
+    }
+
+    private static boolean sameItems(Map<String, ConfigureItem> items, ConfigureGroup group) {
+        if (items == null || group == null) {
+            return items == null && group == null;
+        }
+        if (items.size() != group.size()) {
+            return false;
+        }
+        for (var entry : items.entrySet()) {
+            if (group.get(entry.getKey()) != entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    GlobalContext getGlobalContext() {
+        return globalContext;
+    }
+
+    TestSuiteContext getTestContext() {
+        return testContext;
+    }
+
+    Context getSessionContext() {
+        return sessionContext;
+    }
+
+    @Override
+    public Context get(int index) {
+        Objects.checkIndex(index, size);
+        if (index == size - 1) {
+            return context;
+        }
+        return elements()[index];
+    }
+
+    @Override
+    public Context getLast() {
+        return context;
+    }
+
+    @Override
+    public Context getFirst() {
+        return elements()[0];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private Context[] elements() {
+        var result = elements;
+        if (result == null) {
+            result = new Context[size];
+            var node = this;
+            for (int i = size - 1; i >= 0; i--, node = node.parent) {
+                result[i] = node.context;
+            }
+            elements = result;
+        }
+        return result;
+    }
+
+    /**
+     * 合并结果缓存，items 仅在配置组不跟踪版本号时保存配置项快照
+     */
+    private record Merged(ConfigureGroup parentGroup, ConfigureGroup group, long version, long groupVersion,
+                          Map<String, ConfigureItem> items, ConfigureGroup value) {
+    }
+
+    /**
+     * 只读的合并配置组，由同一层级的所有元件共享
+     */
+    private static final class ReadOnlyConfigureGroup extends TestElementConfigureGroup {
+
+        private final boolean initialized;
+
+        ReadOnlyConfigureGroup(Map<String, ConfigureItem> items) {
+            super.putAll(items);
+            this.initialized = true;
+        }
+
+        @Override
+        public ConfigureItem put(String key, ConfigureItem value) {
+            if (initialized) {
+                throw new UnsupportedOperationException("合并后的配置组为只读");
+            }
+            return super.put(key, value);
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends ConfigureItem> items) {
+            if (initialized) {
+                throw new UnsupportedOperationException("合并后的配置组为只读");
+            }
+            super.putAll(items);
+        }
+
+        @Override
+        public ConfigureItem putIfAbsent(String key, ConfigureItem value) {
+            throw new UnsupportedOperationException("合并后的配置组为只读");
+        }
+
+        @Override
+        public ConfigureItem remove(Object key) {
+            throw new UnsupportedOperationException("合并后的配置组为只读");
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            throw new UnsupportedOperationException("合并后的配置组为只读");
+        }
+
+        @Override
+        public ConfigureItem replace(String key, ConfigureItem value) {
+            throw new UnsupportedOperationException("合并后的配置组为只读");
+        }
+
+        @Override
+        public boolean replace(String key, ConfigureItem oldValue, ConfigureItem newValue) {
+            throw new UnsupportedOperationException("合并后的配置组为只读");
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super String, ? super ConfigureItem, ? extends ConfigureItem> function) {
+            throw new UnsupportedOperationException("合并后的配置组为只读");
+        }
+
+        @Override
+        public ConfigureItem compute(String key, BiFunction<? super String, ? super ConfigureItem, ? extends ConfigureItem> function) {
+            throw new UnsupportedOperationException("合并后的配置组为只读");
+        }
+
+        @Override
+        public ConfigureItem computeIfAbsent(String key, Function<? super String, ? extends ConfigureItem> function) {
+            throw new UnsupportedOperationException("合并后的配置组为只读");
+        }
+
+        @Override
+        public ConfigureItem computeIfPresent(String key, BiFunction<? super String, ? super ConfigureItem, ? extends ConfigureItem> function) {
+            throw new UnsupportedOperationException("合并后的配置组为只读");
+        }
+
+        @Override
+        public ConfigureItem merge(String key, ConfigureItem value, BiFunction<? super ConfigureItem, ? super ConfigureItem, ? extends ConfigureItem> function) {
+            throw new UnsupportedOperationException("合并后的配置组为只读");
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException("合并后的配置组为只读");
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return Collections.unmodifiableSet(super.keySet());
+        }
+
+        @Override
+        public Collection<ConfigureItem> values() {
+            return Collections.unmodifiableCollection(super.values());
+        }
+
+        @Override
+        public Set<Entry<String, ConfigureItem>> entrySet() {
+            return Collections.unmodifiableSet(super.entrySet());
+        }
+    }
+}
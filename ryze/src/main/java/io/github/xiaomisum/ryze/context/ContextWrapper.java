@@ -30,12 +30,11 @@ import io.github.xiaomisum.ryze.SessionRunner;
 import io.github.xiaomisum.ryze.config.ConfigureGroup;
 import io.github.xiaomisum.ryze.context.variables.*;
 import io.github.xiaomisum.ryze.testelement.TestElement;
-import io.github.xiaomisum.ryze.testelement.TestElementConfigureGroup;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 测试上下文包装器，提供了处理上下文链的各种方法
@@ -59,16 +58,18 @@ import java.util.UUID;
  */
 public class ContextWrapper {
 
-    // 原始的上下文作用域链
-    private final List<Context> rawContextChain;
-    // 合并后的配置组
-    private final ConfigureGroup configureGroup;
-    private final AllVariablesWrapper allVariablesWrapper;
-    private final LocalVariablesWrapper localVariablesWrapper;
-    // 当前上下文，即最后一个上下文对象
+    // 执行标识前缀与序列号：进程内随机前缀 + 自增序列，避免每次执行都通过 SecureRandom 生成 UUID
+    private static final long EXECUTION_ID_PREFIX = ThreadLocalRandom.current().nextLong();
+    private static final AtomicLong EXECUTION_ID_SEQUENCE = new AtomicLong();
+
+    // 原始的上下文作用域链（结构共享，不可变）
+    private final ContextChain rawContextChain;
+    // 各级上下文及变量包装器在首次访问时创建
     private Context sessionContext;
     private GlobalContext globalContext;
     private TestSuiteContext testContext;
+    private AllVariablesWrapper allVariablesWrapper;
+    private LocalVariablesWrapper localVariablesWrapper;
     private GlobalVariablesWrapper globalVariablesWrapper;
     private TestVariablesWrapper testVariablesWrapper;
     private SessionVariablesWrapper sessionVariablesWrapper;
@@ -84,43 +85,24 @@ public class ContextWrapper {
     /**
      * 构造一个ContextWrapper实例，用于用例执行前的准备工作，如全局变量和环境变量的表达式计算
      * <p>
-     * 该构造器会处理传入的上下文链，合并各层级的配置组，并初始化各种变量包装器。
-     * 主要用于在测试执行前对全局配置和变量进行预处理。
+     * 该构造器只记录上下文链，各级上下文直接从链节点读取；配置组合并与变量包装器均延迟到首次访问时进行，
+     * 合并结果由 {@link ContextChain} 按层缓存。
      * </p>
      *
      * @param contextChain 上下文链，包含从全局到当前层级的所有Context对象，不能为空
      * @throws UnsupportedOperationException 当contextChain为空或包含空值时抛出
      */
     public ContextWrapper(List<Context> contextChain) {
-        requiredNotNullAndNotEmpty(contextChain);
-        // 处理上下文链
-        this.rawContextChain = contextChain;
-        // 合并配置组
-        this.configureGroup = mergeConfigGroup();
-
-        // 读取各级上下文
-        searchNonTestStepContext();
-        // 当前上下文，即最后一个上下文对象
-        Context currentContext = contextChain.getLast();
-
-        // 处理各级上下文
-        if (globalContext != null) {
-            this.globalVariablesWrapper = new GlobalVariablesWrapper(List.of(globalContext));
-        }
-        if (testContext != null) {
-            this.testVariablesWrapper = new TestVariablesWrapper(List.of(testContext));
-        }
-        if (sessionContext != null) {
-            this.sessionVariablesWrapper = new SessionVariablesWrapper(List.of(sessionContext));
-        }
-        this.allVariablesWrapper = new AllVariablesWrapper(Collections.unmodifiableList(rawContextChain));
-        this.localVariablesWrapper = new LocalVariablesWrapper(List.of(currentContext));
+        this.rawContextChain = ContextChain.of(contextChain);
+        this.globalContext = rawContextChain.getGlobalContext();
+        this.testContext = rawContextChain.getTestContext();
+        this.sessionContext = rawContextChain.getSessionContext();
     }
 
     /**
      * 构造一个ContextWrapper实例，用于测试用例执行时，包装当前元件的执行信息
      * <p>
-     * 该构造器在测试执行过程中使用，会创建一个唯一的UUID用于标识当前执行步骤，
+     * 该构造器在测试执行过程中使用，会生成一个唯一的执行标识用于标识当前执行步骤，
      * 并关联SessionRunner以提供完整的执行上下文。
      * </p>
      *
@@ -129,7 +111,7 @@ public class ContextWrapper {
     public ContextWrapper(SessionRunner sessionRunner) {
         this(sessionRunner.getContextChain());
         this.sessionRunner = sessionRunner;
-        this.uuid = UUID.randomUUID().toString();
+        this.uuid = nextExecutionId();
     }
 
     /**
@@ -146,64 +128,22 @@ public class ContextWrapper {
     public ContextWrapper(List<Context> contextChain, SessionRunner sessionRunner) {
         this(contextChain);
         this.sessionRunner = sessionRunner;
-        this.uuid = UUID.randomUUID().toString();
+        this.uuid = nextExecutionId();
     }
 
     // == 构造器辅助方法 ==
 
     /**
-     * 验证上下文链不为空且不包含空值
-     *
-     * @param contextChain 待验证的上下文链
-     * @throws UnsupportedOperationException 当contextChain为空或包含空值时抛出
-     */
-    private void requiredNotNullAndNotEmpty(List<Context> contextChain) {
-        if (contextChain == null || contextChain.isEmpty()) {
-            throw new UnsupportedOperationException("上下文链为空");
-        }
-
-        long nullCount = contextChain.stream().filter(Objects::isNull).count();
-        if (nullCount > 0) {
-            throw new UnsupportedOperationException("上下文链中存在空值");
-        }
-    }
-
-    /**
-     * 在上下文链中搜索非测试步骤的上下文对象（全局上下文、测试套件上下文、会话上下文）
-     * <p>
-     * 遍历整个上下文链，识别并保存不同层级的上下文对象引用，为后续的变量和配置访问做准备。
-     * 如果存在多个相同类型的上下文（如多个SessionContext），则取最后一个（最近的）。
-     * </p>
-     */
-    private void searchNonTestStepContext() {
-        // 如果上下文链中存在多个 SessionContext，则取最后一个，即最近的一个
-        rawContextChain.forEach(ctx -> {
-            if (ctx instanceof GlobalContext) {
-                this.globalContext = (GlobalContext) ctx;
-            } else if (ctx instanceof TestSuiteContext) {
-                this.testContext = (TestSuiteContext) ctx;
-            } else if (ctx instanceof SessionContext) {
-                this.sessionContext = ctx;
-            }
-        });
-    }
-
-    /**
-     * 合并上下文链中所有层级的配置组
+     * 生成执行标识
      * <p>
-     * 按照从全局到具体的顺序遍历上下文链，将各层级的配置信息合并成一个统一的配置组视图。
-     * 后面层级的配置会覆盖前面层级的同名配置，实现配置的继承和覆盖机制。
+     * 保持 UUID 的字符串格式（兼容 Allure 等依赖 UUID 的报告），高 64 位为进程内随机前缀，低 64 位为自增序列，
+     * 进程内唯一且无需 SecureRandom。
      * </p>
      *
-     * @return 合并后的配置组
+     * @return 执行标识
      */
-    private ConfigureGroup mergeConfigGroup() {
-        ConfigureGroup config = new TestElementConfigureGroup();
-        for (var context : rawContextChain) {
-            var configureGroup = context.getConfigGroup();
-            config = config.merge(configureGroup);
-        }
-        return config;
+    private static String nextExecutionId() {
+        return new UUID(EXECUTION_ID_PREFIX, EXECUTION_ID_SEQUENCE.incrementAndGet()).toString();
     }
 
     // ----------- ContextWrapper 对外 API -------------
@@ -228,7 +168,7 @@ public class ContextWrapper {
      *
      * @return 包含所有层级上下文的不可变列表
      */
-    public List<Context> getContextChain() {
+    public ContextChain getContextChain() {
         return rawContextChain;
     }
 
@@ -238,6 +178,9 @@ public class ContextWrapper {
      * @return TestVariablesWrapper实例，用于访问测试套件级别的变量
      */
     public TestVariablesWrapper getTestVariablesWrapper() {
+        if (testVariablesWrapper == null && testContext != null) {
+            testVariablesWrapper = new TestVariablesWrapper(List.of(testContext));
+        }
         return testVariablesWrapper;
     }
 
@@ -247,6 +190,9 @@ public class ContextWrapper {
      * @return SessionVariablesWrapper实例，用于访问会话级别的变量
      */
     public SessionVariablesWrapper getSessionVariablesWrapper() {
+        if (sessionVariablesWrapper == null && sessionContext != null) {
+            sessionVariablesWrapper = new SessionVariablesWrapper(List.of(sessionContext));
+        }
         return sessionVariablesWrapper;
     }
 
@@ -260,6 +206,9 @@ public class ContextWrapper {
      * @return AllVariablesWrapper实例，用于访问所有层级的变量
      */
     public AllVariablesWrapper getAllVariablesWrapper() {
+        if (allVariablesWrapper == null) {
+            allVariablesWrapper = new AllVariablesWrapper(rawContextChain);
+        }
         return allVariablesWrapper;
     }
 
@@ -269,6 +218,9 @@ public class ContextWrapper {
      * @return LocalVariablesWrapper实例，用于访问当前上下文的变量
      */
     public LocalVariablesWrapper getLocalVariablesWrapper() {
+        if (localVariablesWrapper == null) {
+            localVariablesWrapper = new LocalVariablesWrapper(List.of(rawContextChain.getLast()), globalContext);
+        }
         return localVariablesWrapper;
     }
 
@@ -284,13 +236,14 @@ public class ContextWrapper {
     /**
      * 获取合并后的配置组
      * <p>
-     * 返回在构造时合并的所有层级配置信息，提供统一的配置访问接口。
+     * 返回上下文链中所有层级合并后的配置信息，提供统一的配置访问接口。
+     * 合并结果由上下文链按层缓存，只有层级配置发生变化时才会重新合并。
      * </p>
      *
      * @return 合并后的配置组
      */
     public ConfigureGroup getConfigGroup() {
-        return configureGroup;
+        return rawContextChain.getMergedConfigGroup();
     }
 
     /**
@@ -353,6 +306,9 @@ public class ContextWrapper {
      * @return GlobalVariablesWrapper实例，用于访问全局变量
      */
     public GlobalVariablesWrapper getGlobalVariablesWrapper() {
+        if (globalVariablesWrapper == null && globalContext != null) {
+            globalVariablesWrapper = new GlobalVariablesWrapper(List.of(globalContext));
+        }
         return globalVariablesWrapper;
     }
 
@@ -26,6 +26,7 @@
 package io.github.xiaomisum.ryze.context;
 
 import io.github.xiaomisum.ryze.config.GlobalConfigure;
+import io.github.xiaomisum.ryze.context.variables.GlobalVariableStore;
 
 /**
  * 全局上下文
@@ -42,11 +43,20 @@ import io.github.xiaomisum.ryze.config.GlobalConfigure;
  *   <li>共享性：所有其他上下文都可以访问全局上下文中的配置</li>
  * </ul>
  * </p>
+ * <p>
+ * 运行期间写入的全局变量保存在线程安全的 {@link GlobalVariableStore} 中，
+ * 共享同一配置的多个会话（如并发虚拟用户）可安全地读写全局变量、计数器与累加器。
+ * </p>
  *
  * @author xiaomi
  */
 public class GlobalContext extends TestRunContext {
 
+    /**
+     * 线程安全的全局共享变量存储
+     */
+    private final GlobalVariableStore variableStore = new GlobalVariableStore();
+
     /**
      * 创建一个新的全局上下文实例
      * <p>
@@ -71,4 +81,13 @@ public class GlobalContext extends TestRunContext {
         super();
         setConfigGroup(globalConfigure);
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取线程安全的全局共享变量存储
+     *
+     * @return 全局共享变量存储
+     */
+    public GlobalVariableStore getVariableStore() {
+        return variableStore;
+    }
+}
@@ -55,6 +55,11 @@ public abstract class TestRunContext implements Context {
      */
     private ConfigureGroup configureGroup;
 
+    /**
+     * 配置组版本号，每次设置配置组时递增，用于上下文链判断合并配置缓存是否失效
+     */
+    private volatile long version;
+
     /**
      * 获取当前上下文的配置组数据
      * <p>
@@ -80,5 +85,16 @@ public abstract class TestRunContext implements Context {
      */
     public void setConfigGroup(ConfigureGroup configureGroup) {
         this.configureGroup = configureGroup;
+        this.version++;
+    }
+
+    /**
+     * 获取当前配置组版本号
+     *
+     * @return 配置组版本号
+     * @see ContextChain#getMergedConfigGroup()
+     */
+    public long getVersion() {
+        return version;
     }
 }
\ No newline at end of file
@@ -28,17 +28,15 @@ package io.github.xiaomisum.ryze.context.variables;
 import com.alibaba.fastjson2.JSON;
 import io.github.xiaomisum.ryze.config.RyzeVariables;
 import io.github.xiaomisum.ryze.context.Context;
+import io.github.xiaomisum.ryze.context.GlobalContext;
 import io.github.xiaomisum.ryze.context.TestRunContext;
 import io.github.xiaomisum.ryze.testelement.TestElementConfigureGroup;
 import io.github.xiaomisum.ryze.testelement.TestElementConstantsInterface;
 
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 变量包装类基础实现
@@ -76,32 +74,10 @@ public abstract class AbstractVariablesWrapper implements VariablesWrapper, Test
      */
     protected Context lastContext;
 
-    // -------- 扁平化缓存层 --------
-
-    /**
-     * 合并变量的快照缓存，避免每次调用 mergeVariables() 时重复遍历上下文链
-     */
-    private volatile Map<String, Object> flattenedCache;
-
     /**
-     * 缓存版本号，与 modificationCount 比较判断缓存是否有效
+     * 全局上下文，用于读取运行期写入 {@link GlobalVariableStore} 的全局变量，不存在时为null
      */
-    private volatile long cacheVersion = 0;
-
-    /**
-     * 修改计数器，每次 put/remove 操作时递增，用于缓存失效判断
-     */
-    private volatile long modificationCount = 0;
-
-    /**
-     * 记录自上次缓存构建以来变更的 key 集合
-     */
-    private volatile Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
-
-    /**
-     * 增量更新阈值：变更 key 数量超过此值时执行全量重建
-     */
-    private static final int INCREMENTAL_THRESHOLD = 20;
+    protected GlobalContext globalContext;
 
     /**
      * 构造一个新的变量包装器实例
@@ -109,15 +85,31 @@ public abstract class AbstractVariablesWrapper implements VariablesWrapper, Test
      * @param contextChain 上下文链，不能为空
      */
     public AbstractVariablesWrapper(List<Context> contextChain) {
+        this(contextChain, contextChain.getFirst() instanceof GlobalContext global ? global : null);
+    }
+
+    /**
+     * 构造一个新的变量包装器实例，并指定用于读取共享全局变量的全局上下文
+     *
+     * @param contextChain  上下文链，不能为空
+     * @param globalContext 全局上下文，可以为null
+     */
+    public AbstractVariablesWrapper(List<Context> contextChain, GlobalContext globalContext) {
         this.contextChain = contextChain;
         this.lastContext = contextChain.getLast();
+        this.globalContext = globalContext;
     }
 
     /**
      * 根据变量名称读取变量值
      * <p>
-     * 该方法会从最后一个上下文的变量配置中获取指定名称的变量值。如果最后一个上下文没有变量配置，
-     * 或者变量配置中不存在指定名称的变量，则返回null。
+     * 该方法会从最后一个上下文的变量配置中获取指定名称的变量值，变量配置为分层作用域，
+     * 当前层级未定义的变量会沿父作用域查找（见 {@link RyzeVariables#lookup(String)}）。
+     * 如果最后一个上下文没有变量配置，或者作用域链中不存在指定名称的变量，则返回null。
+     * </p>
+     * <p>
+     * 运行期写入 {@link GlobalVariableStore} 的全局变量同样可见：变量未被更近的作用域覆盖时
+     * （未定义，或取值即全局配置中的定义），返回共享存储中的值。
      * </p>
      *
      * @param name 变量名称，不能为空
@@ -125,10 +117,28 @@ public abstract class AbstractVariablesWrapper implements VariablesWrapper, Test
      * @see #getLastVariables()
      */
     public Object get(String name) {
-        if (hasLastVariables()) {
-            return getLastVariables().get(name);
+        var value = hasLastVariables() ? getLastVariables().lookup(name) : null;
+        if (globalContext == null || !globalContext.getVariableStore().contains(name)) {
+            return value;
         }
-        return null;
+        if (value == null || value == definedGlobally(name)) {
+            return globalContext.getVariableStore().get(name);
+        }
+        return value;
+    }
+
+    /**
+     * 获取全局配置中预先定义的变量值
+     *
+     * @param name 变量名称
+     * @return 全局配置中的变量值，未定义时返回null
+     */
+    private Object definedGlobally(String name) {
+        var configureGroup = globalContext.getConfigGroup();
+        if (configureGroup == null || configureGroup.getVariables() == null) {
+            return null;
+        }
+        return configureGroup.getVariables().get(name);
     }
 
     /**
@@ -144,8 +154,6 @@ public abstract class AbstractVariablesWrapper implements VariablesWrapper, Test
      * @see #getLastVariables()
      */
     public Object put(String name, Object value) {
-        modificationCount++;
-        dirtyKeys.add(name);
         return getLastVariables().put(name, value);
     }
 
@@ -161,8 +169,6 @@ public abstract class AbstractVariablesWrapper implements VariablesWrapper, Test
      */
     public Object remove(String name) {
         if (hasLastVariables()) {
-            modificationCount++;
-            dirtyKeys.add(name);
             return getLastVariables().remove(name);
         }
         return null;
@@ -171,89 +177,35 @@ public abstract class AbstractVariablesWrapper implements VariablesWrapper, Test
     /**
      * 合并所有上下文的变量
      * <p>
-     * 该方法会按照上下文链的顺序，依次合并所有上下文中的变量配置。后加入上下文的变量会覆盖前面上下文的同名变量，
+     * 该方法会按照上下文链的顺序合并所有上下文中的变量配置。后加入上下文的变量会覆盖前面上下文的同名变量，
      * 实现了变量的继承和覆盖机制。
      * </p>
      * <p>
-     * 内部使用缓存机制优化性能：当变量未发生修改时，直接返回缓存的快照。
+     * 返回的是基于各上下文变量作用域的只读视图，而不是重新构建的快照：按键查找沿上下文链从后向前进行，
+     * 变量修改后无需重建即可在视图中可见。
      * </p>
      *
-     * @return 合并后的变量映射（不可变视图），键为变量名称，值为变量值
+     * @return 合并后的变量映射（只读视图），键为变量名称，值为变量值
      */
     @Override
     public Map<String, Object> mergeVariables() {
-        long currentMod = this.modificationCount;
-
-        // 缓存命中：版本号未变
-        if (flattenedCache != null && cacheVersion == currentMod) {
-            return Collections.unmodifiableMap(flattenedCache);
-        }
-
-        // 判断：增量更新还是全量重建
-        if (flattenedCache != null && !dirtyKeys.isEmpty() && dirtyKeys.size() <= INCREMENTAL_THRESHOLD) {
-            // 增量更新：基于现有缓存，只更新变化的 key
-            var snapshot = new HashMap<>(flattenedCache);
-            for (String dirtyKey : dirtyKeys) {
-                // 从上下文链中按优先级查找该 key 的最新值
-                Object latestValue = resolveKeyFromChain(dirtyKey);
-                if (latestValue != null) {
-                    snapshot.put(dirtyKey, latestValue);
-                } else {
-                    snapshot.remove(dirtyKey);
-                }
-            }
-            this.flattenedCache = snapshot;
-            this.cacheVersion = currentMod;
-            this.dirtyKeys = ConcurrentHashMap.newKeySet();
-            return Collections.unmodifiableMap(snapshot);
-        }
-
-        // 全量重建
-        var snapshot = new HashMap<String, Object>();
-        for (var context : contextChain) {
-            var configureGroup = context.getConfigGroup();
-            if (configureGroup != null) {
-                var ctxVars = configureGroup.getVariables();
-                if (ctxVars != null) {
-                    snapshot.putAll(ctxVars);
-                }
-            }
-        }
-        this.flattenedCache = snapshot;
-        this.cacheVersion = currentMod;
-        this.dirtyKeys = ConcurrentHashMap.newKeySet();
-        return Collections.unmodifiableMap(snapshot);
-    }
-
-    /**
-     * 从上下文链按优先级解析指定 key 的值（后面覆盖前面）
-     *
-     * @param key 变量名称
-     * @return 变量的最新值，如果所有上下文中都不存在则返回 null
-     */
-    private Object resolveKeyFromChain(String key) {
-        Object result = null;
-        for (var context : contextChain) {
-            var configureGroup = context.getConfigGroup();
-            if (configureGroup != null) {
-                var ctxVars = configureGroup.getVariables();
-                if (ctxVars != null && ctxVars.containsKey(key)) {
-                    result = ctxVars.get(key);
-                }
+        var scopes = new ArrayList<RyzeVariables>(contextChain.size());
+        for (int i = contextChain.size() - 1; i >= 0; i--) {
+            var configureGroup = contextChain.get(i).getConfigGroup();
+            if (configureGroup != null && configureGroup.getVariables() != null) {
+                scopes.add(configureGroup.getVariables());
             }
         }
-        return result;
+        return RyzeVariables.layered(scopes);
     }
 
     /**
      * 主动失效缓存
      * <p>
-     * 当上下文链发生变更（如添加/移除 Context）时调用此方法使缓存失效。
+     * {@link #mergeVariables()} 返回的视图始终反映最新变量，无需失效；保留该方法以兼容子类调用。
      * </p>
      */
     protected void invalidateCache() {
-        this.modificationCount++;
-        this.dirtyKeys = ConcurrentHashMap.newKeySet();
     }
 
     /**
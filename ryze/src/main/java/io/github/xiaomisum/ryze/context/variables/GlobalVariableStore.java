@@ -0,0 +1,194 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.context.variables;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程安全的全局共享变量存储
+ * <p>
+ * 全局上下文的变量配置（{@link io.github.xiaomisum.ryze.config.RyzeVariables}）基于非线程安全的 Map，
+ * 多个会话（如压测中的并发虚拟用户）共享同一个 {@link io.github.xiaomisum.ryze.Configure} 时并发写入会产生竞争。
+ * 该类为全局变量提供线程安全的存储层，底层使用按桶分段加锁的 {@link ConcurrentHashMap}，读操作无锁，
+ * 不同变量的写操作互不阻塞。
+ * </p>
+ * <p>
+ * 除普通变量外，还提供以下原子原语：
+ * <ul>
+ * <li>计数器：原子递增并返回递增后的值，可用于生成并发唯一的序列号</li>
+ * <li>比较并设置：仅当变量当前值等于期望值时更新，可用于多个虚拟用户间抢占式地刷新令牌</li>
+ * <li>累加器：基于 {@link LongAdder} 的高并发累加，适合只关心合计值的统计场景</li>
+ * </ul>
+ * </p>
+ *
+ * @author xiaomi
+ */
+public final class GlobalVariableStore {
+
+    private final ConcurrentHashMap<String, Object> variables = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> accumulators = new ConcurrentHashMap<>();
+
+    /**
+     * 读取共享变量
+     *
+     * @param name 变量名称
+     * @return 变量值，不存在时返回null
+     */
+    public Object get(String name) {
+        return variables.get(name);
+    }
+
+    /**
+     * 判断是否存在共享变量
+     *
+     * @param name 变量名称
+     * @return 是否存在
+     */
+    public boolean contains(String name) {
+        return variables.containsKey(name);
+    }
+
+    /**
+     * 设置共享变量，值为null时移除该变量
+     *
+     * @param name  变量名称
+     * @param value 变量值
+     * @return 变量之前的值，没有时返回null
+     */
+    public Object put(String name, Object value) {
+        return value == null ? variables.remove(name) : variables.put(name, value);
+    }
+
+    /**
+     * 变量不存在时设置共享变量
+     *
+     * @param name  变量名称
+     * @param value 变量值，不能为null
+     * @return 变量当前的值，设置成功时返回null
+     */
+    public Object putIfAbsent(String name, Object value) {
+        return variables.putIfAbsent(name, Objects.requireNonNull(value));
+    }
+
+    /**
+     * 移除共享变量
+     *
+     * @param name 变量名称
+     * @return 变量之前的值，没有时返回null
+     */
+    public Object remove(String name) {
+        return variables.remove(name);
+    }
+
+    /**
+     * 比较并设置共享变量
+     * <p>
+     * 仅当变量当前值与期望值相等（{@link Object#equals(Object)}）时更新为新值；
+     * 期望值为null表示期望变量不存在，新值为null表示移除变量。
+     * </p>
+     *
+     * @param name     变量名称
+     * @param expected 期望值
+     * @param update   新值
+     * @return 是否更新成功
+     */
+    public boolean compareAndSet(String name, Object expected, Object update) {
+        if (expected == null) {
+            return update == null ? !variables.containsKey(name) : variables.putIfAbsent(name, update) == null;
+        }
+        return update == null ? variables.remove(name, expected) : variables.replace(name, expected, update);
+    }
+
+    /**
+     * 计数器原子递增
+     *
+     * @param name 计数器名称
+     * @param step 步长
+     * @return 递增后的值
+     */
+    public long increment(String name, long step) {
+        return counters.computeIfAbsent(name, key -> new AtomicLong()).addAndGet(step);
+    }
+
+    /**
+     * 读取计数器当前值
+     *
+     * @param name 计数器名称
+     * @return 计数器当前值，不存在时返回0
+     */
+    public long counter(String name) {
+        var counter = counters.get(name);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * 累加器累加
+     *
+     * @param name  累加器名称
+     * @param delta 累加值
+     */
+    public void add(String name, long delta) {
+        accumulators.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * 读取累加器合计值
+     * <p>并发累加期间读取的是近似快照，累加全部完成后为精确值</p>
+     *
+     * @param name 累加器名称
+     * @return 合计值，不存在时返回0
+     */
+    public long sum(String name) {
+        var accumulator = accumulators.get(name);
+        return accumulator == null ? 0 : accumulator.sum();
+    }
+
+    /**
+     * 重置指定名称的计数器与累加器
+     *
+     * @param name 名称
+     */
+    public void reset(String name) {
+        counters.remove(name);
+        accumulators.remove(name);
+    }
+
+    /**
+     * 获取共享变量的快照
+     *
+     * @return 共享变量快照（不可变）
+     */
+    public Map<String, Object> snapshot() {
+        return Collections.unmodifiableMap(new HashMap<>(variables));
+    }
+}
@@ -29,8 +29,11 @@
 package io.github.xiaomisum.ryze.context.variables;
 
 import io.github.xiaomisum.ryze.context.Context;
+import io.github.xiaomisum.ryze.context.GlobalContext;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 全局变量包装器
@@ -43,12 +46,21 @@ import java.util.List;
  * 全局变量具有最低的作用域优先级，会被同名的会话变量或测试变量覆盖。全局变量的生命周期
  * 贯穿整个测试运行过程，从测试开始到结束都有效。
  * </p>
+ * <p>
+ * 上下文为 {@link GlobalContext} 时，运行期间的写入与删除作用于线程安全的 {@link GlobalVariableStore}，
+ * 读取时优先返回共享存储中的值，其次返回全局配置中预先定义的变量（只读，删除操作不作用于这部分变量）。
+ * </p>
  *
  * @author xiaomi
  * Created at 2025/7/20 14:02
  */
 public class GlobalVariablesWrapper extends AbstractVariablesWrapper {
 
+    /**
+     * 全局共享变量存储，上下文不是全局上下文时为null
+     */
+    private final GlobalVariableStore store;
+
     /**
      * 构造一个新的全局变量包装器实例
      * <p>
@@ -60,6 +72,44 @@ public class GlobalVariablesWrapper extends AbstractVariablesWrapper {
      */
     public GlobalVariablesWrapper(List<Context> contextChain) {
         super(contextChain);
+        this.store = lastContext instanceof GlobalContext globalContext ? globalContext.getVariableStore() : null;
+    }
+
+    @Override
+    public Object get(String name) {
+        if (store != null && store.contains(name)) {
+            return store.get(name);
+        }
+        return super.get(name);
+    }
+
+    @Override
+    public Object put(String name, Object value) {
+        if (store == null) {
+            return super.put(name, value);
+        }
+        var previous = store.put(name, value);
+        return previous != null ? previous : super.get(name);
+    }
+
+    @Override
+    public Object remove(String name) {
+        return store == null ? super.remove(name) : store.remove(name);
+    }
+
+    /**
+     * 合并全局配置中的变量与共享存储中的变量，共享存储中的值优先
+     *
+     * @return 合并后的变量映射
+     */
+    @Override
+    public Map<String, Object> mergeVariables() {
+        if (store == null) {
+            return super.mergeVariables();
+        }
+        var variables = new HashMap<>(super.mergeVariables());
+        variables.putAll(store.snapshot());
+        return variables;
     }
 
 }
\ No newline at end of file
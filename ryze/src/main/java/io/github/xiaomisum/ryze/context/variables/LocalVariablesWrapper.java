@@ -26,6 +26,7 @@
 package io.github.xiaomisum.ryze.context.variables;
 
 import io.github.xiaomisum.ryze.context.Context;
+import io.github.xiaomisum.ryze.context.GlobalContext;
 
 import java.util.List;
 
@@ -57,4 +58,17 @@ public class LocalVariablesWrapper extends AbstractVariablesWrapper {
         super(contextChain);
     }
 
+    /**
+     * 构造一个新的本地变量包装器实例，并关联全局上下文
+     * <p>
+     * 本地变量包装器的上下文链通常只包含当前上下文，通过关联的全局上下文读取运行期写入的共享全局变量。
+     * </p>
+     *
+     * @param contextChain  上下文链，定义了变量的作用域层次结构，不能为空
+     * @param globalContext 全局上下文，可以为null
+     */
+    public LocalVariablesWrapper(List<Context> contextChain, GlobalContext globalContext) {
+        super(contextChain, globalContext);
+    }
+
 }
\ No newline at end of file
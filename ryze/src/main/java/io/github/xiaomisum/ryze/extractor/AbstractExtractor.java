@@ -153,7 +153,7 @@ public abstract class AbstractExtractor implements Extractor, ExtractorConstants
             validate().valid();
             var scopeDefaultValue = localContext.evaluate(defaultValue);
             var defaultValueIsBlank = scopeDefaultValue == null || StringUtils.isBlank(scopeDefaultValue.toString());
-            if (StringUtils.isBlank(result.getResponse().bytesAsString()) && defaultValueIsBlank) {
+            if (result.getResponse().isBlank() && defaultValueIsBlank) {
                 throw new IllegalArgumentException("待提取的字符串为 null 或空白");
             }
             Object value = null;
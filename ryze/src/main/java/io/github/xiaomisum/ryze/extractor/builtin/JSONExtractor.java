@@ -27,6 +27,7 @@ package io.github.xiaomisum.ryze.extractor.builtin;
 
 import com.alibaba.fastjson2.JSONPath;
 import io.github.xiaomisum.ryze.extractor.AbstractExtractor;
+import io.github.xiaomisum.ryze.support.JSONPathAware;
 import io.github.xiaomisum.ryze.testelement.KW;
 import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
 
@@ -61,7 +62,7 @@ import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
  * @see JSONPath
  */
 @KW({"JSONExtractor", "json_extractor", "json"})
-public class JSONExtractor extends AbstractExtractor {
+public class JSONExtractor extends AbstractExtractor implements JSONPathAware {
 
     /**
      * 创建一个新的JSON提取器构建器
@@ -77,8 +78,8 @@ public class JSONExtractor extends AbstractExtractor {
      *
      * <p>使用FastJSON2的JSONPath工具从响应体中提取数据：
      * <ol>
-     *   <li>获取响应体的字符串表示</li>
-     *   <li>使用JsonPath表达式提取数据</li>
+     *   <li>获取响应上缓存的 JSON 树，首次使用时解析响应体；大于流式提取阈值的响应体直接在字节上流式读取</li>
+     *   <li>使用JsonPath表达式提取数据，同一响应上相同表达式的结果只计算一次</li>
      *   <li>封装提取结果</li>
      * </ol></p>
      *
@@ -86,8 +87,12 @@ public class JSONExtractor extends AbstractExtractor {
      */
     @Override
     protected Object extract(SampleResult result) {
-        var target = result.getResponse().bytesAsString();
-        return JSONPath.extract(target, field);
+        return result.getResponse().jsonPath(field);
+    }
+
+    @Override
+    public String jsonPath() {
+        return field;
     }
 
     /**
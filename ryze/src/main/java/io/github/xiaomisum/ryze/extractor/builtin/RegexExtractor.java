@@ -27,6 +27,7 @@ package io.github.xiaomisum.ryze.extractor.builtin;
 
 import com.alibaba.fastjson2.annotation.JSONField;
 import io.github.xiaomisum.ryze.extractor.AbstractExtractor;
+import io.github.xiaomisum.ryze.support.Regexes;
 import io.github.xiaomisum.ryze.testelement.KW;
 import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
 import org.apache.commons.lang3.StringUtils;
@@ -91,7 +92,7 @@ public class RegexExtractor extends AbstractExtractor {
      * <p>提取流程包括：
      * <ol>
      *   <li>获取响应体的字符串表示</li>
-     *   <li>编译正则表达式</li>
+     *   <li>获取缓存的正则表达式，创建限时匹配器</li>
      *   <li>查找匹配项</li>
      *   <li>根据matchNum选择匹配项</li>
      *   <li>提取第一个捕获组的内容</li>
@@ -105,8 +106,7 @@ public class RegexExtractor extends AbstractExtractor {
     protected Object extract(SampleResult result) {
         var target = result.getResponse().bytesAsString();
         var value = "";
-        var pattern = Pattern.compile(field);
-        var matcher = pattern.matcher(target);
+        var matcher = Regexes.matcher(field, 0, target);
         matchNum = Math.max(0, matchNum);
         int state = matchNum;
         while (state > -1 && matcher.find()) {
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * 函数参数类型
+ *
+ * <p>用于 {@link Signature} 中声明每个参数的类型，调用函数前参数按声明的类型转换一次，
+ * 函数实现中的 {@link Args#getIntValue(int)} 等方法读取已转换的值时不再重复解析字符串。</p>
+ *
+ * <p>null 值保持为 null；数值类型的参数为空白字符串时同样视为 null。</p>
+ *
+ * @author xiaomi
+ */
+public enum ArgType {
+
+    /**
+     * 任意类型，不做转换
+     */
+    ANY {
+        @Override
+        Object doConvert(Object value) {
+            return value;
+        }
+    },
+
+    /**
+     * 字符串
+     */
+    STRING {
+        @Override
+        Object doConvert(Object value) {
+            return value.toString();
+        }
+    },
+
+    /**
+     * 整数
+     */
+    INT {
+        @Override
+        Object doConvert(Object value) {
+            return switch (value) {
+                case Integer number -> number;
+                case Number number -> toBigDecimal(number).intValueExact();
+                default -> Integer.parseInt(value.toString().trim());
+            };
+        }
+    },
+
+    /**
+     * 长整数
+     */
+    LONG {
+        @Override
+        Object doConvert(Object value) {
+            return switch (value) {
+                case Long number -> number;
+                case Number number -> toBigDecimal(number).longValueExact();
+                default -> Long.parseLong(value.toString().trim());
+            };
+        }
+    },
+
+    /**
+     * 布尔值，字符串 "true"（忽略大小写）为 true，其余为 false
+     */
+    BOOLEAN {
+        @Override
+        Object doConvert(Object value) {
+            return value instanceof Boolean bool ? bool : Boolean.parseBoolean(value.toString().trim());
+        }
+    };
+
+    /**
+     * 按参数类型转换参数值
+     *
+     * @param value 参数值
+     * @return 转换后的参数值
+     * @throws IllegalArgumentException 参数值无法转换为该类型时抛出
+     */
+    public Object convert(Object value) {
+        if (value == null || (this != ANY && this != STRING && value instanceof String string && string.isBlank())) {
+            return null;
+        }
+        try {
+            return doConvert(value);
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("参数 %s 无法转换为 %s", value, name()), e);
+        }
+    }
+
+    abstract Object doConvert(Object value);
+
+    private static BigDecimal toBigDecimal(Number number) {
+        return switch (number) {
+            case BigDecimal decimal -> decimal;
+            case BigInteger integer -> new BigDecimal(integer);
+            case Double d -> BigDecimal.valueOf(d);
+            case Float f -> new BigDecimal(f.toString());
+            default -> BigDecimal.valueOf(number.longValue());
+        };
+    }
+}
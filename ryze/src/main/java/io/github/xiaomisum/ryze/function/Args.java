@@ -94,7 +94,11 @@ public class Args extends ArrayList<Object> {
      * @return 指定位置参数的布尔值表示，如果参数为null则返回false
      */
     public boolean getBooleanValue(int index) {
-        return get(index) != null && Boolean.parseBoolean(getString(index));
+        var value = get(index);
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        return value != null && Boolean.parseBoolean(getString(index));
     }
 
     /**
@@ -126,13 +130,34 @@ public class Args extends ArrayList<Object> {
      *
      * <p>如果指定位置的参数为null，则返回0</p>
      *
-     * <p>该方法使用Integer.parseInt进行转换，如果参数无法转换为整数将抛出NumberFormatException。</p>
+     * <p>参数已按函数签名转换为整数时直接返回，否则使用Integer.parseInt进行转换，如果参数无法转换为整数将抛出NumberFormatException。</p>
      *
      * @param index 参数索引位置
      * @return 指定位置参数的整数值表示，如果参数为null则返回0
      * @throws NumberFormatException 如果参数无法转换为整数时抛出
      */
     public int getIntValue(int index) {
-        return get(index) == null ? 0 : Integer.parseInt(getString(index));
+        var value = get(index);
+        if (value instanceof Integer number) {
+            return number;
+        }
+        return value == null ? 0 : Integer.parseInt(getString(index));
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取指定索引位置的参数并转换为长整数值
+     *
+     * <p>如果指定位置的参数为null，则返回0；参数为数值类型时直接取其长整数值，否则使用Long.parseLong进行转换。</p>
+     *
+     * @param index 参数索引位置
+     * @return 指定位置参数的长整数值表示，如果参数为null则返回0
+     * @throws NumberFormatException 如果参数无法转换为长整数时抛出
+     */
+    public long getLongValue(int index) {
+        var value = get(index);
+        if (value == null) {
+            return 0;
+        }
+        return value instanceof Number number ? number.longValue() : Long.parseLong(getString(index));
+    }
+}
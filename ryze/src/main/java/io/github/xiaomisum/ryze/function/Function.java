@@ -64,6 +64,32 @@ public interface Function {
      */
     String key();
 
+    /**
+     * 声明函数结果的缓存范围
+     *
+     * <p>默认不缓存。结果只取决于参数的纯函数（如摘要、编码）可返回 {@link Memoization#GLOBAL}，
+     * 模板引擎会按函数和参数缓存其结果，相同参数的重复调用不再执行函数。</p>
+     *
+     * @return 缓存范围
+     * @see MemoizedFunctions
+     */
+    default Memoization memoization() {
+        return Memoization.NONE;
+    }
+
+    /**
+     * 声明函数的参数签名
+     *
+     * <p>默认不声明（返回 null），参数原样传入。声明签名后，模板引擎在调用前校验参数数量并按类型转换参数，
+     * 函数中通过 {@link Args#getIntValue(int)} 等方法读取参数时直接得到已转换的值。</p>
+     *
+     * @return 函数签名，未声明时返回 null
+     * @see Signature
+     */
+    default Signature signature() {
+        return null;
+    }
+
     /**
      * 检查函数参数数量是否符合要求
      *
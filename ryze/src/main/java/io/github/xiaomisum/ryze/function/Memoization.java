@@ -0,0 +1,58 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function;
+
+/**
+ * 函数结果缓存范围
+ *
+ * <p>函数通过 {@link Function#memoization()} 声明其结果在多大范围内保持不变，
+ * 模板引擎在该范围内按函数和参数缓存结果，相同参数的重复调用不再执行函数。</p>
+ *
+ * @author xiaomi
+ * @see MemoizedFunctions
+ */
+public enum Memoization {
+
+    /**
+     * 不缓存，每次调用都执行函数（默认），适用于随机数、时间等结果随调用变化的函数
+     */
+    NONE,
+
+    /**
+     * 在同一会话的同一次迭代内缓存，适用于一次迭代内应保持一致的函数
+     */
+    ITERATION,
+
+    /**
+     * 在同一会话内缓存，适用于会话期间结果稳定的函数，如读取系统属性
+     */
+    SESSION,
+
+    /**
+     * 全局缓存，适用于结果只取决于参数的纯函数，如摘要、编码
+     */
+    GLOBAL
+}
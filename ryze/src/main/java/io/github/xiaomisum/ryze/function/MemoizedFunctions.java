@@ -0,0 +1,150 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 函数调用入口，按函数声明的 {@link Memoization} 缓存函数结果
+ *
+ * <p>缓存键为函数标识与参数列表，缓存按参数与结果的字符长度计算权重，总权重有界（Caffeine）；
+ * 任一参数或结果长度超过 {@value #MAX_VALUE_LENGTH} 个字符的调用不缓存，避免大参数（如整段响应报文）占满缓存。会话及迭代范围的缓存挂在会话对象上（弱引用），
+ * 会话结束后随之回收；迭代范围的缓存键额外包含会话当前的迭代序号（{@link SessionRunner#getIteration()}）。
+ * 参数在计算缓存键之前已按 {@link Function#signature()} 转换，"1" 与 1 这类等价参数命中同一缓存项。</p>
+ *
+ * <p>为避免缓存键或缓存值被修改，只有参数与结果均为字符串、数值、布尔等不可变类型时才会缓存，
+ * 参数或结果为可变对象（如 Map、List、数组）的调用仍会每次执行函数；结果为 null 时同样不缓存。</p>
+ *
+ * @author xiaomi
+ */
+public final class MemoizedFunctions {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Boolean.class, Character.class,
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigDecimal.class,
+            BigInteger.class);
+
+    /**
+     * 可缓存的单个参数或结果的最大字符长度
+     */
+    static final int MAX_VALUE_LENGTH = 4096;
+
+    /**
+     * 全局缓存，权重为缓存键与结果的字符长度之和
+     */
+    private static final Cache<Key, Object> GLOBAL = Caffeine.newBuilder().maximumWeight(4_000_000)
+            .weigher(MemoizedFunctions::weigh).build();
+
+    /**
+     * 会话缓存，会话及迭代范围的结果均存放在所属会话的缓存中
+     */
+    private static final LoadingCache<SessionRunner, Cache<Key, Object>> SESSIONS = Caffeine.newBuilder().weakKeys()
+            .build(session -> Caffeine.newBuilder().maximumWeight(400_000).weigher(MemoizedFunctions::weigh).build());
+
+    private MemoizedFunctions() {
+    }
+
+    /**
+     * 执行函数，函数声明了签名时先按签名绑定参数；函数声明了缓存范围且缓存命中时直接返回缓存结果
+     *
+     * @param function 函数
+     * @param context  上下文
+     * @param args     参数列表
+     * @return 函数执行结果
+     */
+    public static Object execute(Function function, ContextWrapper context, Args args) {
+        var signature = function.signature();
+        if (signature != null) {
+            signature.bind(function.key(), args);
+        }
+        var memoization = function.memoization();
+        if (memoization == null || memoization == Memoization.NONE) {
+            return function.execute(context, args);
+        }
+        var session = context == null ? null : context.getSessionRunner();
+        Cache<Key, Object> cache;
+        long iteration = -1;
+        switch (memoization) {
+            case GLOBAL -> cache = GLOBAL;
+            case SESSION -> cache = session == null ? null : SESSIONS.get(session);
+            default -> {
+                cache = session == null ? null : SESSIONS.get(session);
+                iteration = session == null ? -1 : session.getIteration();
+            }
+        }
+        if (cache == null || !args.stream().allMatch(MemoizedFunctions::isCacheable)) {
+            return function.execute(context, args);
+        }
+        // 函数可能修改参数列表，缓存键使用执行前的参数快照
+        var key = new Key(function.key(), Collections.unmodifiableList(new ArrayList<>(args)), iteration);
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        var result = function.execute(context, args);
+        if (result != null && isCacheable(result)) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * 清空全部函数结果缓存
+     */
+    public static void clear() {
+        GLOBAL.invalidateAll();
+        SESSIONS.invalidateAll();
+    }
+
+    private static boolean isCacheable(Object value) {
+        return value == null || IMMUTABLE_TYPES.contains(value.getClass()) && length(value) <= MAX_VALUE_LENGTH;
+    }
+
+    private static int weigh(Key key, Object value) {
+        var weight = key.function().length() + length(value);
+        for (Object arg : key.args()) {
+            weight += length(arg);
+        }
+        return weight;
+    }
+
+    private static int length(Object value) {
+        return value instanceof String text ? text.length() : 1;
+    }
+
+    private record Key(String function, List<Object> args, long iteration) {
+    }
+}
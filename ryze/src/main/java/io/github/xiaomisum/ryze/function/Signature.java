@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 函数签名，声明函数参数的数量与类型
+ *
+ * <p>函数通过 {@link Function#signature()} 声明签名后，模板引擎在调用函数前统一校验参数数量、
+ * 按声明的类型转换参数；快速路径模板中的常量参数在模板编译时即完成转换，执行时不再解析。</p>
+ *
+ * <p>使用示例:
+ * <pre>
+ * // 第一个参数必填，类型为字符串；第二个参数可选，类型为长整数
+ * Signature.of(ArgType.STRING).optional(ArgType.LONG)
+ * </pre>
+ * </p>
+ *
+ * @author xiaomi
+ */
+public final class Signature {
+
+    private final List<ArgType> types;
+
+    private final int required;
+
+    private Signature(List<ArgType> types, int required) {
+        this.types = types;
+        this.required = required;
+    }
+
+    /**
+     * 创建只包含必填参数的签名
+     *
+     * @param required 必填参数类型
+     * @return 函数签名
+     */
+    public static Signature of(ArgType... required) {
+        return new Signature(List.of(required), required.length);
+    }
+
+    /**
+     * 在当前签名后追加可选参数
+     *
+     * @param optional 可选参数类型
+     * @return 新的函数签名
+     */
+    public Signature optional(ArgType... optional) {
+        var all = new ArrayList<>(types);
+        all.addAll(Arrays.asList(optional));
+        return new Signature(Collections.unmodifiableList(all), required);
+    }
+
+    /**
+     * 获取指定位置参数的类型，超出声明范围时为 {@link ArgType#ANY}
+     *
+     * @param index 参数索引位置
+     * @return 参数类型
+     */
+    public ArgType type(int index) {
+        return index < types.size() ? types.get(index) : ArgType.ANY;
+    }
+
+    /**
+     * 校验参数数量并按声明的类型原地转换参数
+     *
+     * @param function 函数标识，用于错误信息
+     * @param args     参数列表
+     * @return 转换后的参数列表（即传入的参数列表）
+     * @throws IllegalArgumentException 参数数量错误或参数无法转换时抛出
+     */
+    public Args bind(String function, Args args) {
+        if (args.size() < required || args.size() > types.size()) {
+            throw new IllegalArgumentException("函数 " + function + " 参数数量错误, 期望参数数量为  " + required + " ~ " + types.size() + ", 实际为 " + args.size());
+        }
+        for (int i = 0; i < args.size(); i++) {
+            try {
+                args.set(i, types.get(i).convert(args.get(i)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("函数 %s 第 %d 个%s", function, i + 1, e.getMessage()), e);
+            }
+        }
+        return args;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function.builtin;
+
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.ArgType;
+import io.github.xiaomisum.ryze.function.Args;
+import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.Signature;
+
+/**
+ * 全局累加器函数实现类
+ *
+ * <p>向全局共享存储中的累加器累加数值并返回当前合计值。累加器基于 {@link java.util.concurrent.atomic.LongAdder}，
+ * 高并发下累加几乎无竞争，但并发累加期间返回的合计值为近似快照，需要唯一序列号时请使用 {@link Counter}。</p>
+ *
+ * <p>使用示例:
+ * <pre>
+ * ${accumulate("amount", 100)}    // 累加 100 并返回当前合计值
+ * ${accumulate("amount")}         // 仅读取当前合计值
+ * </pre>
+ * </p>
+ *
+ * @author xiaomi
+ * @see io.github.xiaomisum.ryze.context.variables.GlobalVariableStore#add(String, long)
+ */
+public class Accumulate implements Function {
+
+    private static final Signature SIGNATURE = Signature.of(ArgType.STRING).optional(ArgType.LONG);
+
+    @Override
+    public String key() {
+        return "accumulate";
+    }
+
+    /**
+     * 参数签名：累加值按长整数绑定
+     *
+     * @return 函数签名
+     */
+    @Override
+    public Signature signature() {
+        return SIGNATURE;
+    }
+
+    /**
+     * 累加并返回当前合计值
+     *
+     * @param context 上下文对象
+     * @param args    参数列表：累加器名称，可选的累加值
+     * @return 当前合计值
+     */
+    @Override
+    public Long execute(ContextWrapper context, Args args) {
+        checkMethodArgCount(args, 1, 2);
+        var store = context.getGlobalContext().getVariableStore();
+        var name = args.getFirstString();
+        if (args.size() > 1) {
+            store.add(name, args.getLongValue(1));
+        }
+        return store.sum(name);
+    }
+}
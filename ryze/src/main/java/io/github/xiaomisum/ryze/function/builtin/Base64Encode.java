@@ -28,6 +28,7 @@ package io.github.xiaomisum.ryze.function.builtin;
 import io.github.xiaomisum.ryze.context.ContextWrapper;
 import io.github.xiaomisum.ryze.function.Args;
 import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.Memoization;
 import org.apache.commons.codec.binary.Base64;
 
 import java.nio.charset.StandardCharsets;
@@ -60,6 +61,16 @@ public class Base64Encode implements Function {
         return "base64_encode";
     }
 
+    /**
+     * 编码结果只取决于输入字符串，按参数全局缓存
+     *
+     * @return {@link Memoization#GLOBAL}
+     */
+    @Override
+    public Memoization memoization() {
+        return Memoization.GLOBAL;
+    }
+
     /**
      * 执行Base64编码操作
      *
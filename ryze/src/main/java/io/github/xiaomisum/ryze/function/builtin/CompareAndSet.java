@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function.builtin;
+
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.Args;
+import io.github.xiaomisum.ryze.function.Function;
+
+/**
+ * 全局变量比较并设置函数实现类
+ *
+ * <p>仅当全局共享变量的当前值等于期望值时将其更新为新值，更新是原子的。
+ * 适用于多个虚拟用户共享令牌的场景：只有一个虚拟用户能成功地将过期令牌替换为新令牌。</p>
+ *
+ * <p>使用示例:
+ * <pre>
+ * ${compare_and_set("token", oldToken, newToken)}    // 返回 true 或 false
+ * </pre>
+ * </p>
+ *
+ * @author xiaomi
+ * @see io.github.xiaomisum.ryze.context.variables.GlobalVariableStore#compareAndSet(String, Object, Object)
+ */
+public class CompareAndSet implements Function {
+
+    @Override
+    public String key() {
+        return "compare_and_set";
+    }
+
+    /**
+     * 比较并设置全局共享变量
+     *
+     * @param context 上下文对象
+     * @param args    参数列表：变量名称、期望值、新值
+     * @return 是否更新成功
+     */
+    @Override
+    public Boolean execute(ContextWrapper context, Args args) {
+        checkMethodArgCount(args, 3, 3);
+        return context.getGlobalContext().getVariableStore().compareAndSet(args.getFirstString(), args.get(1), args.get(2));
+    }
+}
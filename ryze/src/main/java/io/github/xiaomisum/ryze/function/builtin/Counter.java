@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function.builtin;
+
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.ArgType;
+import io.github.xiaomisum.ryze.function.Args;
+import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.Signature;
+
+/**
+ * 全局计数器函数实现类
+ *
+ * <p>对全局共享存储中的计数器原子递增并返回递增后的值，共享同一配置的所有会话（包括并发虚拟用户）
+ * 使用同一个计数器，返回值在并发下唯一且连续，可用于生成订单号、序列号等。</p>
+ *
+ * <p>使用示例:
+ * <pre>
+ * ${counter("orders")}        // 返回 1、2、3 ...
+ * ${counter("orders", 10)}    // 按步长 10 递增
+ * </pre>
+ * </p>
+ *
+ * @author xiaomi
+ * @see io.github.xiaomisum.ryze.context.variables.GlobalVariableStore#increment(String, long)
+ */
+public class Counter implements Function {
+
+    private static final Signature SIGNATURE = Signature.of(ArgType.STRING).optional(ArgType.LONG);
+
+    @Override
+    public String key() {
+        return "counter";
+    }
+
+    /**
+     * 参数签名：步长按长整数绑定
+     *
+     * @return 函数签名
+     */
+    @Override
+    public Signature signature() {
+        return SIGNATURE;
+    }
+
+    /**
+     * 计数器原子递增
+     *
+     * @param context 上下文对象
+     * @param args    参数列表：计数器名称，可选的步长（默认为1）
+     * @return 递增后的值
+     */
+    @Override
+    public Long execute(ContextWrapper context, Args args) {
+        checkMethodArgCount(args, 1, 2);
+        var step = args.size() > 1 ? args.getLongValue(1) : 1L;
+        return context.getGlobalContext().getVariableStore().increment(args.getFirstString(), step);
+    }
+}
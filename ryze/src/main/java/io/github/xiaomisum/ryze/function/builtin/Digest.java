@@ -26,8 +26,11 @@
 package io.github.xiaomisum.ryze.function.builtin;
 
 import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.ArgType;
 import io.github.xiaomisum.ryze.function.Args;
 import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.Memoization;
+import io.github.xiaomisum.ryze.function.Signature;
 import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.lang3.StringUtils;
 
@@ -47,11 +50,33 @@ import java.security.NoSuchAlgorithmException;
  */
 public class Digest implements Function {
 
+    private static final Signature SIGNATURE = Signature.of(ArgType.STRING).optional(ArgType.STRING, ArgType.STRING, ArgType.BOOLEAN);
+
     @Override
     public String key() {
         return "digest";
     }
 
+    /**
+     * 参数签名：数值形式的内容或盐值也按字符串参与摘要计算
+     *
+     * @return 函数签名
+     */
+    @Override
+    public Signature signature() {
+        return SIGNATURE;
+    }
+
+    /**
+     * 摘要只取决于算法、内容、盐值等参数，相同参数的结果可全局复用
+     *
+     * @return {@link Memoization#GLOBAL}
+     */
+    @Override
+    public Memoization memoization() {
+        return Memoization.GLOBAL;
+    }
+
     /**
      * 获取信息摘要，通常为MD5，支持四个参数
      *
@@ -26,12 +26,22 @@
 package io.github.xiaomisum.ryze.function.builtin;
 
 import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.ArgType;
 import io.github.xiaomisum.ryze.function.Args;
 import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.Signature;
 import org.apache.commons.lang3.StringUtils;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Faker数据生成函数实现类
@@ -41,11 +51,22 @@ import java.util.Locale;
  *
  * <p>在测试用例中可以通过 ${faker()} 的方式调用该函数。</p>
  *
+ * <p>Faker 实例的创建需要加载语言资源，开销较大，因此按语言区域池化复用：每次调用从池中借出一个实例，
+ * 调用期间由当前线程独占，结束后归还；数据类型（ClassName.Method）首次使用时解析为 {@link MethodHandle} 并缓存，
+ * 后续调用不再反射查找方法。</p>
+ *
  * @author xiaomi
  * @see <a href="https://github.com/datafaker-net/datafaker">Java Faker库</a>
  */
 public class Faker implements Function {
 
+    private static final Signature SIGNATURE = Signature.of(ArgType.STRING).optional(ArgType.STRING);
+
+    static final String DEFAULT_LOCALE = "zh-CN";
+    private static final int MAX_POOLED_PER_LOCALE = 64;
+    private static final Map<String, BlockingQueue<net.datafaker.Faker>> POOLS = new ConcurrentHashMap<>();
+    private static final Map<String, MethodHandle> HANDLES = new ConcurrentHashMap<>();
+
     public static void main(String[] args) {
         System.out.println(new Faker().execute(null, Args.of("name.fullName")));
         System.out.println(new net.datafaker.Faker(Locale.getDefault()).idNumber().valid());
@@ -56,6 +77,16 @@ public class Faker implements Function {
         return "faker";
     }
 
+    /**
+     * 参数签名：数据类型必填，语言区域可选
+     *
+     * @return 函数签名
+     */
+    @Override
+    public Signature signature() {
+        return SIGNATURE;
+    }
+
     /**
      * 通过Faker库生成假数据，支持2个参数
      *
@@ -86,16 +117,55 @@ public class Faker implements Function {
         if (StringUtils.isBlank(key)) {
             throw new IllegalArgumentException("第一个参数不能为空，参考格式： Faker库的ClassName.Method");
         }
-        var locale = args.size() < 2 ? "zh-CN" : args.getLast().toString();
+        var locale = args.size() < 2 ? DEFAULT_LOCALE : args.getLast().toString();
+        return generate(key, locale, 1).getFirst();
+    }
 
+    /**
+     * 使用同一个 Faker 实例连续生成多个假数据
+     *
+     * @param key    假数据类型，格式为 ClassName.Method
+     * @param locale 语言区域设置
+     * @param count  生成数量
+     * @return 生成的假数据列表
+     */
+    static List<Object> generate(String key, String locale, int count) {
+        var handle = resolve(key);
+        var pool = POOLS.computeIfAbsent(locale, k -> new ArrayBlockingQueue<>(MAX_POOLED_PER_LOCALE));
+        var faker = pool.poll();
+        if (faker == null) {
+            faker = new net.datafaker.Faker(Locale.of(locale));
+        }
+        try {
+            var values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add((Object) handle.invokeExact(faker));
+            }
+            return values;
+        } catch (Throwable e) {
+            throw new RuntimeException(String.format("生成 Faker 数据 %s 失败", key), e);
+        } finally {
+            // 池已满时直接丢弃该实例
+            pool.offer(faker);
+        }
+    }
+
+    private static MethodHandle resolve(String key) {
+        var handle = HANDLES.get(key);
+        if (handle != null) {
+            return handle;
+        }
         try {
-            var faker = new net.datafaker.Faker(Locale.of(locale));
             var keys = key.split("\\.");
-            var current = faker.getClass().getMethod(StringUtils.uncapitalize(keys[0])).invoke(faker);
-            Method method = current.getClass().getDeclaredMethod(StringUtils.uncapitalize(keys[1]));
-            return method.invoke(current);
+            var lookup = MethodHandles.publicLookup();
+            var provider = net.datafaker.Faker.class.getMethod(StringUtils.uncapitalize(keys[0]));
+            var method = provider.getReturnType().getMethod(StringUtils.uncapitalize(keys[1]));
+            handle = MethodHandles.filterReturnValue(lookup.unreflect(provider), lookup.unreflect(method))
+                    .asType(MethodType.methodType(Object.class, net.datafaker.Faker.class));
         } catch (Exception e) {
-            throw new RuntimeException(e);
+            throw new RuntimeException(String.format("解析 Faker 数据类型 %s 失败", key), e);
         }
+        HANDLES.putIfAbsent(key, handle);
+        return handle;
     }
 }
\ No newline at end of file
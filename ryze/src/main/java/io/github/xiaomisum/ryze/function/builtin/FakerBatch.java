@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function.builtin;
+
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.ArgType;
+import io.github.xiaomisum.ryze.function.Args;
+import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.Signature;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+
+/**
+ * Faker批量数据生成函数实现类
+ *
+ * <p>一次调用生成指定数量的假数据，整批数据使用同一个 Faker 实例与同一个已解析的方法句柄，
+ * 适合准备批量测试数据，避免在模板中循环调用 {@code faker}。</p>
+ *
+ * <p>使用示例:
+ * <pre>
+ * ${faker_batch("name.fullName", 100)}            // 生成 100 个中文姓名
+ * ${faker_batch("address.city", 10, "en-US")}     // 生成 10 个英文城市名
+ * </pre>
+ * </p>
+ *
+ * @author xiaomi
+ * @see Faker
+ */
+public class FakerBatch implements Function {
+
+    private static final Signature SIGNATURE = Signature.of(ArgType.STRING, ArgType.INT).optional(ArgType.STRING);
+
+    @Override
+    public String key() {
+        return "faker_batch";
+    }
+
+    /**
+     * 参数签名：生成数量在模板编译时即转换为整数
+     *
+     * @return 函数签名
+     */
+    @Override
+    public Signature signature() {
+        return SIGNATURE;
+    }
+
+    /**
+     * 批量生成假数据，支持3个参数
+     *
+     * <p>参数说明：
+     * <ol>
+     *   <li>key: 假数据类型，格式为Faker库的ClassName.Method，如"name.fullName"</li>
+     *   <li>count: 生成数量，必须大于0</li>
+     *   <li>locale: 语言区域设置，可选，默认为"zh-CN"（中文）</li>
+     * </ol>
+     * </p>
+     *
+     * @param context 上下文对象
+     * @param args    参数列表，包含数据类型、生成数量和语言区域设置
+     * @return 生成的假数据列表
+     */
+    @Override
+    public List<Object> execute(ContextWrapper context, Args args) {
+        checkMethodArgCount(args, 2, 3);
+        var key = args.getString(0);
+        if (StringUtils.isBlank(key)) {
+            throw new IllegalArgumentException("第一个参数不能为空，参考格式： Faker库的ClassName.Method");
+        }
+        var count = args.getIntValue(1);
+        if (count <= 0) {
+            throw new IllegalArgumentException("第二个参数必须大于0");
+        }
+        var locale = args.size() < 3 ? Faker.DEFAULT_LOCALE : args.getString(2);
+        return Faker.generate(key, locale, count);
+    }
+}
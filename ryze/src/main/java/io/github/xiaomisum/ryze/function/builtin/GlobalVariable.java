@@ -0,0 +1,72 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function.builtin;
+
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.Args;
+import io.github.xiaomisum.ryze.function.Function;
+
+/**
+ * 全局变量读写函数实现类
+ *
+ * <p>读写全局变量，写入的值保存在线程安全的全局共享存储中，对共享同一配置的所有会话可见；
+ * 读取时共享存储中不存在的变量回退到全局配置中预先定义的变量。</p>
+ *
+ * <p>使用示例:
+ * <pre>
+ * ${global_var("token")}              // 读取全局变量
+ * ${global_var("token", newToken)}    // 设置全局变量并返回设置的值
+ * </pre>
+ * </p>
+ *
+ * @author xiaomi
+ * @see io.github.xiaomisum.ryze.context.variables.GlobalVariablesWrapper
+ */
+public class GlobalVariable implements Function {
+
+    @Override
+    public String key() {
+        return "global_var";
+    }
+
+    /**
+     * 读取或设置全局变量
+     *
+     * @param context 上下文对象
+     * @param args    参数列表：变量名称，可选的变量值
+     * @return 变量值
+     */
+    @Override
+    public Object execute(ContextWrapper context, Args args) {
+        checkMethodArgCount(args, 1, 2);
+        var variables = context.getGlobalVariablesWrapper();
+        if (args.size() > 1) {
+            variables.put(args.getFirstString(), args.get(1));
+            return args.get(1);
+        }
+        return variables.get(args.getFirstString());
+    }
+}
@@ -26,10 +26,11 @@
 package io.github.xiaomisum.ryze.function.builtin;
 
 import com.alibaba.fastjson2.JSON;
-import com.alibaba.fastjson2.JSONPath;
 import io.github.xiaomisum.ryze.context.ContextWrapper;
 import io.github.xiaomisum.ryze.function.Args;
 import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.Memoization;
+import io.github.xiaomisum.ryze.support.JSONPaths;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Objects;
@@ -52,6 +53,16 @@ public class JsonRead implements Function {
         return "json_read";
     }
 
+    /**
+     * 提取结果只取决于JSON内容与路径，参数为JSON字符串时按参数全局缓存
+     *
+     * @return {@link Memoization#GLOBAL}
+     */
+    @Override
+    public Memoization memoization() {
+        return Memoization.GLOBAL;
+    }
+
     /**
      * 通过json path读取数据，需要两个参数
      *
@@ -95,8 +106,8 @@ public class JsonRead implements Function {
             if (!JSON.isValid(str)) {
                 throw new IllegalArgumentException("thr first arg require json");
             }
-            return JSONPath.extract(str, path);
+            return JSONPaths.extract(str, path);
         }
-        return JSONPath.extract(JSON.toJSONString(json), path);
+        return JSONPaths.extract(JSON.toJSONString(json), path);
     }
 }
\ No newline at end of file
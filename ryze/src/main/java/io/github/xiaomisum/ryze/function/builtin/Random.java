@@ -26,8 +26,10 @@
 package io.github.xiaomisum.ryze.function.builtin;
 
 import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.ArgType;
 import io.github.xiaomisum.ryze.function.Args;
 import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.Signature;
 
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -43,11 +45,23 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class Random implements Function {
 
+    private static final Signature SIGNATURE = Signature.of().optional(ArgType.INT);
+
     @Override
     public String key() {
         return "random";
     }
 
+    /**
+     * 参数签名：上限参数按整数预先转换
+     *
+     * @return 函数签名
+     */
+    @Override
+    public Signature signature() {
+        return SIGNATURE;
+    }
+
     /**
      * 生成（伪）随机数，支持一个参数
      *
@@ -26,8 +26,10 @@
 package io.github.xiaomisum.ryze.function.builtin;
 
 import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.ArgType;
 import io.github.xiaomisum.ryze.function.Args;
 import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.Signature;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -43,11 +45,23 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class RandomString implements Function {
 
+    private static final Signature SIGNATURE = Signature.of().optional(ArgType.INT, ArgType.STRING, ArgType.BOOLEAN);
+
     @Override
     public String key() {
         return "random_string";
     }
 
+    /**
+     * 参数签名：长度、字符集与是否大写三个参数均可省略
+     *
+     * @return 函数签名
+     */
+    @Override
+    public Signature signature() {
+        return SIGNATURE;
+    }
+
     /**
      * 获取随机字符串，支持三个参数，且三个参数都允许为空
      *
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function.builtin;
+
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.ArgType;
+import io.github.xiaomisum.ryze.function.Args;
+import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.Signature;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 单调序列号生成函数实现类
+ *
+ * <p>以前缀为名称在全局共享存储中维护一个计数器，每次调用原子递增并返回"前缀 + 序号"，
+ * 可指定序号的位数（不足左侧补0）。同一次运行内（同一全局上下文）序列号唯一且单调递增，
+ * 适合生成订单号、流水号等。计数器与 {@code counter} 函数共用同一命名空间。</p>
+ *
+ * <p>使用示例:
+ * <pre>
+ * ${sequence("ORD")}          // 返回 ORD1、ORD2 ...
+ * ${sequence("ORD", 10)}      // 返回 ORD0000000001、ORD0000000002 ...
+ * </pre>
+ * </p>
+ *
+ * @author xiaomi
+ * @see Counter
+ */
+public class Sequence implements Function {
+
+    private static final Signature SIGNATURE = Signature.of(ArgType.STRING).optional(ArgType.INT);
+
+    @Override
+    public String key() {
+        return "sequence";
+    }
+
+    @Override
+    public Signature signature() {
+        return SIGNATURE;
+    }
+
+    /**
+     * 生成下一个序列号
+     *
+     * @param context 上下文对象
+     * @param args    参数列表：前缀，可选的序号位数
+     * @return 序列号
+     */
+    @Override
+    public String execute(ContextWrapper context, Args args) {
+        checkMethodArgCount(args, 1, 2);
+        var prefix = args.getFirstString();
+        var value = Long.toString(context.getGlobalContext().getVariableStore().increment(prefix, 1));
+        return prefix + StringUtils.leftPad(value, args.getIntValue(1), '0');
+    }
+}
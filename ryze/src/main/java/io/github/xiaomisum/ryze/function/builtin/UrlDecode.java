@@ -28,6 +28,7 @@ package io.github.xiaomisum.ryze.function.builtin;
 import io.github.xiaomisum.ryze.context.ContextWrapper;
 import io.github.xiaomisum.ryze.function.Args;
 import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.Memoization;
 import org.apache.commons.lang3.StringUtils;
 
 import java.net.URLDecoder;
@@ -50,6 +51,16 @@ public class UrlDecode implements Function {
         return "url_decode";
     }
 
+    /**
+     * URL解码是纯函数，按参数全局缓存
+     *
+     * @return {@link Memoization#GLOBAL}
+     */
+    @Override
+    public Memoization memoization() {
+        return Memoization.GLOBAL;
+    }
+
     /**
      * 将传入的字符串进行URL解码，支持一个参数
      *
@@ -26,8 +26,11 @@
 package io.github.xiaomisum.ryze.function.builtin;
 
 import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.ArgType;
 import io.github.xiaomisum.ryze.function.Args;
 import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.Memoization;
+import io.github.xiaomisum.ryze.function.Signature;
 import org.apache.commons.lang3.StringUtils;
 
 import java.net.URLEncoder;
@@ -45,11 +48,33 @@ import java.nio.charset.StandardCharsets;
  */
 public class UrlEncode implements Function {
 
+    private static final Signature SIGNATURE = Signature.of(ArgType.STRING);
+
     @Override
     public String key() {
         return "url_encode";
     }
 
+    /**
+     * 参数签名：仅接收一个待编码的字符串
+     *
+     * @return 函数签名
+     */
+    @Override
+    public Signature signature() {
+        return SIGNATURE;
+    }
+
+    /**
+     * URL编码是纯函数，按参数全局缓存
+     *
+     * @return {@link Memoization#GLOBAL}
+     */
+    @Override
+    public Memoization memoization() {
+        return Memoization.GLOBAL;
+    }
+
     /**
      * 将传入的字符串进行URL编码，支持一个参数
      * <p>
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function.builtin;
+
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.Args;
+import io.github.xiaomisum.ryze.function.Function;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 时间有序UUID（UUIDv7）生成函数实现类
+ *
+ * <p>按 RFC 9562 生成版本 7 的 UUID：高 48 位为 Unix 毫秒时间戳，其余 74 位为随机数，
+ * 生成的 UUID 按时间大致有序，作为数据库主键时比随机 UUID 更友好。</p>
+ *
+ * <p>与 {@link Uuid} 使用的 {@link UUID#randomUUID()} 不同，随机数来自 {@link ThreadLocalRandom}，
+ * 不经过 SecureRandom 的共享锁，高并发下没有争用；生成的值不具备密码学安全性，不应用作令牌或密钥。</p>
+ *
+ * <p>在测试用例中可以通过 ${uuid_v7()} 的方式调用该函数。</p>
+ *
+ * @author xiaomi
+ */
+public class UuidV7 implements Function {
+
+    /**
+     * 生成一个 UUIDv7
+     *
+     * @return UUIDv7
+     */
+    public static UUID next() {
+        var random = ThreadLocalRandom.current();
+        var msb = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        var lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    @Override
+    public String key() {
+        return "uuid_v7";
+    }
+
+    /**
+     * 返回一个UUIDv7字符串，无参数
+     *
+     * <p>使用示例：
+     * <pre>
+     * ${uuid_v7()}     // 返回类似 "01928f3e-7b1c-7a4e-9c1d-2f3b4a5c6d7e" 的UUID字符串
+     * </pre>
+     * </p>
+     *
+     * @param context 上下文对象
+     * @param args    参数列表（该函数不使用任何参数）
+     * @return 生成的UUID字符串
+     */
+    @Override
+    public String execute(ContextWrapper context, Args args) {
+        checkMethodArgCount(args, 0, 0);
+        return next().toString();
+    }
+}
@@ -34,6 +34,7 @@ import com.alibaba.fastjson2.JSONObject;
 import io.github.xiaomisum.ryze.protocol.http.config.HTTPConfigureItem;
 import io.github.xiaomisum.ryze.support.PrimitiveTypeChecker;
 import io.github.xiaomisum.ryze.testelement.sampler.DefaultSampleResult;
+import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hc.client5.http.impl.cookie.BasicClientCookie;
 import org.apache.hc.core5.http.NameValuePair;
@@ -43,6 +44,9 @@ import xyz.migoo.simplehttp.Request;
 import xyz.migoo.simplehttp.RequestEntity;
 import xyz.migoo.simplehttp.Response;
 
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
 import java.util.*;
 
 import static org.apache.hc.core5.http.HttpVersion.HTTP_1_1;
@@ -70,6 +74,11 @@ import static org.apache.hc.core5.http.HttpVersion.HTTP_2;
 @SuppressWarnings({"unchecked"})
 public class HTTPClient extends Request implements HTTPConstantsInterface {
 
+    /**
+     * 请求URL，不含查询参数
+     */
+    private final String url;
+
     /**
      * 构造HTTP客户端实例
      *
@@ -78,6 +87,7 @@ public class HTTPClient extends Request implements HTTPConstantsInterface {
      */
     protected HTTPClient(String method, String url) {
         super(method.toUpperCase(Locale.ROOT), url);
+        this.url = url;
     }
 
     /**
@@ -244,14 +254,40 @@ public class HTTPClient extends Request implements HTTPConstantsInterface {
     }
 
 
+    /**
+     * 执行HTTP请求，并在取样结果中记录各阶段耗时
+     * <p>
+     * 底层客户端不对外暴露连接建立、TLS 握手、写请求与首字节等待的时间点，
+     * 因此先通过 JVM 解析请求主机并记为 DNS 阶段（解析结果由 JVM 缓存，底层客户端随后直接复用），
+     * 其余部分（含读取响应体）整体记为执行阶段。
+     * </p>
+     *
+     * @param result 取样结果
+     * @return HTTP响应
+     */
     public Response execute(DefaultSampleResult result) {
         result.sampleStart();
         try {
-            return execute();
+            resolve();
+            result.markPhase(SampleResult.PHASE_DNS);
+            var response = execute();
+            result.markPhase(SampleResult.PHASE_EXECUTE);
+            return response;
         } catch (Exception e) {
             throw new RuntimeException(e);
         } finally {
             result.sampleEnd();
         }
     }
-}
\ No newline at end of file
+
+    private void resolve() {
+        try {
+            var host = URI.create(url).getHost();
+            if (StringUtils.isNotBlank(host)) {
+                InetAddress.getAllByName(host);
+            }
+        } catch (IllegalArgumentException | UnknownHostException ignored) {
+            // 解析失败时交由底层客户端执行请求并报告异常
+        }
+    }
+}
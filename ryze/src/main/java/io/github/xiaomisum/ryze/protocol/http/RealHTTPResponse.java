@@ -29,9 +29,12 @@ import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
 import org.apache.hc.core5.http.Header;
 import xyz.migoo.simplehttp.Response;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 /**
  * HTTP实际响应结果类
@@ -149,7 +152,7 @@ public class RealHTTPResponse extends SampleResult.RealResponse {
             headers.forEach(header -> buf.append(header.getName()).append(": ").append(header.getValue()).append("\n"));
         }
         if (bytes != null && bytes.length > 0) {
-            buf.append("\n").append("Response body: ").append(new String(bytes));
+            buf.append("\n").append("Response body: ").append(bytesAsString());
         }
         return buf.toString();
     }
@@ -158,4 +161,18 @@ public class RealHTTPResponse extends SampleResult.RealResponse {
         return headers;
     }
 
+    /**
+     * 按响应头名称（忽略大小写）分组，同名响应头的值按出现顺序保存
+     *
+     * @return 响应头映射
+     */
+    @Override
+    protected Map<String, List<String>> buildHeaderMap() {
+        var map = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+        if (headers != null) {
+            headers.forEach(header -> map.computeIfAbsent(header.getName(), key -> new ArrayList<>()).add(header.getValue()));
+        }
+        return map;
+    }
+
 }
\ No newline at end of file
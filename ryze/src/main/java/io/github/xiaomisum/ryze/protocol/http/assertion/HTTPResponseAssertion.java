@@ -126,8 +126,7 @@ public class HTTPResponseAssertion extends AbstractAssertion {
         if (matcher.find()) {
             var index = matcher.group(1) == null || matcher.group(2) == null ? 0 : Integer.parseInt(matcher.group(2));
             var headerName = matcher.group(3);
-            return response.headers().stream().filter(header -> header.getName().equalsIgnoreCase(headerName))
-                    .toList().get(index).getValue();
+            return response.headerMap().getOrDefault(headerName, List.of()).get(index);
         } else {
             return STATUS.contains(field.toLowerCase()) ? response.status() : response.bytesAsString();
         }
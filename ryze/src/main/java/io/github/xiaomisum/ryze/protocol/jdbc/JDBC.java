@@ -32,6 +32,7 @@ import com.alibaba.druid.pool.DruidDataSource;
 import com.alibaba.fastjson2.JSONArray;
 import com.alibaba.fastjson2.JSONObject;
 import io.github.xiaomisum.ryze.testelement.sampler.DefaultSampleResult;
+import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -51,7 +52,7 @@ import java.util.Objects;
  *   <li>通过Druid连接池执行SQL语句</li>
  *   <li>自动处理查询和更新语句的结果</li>
  *   <li>将查询结果转换为JSON格式</li>
- *   <li>记录SQL执行时间</li>
+ *   <li>记录SQL执行时间，并区分获取连接、执行语句、读取结果三个阶段</li>
  * </ul>
  * </p>
  *
@@ -78,15 +79,20 @@ public class JDBC {
      */
     public static byte[] execute(DruidDataSource datasource, String sql, List<Object> args, DefaultSampleResult result) {
         result.sampleStart();
-        try (var conn = datasource.getConnection(); var statement = Objects.isNull(args) || args.isEmpty() ?
-                conn.createStatement() : conn.prepareStatement(sql)) {
-            if (statement instanceof PreparedStatement pre) {
-                for (int i = 0; i < args.size(); i++) {
-                    pre.setObject(i + 1, args.get(i));
+        try (var conn = datasource.getConnection()) {
+            result.markPhase(SampleResult.PHASE_ACQUIRE);
+            try (var statement = Objects.isNull(args) || args.isEmpty() ? conn.createStatement() : conn.prepareStatement(sql)) {
+                if (statement instanceof PreparedStatement pre) {
+                    for (int i = 0; i < args.size(); i++) {
+                        pre.setObject(i + 1, args.get(i));
+                    }
                 }
+                var hasResultSet = statement instanceof PreparedStatement pre ? pre.execute() : statement.execute(sql);
+                result.markPhase(SampleResult.PHASE_EXECUTE);
+                var bytes = (hasResultSet ? toJSONString(statement) : "Affected rows: " + statement.getUpdateCount()).getBytes();
+                result.markPhase(SampleResult.PHASE_READ);
+                return bytes;
             }
-            var hasResultSet = statement instanceof PreparedStatement pre ? pre.execute() : statement.execute(sql);
-            return (hasResultSet ? toJSONString(statement) : "Affected rows: " + statement.getUpdateCount()).getBytes();
         } catch (SQLException e) {
             e.printStackTrace();
             throw new RuntimeException(e);
@@ -27,6 +27,7 @@ package io.github.xiaomisum.ryze.protocol.redis;
 
 import io.github.xiaomisum.ryze.protocol.redis.config.RedisDatasource;
 import io.github.xiaomisum.ryze.testelement.sampler.DefaultSampleResult;
+import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
 import redis.clients.jedis.Protocol;
 
 import java.util.List;
@@ -69,8 +70,10 @@ public class Redis {
                                  DefaultSampleResult result) {
         result.sampleStart();
         try {
-            var response = datasource.executeCommand(Protocol.Command.valueOf(command), args.toArray(new String[0]));
-            return toBytes(response);
+            var response = datasource.executeCommand(result, Protocol.Command.valueOf(command), args.toArray(new String[0]));
+            var bytes = toBytes(response);
+            result.markPhase(SampleResult.PHASE_READ);
+            return bytes;
         } finally {
             result.sampleEnd();
         }
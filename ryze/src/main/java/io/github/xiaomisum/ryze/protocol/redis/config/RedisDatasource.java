@@ -32,6 +32,7 @@ import io.github.xiaomisum.ryze.support.Closeable;
 import io.github.xiaomisum.ryze.testelement.KW;
 import io.github.xiaomisum.ryze.testelement.TestSuiteResult;
 import io.github.xiaomisum.ryze.testelement.configure.AbstractConfigureElement;
+import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
 import redis.clients.jedis.*;
 import redis.clients.jedis.commands.ProtocolCommand;
 import redis.clients.jedis.util.JedisURIHelper;
@@ -288,12 +289,38 @@ public class RedisDatasource extends AbstractConfigureElement<RedisDatasource, R
      * @return 命令执行结果
      */
     public Object executeCommand(ProtocolCommand command, String... args) {
+        return executeCommand(null, command, args);
+    }
+
+    /**
+     * 统一执行Redis命令，并在取样结果中记录获取连接与执行命令两个阶段的耗时
+     * <p>
+     * CLUSTER 模式由 JedisCluster 内部按槽位获取连接，只记录执行阶段。
+     * </p>
+     *
+     * @param result  取样结果，为 null 时不记录阶段耗时
+     * @param command Redis命令
+     * @param args    命令参数
+     * @return 命令执行结果
+     */
+    public Object executeCommand(SampleResult result, ProtocolCommand command, String... args) {
         var runtimeDs = (RedisDatasource) runtime;
         if (runtimeDs.currentMode == RedisMode.cluster) {
-            return runtimeDs.jedisCluster.sendCommand(args[0], command, args);
+            var response = runtimeDs.jedisCluster.sendCommand(args[0], command, args);
+            markPhase(result, SampleResult.PHASE_EXECUTE);
+            return response;
         }
         try (var jedis = getConnection()) {
-            return jedis.sendCommand(command, args);
+            markPhase(result, SampleResult.PHASE_ACQUIRE);
+            var response = jedis.sendCommand(command, args);
+            markPhase(result, SampleResult.PHASE_EXECUTE);
+            return response;
+        }
+    }
+
+    private static void markPhase(SampleResult result, String phase) {
+        if (result != null) {
+            result.markPhase(phase);
         }
     }
 
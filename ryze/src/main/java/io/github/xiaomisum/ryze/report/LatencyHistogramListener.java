@@ -0,0 +1,193 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.report;
+
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.report.latency.LatencyKey;
+import io.github.xiaomisum.ryze.report.latency.LatencyStatistics;
+import io.github.xiaomisum.ryze.testelement.TestContainerExecutable;
+import io.github.xiaomisum.ryze.testelement.TestElement;
+import io.github.xiaomisum.ryze.testelement.load.ArrivalRateGroup;
+import io.github.xiaomisum.ryze.testelement.load.ThreadGroup;
+import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
+import io.github.xiaomisum.ryze.testelement.sampler.Sampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 延迟直方图监听器
+ * <p>
+ * 按取样器标题与协议将每次取样的耗时记录到无锁直方图中，在最外层测试容器执行完成后
+ * 输出 p50/p90/p99/p99.9/max 等统计信息。
+ * </p>
+ * <p>
+ * 默认只统计压测容器（线程组、到达率调度器）：最外层压测容器开始时开启新的统计范围，
+ * 期间所有虚拟用户的取样都记录到该范围内，容器结束时汇总输出。设置系统属性 {@value #RYZE_REPORT_LATENCY} 为 true 时，
+ * 统计范围改为最外层测试容器的一次执行，普通功能测试同样输出延迟统计。
+ * </p>
+ * <p>
+ * 统计范围按发起执行的会话（{@link SessionRunner#getOrigin()}）区分，同一进程内并发的多次执行互不干扰。
+ * 当迭代按计划启动（{@link io.github.xiaomisum.ryze.SessionRunner#getScheduledStartTime()}）时，
+ * 额外输出校正协调遗漏后的响应时间。
+ * </p>
+ *
+ * @author xiaomi
+ */
+@SuppressWarnings({"rawtypes"})
+public class LatencyHistogramListener implements ReporterListener {
+
+    static final Logger log = LoggerFactory.getLogger("");
+
+    /**
+     * 汇总行使用的标题
+     */
+    public static final String TOTAL = "TOTAL";
+
+    private static final String RYZE_REPORT_LATENCY = "ryze.report.latency";
+
+    private final boolean allContainers = Boolean.getBoolean(RYZE_REPORT_LATENCY);
+
+    private final Map<SessionRunner, Scope> scopes = new ConcurrentHashMap<>();
+
+    private volatile Map<LatencyKey, LatencyStatistics> lastReport = Collections.emptyMap();
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    /**
+     * 判断当前监听器是否支持指定的上下文
+     *
+     * @param context 上下文包装器
+     * @return 测试元素是 Sampler 或 TestContainerExecutable 时返回 true
+     */
+    @Override
+    public boolean supports(ContextWrapper context) {
+        return context.getTestElement() instanceof Sampler<?> || context.getTestElement() instanceof TestContainerExecutable<?, ?, ?>;
+    }
+
+    /**
+     * 最外层的压测容器（或启用全部容器统计时的最外层测试容器）开始执行时开启新的统计范围
+     *
+     * @param context 上下文包装器
+     * @param runtime 运行时测试元素
+     * @return 始终返回 true
+     */
+    @Override
+    public boolean preHandle(ContextWrapper context, TestElement runtime) {
+        var session = context.getSessionRunner();
+        if (session != null && opensScope(runtime)) {
+            scopes.putIfAbsent(session.getOrigin(), new Scope(context));
+        }
+        return true;
+    }
+
+    private boolean opensScope(TestElement runtime) {
+        if (runtime instanceof ThreadGroup || runtime instanceof ArrivalRateGroup) {
+            return true;
+        }
+        return allContainers && runtime instanceof TestContainerExecutable<?, ?, ?>;
+    }
+
+    /**
+     * 取样器执行完成后记录耗时；开启统计范围的测试容器执行完成后汇总输出统计信息
+     *
+     * @param context 上下文包装器
+     */
+    @Override
+    public void afterCompletion(ContextWrapper context) {
+        var session = context.getSessionRunner();
+        var current = session == null ? null : scopes.get(session.getOrigin());
+        if (current == null) {
+            return;
+        }
+        if (context.getTestResult() instanceof SampleResult result) {
+            record(current, context, result);
+        } else if (current.owner == context && scopes.remove(session.getOrigin(), current)) {
+            lastReport = report(current);
+        }
+    }
+
+    private static void record(Scope scope, ContextWrapper context, SampleResult result) {
+        var sampleNanos = result.getSampleNanos();
+        if (sampleNanos <= 0) {
+            return;
+        }
+        var serviceTime = TimeUnit.NANOSECONDS.toMicros(sampleNanos);
+        var session = context.getSessionRunner();
+        var lag = session == null || session.getScheduledStartTime() == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(session.getScheduleLag());
+        var key = new LatencyKey(result.getTitle(), LatencyKey.protocolOf(context.getTestElement().getClass()));
+        scope.statistics.computeIfAbsent(key, k -> new LatencyStatistics()).record(serviceTime, lag);
+    }
+
+    private static Map<LatencyKey, LatencyStatistics> report(Scope scope) {
+        if (scope.statistics.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<LatencyKey, LatencyStatistics> report = new LinkedHashMap<>(scope.statistics);
+        var total = new LatencyStatistics();
+        report.values().forEach(total::add);
+        report.put(new LatencyKey(TOTAL, TOTAL), total);
+        var builder = new StringBuilder("\n--------------- 延迟统计 -----------------\n");
+        report.forEach((key, statistics) -> {
+            builder.append(key).append("\n  服务时间: ").append(statistics.serviceTime().summary().format());
+            if (statistics.responseTime().getMean() != statistics.serviceTime().getMean()) {
+                builder.append("\n  响应时间(校正协调遗漏): ").append(statistics.responseTime().summary().format());
+            }
+            builder.append("\n");
+        });
+        log.info(builder.toString());
+        return Collections.unmodifiableMap(report);
+    }
+
+    /**
+     * 获取最近一次统计范围的延迟统计，包含标题为 {@link #TOTAL} 的汇总行
+     *
+     * @return 延迟统计，键为统计维度
+     */
+    public Map<LatencyKey, LatencyStatistics> getLastReport() {
+        return lastReport;
+    }
+
+    private static final class Scope {
+
+        private final ContextWrapper owner;
+
+        private final Map<LatencyKey, LatencyStatistics> statistics = new ConcurrentHashMap<>();
+
+        private Scope(ContextWrapper owner) {
+            this.owner = owner;
+        }
+    }
+}
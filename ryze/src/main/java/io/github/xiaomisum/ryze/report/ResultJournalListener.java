@@ -0,0 +1,181 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.report;
+
+import io.github.xiaomisum.ryze.TestStatus;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.report.journal.JournalRecord;
+import io.github.xiaomisum.ryze.report.journal.ResultJournalWriter;
+import io.github.xiaomisum.ryze.report.latency.LatencyKey;
+import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
+import io.github.xiaomisum.ryze.testelement.sampler.Sampler;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * 结果日志监听器
+ * <p>
+ * 将每次取样以一条紧凑的二进制记录追加到分段内存映射日志中（见 {@link ResultJournalWriter}），
+ * 记录包含ID、标题、协议、状态、单调计时、请求/响应字节数以及可选的截断响应数据，
+ * 用于长时间压测后的离线分析。写入只涉及原子预留与内存复制，不阻塞取样线程。
+ * </p>
+ * <p>
+ * 通过系统属性启用与配置：
+ * <ul>
+ *   <li>-Dryze.report.journal=目录：启用结果日志并指定日志目录，未设置时不记录</li>
+ *   <li>-Dryze.report.journal.segment=大小：分段大小(MB)，取值范围 1~2047，默认值为 64，超出范围时使用默认值</li>
+ *   <li>-Dryze.report.journal.body=长度：响应数据截断长度(字节)，默认值为 0，即不记录响应数据</li>
+ * </ul>
+ * 日志可通过 {@link io.github.xiaomisum.ryze.report.journal.ResultJournalReader} 读取，
+ * 或通过 {@link io.github.xiaomisum.ryze.report.journal.ResultJournalConverter} 转换为 CSV/JSONL。
+ * </p>
+ *
+ * @author xiaomi
+ */
+@SuppressWarnings({"rawtypes"})
+public class ResultJournalListener implements ReporterListener {
+
+    private static final String RYZE_REPORT_JOURNAL = "ryze.report.journal";
+
+    private static final String RYZE_REPORT_JOURNAL_SEGMENT = "ryze.report.journal.segment";
+
+    private static final String RYZE_REPORT_JOURNAL_BODY = "ryze.report.journal.body";
+
+    private static final Logger log = LoggerFactory.getLogger(ResultJournalListener.class);
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final long DEFAULT_SEGMENT_MEGABYTES = 64;
+
+    /**
+     * 单个内存映射分段的最大大小（MB），映射区域不能超过 {@link Integer#MAX_VALUE} 字节
+     */
+    private static final long MAX_SEGMENT_MEGABYTES = Integer.MAX_VALUE / (1024 * 1024);
+
+    private final String directory = System.getProperty(RYZE_REPORT_JOURNAL);
+
+    private final int bodyLimit = Integer.getInteger(RYZE_REPORT_JOURNAL_BODY, 0);
+
+    private volatile ResultJournalWriter writer;
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    /**
+     * 判断当前监听器是否支持指定的上下文
+     *
+     * @param context 上下文包装器
+     * @return 已启用结果日志且测试元素是 Sampler 时返回 true
+     */
+    @Override
+    public boolean supports(ContextWrapper context) {
+        return StringUtils.isNotBlank(directory) && context.getTestElement() instanceof Sampler<?>;
+    }
+
+    /**
+     * 取样器执行完成后追加一条取样记录
+     *
+     * @param context 上下文包装器
+     */
+    @Override
+    public void afterCompletion(ContextWrapper context) {
+        if (context.getTestResult() instanceof SampleResult result) {
+            writer().append(toRecord(context, result));
+        }
+    }
+
+    private JournalRecord toRecord(ContextWrapper context, SampleResult result) {
+        var request = result.getRequest() == null ? null : result.getRequest().bytes();
+        var response = result.getResponse() == null ? null : result.getResponse().bytes();
+        var body = EMPTY;
+        if (bodyLimit > 0 && response != null) {
+            body = response.length <= bodyLimit ? response : Arrays.copyOf(response, bodyLimit);
+        }
+        var start = result.getSampleStartTime();
+        return new JournalRecord(result.getId(), result.getTitle(), LatencyKey.protocolOf(context.getTestElement().getClass()),
+                statusOf(result), start == null ? 0 : start.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                result.getSampleStartNanos(), result.getSampleEndNanos(),
+                request == null ? 0 : request.length, response == null ? 0 : response.length, body);
+    }
+
+    private static TestStatus statusOf(SampleResult result) {
+        // 取样状态可能在后续的报告监听器中才根据异常更新
+        if (result.getThrowable() != null && result.getStatus().isPassed()) {
+            return result.getThrowable() instanceof AssertionError ? TestStatus.failed : TestStatus.broken;
+        }
+        return result.getStatus();
+    }
+
+    private ResultJournalWriter writer() {
+        var current = writer;
+        if (current == null) {
+            synchronized (this) {
+                current = writer;
+                if (current == null) {
+                    var prefix = "ryze-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"))
+                            + "-" + ProcessHandle.current().pid();
+                    current = new ResultJournalWriter(Path.of(directory), prefix, segmentSize());
+                    Runtime.getRuntime().addShutdownHook(new Thread(current::close));
+                    writer = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 读取分段大小配置，超出取值范围时使用默认值
+     *
+     * @return 分段大小(字节)
+     */
+    static int segmentSize() {
+        var megabytes = Long.getLong(RYZE_REPORT_JOURNAL_SEGMENT, DEFAULT_SEGMENT_MEGABYTES);
+        if (megabytes < 1 || megabytes > MAX_SEGMENT_MEGABYTES) {
+            log.warn("结果日志分段大小 {}={} 超出取值范围 1~{}，使用默认值 {}", RYZE_REPORT_JOURNAL_SEGMENT, megabytes,
+                    MAX_SEGMENT_MEGABYTES, DEFAULT_SEGMENT_MEGABYTES);
+            megabytes = DEFAULT_SEGMENT_MEGABYTES;
+        }
+        return (int) (megabytes * 1024 * 1024);
+    }
+
+    /**
+     * 获取当前的结果日志写入器
+     *
+     * @return 结果日志写入器，尚未记录任何取样时返回 null
+     */
+    public ResultJournalWriter getWriter() {
+        return writer;
+    }
+}
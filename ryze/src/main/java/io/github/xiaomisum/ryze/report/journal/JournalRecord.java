@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.report.journal;
+
+import io.github.xiaomisum.ryze.TestStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 结果日志中的一条取样记录
+ *
+ * @param id            取样结果ID
+ * @param title         取样器标题
+ * @param protocol      协议名称
+ * @param status        取样状态
+ * @param startTime     取样开始的墙钟时间(毫秒时间戳)
+ * @param startNanos    取样开始的单调时间（{@link System#nanoTime()}）
+ * @param endNanos      取样结束的单调时间（{@link System#nanoTime()}）
+ * @param requestBytes  请求数据字节数
+ * @param responseBytes 响应数据字节数
+ * @param body          截断后的响应数据，未记录时为空数组
+ * @author xiaomi
+ */
+public record JournalRecord(String id, String title, String protocol, TestStatus status, long startTime,
+                            long startNanos, long endNanos, int requestBytes, int responseBytes, byte[] body) {
+
+    /**
+     * 记录格式版本
+     */
+    static final byte VERSION = 1;
+
+    private static final TestStatus[] STATUSES = TestStatus.values();
+
+    private static final int MAX_STRING_BYTES = Short.MAX_VALUE;
+
+    /**
+     * 获取取样耗时
+     *
+     * @return 耗时(纳秒)
+     */
+    public long elapsedNanos() {
+        return endNanos - startNanos;
+    }
+
+    /**
+     * 获取截断后的响应数据文本
+     *
+     * @return UTF-8 解码后的响应数据
+     */
+    public String bodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 编码为不含长度前缀的字节数组
+     *
+     * @return 编码结果
+     */
+    byte[] encode() {
+        var idBytes = utf8(id);
+        var titleBytes = utf8(title);
+        var protocolBytes = utf8(protocol);
+        var buffer = ByteBuffer.allocate(2 + 8 * 3 + 4 * 2 + 2 * 3 + idBytes.length + titleBytes.length
+                + protocolBytes.length + 4 + body.length);
+        buffer.put(VERSION).put((byte) status.ordinal())
+                .putLong(startTime).putLong(startNanos).putLong(endNanos)
+                .putInt(requestBytes).putInt(responseBytes);
+        putString(buffer, idBytes);
+        putString(buffer, titleBytes);
+        putString(buffer, protocolBytes);
+        buffer.putInt(body.length).put(body);
+        return buffer.array();
+    }
+
+    /**
+     * 从缓冲区当前位置解码一条记录
+     *
+     * @param buffer 缓冲区，位置位于记录内容起始处
+     * @return 取样记录
+     */
+    static JournalRecord decode(ByteBuffer buffer) {
+        var version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalStateException(String.format("不支持的结果日志记录版本 %s", version));
+        }
+        var status = STATUSES[buffer.get()];
+        var startTime = buffer.getLong();
+        var startNanos = buffer.getLong();
+        var endNanos = buffer.getLong();
+        var requestBytes = buffer.getInt();
+        var responseBytes = buffer.getInt();
+        var id = getString(buffer);
+        var title = getString(buffer);
+        var protocol = getString(buffer);
+        var body = new byte[buffer.getInt()];
+        buffer.get(body);
+        return new JournalRecord(id, title, protocol, status, startTime, startNanos, endNanos, requestBytes, responseBytes, body);
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            var truncated = new byte[MAX_STRING_BYTES];
+            System.arraycopy(bytes, 0, truncated, 0, MAX_STRING_BYTES);
+            return truncated;
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        var bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
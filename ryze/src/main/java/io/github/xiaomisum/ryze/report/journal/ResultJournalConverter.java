@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.report.journal;
+
+import com.alibaba.fastjson2.JSONObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * 结果日志格式转换器，将二进制结果日志转换为 CSV 或 JSONL，便于离线分析
+ * <p>
+ * 命令行用法：
+ * <pre>
+ * java -cp ryze.jar io.github.xiaomisum.ryze.report.journal.ResultJournalConverter &lt;日志目录或分段文件&gt; &lt;输出文件&gt; [csv|jsonl]
+ * </pre>
+ * 未指定格式时按输出文件扩展名判断，扩展名不是 .jsonl 时输出 CSV。
+ * </p>
+ *
+ * @author xiaomi
+ */
+public final class ResultJournalConverter {
+
+    private static final String CSV_HEADER = "id,title,protocol,status,start_time,elapsed_nanos,request_bytes,response_bytes,body";
+
+    private ResultJournalConverter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("用法: ResultJournalConverter <日志目录或分段文件> <输出文件> [csv|jsonl]");
+            System.exit(1);
+        }
+        var output = Path.of(args[1]);
+        var format = args.length > 2 ? args[2] : output.getFileName().toString().endsWith(".jsonl") ? "jsonl" : "csv";
+        try (var writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            var reader = new ResultJournalReader(Path.of(args[0]));
+            var count = "jsonl".equals(format.toLowerCase(Locale.ROOT)) ? toJsonLines(reader, writer) : toCsv(reader, writer);
+            System.out.printf("已转换 %d 条记录至 %s%n", count, output);
+        }
+    }
+
+    /**
+     * 转换为 CSV，首行为表头
+     *
+     * @param reader 结果日志读取器
+     * @param writer 输出
+     * @return 转换的记录数
+     */
+    public static long toCsv(ResultJournalReader reader, Writer writer) {
+        return write(reader, writer, CSV_HEADER, record -> String.join(",", csv(record.id()), csv(record.title()),
+                csv(record.protocol()), record.status().name(), String.valueOf(record.startTime()),
+                String.valueOf(record.elapsedNanos()), String.valueOf(record.requestBytes()),
+                String.valueOf(record.responseBytes()), csv(record.bodyAsString())));
+    }
+
+    /**
+     * 转换为 JSONL，每行一个 JSON 对象
+     *
+     * @param reader 结果日志读取器
+     * @param writer 输出
+     * @return 转换的记录数
+     */
+    public static long toJsonLines(ResultJournalReader reader, Writer writer) {
+        return write(reader, writer, null, record -> {
+            var json = new JSONObject();
+            json.put("id", record.id());
+            json.put("title", record.title());
+            json.put("protocol", record.protocol());
+            json.put("status", record.status().name());
+            json.put("start_time", record.startTime());
+            json.put("elapsed_nanos", record.elapsedNanos());
+            json.put("request_bytes", record.requestBytes());
+            json.put("response_bytes", record.responseBytes());
+            json.put("body", record.bodyAsString());
+            return json.toJSONString();
+        });
+    }
+
+    private static long write(ResultJournalReader reader, Writer writer, String header,
+                              Function<JournalRecord, String> formatter) {
+        try {
+            if (header != null) {
+                writer.write(header);
+                writer.write('\n');
+            }
+            long count = 0;
+            for (JournalRecord record : reader) {
+                writer.write(formatter.apply(record));
+                writer.write('\n');
+                count++;
+            }
+            writer.flush();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
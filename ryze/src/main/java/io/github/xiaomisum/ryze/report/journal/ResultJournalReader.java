@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.report.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 结果日志读取器
+ * <p>
+ * 按分段文件名顺序依次将分段只读映射到内存并逐条解码，同一时刻只映射一个分段。
+ * </p>
+ * <pre>
+ * for (JournalRecord record : new ResultJournalReader(Path.of("target/ryze-journal"))) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author xiaomi
+ */
+public final class ResultJournalReader implements Iterable<JournalRecord> {
+
+    private final List<Path> segments;
+
+    /**
+     * 创建结果日志读取器
+     *
+     * @param path 日志目录或单个分段文件；为目录时读取目录下全部分段文件
+     */
+    public ResultJournalReader(Path path) {
+        this(path, "");
+    }
+
+    /**
+     * 创建结果日志读取器
+     *
+     * @param path   日志目录或单个分段文件
+     * @param prefix 分段文件名前缀，用于在同一目录中区分不同的运行，为空时读取全部分段文件
+     */
+    public ResultJournalReader(Path path, String prefix) {
+        this.segments = segments(path, prefix);
+    }
+
+    private static List<Path> segments(Path path, String prefix) {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (var files = Files.list(path)) {
+            return files.filter(file -> {
+                var name = file.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(ResultJournalWriter.SEGMENT_SUFFIX);
+            }).sorted().toList();
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("读取结果日志目录 %s 失败", path), e);
+        }
+    }
+
+    /**
+     * 获取待读取的分段文件
+     *
+     * @return 分段文件列表
+     */
+    public List<Path> getSegments() {
+        return segments;
+    }
+
+    @Override
+    public Iterator<JournalRecord> iterator() {
+        return new RecordIterator();
+    }
+
+    /**
+     * 以流的方式读取全部记录
+     *
+     * @return 记录流
+     */
+    public Stream<JournalRecord> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    private static MappedByteBuffer map(Path segment) {
+        try (var channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("读取结果日志分段 %s 失败", segment), e);
+        }
+    }
+
+    private final class RecordIterator implements Iterator<JournalRecord> {
+
+        private int segmentIndex = -1;
+
+        private MappedByteBuffer buffer;
+
+        private JournalRecord next;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (buffer != null && buffer.remaining() >= Integer.BYTES) {
+                    var length = buffer.getInt();
+                    if (length > 0 && length <= buffer.remaining()) {
+                        var record = buffer.slice(buffer.position(), length);
+                        buffer.position(buffer.position() + length);
+                        next = JournalRecord.decode(record);
+                        continue;
+                    }
+                }
+                // 当前分段已读完，转到下一个分段
+                if (++segmentIndex >= segments.size()) {
+                    buffer = null;
+                    return false;
+                }
+                buffer = map(segments.get(segmentIndex));
+            }
+            return true;
+        }
+
+        @Override
+        public JournalRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var record = next;
+            next = null;
+            return record;
+        }
+    }
+}
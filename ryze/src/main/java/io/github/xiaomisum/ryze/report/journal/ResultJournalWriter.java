@@ -0,0 +1,362 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.report.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 分段内存映射结果日志写入器
+ * <p>
+ * 日志由若干固定大小的分段文件组成，每个分段整体映射到内存。写入时先通过原子操作在当前分段中
+ * 预留空间，再将记录直接复制到映射内存，多个取样线程并发写入互不阻塞。数据由操作系统异步刷盘，
+ * {@link #close()} 时强制刷盘。
+ * </p>
+ * <p>
+ * 文件创建、映射与刷盘都在写入器的后台线程中进行，不占用取样线程：当前分段启用后，后台线程即预先创建并映射下一个分段，
+ * 当前分段写满时取样线程只需以原子操作切换到已就绪的下一个分段（仅当后台线程尚未完成预分配时才会等待）；
+ * 写满的分段在其上的写入全部完成后交由后台线程强制刷盘并从写入器中移除，不再持有其映射内存，
+ * 映射区域由垃圾回收释放（不主动解除映射，避免与并发的 {@link #flush()} 竞争已解除映射的内存）。
+ * 长时间运行时常驻的映射内存只有当前分段与预分配的下一个分段。
+ * </p>
+ * <p>
+ * {@link #close()} 会等待正在进行的写入与后台任务完成后再刷盘，并删除未使用的预分配分段，关闭后追加的记录计入丢弃数。
+ * </p>
+ * <p>
+ * 每条记录以 4 字节长度前缀开头，长度前缀在记录内容写入后再写入；分段末尾未使用的空间保持为 0，
+ * 读取时遇到长度为 0 即转到下一个分段。
+ * </p>
+ *
+ * @author xiaomi
+ */
+public final class ResultJournalWriter implements AutoCloseable {
+
+    /**
+     * 分段文件扩展名
+     */
+    public static final String SEGMENT_SUFFIX = ".rj";
+
+    private final Path directory;
+
+    private final String prefix;
+
+    private final int segmentSize;
+
+    /**
+     * 已启用且尚未释放的分段，不包含预分配的分段
+     */
+    private final Set<Segment> segments = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * 正在进行的写入数，关闭时等待其归零
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicReference<Segment> current = new AtomicReference<>();
+
+    /**
+     * 后台线程，负责预分配分段以及写满分段的刷盘与释放
+     */
+    private final ExecutorService background;
+
+    private volatile boolean closed;
+
+    /**
+     * 创建结果日志写入器
+     *
+     * @param directory   日志目录，不存在时自动创建
+     * @param prefix      分段文件名前缀，分段文件名为 prefix-序号.rj
+     * @param segmentSize 分段大小(字节)
+     */
+    public ResultJournalWriter(Path directory, String prefix, int segmentSize) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("创建结果日志目录 %s 失败", directory), e);
+        }
+        this.background = Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("ryze-journal-" + prefix).factory());
+        var first = newSegment(0);
+        segments.add(first);
+        current.set(first);
+        prepare(first);
+    }
+
+    private Segment newSegment(int index) {
+        var path = directory.resolve(String.format("%s-%05d%s", prefix, index, SEGMENT_SUFFIX));
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(index, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("创建结果日志分段 %s 失败", path), e);
+        }
+    }
+
+    /**
+     * 在后台线程中预先创建并映射指定分段的下一个分段
+     */
+    private void prepare(Segment segment) {
+        var future = segment.next.get();
+        background.execute(() -> {
+            try {
+                future.complete(newSegment(segment.index + 1));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * 追加一条取样记录
+     * <p>
+     * 记录超过分段大小或写入器已关闭时丢弃该记录，并计入丢弃数。
+     * </p>
+     *
+     * @param record 取样记录
+     */
+    public void append(JournalRecord record) {
+        var bytes = record.encode();
+        var length = bytes.length + Integer.BYTES;
+        if (length > segmentSize) {
+            dropped.increment();
+            return;
+        }
+        // 先登记再检查关闭标记，保证 close() 要么等待本次写入完成，要么本次写入看到关闭标记
+        inFlight.incrementAndGet();
+        try {
+            if (closed) {
+                dropped.increment();
+                return;
+            }
+            while (true) {
+                var segment = current.get();
+                segment.writers.incrementAndGet();
+                try {
+                    var offset = segment.reserve(length);
+                    if (offset >= 0) {
+                        segment.buffer.put(offset + Integer.BYTES, bytes, 0, bytes.length);
+                        segment.buffer.putInt(offset, bytes.length);
+                        written.increment();
+                        return;
+                    }
+                } finally {
+                    if (segment.writers.decrementAndGet() == 0 && segment.retired) {
+                        release(segment);
+                    }
+                }
+                roll(segment);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * 切换到预分配的下一个分段，多个线程同时发现分段写满时只有一个线程完成切换
+     */
+    private void roll(Segment full) {
+        var future = full.next.get();
+        Segment next;
+        try {
+            next = future.join();
+        } catch (CompletionException e) {
+            // 预分配失败时重新预分配，本次写入抛出异常
+            if (full.next.compareAndSet(future, new CompletableFuture<>())) {
+                prepare(full);
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        if (current.get() == full) {
+            segments.add(next);
+            if (current.compareAndSet(full, next)) {
+                prepare(next);
+                full.retired = true;
+                if (full.writers.get() == 0) {
+                    release(full);
+                }
+            }
+        }
+    }
+
+    /**
+     * 写满的分段上的写入全部完成后，交由后台线程刷盘并移除，不再持有其映射内存
+     */
+    private void release(Segment segment) {
+        if (segment.released.compareAndSet(false, true)) {
+            background.execute(() -> {
+                segment.buffer.force();
+                segments.remove(segment);
+            });
+        }
+    }
+
+    /**
+     * 获取已写入的记录数
+     *
+     * @return 已写入的记录数
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * 获取丢弃的记录数
+     *
+     * @return 丢弃的记录数
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * 将尚未释放的分段强制刷盘，已释放的分段在释放时已刷盘
+     */
+    public void flush() {
+        segments.forEach(segment -> segment.buffer.force());
+    }
+
+    /**
+     * 获取仍持有映射内存的已启用分段数，不包含预分配的分段
+     *
+     * @return 未释放的分段数
+     */
+    int getMappedSegments() {
+        return segments.size();
+    }
+
+    /**
+     * 等待已提交的后台任务执行完成
+     */
+    void awaitBackground() {
+        CompletableFuture.runAsync(() -> {
+        }, background).join();
+    }
+
+    /**
+     * 关闭写入器，等待正在进行的写入与后台任务完成后强制刷盘，删除未使用的预分配分段，关闭后追加的记录将被丢弃
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        while (inFlight.get() > 0) {
+            Thread.onSpinWait();
+        }
+        background.shutdown();
+        var interrupted = false;
+        while (!background.isTerminated()) {
+            try {
+                background.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        var standby = current.get().next.get();
+        if (standby.isDone() && !standby.isCompletedExceptionally()) {
+            try {
+                Files.deleteIfExists(standby.join().path);
+            } catch (IOException ignored) {
+                // 未使用的分段全部为 0，读取时会被跳过
+            }
+        }
+        flush();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Segment {
+
+        private final int index;
+
+        private final Path path;
+
+        private final MappedByteBuffer buffer;
+
+        private final AtomicInteger position = new AtomicInteger();
+
+        /**
+         * 正在本分段上写入的线程数
+         */
+        private final AtomicInteger writers = new AtomicInteger();
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * 预分配的下一个分段
+         */
+        private final AtomicReference<CompletableFuture<Segment>> next = new AtomicReference<>(new CompletableFuture<>());
+
+        /**
+         * 是否已写满并被下一个分段取代
+         */
+        private volatile boolean retired;
+
+        private Segment(int index, Path path, MappedByteBuffer buffer) {
+            this.index = index;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        /**
+         * 在分段中预留空间
+         *
+         * @param length 预留长度
+         * @return 预留空间的起始偏移，空间不足时返回 -1
+         */
+        private int reserve(int length) {
+            var offset = position.getAndAdd(length);
+            // 防止大量并发预留导致溢出
+            if (offset < 0 || offset > buffer.capacity() - length) {
+                position.set(buffer.capacity());
+                return -1;
+            }
+            return offset;
+        }
+    }
+}
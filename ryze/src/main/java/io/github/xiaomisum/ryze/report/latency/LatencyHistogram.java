@@ -0,0 +1,257 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.report.latency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁、可合并的延迟直方图
+ * <p>
+ * 采用 HDR Histogram 的对数-线性分桶方式：按 2 的幂划分量级，每个量级内再线性划分 128 个子桶，
+ * 记录值的相对误差不超过 1%。记录单位为微秒，可追踪的最大值为 1 小时，超出部分按最大值记录。
+ * </p>
+ * <p>
+ * 计数数组按线程分片，不同线程记录时命中不同的分片，避免在热点桶上竞争；
+ * 统计与合并时再将全部分片累加。分片在首次使用时才分配。
+ * </p>
+ *
+ * @author xiaomi
+ */
+public final class LatencyHistogram {
+
+    /**
+     * 可追踪的最大值(微秒)，1 小时
+     */
+    public static final long HIGHEST_TRACKABLE_VALUE = 3_600_000_000L;
+
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = 7;
+
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_COUNT_MAGNITUDE;
+
+    private static final long SUB_BUCKET_MASK = (1L << (SUB_BUCKET_HALF_COUNT_MAGNITUDE + 1)) - 1;
+
+    private static final int LEADING_ZERO_COUNT_BASE = 64 - SUB_BUCKET_HALF_COUNT_MAGNITUDE - 1;
+
+    private static final int COUNTS_LENGTH = countsIndex(HIGHEST_TRACKABLE_VALUE) + 1;
+
+    private static final int STRIPES = Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1);
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPES);
+
+    private final LongAdder totalCount = new LongAdder();
+
+    private final LongAdder totalValue = new LongAdder();
+
+    private final LongAccumulator maxValue = new LongAccumulator(Math::max, 0);
+
+    private final LongAccumulator minValue = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    static int countsIndex(long value) {
+        var bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        var subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+    }
+
+    static long lowestEquivalentValue(int index) {
+        var bucketIndex = (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        var subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+        return (long) subBucketIndex << bucketIndex;
+    }
+
+    static long highestEquivalentValue(int index) {
+        var bucketIndex = Math.max(0, (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1);
+        return lowestEquivalentValue(index) + (1L << bucketIndex) - 1;
+    }
+
+    private AtomicLongArray stripe() {
+        var hash = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        var index = (int) (hash >>> 32) & (STRIPES - 1);
+        var stripe = stripes.get(index);
+        if (stripe == null) {
+            stripes.compareAndSet(index, null, new AtomicLongArray(COUNTS_LENGTH));
+            stripe = stripes.get(index);
+        }
+        return stripe;
+    }
+
+    /**
+     * 记录一个值
+     *
+     * @param value 记录值(微秒)，负数按 0 记录
+     */
+    public void record(long value) {
+        record(value, 1);
+    }
+
+    private void record(long value, long count) {
+        value = Math.min(Math.max(value, 0), HIGHEST_TRACKABLE_VALUE);
+        stripe().addAndGet(countsIndex(value), count);
+        totalCount.add(count);
+        totalValue.add(value * count);
+        maxValue.accumulate(value);
+        minValue.accumulate(value);
+    }
+
+    /**
+     * 记录一个值，并按期望间隔补齐因协调遗漏而缺失的样本
+     * <p>
+     * 当记录值大于期望间隔时，说明在该次请求阻塞期间本应发出的请求未被发出，
+     * 依次补记 value - interval、value - 2 * interval … 直至不大于期望间隔。
+     * </p>
+     *
+     * @param value            记录值(微秒)
+     * @param expectedInterval 期望间隔(微秒)，不大于 0 时不补齐
+     */
+    public void recordWithExpectedInterval(long value, long expectedInterval) {
+        record(value);
+        if (expectedInterval <= 0) {
+            return;
+        }
+        for (long missing = value - expectedInterval; missing >= expectedInterval; missing -= expectedInterval) {
+            record(missing);
+        }
+    }
+
+    /**
+     * 将另一个直方图的全部记录合并到当前直方图
+     *
+     * @param other 待合并的直方图
+     */
+    public void add(LatencyHistogram other) {
+        var counts = other.counts();
+        var target = stripe();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                target.addAndGet(i, counts[i]);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        totalValue.add(other.totalValue.sum());
+        maxValue.accumulate(other.maxValue.get());
+        minValue.accumulate(other.minValue.get());
+    }
+
+    private long[] counts() {
+        var counts = new long[COUNTS_LENGTH];
+        for (int s = 0; s < STRIPES; s++) {
+            var stripe = stripes.get(s);
+            if (stripe == null) {
+                continue;
+            }
+            for (int i = 0; i < COUNTS_LENGTH; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 获取记录总数
+     *
+     * @return 记录总数
+     */
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * 获取记录的最大值
+     *
+     * @return 最大值(微秒)，无记录时返回 0
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * 获取记录的最小值
+     *
+     * @return 最小值(微秒)，无记录时返回 0
+     */
+    public long getMin() {
+        return getTotalCount() == 0 ? 0 : minValue.get();
+    }
+
+    /**
+     * 获取记录的平均值
+     *
+     * @return 平均值(微秒)，无记录时返回 0
+     */
+    public double getMean() {
+        var count = getTotalCount();
+        return count == 0 ? 0 : (double) totalValue.sum() / count;
+    }
+
+    /**
+     * 获取指定百分位的值
+     *
+     * @param percentile 百分位，取值范围 0 ~ 100
+     * @return 百分位值(微秒)，为所在桶的最大等价值且不超过记录的最大值，无记录时返回 0
+     */
+    public long getValueAtPercentile(double percentile) {
+        return summarize(new double[]{percentile})[0];
+    }
+
+    private long[] summarize(double[] percentiles) {
+        var values = new long[percentiles.length];
+        var counts = counts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return values;
+        }
+        var max = getMax();
+        var index = 0;
+        long cumulative = 0;
+        for (int p = 0; p < percentiles.length; p++) {
+            var target = Math.max(1, (long) Math.ceil(Math.min(100, percentiles[p]) / 100 * total));
+            while (cumulative + counts[index] < target) {
+                cumulative += counts[index++];
+            }
+            values[p] = Math.min(highestEquivalentValue(index), max);
+        }
+        return values;
+    }
+
+    /**
+     * 生成当前直方图的统计摘要
+     *
+     * @return 统计摘要
+     */
+    public LatencySummary summary() {
+        var values = summarize(new double[]{50, 90, 99, 99.9});
+        return new LatencySummary(getTotalCount(), getMin(), getMean(), values[0], values[1], values[2], values[3], getMax());
+    }
+}
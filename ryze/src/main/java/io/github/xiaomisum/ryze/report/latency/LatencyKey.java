@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.report.latency;
+
+import io.github.xiaomisum.ryze.testelement.KW;
+
+/**
+ * 延迟直方图的统计维度，由取样器标题与协议组成
+ *
+ * @param title    取样器标题
+ * @param protocol 协议名称，如 http、jdbc、redis
+ * @author xiaomi
+ */
+public record LatencyKey(String title, String protocol) {
+
+    private static final String PROTOCOL_PACKAGE = "io.github.xiaomisum.ryze.protocol.";
+
+    private static final ClassValue<String> PROTOCOLS = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            var name = type.getName();
+            if (name.startsWith(PROTOCOL_PACKAGE)) {
+                var end = name.indexOf('.', PROTOCOL_PACKAGE.length());
+                if (end > 0) {
+                    return name.substring(PROTOCOL_PACKAGE.length(), end);
+                }
+            }
+            var kw = type.getAnnotation(KW.class);
+            return kw != null && kw.value().length > 0 ? kw.value()[0] : type.getSimpleName();
+        }
+    };
+
+    /**
+     * 按取样器类型推断协议名称
+     * <p>
+     * 优先使用 io.github.xiaomisum.ryze.protocol 下的协议包名，其次使用 {@link KW} 注解的首个关键字，
+     * 最后使用类名
+     * </p>
+     *
+     * @param type 取样器类型
+     * @return 协议名称
+     */
+    public static String protocolOf(Class<?> type) {
+        return PROTOCOLS.get(type);
+    }
+
+    @Override
+    public String toString() {
+        return protocol + " | " + title;
+    }
+}
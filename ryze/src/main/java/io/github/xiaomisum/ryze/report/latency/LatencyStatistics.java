@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.report.latency;
+
+/**
+ * 单个统计维度的延迟直方图
+ * <p>
+ * 服务时间为取样器自身的执行耗时；响应时间在服务时间的基础上加上迭代实际启动相对计划启动的滞后，
+ * 用于校正按计划调度（如到达率调度器）时的协调遗漏，未按计划调度时两者相同。
+ * </p>
+ *
+ * @param serviceTime  服务时间直方图
+ * @param responseTime 校正协调遗漏后的响应时间直方图
+ * @author xiaomi
+ */
+public record LatencyStatistics(LatencyHistogram serviceTime, LatencyHistogram responseTime) {
+
+    /**
+     * 创建空的延迟统计
+     */
+    public LatencyStatistics() {
+        this(new LatencyHistogram(), new LatencyHistogram());
+    }
+
+    /**
+     * 记录一次取样
+     *
+     * @param serviceTime 服务时间(微秒)
+     * @param lag         迭代启动滞后(微秒)
+     */
+    public void record(long serviceTime, long lag) {
+        this.serviceTime.record(serviceTime);
+        this.responseTime.record(serviceTime + lag);
+    }
+
+    /**
+     * 合并另一个延迟统计
+     *
+     * @param other 待合并的延迟统计
+     */
+    public void add(LatencyStatistics other) {
+        serviceTime.add(other.serviceTime);
+        responseTime.add(other.responseTime);
+    }
+}
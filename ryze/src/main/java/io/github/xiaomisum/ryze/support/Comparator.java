@@ -27,6 +27,7 @@ package io.github.xiaomisum.ryze.support;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.*;
 
 /**
@@ -53,12 +54,41 @@ import java.util.*;
 public class Comparator {
 
     /**
-     * 存储已访问对象的标识防止循环引用
-     * <p>
-     * 使用ThreadLocal确保线程安全，避免在比较包含循环引用的对象时出现无限递归
-     * </p>
+     * 进入比较的嵌套层级超过该值时开始记录已比较的对象对，用于发现 Map、集合、数组之间的循环引用
+     */
+    private static final int CYCLE_CHECK_DEPTH = 64;
+
+    /**
+     * 实际值中存在、期望值中缺失的 Map 键在差异中的期望值
      */
-    private static final ThreadLocal<Set<String>> visitedObjects = ThreadLocal.withInitial(HashSet::new);
+    private static final Object ABSENT = new Object() {
+        @Override
+        public String toString() {
+            return "<absent>";
+        }
+    };
+
+    /**
+     * 可通过反射比较的实例字段，类的字段无法访问时为 null
+     */
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            var fields = new ArrayList<Field>();
+            for (var clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+                for (var field : clazz.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    if (!field.trySetAccessible()) {
+                        return null;
+                    }
+                    fields.add(field);
+                }
+            }
+            return fields.toArray(Field[]::new);
+        }
+    };
 
     /**
      * 主比较方法
@@ -89,100 +119,28 @@ public class Comparator {
      * @param deepCompare 是否进行深度比较，true表示递归比较对象的所有属性，false表示只比较对象本身
      * @param ignoreCase  是否忽略大小写，true表示忽略大小写，false表示区分大小写
      * @return 如果两个对象相等返回true，否则返回false
-     * @see #deepAreEqual(Object, Object, boolean, boolean, Set)
+     * @see #diff(Object, Object, boolean)
      */
     public static boolean areEqual(Object a, Object b, boolean deepCompare, boolean ignoreCase) {
-        try {
-            visitedObjects.get().clear(); // 清除之前的访问记录
-            return deepAreEqual(a, b, deepCompare, ignoreCase, new HashSet<>());
-        } finally {
-            visitedObjects.remove(); // 自动清理 ThreadLocal，防止内存泄漏
-        }
+        return new Comparison(deepCompare, ignoreCase).equal(a, b);
     }
 
     /**
-     * 深度比较方法
+     * 深度比较两个对象，返回第一处差异
      *
      * <p>
-     * 执行两个对象的深度相等比较，支持循环引用检测。比较过程如下：
-     * <ol>
-     * <li>基本处理：null检查、相同对象检查</li>
-     * <li>防止循环引用：通过visited集合记录已比较的对象对</li>
-     * <li>基本类型兼容比较：字符串、布尔值、数字等</li>
-     * <li>数字类型兼容比较</li>
-     * <li>集合类型处理</li>
-     * <li>数组类型处理</li>
-     * <li>Map类型处理</li>
-     * <li>枚举类型处理</li>
-     * <li>对象深度比较</li>
-     * <li>默认比较：使用对象的equals方法</li>
-     * </ol>
+     * 比较规则与 {@link #areEqual(Object, Object, boolean)} 相同，差异在比较失败后沿递归路径返回时记录，
+     * 不需要再次遍历，比较成功时没有额外开销。
      * </p>
      *
-     * @param a           第一个对象
-     * @param b           第二个对象
-     * @param deepCompare 是否进行深度比较
-     * @param ignoreCase  是否忽略大小写
-     * @param visited     已访问对象集合，用于防止循环引用
-     * @return 如果两个对象相等返回true，否则返回false
+     * @param actual     实际值
+     * @param expected   期望值
+     * @param ignoreCase 是否忽略大小写
+     * @return 第一处差异，两个对象相等时返回 null
      */
-    // 深度比较方法
-    private static boolean deepAreEqual(Object a, Object b, boolean deepCompare, boolean ignoreCase,
-            Set<String> visited) {
-        // 基本处理：null检查、相同对象检查
-        if (a == b) {
-            return true;
-        }
-        if (a == null || b == null) {
-            return false;
-        }
-
-        // 防止循环引用
-        var aId = System.identityHashCode(a);
-        var bId = System.identityHashCode(b);
-        var key = aId + "-" + bId;
-        if (visited.contains(key)) {
-            return true;
-        }
-        visited.add(key);
-
-        // 1. 基本类型兼容比较
-        if (PrimitiveTypeChecker.isPrimitiveOrWrapper(a) && PrimitiveTypeChecker.isPrimitiveOrWrapper(b)) {
-            return handleBasicTypes(a, b, ignoreCase);
-        }
-
-        // 2. 数字类型兼容比较
-        if (a instanceof Number && b instanceof Number) {
-            return compareNumbers((Number) a, (Number) b);
-        }
-
-        // 3. 集合类型处理
-        if (a instanceof Collection && b instanceof Collection) {
-            return compareCollections((Collection<?>) a, (Collection<?>) b, deepCompare, ignoreCase, visited);
-        }
-
-        // 4. 数组类型处理
-        if (a.getClass().isArray() && b.getClass().isArray()) {
-            return compareArrays(a, b, deepCompare, ignoreCase, visited);
-        }
-
-        // 5. Map类型处理
-        if (a instanceof Map && b instanceof Map) {
-            return compareMaps((Map<?, ?>) a, (Map<?, ?>) b, deepCompare, ignoreCase, visited);
-        }
-
-        // 6. 枚举类型处理
-        if (a instanceof Enum && b instanceof Enum) {
-            return a.equals(b);
-        }
-
-        // 7. 对象深度比较
-        if (deepCompare) {
-            return compareObjects(a, b, ignoreCase, visited);
-        }
-
-        // 8. 默认：使用对象的equals方法
-        return a.equals(b);
+    public static Difference diff(Object actual, Object expected, boolean ignoreCase) {
+        var comparison = new Comparison(true, ignoreCase);
+        return comparison.equal(actual, expected) ? null : comparison.difference();
     }
 
     /**
@@ -256,161 +214,6 @@ public class Comparator {
         return num instanceof Integer || num instanceof Long || num instanceof Short || num instanceof Byte;
     }
 
-    /**
-     * 比较两个集合是否相等
-     *
-     * <p>
-     * 逐个比较集合中的元素，支持深度比较和忽略大小写选项。
-     * </p>
-     *
-     * @param colA        第一个集合
-     * @param colB        第二个集合
-     * @param deepCompare 是否进行深度比较
-     * @param ignoreCase  是否忽略大小写
-     * @param visited     已访问对象集合，用于防止循环引用
-     * @return 如果两个集合相等返回true，否则返回false
-     */
-    private static boolean compareCollections(Collection<?> colA, Collection<?> colB, boolean deepCompare,
-            boolean ignoreCase, Set<String> visited) {
-        if (colA.size() != colB.size()) {
-            return false;
-        }
-        var itA = colA.iterator();
-        var itB = colB.iterator();
-        while (itA.hasNext() && itB.hasNext()) {
-            if (!deepAreEqual(itA.next(), itB.next(), deepCompare, ignoreCase, visited)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    /**
-     * 比较两个数组是否相等
-     *
-     * <p>
-     * 逐个比较数组中的元素，支持深度比较和忽略大小写选项。
-     * </p>
-     *
-     * @param arrA        第一个数组
-     * @param arrB        第二个数组
-     * @param deepCompare 是否进行深度比较
-     * @param ignoreCase  是否忽略大小写
-     * @param visited     已访问对象集合，用于防止循环引用
-     * @return 如果两个数组相等返回true，否则返回false
-     */
-    private static boolean compareArrays(Object arrA, Object arrB, boolean deepCompare, boolean ignoreCase,
-            Set<String> visited) {
-        var lenA = Array.getLength(arrA);
-        var lenB = Array.getLength(arrB);
-        if (lenA != lenB) {
-            return false;
-        }
-        for (int i = 0; i < lenA; i++) {
-            var elemA = Array.get(arrA, i);
-            var elemB = Array.get(arrB, i);
-            if (!deepAreEqual(elemA, elemB, deepCompare, ignoreCase, visited)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    /**
-     * 比较两个Map是否相等
-     *
-     * <p>
-     * 逐个比较Map中的键值对，支持深度比较和忽略大小写选项。
-     * </p>
-     *
-     * @param mapA        第一个Map
-     * @param mapB        第二个Map
-     * @param deepCompare 是否进行深度比较
-     * @param ignoreCase  是否忽略大小写
-     * @param visited     已访问对象集合，用于防止循环引用
-     * @return 如果两个Map相等返回true，否则返回false
-     */
-    private static boolean compareMaps(Map<?, ?> mapA, Map<?, ?> mapB, boolean deepCompare, boolean ignoreCase,
-            Set<String> visited) {
-        if (mapA.size() != mapB.size()) {
-            return false;
-        }
-        for (var entry : mapA.entrySet()) {
-            var key = entry.getKey();
-            var valueA = entry.getValue();
-            // 如果mapB中没有相同的key，检查失败
-            if (!mapB.containsKey(key)) {
-                return false;
-            }
-            var valueB = mapB.get(key);
-            // 比较键值
-            if (!deepAreEqual(valueA, valueB, deepCompare, ignoreCase, visited)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    /**
-     * 对象深度比较方法
-     *
-     * <p>
-     * 比较两个对象的所有字段，支持继承关系和访问权限控制。
-     * </p>
-     *
-     * @param objA       第一个对象
-     * @param objB       第二个对象
-     * @param ignoreCase 是否忽略大小写
-     * @param visited    已访问对象集合，用于防止循环引用
-     * @return 如果两个对象相等返回true，否则返回false
-     */
-    // 对象深度比较方法
-    private static boolean compareObjects(Object objA, Object objB, boolean ignoreCase, Set<String> visited) {
-        // 类型检查
-        if (!objA.getClass().equals(objB.getClass())) {
-            return false;
-        }
-
-        // 获取所有字段（包括父类字段）
-        var fields = getAllFields(objA.getClass());
-        for (var field : fields) {
-            try {
-                field.setAccessible(true);
-                Object valueA = field.get(objA);
-                Object valueB = field.get(objB);
-
-                // 递归比较字段值
-                if (!deepAreEqual(valueA, valueB, true, ignoreCase, visited)) {
-                    return false;
-                }
-            } catch (IllegalAccessException e) {
-                // 忽略无法访问的字段
-            }
-        }
-
-        return true;
-    }
-
-    /**
-     * 获取类及其父类的所有字段
-     *
-     * <p>
-     * 通过反射获取指定类及其所有父类声明的字段。
-     * </p>
-     *
-     * @param clazz 类对象
-     * @return 包含所有字段的列表
-     */
-    // 获取类及其父类的所有字段
-    private static List<Field> getAllFields(Class<?> clazz) {
-        var fields = new ArrayList<Field>();
-        while (clazz != null) {
-            fields.addAll(Arrays.asList(clazz.getDeclaredFields()));
-            clazz = clazz.getSuperclass();
-        }
-        return fields;
-    }
-
     /**
      * 检查两个字符串数字是否相等
      *
@@ -422,7 +225,6 @@ public class Comparator {
      * @param s2 第二个字符串
      * @return 如果两个字符串表示的数字相等返回true，否则返回false
      */
-    // 其他辅助方法保持不变...
     private static boolean areNumericEqual(String s1, String s2) {
         try {
             var d1 = Double.parseDouble(s1);
@@ -495,4 +297,267 @@ public class Comparator {
             default -> false;
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * 结构差异
+     *
+     * @param path     差异位置，JSONPath 格式，如 {@code $.data.items[2].name}；集合长度不同时以 {@code .size()} 结尾
+     * @param expected 期望值
+     * @param actual   实际值
+     */
+    public record Difference(String path, Object expected, Object actual) {
+
+        @Override
+        public String toString() {
+            return String.format("%s: expected %s but was %s", path, expected, actual);
+        }
+    }
+
+    /**
+     * 单次深度比较
+     *
+     * <p>
+     * 比较过程如下：
+     * <ol>
+     * <li>基本处理：null检查、相同对象检查</li>
+     * <li>基本类型兼容比较：字符串、布尔值、数字等</li>
+     * <li>数字类型兼容比较</li>
+     * <li>集合、数组、Map 逐个元素比较</li>
+     * <li>枚举类型处理</li>
+     * <li>对象深度比较：反射比较所有实例字段</li>
+     * <li>默认比较：使用对象的equals方法</li>
+     * </ol>
+     * </p>
+     *
+     * <p>
+     * JSON 树（Map、List 与基本类型）不会出现循环引用，比较时不记录已访问的对象；只有反射比较自定义对象，
+     * 或嵌套层级超过 {@link #CYCLE_CHECK_DEPTH} 时，才以两个对象的 identityHashCode 组成的 long 值记录已比较的对象对。
+     * 比较失败时记录不相等的两个值，各层递归返回时依次记录所在位置，组成差异路径。
+     * </p>
+     */
+    private static final class Comparison {
+
+        private final boolean deepCompare;
+        private final boolean ignoreCase;
+        private int depth;
+        private PairSet visited;
+        private Object actual;
+        private Object expected;
+        private ArrayDeque<String> trail;
+
+        Comparison(boolean deepCompare, boolean ignoreCase) {
+            this.deepCompare = deepCompare;
+            this.ignoreCase = ignoreCase;
+        }
+
+        boolean equal(Object a, Object b) {
+            if (a == b) {
+                return true;
+            }
+            if (a == null || b == null) {
+                return mismatch(a, b);
+            }
+            // 1. 基本类型兼容比较
+            if (PrimitiveTypeChecker.isPrimitiveOrWrapper(a) && PrimitiveTypeChecker.isPrimitiveOrWrapper(b)) {
+                return handleBasicTypes(a, b, ignoreCase) || mismatch(a, b);
+            }
+            // 2. 数字类型兼容比较
+            if (a instanceof Number numA && b instanceof Number numB) {
+                return compareNumbers(numA, numB) || mismatch(a, b);
+            }
+            // 3. 枚举类型处理
+            if (a instanceof Enum<?> && b instanceof Enum<?>) {
+                return a.equals(b) || mismatch(a, b);
+            }
+            var structured = a instanceof Collection<?> && b instanceof Collection<?> || a instanceof Map<?, ?> && b instanceof Map<?, ?>
+                    || a.getClass().isArray() && b.getClass().isArray();
+            // 4. 默认：使用对象的equals方法
+            if (!structured && !deepCompare) {
+                return a.equals(b) || mismatch(a, b);
+            }
+            // 防止循环引用
+            if ((!structured || depth >= CYCLE_CHECK_DEPTH) && !visited().add(a, b)) {
+                return true;
+            }
+            depth++;
+            try {
+                if (a instanceof Collection<?> colA && b instanceof Collection<?> colB) {
+                    return compareCollections(colA, colB);
+                }
+                if (a instanceof Map<?, ?> mapA && b instanceof Map<?, ?> mapB) {
+                    return compareMaps(mapA, mapB);
+                }
+                if (structured) {
+                    return compareArrays(a, b);
+                }
+                return compareObjects(a, b);
+            } finally {
+                depth--;
+            }
+        }
+
+        Difference difference() {
+            var path = new StringBuilder("$");
+            trail.forEach(path::append);
+            return new Difference(path.toString(), expected, actual);
+        }
+
+        private boolean compareCollections(Collection<?> colA, Collection<?> colB) {
+            if (colA.size() != colB.size()) {
+                return sizeMismatch(colA.size(), colB.size());
+            }
+            var itA = colA.iterator();
+            var itB = colB.iterator();
+            for (int i = 0; itA.hasNext() && itB.hasNext(); i++) {
+                if (!equal(itA.next(), itB.next())) {
+                    return traceIndex(i);
+                }
+            }
+            return true;
+        }
+
+        private boolean compareArrays(Object arrA, Object arrB) {
+            var lenA = Array.getLength(arrA);
+            var lenB = Array.getLength(arrB);
+            if (lenA != lenB) {
+                return sizeMismatch(lenA, lenB);
+            }
+            for (int i = 0; i < lenA; i++) {
+                if (!equal(Array.get(arrA, i), Array.get(arrB, i))) {
+                    return traceIndex(i);
+                }
+            }
+            return true;
+        }
+
+        private boolean compareMaps(Map<?, ?> mapA, Map<?, ?> mapB) {
+            if (mapA.size() != mapB.size()) {
+                return sizeMismatch(mapA.size(), mapB.size());
+            }
+            for (var entry : mapA.entrySet()) {
+                var key = entry.getKey();
+                // 如果mapB中没有相同的key，检查失败
+                if (!mapB.containsKey(key)) {
+                    mismatch(entry.getValue(), ABSENT);
+                    return traceKey(key);
+                }
+                if (!equal(entry.getValue(), mapB.get(key))) {
+                    return traceKey(key);
+                }
+            }
+            return true;
+        }
+
+        private boolean compareObjects(Object objA, Object objB) {
+            if (!objA.getClass().equals(objB.getClass())) {
+                return mismatch(objA, objB);
+            }
+            var fields = FIELDS.get(objA.getClass());
+            // 字段无法访问（如 JDK 内部类型）时使用对象的equals方法
+            if (fields == null) {
+                return objA.equals(objB) || mismatch(objA, objB);
+            }
+            for (var field : fields) {
+                try {
+                    if (!equal(field.get(objA), field.get(objB))) {
+                        return traceKey(field.getName());
+                    }
+                } catch (IllegalAccessException e) {
+                    // 忽略无法访问的字段
+                }
+            }
+            return true;
+        }
+
+        private boolean mismatch(Object a, Object b) {
+            actual = a;
+            expected = b;
+            trail = new ArrayDeque<>();
+            return false;
+        }
+
+        private boolean sizeMismatch(int sizeA, int sizeB) {
+            mismatch(sizeA, sizeB);
+            trail.push(".size()");
+            return false;
+        }
+
+        private boolean traceIndex(int index) {
+            trail.push("[" + index + "]");
+            return false;
+        }
+
+        private boolean traceKey(Object key) {
+            var name = String.valueOf(key);
+            trail.push(isIdentifier(name) ? "." + name : "['" + name + "']");
+            return false;
+        }
+
+        private static boolean isIdentifier(String name) {
+            if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+                return false;
+            }
+            for (int i = 1; i < name.length(); i++) {
+                if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private PairSet visited() {
+            return visited == null ? visited = new PairSet() : visited;
+        }
+    }
+
+    /**
+     * 以两个对象 identityHashCode 组成的 long 值为元素的开放寻址哈希集合
+     */
+    private static final class PairSet {
+
+        private long[] keys = new long[32];
+        private boolean containsZero;
+        private int size;
+
+        boolean add(Object a, Object b) {
+            var key = ((long) System.identityHashCode(a) << 32) | (System.identityHashCode(b) & 0xFFFFFFFFL);
+            if (key == 0) {
+                if (containsZero) {
+                    return false;
+                }
+                containsZero = true;
+                return true;
+            }
+            if (size * 2 >= keys.length) {
+                resize();
+            }
+            return insert(keys, key);
+        }
+
+        private boolean insert(long[] table, long key) {
+            var mask = table.length - 1;
+            var index = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (table[index] != 0) {
+                if (table[index] == key) {
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+            table[index] = key;
+            if (table == keys) {
+                size++;
+            }
+            return true;
+        }
+
+        private void resize() {
+            var table = new long[keys.length * 2];
+            for (var key : keys) {
+                if (key != 0) {
+                    insert(table, key);
+                }
+            }
+            keys = table;
+        }
+    }
+}
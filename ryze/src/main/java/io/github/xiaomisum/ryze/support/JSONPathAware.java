@@ -0,0 +1,46 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.support;
+
+/**
+ * 声明了 JSONPath 表达式的组件
+ *
+ * <p>提取器、断言实现该接口后，取样器在执行断言与提取之前收集其全部 JSONPath 表达式，
+ * 在响应的 JSON 树上合并求值一次（见 {@link JSONPaths#evalAll(Object, java.util.List)}），
+ * 各组件随后通过 {@link io.github.xiaomisum.ryze.testelement.sampler.SampleResult.RealResponse#jsonPath(String)}
+ * 直接读取求值结果。</p>
+ *
+ * @author xiaomi
+ */
+public interface JSONPathAware {
+
+    /**
+     * 获取组件的 JSONPath 表达式
+     *
+     * @return JSONPath 表达式，未声明时返回 null
+     */
+    String jsonPath();
+}
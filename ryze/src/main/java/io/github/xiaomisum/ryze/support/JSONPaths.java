@@ -0,0 +1,236 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.support;
+
+import com.alibaba.fastjson2.JSONPath;
+import com.alibaba.fastjson2.JSONReader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JSONPath 编译缓存工具类
+ *
+ * <p>{@link JSONPath#extract(String, String)}、{@link JSONPath#eval(Object, String)} 每次调用都会重新编译路径表达式，
+ * 本类以表达式为键缓存编译后的 {@link JSONPath}（Caffeine，容量有界），同一表达式只编译一次。</p>
+ *
+ * <p>多个路径可通过 {@link #evalAll(Object, List)} 合并为 fastjson2 的多路径 JSONPath 一次求值，
+ * 合并后的多路径对象同样按路径列表缓存。</p>
+ *
+ * <p>{@link #extract(byte[], String)}、{@link #extractAll(byte[], List)} 直接在 UTF-8 字节上读取，不创建中间字符串。
+ * 由属性名、数组下标组成的简单路径流式读取，跳过无关的字段，不构建完整的 JSON 树，适用于数 MB 以上的响应体；
+ * 通配符、过滤器等路径由 fastjson2 读取完整的值后再求值。</p>
+ *
+ * <p>fastjson2 只对以下形式的多路径流式读取：均为单个属性名（{@code $.a}、{@code $.b}）、均为单个数组下标
+ * （{@code $[0]}、{@code $[1]}），或前缀相同、末段为属性名的两段/三段路径（{@code $.data.a}、{@code $[0].a}、
+ * {@code $.data.page.a}）。其余形式的多路径会先读取完整的 JSON 树，{@link #extractAll(byte[], List)} 对其逐个提取。</p>
+ *
+ * @author xiaomi
+ */
+public final class JSONPaths {
+
+    private static final Pattern SEGMENT = Pattern.compile("\\.[A-Za-z_$][\\w$]*|\\[\\d+]");
+
+    private static final LoadingCache<String, JSONPath> PATHS = Caffeine.newBuilder().maximumSize(10_000)
+            .build(JSONPath::of);
+
+    private static final LoadingCache<List<String>, JSONPath> MULTI_PATHS = Caffeine.newBuilder().maximumSize(1_000)
+            .build(paths -> {
+                var types = new Type[paths.size()];
+                Arrays.fill(types, Object.class);
+                return JSONPath.of(paths.toArray(String[]::new), types);
+            });
+
+    private JSONPaths() {
+    }
+
+    /**
+     * 获取编译后的 JSONPath
+     *
+     * @param path JSONPath 表达式
+     * @return 编译后的 JSONPath
+     */
+    public static JSONPath compile(String path) {
+        return PATHS.get(path);
+    }
+
+    /**
+     * 在已解析的 JSON 对象上求值
+     *
+     * @param root JSON 对象（JSONObject、JSONArray、Map、List 等）
+     * @param path JSONPath 表达式
+     * @return 求值结果
+     */
+    public static Object eval(Object root, String path) {
+        return compile(path).eval(root);
+    }
+
+    /**
+     * 从 JSON 字符串中提取数据，不构建完整的 JSON 对象
+     *
+     * @param json JSON 字符串
+     * @param path JSONPath 表达式
+     * @return 提取结果
+     */
+    public static Object extract(String json, String path) {
+        return compile(path).extract(json);
+    }
+
+    /**
+     * 从 UTF-8 编码的 JSON 字节中流式提取数据
+     *
+     * @param json JSON 字节
+     * @param path JSONPath 表达式
+     * @return 提取结果
+     */
+    public static Object extract(byte[] json, String path) {
+        try (var reader = JSONReader.of(json)) {
+            return compile(path).extract(reader);
+        }
+    }
+
+    /**
+     * 从 UTF-8 编码的 JSON 字节中提取多个路径
+     * <p>
+     * fastjson2 可流式读取的路径形式（见类说明）合并为一次读取，其余形式逐个提取，避免合并后先构建完整的 JSON 树。
+     * </p>
+     *
+     * @param json  JSON 字节
+     * @param paths 互不重复的 JSONPath 表达式列表
+     * @return 表达式到提取结果的映射，按传入顺序排列
+     */
+    public static Map<String, Object> extractAll(byte[] json, List<String> paths) {
+        var result = new LinkedHashMap<String, Object>(paths.size() * 2);
+        if (paths.size() == 1 || !streamable(paths)) {
+            for (String path : paths) {
+                result.put(path, extract(json, path));
+            }
+            return result;
+        }
+        Object[] values;
+        try (var reader = JSONReader.of(json)) {
+            values = (Object[]) MULTI_PATHS.get(List.copyOf(paths)).extract(reader);
+        }
+        for (int i = 0; i < paths.size(); i++) {
+            result.put(paths.get(i), values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 判断多个路径合并后能否由 fastjson2 流式读取
+     *
+     * @param paths JSONPath 表达式列表
+     * @return 是否可以流式读取
+     */
+    static boolean streamable(List<String> paths) {
+        List<String> prefix = null;
+        var length = -1;
+        var indexes = false;
+        for (String path : paths) {
+            var segments = segments(path);
+            if (segments == null || (length != -1 && segments.size() != length)) {
+                return false;
+            }
+            length = segments.size();
+            var last = segments.getLast();
+            if (length == 1) {
+                // 单段路径须同为属性名或同为数组下标
+                if (prefix == null) {
+                    prefix = List.of();
+                    indexes = isIndex(last);
+                } else if (indexes != isIndex(last)) {
+                    return false;
+                }
+                continue;
+            }
+            var head = segments.subList(0, length - 1);
+            if (length > 3 || isIndex(last) || (length == 3 && head.stream().anyMatch(JSONPaths::isIndex))) {
+                return false;
+            }
+            if (prefix == null) {
+                prefix = head;
+            } else if (!prefix.equals(head)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 将只由属性名、数组下标组成的路径拆分为路径段
+     *
+     * @param path JSONPath 表达式
+     * @return 路径段列表，包含其他语法时返回null
+     */
+    private static List<String> segments(String path) {
+        if (!path.startsWith("$") || path.length() == 1) {
+            return null;
+        }
+        var matcher = SEGMENT.matcher(path);
+        var segments = new ArrayList<String>(4);
+        var position = 1;
+        while (position < path.length()) {
+            if (!matcher.find(position) || matcher.start() != position) {
+                return null;
+            }
+            segments.add(matcher.group());
+            position = matcher.end();
+        }
+        return segments;
+    }
+
+    private static boolean isIndex(String segment) {
+        return segment.charAt(0) == '[';
+    }
+
+    /**
+     * 在已解析的 JSON 对象上对多个路径一次求值
+     *
+     * @param root  JSON 对象
+     * @param paths 互不重复的 JSONPath 表达式列表
+     * @return 表达式到求值结果的映射，按传入顺序排列
+     */
+    public static Map<String, Object> evalAll(Object root, List<String> paths) {
+        var result = new LinkedHashMap<String, Object>(paths.size() * 2);
+        if (paths.size() == 1) {
+            result.put(paths.getFirst(), eval(root, paths.getFirst()));
+            return result;
+        }
+        var values = (Object[]) MULTI_PATHS.get(List.copyOf(paths)).eval(root);
+        for (int i = 0; i < paths.size(); i++) {
+            result.put(paths.get(i), values[i]);
+        }
+        return result;
+    }
+}
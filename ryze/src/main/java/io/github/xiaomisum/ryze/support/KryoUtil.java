@@ -2,16 +2,29 @@ package io.github.xiaomisum.ryze.support;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import com.esotericsoftware.kryo.util.Pool;
 import org.objenesis.strategy.StdInstantiatorStrategy;
 
 public class KryoUtil {
 
-    private static final ThreadLocal<Kryo> kryoThreadLocal = ThreadLocal.withInitial(() -> {
+    private static final ThreadLocal<Kryo> kryoThreadLocal = ThreadLocal.withInitial(KryoUtil::newKryo);
+
+    /**
+     * 拷贝使用的 Kryo 实例池，线程安全且不依赖 ThreadLocal，虚拟线程下同样可以复用 Kryo 实例
+     */
+    private static final Pool<Kryo> kryoPool = new Pool<>(true, false, 64) {
+        @Override
+        protected Kryo create() {
+            return newKryo();
+        }
+    };
+
+    private static Kryo newKryo() {
         Kryo kryo = new Kryo();
         kryo.setRegistrationRequired(false);
         kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
         return kryo;
-    });
+    }
 
     public static Kryo getKryo() {
         return kryoThreadLocal.get();
@@ -25,10 +38,12 @@ public class KryoUtil {
      * @return 原对象的深拷贝
      */
     public static <T> T copy(T object) {
+        // 从实例池借用 Kryo，避免每次拷贝都重新创建 Kryo 实例
+        var kryo = kryoPool.obtain();
         try {
-            return kryoThreadLocal.get().copy(object);
+            return kryo.copy(object);
         } finally {
-            kryoThreadLocal.remove(); // 自动清理 ThreadLocal，防止内存泄漏
+            kryoPool.free(kryo);
         }
     }
 
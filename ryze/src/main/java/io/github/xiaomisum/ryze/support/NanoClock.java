@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.support;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 单调纳秒时钟工具类
+ *
+ * <p>执行过程中只记录 {@link System#nanoTime()}，既不分配对象也不受系统时间调整影响；
+ * 需要展示墙钟时间时，再以类加载时的墙钟时间为锚点换算为 {@link LocalDateTime}。</p>
+ *
+ * @author xiaomi
+ */
+public final class NanoClock {
+
+    private static final Instant ANCHOR_INSTANT = Instant.now();
+
+    private static final long ANCHOR_NANOS = System.nanoTime();
+
+    private NanoClock() {
+    }
+
+    /**
+     * 获取当前单调时间
+     *
+     * @return {@link System#nanoTime()}
+     */
+    public static long now() {
+        return System.nanoTime();
+    }
+
+    /**
+     * 将单调时间换算为系统默认时区的墙钟时间
+     *
+     * @param nanos {@link System#nanoTime()} 取得的单调时间
+     * @return 墙钟时间
+     */
+    public static LocalDateTime toLocalDateTime(long nanos) {
+        return LocalDateTime.ofInstant(ANCHOR_INSTANT.plusNanos(nanos - ANCHOR_NANOS), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.xiaomisum.ryze.support;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 正则表达式工具类
+ *
+ * <p>编译后的 {@link Pattern} 按表达式与标志位缓存（Caffeine，容量有界），提取器与匹配器在每次取样时不再重复编译。</p>
+ *
+ * <p>匹配超时为可选功能，默认不限时。通过系统属性 {@value #RYZE_REGEX_TIMEOUT}（单位毫秒）开启后，
+ * {@link #matcher(String, int, CharSequence)} 返回的 {@link Matcher} 作用在限时的字符序列上：
+ * 正则引擎每读取一定数量的字符检查一次截止时间，灾难性回溯的表达式超时后抛出异常，
+ * 避免单个虚拟用户长时间占满一个 CPU 核心。小于等于 0 时不限时。</p>
+ *
+ * @author xiaomi
+ */
+public final class Regexes {
+
+    private static final String RYZE_REGEX_TIMEOUT = "ryze.regex.timeout";
+
+    private static final long TIMEOUT = TimeUnit.MILLISECONDS.toNanos(Long.getLong(RYZE_REGEX_TIMEOUT, 0));
+
+    private static final LoadingCache<Key, Pattern> PATTERNS = Caffeine.newBuilder().maximumSize(10_000)
+            .build(key -> Pattern.compile(key.regex(), key.flags()));
+
+    private Regexes() {
+    }
+
+    /**
+     * 获取编译后的正则表达式
+     *
+     * @param regex 正则表达式
+     * @param flags 标志位，如 {@link Pattern#CASE_INSENSITIVE}
+     * @return 编译后的正则表达式
+     */
+    public static Pattern compile(String regex, int flags) {
+        return PATTERNS.get(new Key(regex, flags));
+    }
+
+    /**
+     * 创建默认超时时长的匹配器，未通过系统属性 {@value #RYZE_REGEX_TIMEOUT} 配置超时时长时不限时
+     *
+     * @param regex 正则表达式
+     * @param flags 标志位
+     * @param input 待匹配的字符序列
+     * @return 匹配器
+     */
+    public static Matcher matcher(String regex, int flags, CharSequence input) {
+        return matcher(regex, flags, input, TIMEOUT);
+    }
+
+    /**
+     * 创建限时匹配器，匹配耗时超过超时时长时抛出异常
+     *
+     * @param regex   正则表达式
+     * @param flags   标志位
+     * @param input   待匹配的字符序列
+     * @param timeout 超时时长，单位纳秒，小于等于 0 时不限时
+     * @return 匹配器
+     */
+    public static Matcher matcher(String regex, int flags, CharSequence input, long timeout) {
+        var pattern = compile(regex, flags);
+        if (timeout <= 0) {
+            return pattern.matcher(input);
+        }
+        return pattern.matcher(new BoundedCharSequence(input, regex, System.nanoTime() + timeout, timeout));
+    }
+
+    private record Key(String regex, int flags) {
+    }
+
+    /**
+     * 限时字符序列，每读取 {@link #CHECK_INTERVAL} 个字符检查一次截止时间与线程中断状态
+     */
+    private static final class BoundedCharSequence implements CharSequence {
+
+        private static final int CHECK_INTERVAL = 4096;
+
+        private final CharSequence delegate;
+        private final String regex;
+        private final long deadline;
+        private final long timeout;
+        private int reads;
+
+        BoundedCharSequence(CharSequence delegate, String regex, long deadline, long timeout) {
+            this.delegate = delegate;
+            this.regex = regex;
+            this.deadline = deadline;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads == CHECK_INTERVAL) {
+                reads = 0;
+                if (System.nanoTime() - deadline > 0 || Thread.currentThread().isInterrupted()) {
+                    throw new RuntimeException(String.format("正则表达式 %s 匹配超时（%d ms），请检查表达式是否存在回溯过多的问题",
+                            regex, TimeUnit.NANOSECONDS.toMillis(timeout)));
+                }
+            }
+            return delegate.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return delegate.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return delegate.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
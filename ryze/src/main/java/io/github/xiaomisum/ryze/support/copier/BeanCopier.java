@@ -0,0 +1,136 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.support.copier;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按类型生成的字段级拷贝器
+ * <p>
+ * 在首次拷贝某个类型时解析其全部实例字段，生成由 {@link MethodHandle} 组成的拷贝计划并缓存，
+ * 后续拷贝直接按计划逐字段复制，不再经过 Kryo 的反射序列化流程。
+ * 基本类型字段直接复制，其余引用类型字段通过 {@link Copiers#copy(Object)} 递归深拷贝；
+ * Map、Collection 子类除字段外还会深拷贝其中的元素。新建的副本在拷贝成员前先登记到本次拷贝的已拷贝对象表中，
+ * 成员引用回自身时直接使用该副本。
+ * </p>
+ *
+ * @author xiaomi
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+final class BeanCopier implements Copier<Object> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> type;
+
+    private final MethodHandle constructor;
+
+    private final FieldHandle[] fields;
+
+    private final boolean map;
+
+    private final boolean collection;
+
+    private BeanCopier(Class<?> type, MethodHandle constructor, FieldHandle[] fields) {
+        this.type = type;
+        this.constructor = constructor;
+        this.fields = fields;
+        this.map = Map.class.isAssignableFrom(type);
+        this.collection = Collection.class.isAssignableFrom(type);
+    }
+
+    /**
+     * 为指定类型生成拷贝器
+     *
+     * @param type 拷贝对象类型
+     * @return 拷贝器，类型不满足生成条件（抽象类、缺少无参构造函数、字段不可访问）时返回 null
+     */
+    static BeanCopier generate(Class<?> type) {
+        var constructor = Copiers.constructor(type);
+        if (constructor == null) {
+            return null;
+        }
+        List<FieldHandle> fields = new ArrayList<>();
+        for (Class<?> clazz = type; clazz != null && !Copiers.isPlatformType(clazz); clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Copiers.isRuntimeState(field)) {
+                    continue;
+                }
+                if (!field.trySetAccessible()) {
+                    return null;
+                }
+                try {
+                    var getter = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+                    var setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+                    var deep = !field.getType().isPrimitive() && !field.isSynthetic();
+                    fields.add(new FieldHandle(getter, setter, deep));
+                } catch (IllegalAccessException e) {
+                    return null;
+                }
+            }
+        }
+        return new BeanCopier(type, constructor, fields.toArray(FieldHandle[]::new));
+    }
+
+    @Override
+    public Object copy(Object source, Map<Object, Object> copies) {
+        try {
+            var target = (Object) constructor.invokeExact();
+            copies.put(source, target);
+            if (map) {
+                var targetMap = (Map) target;
+                ((Map<?, ?>) source).forEach((key, value) -> targetMap.put(Copiers.copy(key, copies), Copiers.copy(value, copies)));
+            } else if (collection) {
+                var targetCollection = (Collection) target;
+                ((Collection<?>) source).forEach(element -> targetCollection.add(Copiers.copy(element, copies)));
+            }
+            for (FieldHandle field : fields) {
+                var value = (Object) field.getter.invokeExact(source);
+                field.setter.invokeExact(target, field.deep ? Copiers.copy(value, copies) : value);
+            }
+            return target;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(String.format("拷贝 %s 失败", type.getName()), e);
+        }
+    }
+
+    private record FieldHandle(MethodHandle getter, MethodHandle setter, boolean deep) {
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.support.copier;
+
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import com.alibaba.fastjson2.annotation.JSONField;
+import io.github.xiaomisum.ryze.assertion.Assertion;
+import io.github.xiaomisum.ryze.config.ConfigureGroup;
+import io.github.xiaomisum.ryze.config.ConfigureItem;
+import io.github.xiaomisum.ryze.config.RyzeVariables;
+import io.github.xiaomisum.ryze.extractor.Extractor;
+import io.github.xiaomisum.ryze.interceptor.RyzeInterceptor;
+import io.github.xiaomisum.ryze.support.KryoUtil;
+import io.github.xiaomisum.ryze.testelement.AbstractTestElement;
+import io.github.xiaomisum.ryze.testelement.KW;
+import io.github.xiaomisum.ryze.testelement.TestElement;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 深拷贝工具类
+ * <p>
+ * 为 {@link KW} 测试组件、{@link ConfigureItem}、{@link Assertion}、{@link Extractor} 等框架类型以及常用集合类型
+ * 按类型生成专属拷贝器（见 {@link BeanCopier}）并缓存，替代逐次反射序列化的 Kryo 拷贝；
+ * 不可变类型直接返回原对象，其他未知的用户类型仍回退到 {@link KryoUtil#copy(Object)}。
+ * </p>
+ * <p>
+ * 每次顶层拷贝维护一个按引用比较的已拷贝对象表，同一对象被多处引用时副本中同样只有一份，
+ * 循环引用（如父子互相引用、包含自身的 Map）拷贝后保持相同的结构，与 Kryo 的引用跟踪行为一致。
+ * {@link RyzeVariables} 拷贝时展开作用域链，副本不与原对象共享父作用域。
+ * </p>
+ *
+ * @author xiaomi
+ */
+@SuppressWarnings({"unchecked"})
+public final class Copiers {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Boolean.class, Character.class,
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigDecimal.class,
+            BigInteger.class, UUID.class, Class.class, Pattern.class, Locale.class);
+
+    private static final Set<Class<?>> CONTAINER_TYPES = Set.of(ArrayList.class, LinkedList.class, HashSet.class,
+            LinkedHashSet.class, HashMap.class, LinkedHashMap.class, ConcurrentHashMap.class, JSONObject.class,
+            JSONArray.class);
+
+    private static final List<Class<?>> GENERATED_TYPES = List.of(TestElement.class, ConfigureItem.class,
+            ConfigureGroup.class, Assertion.class, Extractor.class, RyzeInterceptor.class);
+
+    private static final Copier<Object> IDENTITY = (source, copies) -> source;
+
+    private static final Copier<Object> KRYO = (source, copies) -> {
+        var target = KryoUtil.copy(source);
+        copies.put(source, target);
+        return target;
+    };
+
+    private static final Copier<Object> VARIABLES = (source, copies) -> {
+        var target = (RyzeVariables) newInstance(source.getClass());
+        copies.put(source, target);
+        ((RyzeVariables) source).forEach((key, value) -> target.put(key, copy(value, copies)));
+        return target;
+    };
+
+    private static final ClassValue<Copier<Object>> COPIERS = new ClassValue<>() {
+        @Override
+        protected Copier<Object> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private static final ClassValue<Optional<MethodHandle>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                return Optional.empty();
+            }
+            try {
+                var constructor = type.getDeclaredConstructor();
+                if (!constructor.trySetAccessible()) {
+                    return Optional.empty();
+                }
+                return Optional.of(MethodHandles.lookup().unreflectConstructor(constructor)
+                        .asType(MethodType.methodType(Object.class)));
+            } catch (ReflectiveOperationException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    private Copiers() {
+    }
+
+    /**
+     * 返回一个对象的深拷贝
+     *
+     * @param object 原对象
+     * @param <T>    原对象类型
+     * @return 原对象的深拷贝
+     */
+    public static <T> T copy(T object) {
+        if (object == null) {
+            return null;
+        }
+        var copier = COPIERS.get(object.getClass());
+        return copier == IDENTITY ? object : (T) copier.copy(object, new IdentityHashMap<>());
+    }
+
+    /**
+     * 在一次顶层拷贝中拷贝成员对象，已拷贝过的对象直接返回其副本
+     *
+     * @param object 成员对象
+     * @param copies 本次拷贝中已拷贝的对象
+     * @param <T>    成员对象类型
+     * @return 成员对象的深拷贝
+     */
+    static <T> T copy(T object, Map<Object, Object> copies) {
+        if (object == null) {
+            return null;
+        }
+        var copier = COPIERS.get(object.getClass());
+        if (copier == IDENTITY) {
+            return object;
+        }
+        var copied = copies.get(object);
+        return copied != null ? (T) copied : (T) copier.copy(object, copies);
+    }
+
+    /**
+     * 通过缓存的无参构造函数创建实例
+     *
+     * @param type 实例类型
+     * @param <T>  实例类型
+     * @return 新创建的实例
+     * @throws RuntimeException 如果实例化失败
+     */
+    public static <T> T newInstance(Class<T> type) {
+        var constructor = constructor(type);
+        if (constructor == null) {
+            throw new RuntimeException(String.format("实例化 %s 失败，缺少无参构造函数", type.getName()));
+        }
+        try {
+            return (T) (Object) constructor.invokeExact();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(String.format("实例化 %s 失败", type.getName()), e);
+        }
+    }
+
+    static MethodHandle constructor(Class<?> type) {
+        return CONSTRUCTORS.get(type).orElse(null);
+    }
+
+    /**
+     * 判断是否为平台类型，平台类型的内部字段不参与生成的拷贝计划
+     */
+    static boolean isPlatformType(Class<?> type) {
+        var name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.")
+                || name.startsWith("com.alibaba.fastjson2.");
+    }
+
+    /**
+     * 判断是否为测试组件的运行时状态字段（运行时副本、执行链、初始化标识等），此类字段不参与拷贝
+     */
+    static boolean isRuntimeState(Field field) {
+        if (field.getDeclaringClass() != AbstractTestElement.class) {
+            return false;
+        }
+        var annotation = field.getAnnotation(JSONField.class);
+        return annotation != null && !annotation.serialize() && !annotation.deserialize();
+    }
+
+    private static Copier<Object> resolve(Class<?> type) {
+        if (IMMUTABLE_TYPES.contains(type) || Enum.class.isAssignableFrom(type) || type.getPackageName().equals("java.time")) {
+            return IDENTITY;
+        }
+        if (type.isArray()) {
+            return arrayCopier(type.getComponentType());
+        }
+        if (RyzeVariables.class.isAssignableFrom(type) && constructor(type) != null) {
+            return VARIABLES;
+        }
+        if (CONTAINER_TYPES.contains(type) || isGeneratedType(type)) {
+            var copier = BeanCopier.generate(type);
+            if (copier != null) {
+                return copier;
+            }
+        }
+        return KRYO;
+    }
+
+    private static boolean isGeneratedType(Class<?> type) {
+        if (type.isAnnotationPresent(KW.class)) {
+            return true;
+        }
+        for (Class<?> generatedType : GENERATED_TYPES) {
+            if (generatedType.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Copier<Object> arrayCopier(Class<?> componentType) {
+        if (componentType.isPrimitive()) {
+            return (source, copies) -> {
+                var length = Array.getLength(source);
+                var target = Array.newInstance(componentType, length);
+                System.arraycopy(source, 0, target, 0, length);
+                copies.put(source, target);
+                return target;
+            };
+        }
+        return (source, copies) -> {
+            var target = ((Object[]) source).clone();
+            copies.put(source, target);
+            for (int i = 0; i < target.length; i++) {
+                target[i] = copy(target[i], copies);
+            }
+            return target;
+        };
+    }
+}
@@ -65,8 +65,8 @@ public interface TemplateEngine {
     /**
      * freemarker 模板引擎表达式匹配正则表达式，用于判断模板中是否有模板变量或函数调用
      * <p>
-     * 该正则表达式匹配任何包含${...}形式表达式的字符串，
-     * 用于快速判断字符串是否需要进行模板计算。
+     * 该正则表达式匹配任何包含${...}形式表达式的字符串。
+     * {@link #hasExpression(String)} 已改为等价的线性扫描，该常量仅为兼容保留。
      * </p>
      */
     Pattern EXPRESSION = Pattern.compile("[\\s\\S]*\\$\\{.+}[\\s\\S]*");
@@ -74,15 +74,44 @@ public interface TemplateEngine {
     /**
      * 判断模板字符串是否包含表达式
      * <p>
-     * 通过正则表达式检测给定的字符串是否包含${...}形式的表达式。
-     * 如果包含则返回true，否则返回false。
+     * 检测给定的字符串是否包含${...}形式的表达式，判定规则与 {@link #EXPRESSION} 一致：
+     * "${" 之后同一行内至少有一个字符，并以 "}" 结束。
+     * </p>
+     * <p>
+     * 采用线性扫描实现，不含 "${" 的静态字符串只需一次 indexOf 即可判定，
+     * 避免回溯正则在每次计算配置时对整个字符串进行匹配。
      * </p>
      *
      * @param template 待检测的模板字符串
      * @return 如果包含表达式则返回true，否则返回false
      */
     static boolean hasExpression(String template) {
-        return EXPRESSION.matcher(template).matches();
+        var length = template.length();
+        var start = template.indexOf("${");
+        while (start >= 0) {
+            // 同一行内后续的 "${" 均可复用本次扫描结果，扫描失败时直接跳至行终止符之后
+            var i = start + 2;
+            for (; i < length && !isLineTerminator(template.charAt(i)); i++) {
+                if (template.charAt(i) == '}' && i > start + 2) {
+                    return true;
+                }
+            }
+            if (i >= length) {
+                return false;
+            }
+            start = template.indexOf("${", i);
+        }
+        return false;
+    }
+
+    /**
+     * 判断字符是否为行终止符（正则表达式 "." 不匹配的字符）
+     *
+     * @param c 字符
+     * @return 是否为行终止符
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
 
     /**
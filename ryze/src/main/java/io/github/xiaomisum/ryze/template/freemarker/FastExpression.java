@@ -0,0 +1,271 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.template.freemarker;
+
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.Args;
+import io.github.xiaomisum.ryze.function.MemoizedFunctions;
+import io.github.xiaomisum.ryze.template.Vkw;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译的快速路径表达式
+ * <p>
+ * 覆盖测试数据中最常见的几类表达式，编译为可复用的求值对象，无需构建 FreeMarker 模型、
+ * 也无需经过 Template 与 StringWriter 渲染：
+ * <ul>
+ *   <li>变量路径：${token}、${user.id}、${items[0]}、${user["name"]}</li>
+ *   <li>函数调用：${random(100)}、${uuid()}、${md5(password)}，参数可以是字面量、变量路径或函数调用</li>
+ *   <li>字符串插值：Bearer ${token}、/users/${user.id}/orders</li>
+ * </ul>
+ * 包含指令、运算符、内建函数（?xxx）、默认值（!）等语法的模板不会被编译，由 FreeMarker 处理。
+ * </p>
+ * <p>
+ * 求值语义与 FreeMarker 保持一致；遇到快速路径无法确定结果的情况（变量不存在、非 Map 对象的属性访问、
+ * 无法按 FreeMarker 规则格式化的值等）时返回 {@link #FALLBACK}，由 FreeMarker 重新计算。
+ * 一旦已经调用过函数，为避免函数被重复执行，不再回退，而是与 FreeMarker 一样抛出异常。
+ * </p>
+ *
+ * @author xiaomi
+ */
+public final class FastExpression {
+
+    /**
+     * 求值结果标识：快速路径无法计算，需要交由 FreeMarker 计算
+     */
+    public static final Object FALLBACK = new Object();
+
+    private static final Fallback FALLBACK_SIGNAL = new Fallback();
+
+    private final String template;
+
+    private final Object[] parts;
+
+    FastExpression(String template, Object[] parts) {
+        this.template = template;
+        this.parts = parts;
+    }
+
+    /**
+     * 编译模板
+     *
+     * @param template 模板字符串
+     * @return 编译结果，模板包含快速路径不支持的语法时返回 null
+     */
+    public static FastExpression compile(String template) {
+        return FastExpressionParser.parse(template);
+    }
+
+    /**
+     * 对模板求值
+     * <p>
+     * 模板仅由一个插值组成时返回插值的原始对象，否则返回拼接后的字符串。
+     * </p>
+     *
+     * @param context 上下文
+     * @return 求值结果，无法通过快速路径计算时返回 {@link #FALLBACK}
+     */
+    public Object evaluate(ContextWrapper context) {
+        var evaluation = new Evaluation(context);
+        try {
+            if (parts.length == 1 && parts[0] instanceof Node node) {
+                return node.evaluate(evaluation);
+            }
+            var builder = new StringBuilder();
+            for (Object part : parts) {
+                if (part instanceof Node node) {
+                    builder.append(evaluation.format(node.evaluate(evaluation)));
+                } else {
+                    builder.append((String) part);
+                }
+            }
+            return builder.toString();
+        } catch (Fallback fallback) {
+            return FALLBACK;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    /**
+     * 单次求值的状态
+     */
+    final class Evaluation {
+
+        private final ContextWrapper context;
+
+        private boolean invoked;
+
+        private Evaluation(ContextWrapper context) {
+            this.context = context;
+        }
+
+        /**
+         * 快速路径无法处理时调用：尚未调用函数时回退到 FreeMarker，否则抛出异常
+         *
+         * @param reason 失败原因
+         * @return 需要抛出的异常
+         */
+        RuntimeException unsupported(String reason) {
+            if (!invoked) {
+                return FALLBACK_SIGNAL;
+            }
+            return new RuntimeException(String.format("模板 %s 执行失败：%s", template, reason));
+        }
+
+        Object variable(String name) {
+            var variables = context.getLocalVariablesWrapper();
+            if (Vkw.vars.name().equals(name)) {
+                return variables;
+            }
+            var value = variables.get(name);
+            if (value != null) {
+                return value;
+            }
+            if (Vkw.ctx.name().equals(name) || Vkw.context.name().equals(name)) {
+                return context;
+            }
+            throw unsupported(String.format("变量 %s 不存在", name));
+        }
+
+        Object call(String name, List<Node> arguments) {
+            var function = FreeMarkerFunctionRegistry.getFunctionMap().get(name);
+            // 同名变量会覆盖函数，此时由 FreeMarker 处理
+            if (function == null || Vkw.vars.name().equals(name) || context.getLocalVariablesWrapper().get(name) != null) {
+                throw unsupported(String.format("函数 %s 不存在", name));
+            }
+            var args = new Args();
+            for (Node argument : arguments) {
+                args.add(argument.evaluate(this));
+            }
+            invoked = true;
+            var result = MemoizedFunctions.execute(function, context, args);
+            if (result == null) {
+                throw new RuntimeException(String.format("模板 %s 执行失败：函数 %s 返回值为 null", template, name));
+            }
+            return result;
+        }
+
+        String format(Object value) {
+            return switch (value) {
+                case String string -> string;
+                case Character character -> character.toString();
+                case Boolean bool -> bool.toString();
+                case Integer number -> number.toString();
+                case Long number -> number.toString();
+                case Short number -> number.toString();
+                case Byte number -> number.toString();
+                case BigInteger number -> number.toString();
+                case BigDecimal number -> number.stripTrailingZeros().toPlainString();
+                case Double number when Double.isFinite(number) -> new BigDecimal(number.toString()).stripTrailingZeros().toPlainString();
+                case Float number when Float.isFinite(number) -> new BigDecimal(number.toString()).stripTrailingZeros().toPlainString();
+                default -> {
+                    if (!invoked) {
+                        throw FALLBACK_SIGNAL;
+                    }
+                    yield String.valueOf(value);
+                }
+            };
+        }
+    }
+
+    /**
+     * 表达式语法树节点
+     */
+    sealed interface Node {
+
+        Object evaluate(Evaluation evaluation);
+    }
+
+    /**
+     * 字面量
+     */
+    record Literal(Object value) implements Node {
+
+        @Override
+        public Object evaluate(Evaluation evaluation) {
+            return value;
+        }
+    }
+
+    /**
+     * 变量引用
+     */
+    record Variable(String name) implements Node {
+
+        @Override
+        public Object evaluate(Evaluation evaluation) {
+            return evaluation.variable(name);
+        }
+    }
+
+    /**
+     * 属性或下标访问，如 user.id、items[0]、user["name"]
+     */
+    record Member(Node target, Object key) implements Node {
+
+        @Override
+        public Object evaluate(Evaluation evaluation) {
+            var value = switch (target.evaluate(evaluation)) {
+                case Map<?, ?> map when key instanceof String name -> map.get(name);
+                case List<?> list when key instanceof Integer index && index >= 0 && index < list.size() -> list.get(index);
+                default -> null;
+            };
+            if (value == null) {
+                throw evaluation.unsupported(String.format("%s 不存在", key));
+            }
+            return value;
+        }
+    }
+
+    /**
+     * 函数调用
+     */
+    record Call(String name, List<Node> arguments) implements Node {
+
+        @Override
+        public Object evaluate(Evaluation evaluation) {
+            return evaluation.call(name, arguments);
+        }
+    }
+
+    /**
+     * 回退信号，不记录堆栈
+     */
+    private static final class Fallback extends RuntimeException {
+
+        private Fallback() {
+            super(null, null, false, false);
+        }
+    }
+}
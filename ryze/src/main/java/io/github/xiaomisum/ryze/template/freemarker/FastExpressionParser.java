@@ -0,0 +1,304 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.template.freemarker;
+
+import io.github.xiaomisum.ryze.template.freemarker.FastExpression.Call;
+import io.github.xiaomisum.ryze.template.freemarker.FastExpression.Literal;
+import io.github.xiaomisum.ryze.template.freemarker.FastExpression.Member;
+import io.github.xiaomisum.ryze.template.freemarker.FastExpression.Node;
+import io.github.xiaomisum.ryze.template.freemarker.FastExpression.Variable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 快速路径表达式解析器
+ * <p>
+ * 将模板拆分为文本与 ${...} 插值，插值按以下语法解析，遇到语法之外的内容即放弃编译：
+ * <pre>
+ * expression := primary ( '.' identifier | '[' (string | integer) ']' )*
+ * primary    := string | number | 'true' | 'false' | identifier [ '(' [ expression ( ',' expression )* ] ')' ]
+ * </pre>
+ * </p>
+ *
+ * @author xiaomi
+ */
+final class FastExpressionParser {
+
+    /**
+     * FreeMarker 指令、宏、注释及旧式数字插值的起始标记，出现时交由 FreeMarker 处理
+     */
+    private static final String[] DIRECTIVE_MARKERS = {"<#", "</#", "<@", "</@", "[#", "[/#", "[@", "[/@", "#{", "[="};
+
+    private final String template;
+
+    private int position;
+
+    private FastExpressionParser(String template) {
+        this.template = template;
+    }
+
+    /**
+     * 解析模板
+     *
+     * @param template 模板字符串
+     * @return 编译后的表达式，包含不支持的语法时返回 null
+     */
+    static FastExpression parse(String template) {
+        for (String marker : DIRECTIVE_MARKERS) {
+            if (template.contains(marker)) {
+                return null;
+            }
+        }
+        try {
+            return new FastExpressionParser(template).parseTemplate();
+        } catch (Unsupported e) {
+            return null;
+        }
+    }
+
+    private FastExpression parseTemplate() {
+        List<Object> parts = new ArrayList<>();
+        var text = new StringBuilder();
+        while (position < template.length()) {
+            var start = template.indexOf("${", position);
+            if (start < 0) {
+                text.append(template, position, template.length());
+                break;
+            }
+            text.append(template, position, start);
+            if (!text.isEmpty()) {
+                parts.add(text.toString());
+                text.setLength(0);
+            }
+            position = start + 2;
+            skipWhitespace();
+            parts.add(parseExpression());
+            skipWhitespace();
+            expect('}');
+        }
+        if (!text.isEmpty()) {
+            parts.add(text.toString());
+        }
+        if (parts.stream().noneMatch(Node.class::isInstance)) {
+            throw new Unsupported();
+        }
+        return new FastExpression(template, parts.toArray());
+    }
+
+    private Node parseExpression() {
+        var node = parsePrimary();
+        while (true) {
+            skipWhitespace();
+            if (peek('.')) {
+                position++;
+                skipWhitespace();
+                node = new Member(node, parseIdentifier());
+            } else if (peek('[')) {
+                position++;
+                skipWhitespace();
+                Object key;
+                if (peek('"') || peek('\'')) {
+                    key = parseString();
+                } else {
+                    var number = parseNumber();
+                    if (number.scale() > 0 || number.signum() < 0) {
+                        throw new Unsupported();
+                    }
+                    key = number.intValueExact();
+                }
+                skipWhitespace();
+                expect(']');
+                node = new Member(node, key);
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node parsePrimary() {
+        if (peek('"') || peek('\'')) {
+            return new Literal(parseString());
+        }
+        if (peek('-') || (position < template.length() && Character.isDigit(template.charAt(position)))) {
+            return new Literal(parseNumber());
+        }
+        var identifier = parseIdentifier();
+        if ("true".equals(identifier) || "false".equals(identifier)) {
+            return new Literal(Boolean.parseBoolean(identifier));
+        }
+        skipWhitespace();
+        if (!peek('(')) {
+            return new Variable(identifier);
+        }
+        position++;
+        List<Node> arguments = new ArrayList<>();
+        skipWhitespace();
+        if (!peek(')')) {
+            do {
+                skipWhitespace();
+                arguments.add(parseExpression());
+                skipWhitespace();
+            } while (consume(','));
+        }
+        expect(')');
+        return new Call(identifier, bindConstants(identifier, arguments));
+    }
+
+    /**
+     * 按函数签名在编译时转换常量参数，执行时绑定参数不再需要解析
+     */
+    private static List<Node> bindConstants(String name, List<Node> arguments) {
+        var function = FreeMarkerFunctionRegistry.getFunctionMap().get(name);
+        var signature = function == null ? null : function.signature();
+        if (signature == null) {
+            return List.copyOf(arguments);
+        }
+        var bound = new ArrayList<Node>(arguments.size());
+        for (int i = 0; i < arguments.size(); i++) {
+            var argument = arguments.get(i);
+            if (argument instanceof Literal literal) {
+                try {
+                    argument = new Literal(signature.type(i).convert(literal.value()));
+                } catch (IllegalArgumentException e) {
+                    // 保留原值，执行时按原逻辑报错
+                }
+            }
+            bound.add(argument);
+        }
+        return List.copyOf(bound);
+    }
+
+    private String parseIdentifier() {
+        var start = position;
+        while (position < template.length() && isIdentifierPart(template.charAt(position), position == start)) {
+            position++;
+        }
+        if (start == position) {
+            throw new Unsupported();
+        }
+        return template.substring(start, position);
+    }
+
+    private static boolean isIdentifierPart(char c, boolean first) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '$'
+                || (c >= '\u4e00' && c <= '\u9fff') || (!first && c >= '0' && c <= '9');
+    }
+
+    private BigDecimal parseNumber() {
+        var start = position;
+        if (peek('-')) {
+            position++;
+        }
+        var digits = position;
+        while (position < template.length() && (Character.isDigit(template.charAt(position)) || template.charAt(position) == '.')) {
+            position++;
+        }
+        if (digits == position) {
+            throw new Unsupported();
+        }
+        try {
+            return new BigDecimal(template.substring(start, position));
+        } catch (NumberFormatException e) {
+            throw new Unsupported();
+        }
+    }
+
+    private String parseString() {
+        var quote = template.charAt(position++);
+        var builder = new StringBuilder();
+        while (position < template.length()) {
+            var c = template.charAt(position++);
+            if (c == quote) {
+                var value = builder.toString();
+                // 字符串字面量中的插值由 FreeMarker 处理
+                if (value.contains("${") || value.contains("#{")) {
+                    throw new Unsupported();
+                }
+                return value;
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            if (position >= template.length()) {
+                break;
+            }
+            builder.append(switch (template.charAt(position++)) {
+                case 'n' -> '\n';
+                case 't' -> '\t';
+                case 'r' -> '\r';
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                case 'l' -> '<';
+                case 'g' -> '>';
+                case 'a' -> '&';
+                case '\\' -> '\\';
+                case '"' -> '"';
+                case '\'' -> '\'';
+                case '$' -> '$';
+                case '{' -> '{';
+                default -> throw new Unsupported();
+            });
+        }
+        throw new Unsupported();
+    }
+
+    private void skipWhitespace() {
+        while (position < template.length() && Character.isWhitespace(template.charAt(position))) {
+            position++;
+        }
+    }
+
+    private boolean peek(char c) {
+        return position < template.length() && template.charAt(position) == c;
+    }
+
+    private boolean consume(char c) {
+        if (peek(c)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) {
+            throw new Unsupported();
+        }
+    }
+
+    /**
+     * 不支持的语法，不记录堆栈
+     */
+    private static final class Unsupported extends RuntimeException {
+
+        private Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import freemarker.template.utility.DeepUnwrap;
 import io.github.xiaomisum.ryze.context.ContextWrapper;
 import io.github.xiaomisum.ryze.function.Args;
 import io.github.xiaomisum.ryze.function.Function;
+import io.github.xiaomisum.ryze.function.MemoizedFunctions;
 
 import java.util.List;
 
@@ -73,7 +74,7 @@ public record FreeMarkerFunctionAdapter(ContextWrapper context, Function functio
                 e.printStackTrace();
             }
         });
-        return function.execute(context, list);
+        return MemoizedFunctions.execute(function, context, list);
     }
 
 }
\ No newline at end of file
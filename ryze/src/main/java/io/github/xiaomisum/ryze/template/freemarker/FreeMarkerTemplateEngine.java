@@ -31,15 +31,14 @@ import freemarker.core.TemplateClassResolver;
 import freemarker.template.*;
 import freemarker.template.utility.DeepUnwrap;
 import io.github.xiaomisum.ryze.context.ContextWrapper;
-import io.github.xiaomisum.ryze.function.Function;
 import io.github.xiaomisum.ryze.template.TemplateEngine;
-import io.github.xiaomisum.ryze.template.Vkw;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.StringWriter;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 import java.util.List;
 
@@ -65,9 +64,10 @@ import java.util.List;
  * 执行流程：
  * <ol>
  * <li>检查表达式是否需要计算，不需要则直接返回</li>
+ * <li>尝试通过预编译的快速路径表达式（{@link FastExpression}）计算</li>
  * <li>判断是否为简单变量引用，是则直接获取变量值</li>
  * <li>判断是否需要返回原始类型</li>
- * <li>注册内置函数和变量到模板模型</li>
+ * <li>构建按需解析变量与函数的模板模型（{@link RyzeContextHashModel}）</li>
  * <li>执行模板计算并返回结果</li>
  * </ol>
  * </p>
@@ -96,11 +96,10 @@ public class FreeMarkerTemplateEngine implements TemplateEngine {
             .build(key -> new Template("ryze-freemarker-template", key, SingletonHolder.cfg));
 
     /**
-     * ThreadLocal 模型缓存，复用 HashMap 避免频繁 GC。
-     * 每个线程维护一个可复用的 model Map。
+     * 表达式分类缓存，每个模板字符串只做一次安全检查和快速路径解析
      */
-    private static final ThreadLocal<HashMap<String, Object>> MODEL_CACHE = ThreadLocal
-            .withInitial(() -> new HashMap<>(64));
+    private static final LoadingCache<String, CompiledExpression> expressionCache = Caffeine.newBuilder()
+            .maximumSize(1000).build(CompiledExpression::compile);
 
     /**
      * 基于模型和表达式进行计算
@@ -123,8 +122,9 @@ public class FreeMarkerTemplateEngine implements TemplateEngine {
             return expression;
         }
 
-        // 表达式安全预检查
-        if (!RyzeSecurityConfiguration.isExpressionSafe(expression)) {
+        // 表达式安全预检查，检查结果随表达式分类一起缓存
+        var compiled = expressionCache.get(expression);
+        if (!compiled.safe()) {
             log.warn("Security: blocked unsafe FreeMarker expression [{}]", expression);
             throw new SecurityException("Blocked unsafe FreeMarker expression: " + expression);
         }
@@ -133,19 +133,31 @@ public class FreeMarkerTemplateEngine implements TemplateEngine {
             return model.get(expression.substring(2, expression.length() - 1));
         }
 
+        return render(model, model::put, expression);
+    }
+
+    /**
+     * 渲染模板并返回计算结果
+     *
+     * @param dataModel  数据模型，Map 或 {@link TemplateHashModel}
+     * @param registrar  向数据模型注册临时对象的方法
+     * @param expression 待计算的表达式
+     * @return 表达式计算结果
+     */
+    private Object render(Object dataModel, BiConsumer<String, Object> registrar, String expression) {
         // 判断是否需要返回原始类型，对于符合条件的模板计算结果，尽量返回原始类型，而不是字符串
         // 由于FreeMarker 没有获取模板计算结果原始数据的api，这里通过将表达式包装为
         // ${ryze_object_handler(expression)}
         // 以取巧的方式获取模板计算结果原始数据
         var objectHandler = shouldReturnOriginalType(expression) ? new TemplateObjectHandler() : null;
         if (Objects.nonNull(objectHandler)) {
-            model.put(TemplateObjectHandler.NAME, objectHandler);
+            registrar.accept(TemplateObjectHandler.NAME, objectHandler);
             expression = String.format("${%s(%s)}", TemplateObjectHandler.NAME,
                     expression.substring(2, expression.length() - 1));
         }
         try (StringWriter writer = new StringWriter()) {
             Template template = templateCache.get(expression);
-            template.process(model, writer);
+            template.process(dataModel, writer);
             return (Objects.nonNull(objectHandler)) ? objectHandler.object : writer.toString();
         } catch (Exception e) {
             throw new RuntimeException("模板 " + expression + " 执行失败", e);
@@ -198,41 +210,36 @@ public class FreeMarkerTemplateEngine implements TemplateEngine {
             return expression;
         }
 
-        // 表达式安全预检查
-        if (!RyzeSecurityConfiguration.isExpressionSafe(expression)) {
+        // 表达式安全预检查，检查结果随表达式分类一起缓存
+        var compiled = expressionCache.get(expression);
+        if (!compiled.safe()) {
             log.warn("Security: blocked unsafe FreeMarker expression [{}]", expression);
             throw new SecurityException("Blocked unsafe FreeMarker expression: " + expression);
         }
 
-        // 复用 ThreadLocal 中的 HashMap，避免频繁创建和 GC
-        HashMap<String, Object> model = MODEL_CACHE.get();
-        model.clear();
-
-        // 使用缓存的函数注册表，避免重复遍历和获取读锁
-        for (Function f : FreeMarkerFunctionRegistry.getFunctions()) {
-            model.put(f.key(), new FreeMarkerFunctionAdapter(context, f));
-        }
-        // 注册 ContextWrapper 相关对象
-        if (context != null) {
-            // 注册上下文
-            model.put(Vkw.ctx.name(), context);
-            model.put(Vkw.context.name(), context);
-            // 注册变量 - 框架执行过程中会将所有上级变量都合并到当前context的localVariablesWrapper中，这里仅需要将
-            // localVariablesWrapper 注册到 model 中
-            Optional.ofNullable(context.getLocalVariablesWrapper()).ifPresent(localVars -> {
-                model.putAll(localVars.getLastVariables());
-                model.put(Vkw.vars.name(), localVars);
-            });
+        // 快速路径：变量路径、函数调用与简单字符串插值无需构建模型和渲染模板
+        if (context != null && compiled.fastExpression() != null) {
+            var result = compiled.fastExpression().evaluate(context);
+            if (result != FastExpression.FALLBACK) {
+                return result != null && StringUtils.isNotBlank(String.valueOf(result)) ? result : expression;
+            }
         }
-        Object result = evaluate(model, expression);
+
+        // 变量与函数在模板执行时按需解析，无需复制变量或预先创建函数适配器
+        var model = new RyzeContextHashModel(context, SingletonHolder.cfg.getObjectWrapper());
+        Object result = FREEMARKER_EXPRESSION.matcher(expression).matches()
+                ? model.lookup(expression.substring(2, expression.length() - 1))
+                : render(model, model::put, expression);
         return result != null && StringUtils.isNotBlank(String.valueOf(result)) ? result : expression;
     }
 
     /**
-     * 清理 ThreadLocal 缓存，应在测试执行完毕后调用。
+     * 清理 ThreadLocal 缓存
+     *
+     * @deprecated 数据模型已改为按需解析（{@link RyzeContextHashModel}），不再使用 ThreadLocal 缓存，该方法不再有任何作用
      */
+    @Deprecated
     public static void clearThreadLocalCache() {
-        MODEL_CACHE.remove();
     }
 
     /**
@@ -271,6 +278,22 @@ public class FreeMarkerTemplateEngine implements TemplateEngine {
         }
     }
 
+    /**
+     * 已分类的表达式，缓存表达式的安全检查结果及快速路径形式
+     *
+     * @param safe           是否通过安全检查
+     * @param fastExpression 快速路径表达式，不支持快速路径或未通过安全检查时为null
+     */
+    private record CompiledExpression(boolean safe, FastExpression fastExpression) {
+
+        private static CompiledExpression compile(String expression) {
+            if (!RyzeSecurityConfiguration.isExpressionSafe(expression)) {
+                return new CompiledExpression(false, null);
+            }
+            return new CompiledExpression(true, FastExpression.compile(expression));
+        }
+    }
+
     /**
      * 模板对象处理器，用于获取模板计算结果的原始对象
      *
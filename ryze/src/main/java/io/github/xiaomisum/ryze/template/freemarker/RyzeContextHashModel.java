@@ -0,0 +1,136 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.template.freemarker;
+
+import freemarker.template.ObjectWrapper;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.template.Vkw;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 基于上下文的 FreeMarker 数据模型
+ *
+ * <p>
+ * 模板执行时按名称按需解析变量与函数，不再在每次计算前复制全部变量、为每个内置函数创建适配器。
+ * 名称解析顺序与原有模型（先放入函数与上下文对象，再放入变量，最后放入 vars）的覆盖关系一致，
+ * 也与 {@link FastExpression} 的查找顺序一致：
+ * <ol>
+ * <li>计算过程中注册的临时对象（如原始类型处理器）</li>
+ * <li>变量包装器 vars</li>
+ * <li>当前上下文的变量，沿变量作用域链查找上级变量，同名变量覆盖 ctx、context 与内置函数</li>
+ * <li>上下文对象：ctx、context</li>
+ * <li>内置函数，函数适配器在本次计算内按名称复用</li>
+ * </ol>
+ * </p>
+ *
+ * @author xiaomi
+ */
+final class RyzeContextHashModel implements TemplateHashModel {
+
+    private final ContextWrapper context;
+    private final ObjectWrapper objectWrapper;
+    private Map<String, Object> registered;
+
+    /**
+     * 本次计算已创建的函数适配器。适配器持有上下文，只随数据模型存活，不跨计算缓存
+     */
+    private Map<String, FreeMarkerFunctionAdapter> adapters;
+
+    /**
+     * 创建上下文数据模型
+     *
+     * @param context       测试上下文，可以为空
+     * @param objectWrapper 对象包装器
+     */
+    RyzeContextHashModel(ContextWrapper context, ObjectWrapper objectWrapper) {
+        this.context = context;
+        this.objectWrapper = objectWrapper;
+    }
+
+    /**
+     * 注册仅对本次计算可见的临时对象
+     *
+     * @param name  名称
+     * @param value 对象
+     */
+    void put(String name, Object value) {
+        if (registered == null) {
+            registered = new HashMap<>(4);
+        }
+        registered.put(name, value);
+    }
+
+    /**
+     * 按名称解析原始对象
+     *
+     * @param name 名称
+     * @return 解析到的对象，不存在时返回null
+     */
+    Object lookup(String name) {
+        if (registered != null && registered.containsKey(name)) {
+            return registered.get(name);
+        }
+        if (context != null) {
+            var localVars = context.getLocalVariablesWrapper();
+            if (localVars != null) {
+                if (Vkw.vars.name().equals(name)) {
+                    return localVars;
+                }
+                var value = localVars.get(name);
+                if (value != null) {
+                    return value;
+                }
+            }
+            if (Vkw.ctx.name().equals(name) || Vkw.context.name().equals(name)) {
+                return context;
+            }
+        }
+        var function = FreeMarkerFunctionRegistry.getFunctionMap().get(name);
+        if (function == null) {
+            return null;
+        }
+        if (adapters == null) {
+            adapters = new HashMap<>(4);
+        }
+        return adapters.computeIfAbsent(name, key -> new FreeMarkerFunctionAdapter(context, function));
+    }
+
+    @Override
+    public TemplateModel get(String key) throws TemplateModelException {
+        var value = lookup(key);
+        return value == null ? null : objectWrapper.wrap(value);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+}
@@ -72,10 +72,11 @@ import io.github.xiaomisum.ryze.report.ReporterExecutionChain;
 import io.github.xiaomisum.ryze.report.ReporterListener;
 import io.github.xiaomisum.ryze.support.Collections;
 import io.github.xiaomisum.ryze.support.Customizer;
-import io.github.xiaomisum.ryze.support.KryoUtil;
+import io.github.xiaomisum.ryze.support.copier.Copiers;
 import io.github.xiaomisum.ryze.support.groovy.Groovy;
 import io.github.xiaomisum.ryze.testelement.configure.AbstractConfigureElement;
 import io.github.xiaomisum.ryze.testelement.configure.ConfigureElement;
+import io.github.xiaomisum.ryze.testelement.configure.dataset.CsvDataSet;
 import io.github.xiaomisum.ryze.testelement.processor.AbstractProcessor;
 import io.github.xiaomisum.ryze.testelement.processor.Postprocessor;
 import io.github.xiaomisum.ryze.testelement.processor.Preprocessor;
@@ -163,6 +164,13 @@ public abstract class AbstractTestElement<SELF extends AbstractTestElement<SELF,
     @JSONField(serialize = false, deserialize = false)
     protected boolean initialized = false;
 
+    /**
+     * 编译状态标识
+     * <p>已编译的测试组件作为只读执行计划使用，每次执行只派生轻量的运行时状态对象，不参与JSON序列化和反序列化</p>
+     */
+    @JSONField(serialize = false, deserialize = false)
+    protected boolean compiled = false;
+
     /**
      * 拦截器执行链
      * <p>存储测试组件的拦截器执行链，不参与JSON序列化和反序列化</p>
@@ -207,6 +215,71 @@ public abstract class AbstractTestElement<SELF extends AbstractTestElement<SELF,
         runtime = copy();
     }
 
+    /**
+     * 编译测试组件
+     * <p>
+     * 校验测试组件后将其冻结为只读的执行计划，实现"编译一次，执行多次"：
+     * 已编译的测试组件在每次执行时不再深拷贝整棵组件树，而是通过 {@link #fork()} 派生仅包含可变状态的运行时对象，
+     * 子组件、处理器、拦截器、元数据等只读部分在各次执行间共享。
+     * </p>
+     * <p>编译后不应再修改测试组件的属性</p>
+     *
+     * @return 当前测试组件（已编译）
+     */
+    public SELF compile() {
+        if (!compiled) {
+            validate().valid();
+            freeze();
+        }
+        return (SELF) this;
+    }
+
+    /**
+     * 冻结测试组件
+     * <p>标记当前测试组件为已编译状态，容器类组件需重写该方法冻结其子组件</p>
+     */
+    protected void freeze() {
+        compiled = true;
+    }
+
+    /**
+     * 冻结测试组件列表中的所有组件
+     *
+     * @param elements 测试组件列表
+     */
+    protected static void freeze(List<?> elements) {
+        if (elements == null) {
+            return;
+        }
+        elements.forEach(element -> {
+            if (element instanceof AbstractTestElement<?, ?, ?> ele) {
+                ele.freeze();
+            }
+        });
+    }
+
+    /**
+     * 派生运行时状态对象
+     * <p>
+     * 为已编译的测试组件创建单次执行使用的运行时对象：只拷贝执行期间会被修改的部分（如配置项），
+     * 其余只读部分与执行计划共享。派生对象的运行时实例即其自身，且已处于初始化状态。
+     * </p>
+     *
+     * @return 运行时状态对象
+     */
+    protected SELF fork() {
+        SELF self = newInstance();
+        self.id = id;
+        self.title = title;
+        self.disabled = disabled;
+        self.metadata = metadata;
+        self.interceptors = interceptors;
+        self.config = config == null ? null : config.copy();
+        self.initialized = true;
+        self.runtime = self;
+        return self;
+    }
+
     /**
      * 处理过滤器拦截器
      * <p>根据上下文信息过滤和排序拦截器，构建拦截器执行链</p>
@@ -236,17 +309,13 @@ public abstract class AbstractTestElement<SELF extends AbstractTestElement<SELF,
 
     /**
      * 创建新实例
-     * <p>通过反射机制创建当前测试组件类的新实例</p>
+     * <p>通过缓存的无参构造函数句柄创建当前测试组件类的新实例</p>
      *
      * @return 新创建的测试组件实例
      * @throws RuntimeException 如果实例化失败
      */
     protected SELF newInstance() {
-        try {
-            return (SELF) this.getClass().getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException(String.format("实例化 %s 失败", this.getClass().getName()), e);
-        }
+        return (SELF) Copiers.newInstance(this.getClass());
     }
 
     /**
@@ -258,12 +327,12 @@ public abstract class AbstractTestElement<SELF extends AbstractTestElement<SELF,
     @Override
     public SELF copy() {
         SELF self = newInstance();
-        self.title = KryoUtil.copy(title);
-        self.id = KryoUtil.copy(id);
-        self.disabled = KryoUtil.copy(disabled);
-        self.metadata = KryoUtil.copy(metadata);
-        self.config = KryoUtil.copy(config);
-        self.interceptors = KryoUtil.copy(interceptors);
+        self.title = title;
+        self.id = id;
+        self.disabled = disabled;
+        self.metadata = Copiers.copy(metadata);
+        self.config = Copiers.copy(config);
+        self.interceptors = Copiers.copy(interceptors);
         return self;
     }
 
@@ -386,6 +455,15 @@ public abstract class AbstractTestElement<SELF extends AbstractTestElement<SELF,
         return runtime;
     }
 
+    /**
+     * 判断测试组件是否已编译
+     *
+     * @return 已编译返回true，否则返回false
+     */
+    public boolean isCompiled() {
+        return compiled;
+    }
+
 
     /**
      * 测试元件基础构建实现类
@@ -970,6 +1048,56 @@ public abstract class AbstractTestElement<SELF extends AbstractTestElement<SELF,
             return self;
         }
 
+        // -----------------------CsvDataSet----------------------------
+
+        /**
+         * 应用数据集配置
+         *
+         * @param dataSet 数据集配置
+         * @return 当前构建器实例，用于链式调用
+         */
+        public SELF csvDataSet(CsvDataSet dataSet) {
+            configureElements.add(dataSet);
+            return self;
+        }
+
+        /**
+         * 通过自定义器配置数据集
+         *
+         * @param customizer 数据集自定义器
+         * @return 当前构建器实例，用于链式调用
+         */
+        public SELF csvDataSet(Customizer<CsvDataSet.Builder> customizer) {
+            var builder = CsvDataSet.builder();
+            customizer.customize(builder);
+            configureElements.add(builder.build());
+            return self;
+        }
+
+        /**
+         * 通过构建器配置数据集
+         *
+         * @param builder 数据集构建器
+         * @return 当前构建器实例，用于链式调用
+         */
+        public SELF csvDataSet(CsvDataSet.Builder builder) {
+            configureElements.add(builder.build());
+            return self;
+        }
+
+        /**
+         * 通过闭包配置数据集
+         *
+         * @param closure Groovy 闭包
+         * @return 当前构建器实例，用于链式调用
+         */
+        public SELF csvDataSet(@DelegatesTo(strategy = Closure.DELEGATE_ONLY, value = CsvDataSet.Builder.class) Closure<?> closure) {
+            var builder = CsvDataSet.builder();
+            call(closure, builder);
+            configureElements.add(builder.build());
+            return self;
+        }
+
 
         /**
          * 构建配置元件列表
@@ -36,12 +36,13 @@ import io.github.xiaomisum.ryze.builder.ExtensiblePreprocessorsBuilder;
 import io.github.xiaomisum.ryze.config.ConfigureItem;
 import io.github.xiaomisum.ryze.config.RyzeVariables;
 import io.github.xiaomisum.ryze.context.Context;
+import io.github.xiaomisum.ryze.context.ContextChain;
 import io.github.xiaomisum.ryze.context.ContextWrapper;
 import io.github.xiaomisum.ryze.context.TestSuiteContext;
 import io.github.xiaomisum.ryze.support.Closeable;
 import io.github.xiaomisum.ryze.support.Collections;
 import io.github.xiaomisum.ryze.support.Customizer;
-import io.github.xiaomisum.ryze.support.KryoUtil;
+import io.github.xiaomisum.ryze.support.copier.Copiers;
 import io.github.xiaomisum.ryze.support.groovy.Groovy;
 import io.github.xiaomisum.ryze.testelement.configure.ConfigureElement;
 import io.github.xiaomisum.ryze.testelement.processor.Postprocessor;
@@ -119,18 +120,18 @@ public abstract class AbstractTestElementExecutable<SELF extends AbstractTestEle
      * 获取当前测试元件的上下文链，当子类有额外的需求时可重写该方法
      *
      * <p>该方法负责构建测试执行时的上下文链，包括合并父级上下文中的变量配置。
+     * 返回的上下文链与父链结构共享，父链保持不变。
      * 上下文链用于在测试执行过程中传递配置和状态信息。</p>
      *
      * @param parentContext 父上下文链
      * @return 当前测试元件的完整上下文链
      */
     protected List<Context> getContextChain(List<Context> parentContext) {
-        List<Context> contextChain = new ArrayList<>(parentContext);
         runtime.configGroup.put(VARIABLES, variables.merge(parentContext.getLast().getConfigGroup().getVariables()));
         TestSuiteContext context = new TestSuiteContext();
         context.setConfigGroup(runtime.getConfigGroup());
-        contextChain.add(context);
-        return contextChain;
+        // 在父链之上追加当前层级，父链结构共享，无需复制
+        return ContextChain.of(parentContext).append(context);
     }
 
     /**
@@ -152,6 +153,10 @@ public abstract class AbstractTestElementExecutable<SELF extends AbstractTestEle
      */
     @Override
     public final R run(SessionRunner session) {
+        if (compiled) {
+            // 编译模式：执行计划只读，每次执行派生独立的运行时状态对象
+            return fork().run(session);
+        }
         var snapshot = new Snapshot();
 
         // 1. 禁用检查：快速失败，避免不必要的开销
@@ -302,10 +307,44 @@ public abstract class AbstractTestElementExecutable<SELF extends AbstractTestEle
     @Override
     public SELF copy() {
         SELF self = super.copy();
-        self.variables = KryoUtil.copy(variables);
-        self.configureElements = KryoUtil.copy(configureElements);
-        self.preprocessors = KryoUtil.copy(preprocessors);
-        self.postprocessors = KryoUtil.copy(postprocessors);
+        self.variables = Copiers.copy(variables);
+        self.configureElements = Copiers.copy(configureElements);
+        self.preprocessors = Copiers.copy(preprocessors);
+        self.postprocessors = Copiers.copy(postprocessors);
+        return self;
+    }
+
+    /**
+     * 冻结测试元素及其配置元件、前置处理器和后置处理器
+     */
+    @Override
+    protected void freeze() {
+        super.freeze();
+        freeze(preprocessors);
+        freeze(postprocessors);
+    }
+
+    /**
+     * 派生运行时状态对象
+     *
+     * <p>变量在执行期间会被合并和计算，需要拷贝；配置元件持有数据源等运行时资源，每次执行派生独立实例；
+     * 前置处理器和后置处理器已编译，执行时自行派生运行时对象，直接共享。</p>
+     *
+     * @return 运行时状态对象
+     */
+    @Override
+    protected SELF fork() {
+        SELF self = super.fork();
+        self.variables = variables == null ? new RyzeVariables() : Copiers.copy(variables);
+        if (configureElements != null) {
+            self.configureElements = new ArrayList<>(configureElements.size());
+            for (ConfigureElement element : configureElements) {
+                self.configureElements.add(element instanceof AbstractTestElement<?, ?, ?> ele ?
+                        (ConfigureElement) ele.fork() : Copiers.copy(element));
+            }
+        }
+        self.preprocessors = preprocessors;
+        self.postprocessors = postprocessors;
         return self;
     }
 
@@ -0,0 +1,300 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import io.github.xiaomisum.ryze.Result;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.config.ConfigureGroup;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.testelement.sampler.Sampler;
+import io.qameta.allure.Allure;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import static io.github.xiaomisum.ryze.extractor.ExtractorConstantsInterface.REF_NAME;
+import static io.github.xiaomisum.ryze.testelement.TestElementConstantsInterface.INTERCEPTORS;
+import static io.github.xiaomisum.ryze.testelement.TestElementConstantsInterface.POSTPROCESSORS;
+import static io.github.xiaomisum.ryze.testelement.TestElementConstantsInterface.PREPROCESSORS;
+
+/**
+ * 子元件并行执行器
+ * <p>
+ * 根据子元件之间的变量读写关系推导依赖图：提取器等组件通过 {@code ref_name} 写入变量，
+ * 子元件中的 {@code ${...}} 表达式读取变量。对于先后两个子元件，只要存在写后读、读后写或写后写的同名变量，
+ * 后者便依赖前者；无法分析的子元件视为屏障，依赖之前的所有子元件，之后的所有子元件也依赖它。
+ * 前置/后置处理器与拦截器可以执行脚本、读写任意变量或产生外部副作用，其读写无法从 {@code ref_name} 与表达式推导，
+ * 携带它们（包括嵌套在子容器中）的子元件同样视为屏障，按声明顺序执行。
+ * </p>
+ * <p>
+ * 没有依赖关系的子元件在虚拟线程中并发执行，每个子元件使用独立的分支会话，会话层级与当前层级的变量均为快照，
+ * 执行完成后将新写入的变量分别合并回会话层级与容器层级，供依赖它的子元件读取。
+ * 容器线程中正在运行的 Allure 用例会传递给各分支线程，子元件的步骤记录在同一用例下。
+ * 取样器执行失败时，沿依赖路径的后续子元件不再执行，与顺序执行的快速失败语义一致；
+ * 执行结果按子元件的声明顺序返回。
+ * </p>
+ *
+ * @param <R> 子元件执行结果类型
+ * @author xiaomi
+ */
+final class ParallelChildrenExecutor<R extends Result> {
+
+    private static final Pattern EXPRESSION = Pattern.compile("\\$\\{([^}]*)}");
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_]\\w*");
+    // 读写无法分析的组件：处理器与拦截器可执行脚本或产生外部副作用
+    private static final Set<String> OPAQUE_KEYS = Set.of(PREPROCESSORS, POSTPROCESSORS, INTERCEPTORS);
+
+    private final List<TestElement<R>> children;
+    private final ContextWrapper context;
+    // 容器线程中正在运行的 Allure 用例，分支线程中需要重新绑定
+    private final String testCase;
+    // 保护容器层级变量的快照与回写
+    private final Object lock = new Object();
+
+    private ParallelChildrenExecutor(List<TestElement<R>> children, ContextWrapper context) {
+        this.children = children;
+        this.context = context;
+        this.testCase = Allure.getLifecycle().getCurrentTestCase().orElse(null);
+    }
+
+    /**
+     * 并行执行子元件
+     *
+     * @param children 子元件列表
+     * @param context  容器的上下文包装器
+     * @param <R>      子元件执行结果类型
+     * @return 按声明顺序排列的执行结果，未执行的子元件不包含在内
+     */
+    static <R extends Result> List<R> execute(List<TestElement<R>> children, ContextWrapper context) {
+        return new ParallelChildrenExecutor<>(children, context).execute();
+    }
+
+    /**
+     * 推导子元件依赖关系
+     *
+     * @param children 子元件列表
+     * @return 每个子元件依赖的前序子元件下标
+     */
+    static List<int[]> dependencies(List<? extends TestElement<?>> children) {
+        var accesses = children.stream().map(ParallelChildrenExecutor::access).toList();
+        List<int[]> dependencies = new ArrayList<>(children.size());
+        for (int i = 0; i < children.size(); i++) {
+            var current = accesses.get(i);
+            if (current == null) {
+                dependencies.add(new int[0]);
+                continue;
+            }
+            var indexes = new ArrayList<Integer>();
+            for (int j = 0; j < i; j++) {
+                var previous = accesses.get(j);
+                if (previous != null && current.dependsOn(previous)) {
+                    indexes.add(j);
+                }
+            }
+            dependencies.add(indexes.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return dependencies;
+    }
+
+    private static Access access(TestElement<?> child) {
+        if (child == null) {
+            return null;
+        }
+        Object tree;
+        try {
+            tree = JSON.toJSON(child);
+        } catch (RuntimeException e) {
+            return Access.BARRIER;
+        }
+        var access = new Access(new HashSet<>(), new HashSet<>(), false);
+        return collect(tree, access) ? access : Access.BARRIER;
+    }
+
+    /**
+     * 收集变量读写
+     *
+     * @return 遇到读写无法分析的处理器或拦截器时返回 false
+     */
+    private static boolean collect(Object node, Access access) {
+        if (node instanceof JSONObject object) {
+            for (var entry : object.entrySet()) {
+                var key = entry.getKey();
+                var value = entry.getValue();
+                if (OPAQUE_KEYS.contains(key) && value instanceof JSONArray array && !array.isEmpty()) {
+                    return false;
+                }
+                if (REF_NAME.equals(key) && value instanceof String refName) {
+                    access.writes.add(refName);
+                }
+                if (!collect(value, access)) {
+                    return false;
+                }
+            }
+        } else if (node instanceof JSONArray array) {
+            for (var value : array) {
+                if (!collect(value, access)) {
+                    return false;
+                }
+            }
+        } else if (node instanceof String text && text.contains("${")) {
+            var expressions = EXPRESSION.matcher(text);
+            while (expressions.find()) {
+                var identifiers = IDENTIFIER.matcher(expressions.group(1));
+                while (identifiers.find()) {
+                    access.reads.add(identifiers.group());
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<R> execute() {
+        var dependencies = dependencies(children);
+        CompletableFuture<Outcome<R>>[] futures = new CompletableFuture[children.size()];
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < children.size(); i++) {
+                var child = children.get(i);
+                if (child == null) {
+                    futures[i] = CompletableFuture.completedFuture(new Outcome<>(null, false));
+                    continue;
+                }
+                var upstream = Arrays.stream(dependencies.get(i)).mapToObj(j -> futures[j])
+                        .toArray(CompletableFuture[]::new);
+                futures[i] = CompletableFuture.allOf(upstream).thenApplyAsync(ignored -> {
+                    for (var future : upstream) {
+                        if (((Outcome<R>) future.join()).blocking()) {
+                            return Outcome.skipped();
+                        }
+                    }
+                    return runChild(child);
+                }, executor);
+            }
+            // 后续任务在前序任务完成时才提交，必须在关闭执行器前等待全部完成
+            CompletableFuture.allOf(futures).exceptionally(throwable -> null).join();
+        }
+        List<R> results = new ArrayList<>();
+        Throwable throwable = null;
+        for (var future : futures) {
+            try {
+                var outcome = future.join();
+                if (outcome.result() != null) {
+                    results.add(outcome.result());
+                }
+            } catch (CompletionException e) {
+                throwable = throwable == null ? e.getCause() : throwable;
+            }
+        }
+        if (throwable != null) {
+            if (context.getTestResult() instanceof TestSuiteResult suiteResult) {
+                results.forEach(suiteResult::addChild);
+            }
+            if (throwable instanceof Error error) {
+                throw error;
+            }
+            throw throwable instanceof RuntimeException e ? e : new RuntimeException(throwable);
+        }
+        return results;
+    }
+
+    private Outcome<R> runChild(TestElement<R> child) {
+        if (testCase != null) {
+            Allure.getLifecycle().setCurrentTestCase(testCase);
+        }
+        var parentSession = context.getSessionRunner();
+        var parentLevel = context.getContextChain().getLast();
+        SessionRunner session;
+        Map<String, Object> sessionSnapshot;
+        Map<String, Object> levelSnapshot;
+        synchronized (lock) {
+            session = parentSession.branch(context.getContextChain().isolate());
+            sessionSnapshot = snapshot(session.getSessionContext().getConfigGroup());
+            levelSnapshot = snapshot(session.getContextChain().getLast().getConfigGroup());
+        }
+        var branchLevel = session.getContextChain().getLast();
+        SessionRunner.setSession(session);
+        try {
+            var result = session.runTest(child, false);
+            synchronized (lock) {
+                publish(parentSession.getSessionContext().getConfigGroup(), session.getSessionContext().getConfigGroup(), sessionSnapshot);
+                publish(parentLevel.getConfigGroup(), branchLevel.getConfigGroup(), levelSnapshot);
+            }
+            return new Outcome<>(result, child instanceof Sampler<?> && !result.getStatus().isPassed());
+        } finally {
+            SessionRunner.removeSession();
+        }
+    }
+
+    private static Map<String, Object> snapshot(ConfigureGroup group) {
+        return group == null || group.getVariables() == null ? Map.of() : new HashMap<>(group.getVariables());
+    }
+
+    /**
+     * 将分支新写入的变量回写到父会话对应层级，调用方需持有锁
+     */
+    private static void publish(ConfigureGroup target, ConfigureGroup source, Map<String, Object> snapshot) {
+        if (target == null || target.getVariables() == null || source == null || source.getVariables() == null) {
+            return;
+        }
+        var variables = target.getVariables();
+        source.getVariables().forEach((name, value) -> {
+            if (!snapshot.containsKey(name) || snapshot.get(name) != value) {
+                variables.put(name, value);
+            }
+        });
+    }
+
+    private record Access(Set<String> reads, Set<String> writes, boolean barrier) {
+
+        static final Access BARRIER = new Access(Set.of(), Set.of(), true);
+
+        boolean dependsOn(Access previous) {
+            return barrier || previous.barrier || intersects(previous.writes, reads)
+                    || intersects(previous.reads, writes) || intersects(previous.writes, writes);
+        }
+
+        private static boolean intersects(Set<String> left, Set<String> right) {
+            for (String name : left) {
+                if (right.contains(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Outcome<R extends Result>(R result, boolean blocking) {
+
+        static <R extends Result> Outcome<R> skipped() {
+            return new Outcome<>(null, true);
+        }
+    }
+}
@@ -31,7 +31,9 @@ package io.github.xiaomisum.ryze.testelement;
 import com.alibaba.fastjson2.annotation.JSONField;
 import groovy.lang.Closure;
 import groovy.lang.DelegatesTo;
+import io.github.xiaomisum.ryze.Configure;
 import io.github.xiaomisum.ryze.Result;
+import io.github.xiaomisum.ryze.ResultRetention;
 import io.github.xiaomisum.ryze.TestStatus;
 import io.github.xiaomisum.ryze.builder.ExtensibleChildrenBuilder;
 import io.github.xiaomisum.ryze.builder.ExtensibleConfigureElementsBuilder;
@@ -100,6 +102,7 @@ public abstract class TestContainerExecutable<SELF extends TestContainerExecutab
      * <p>
      * 该方法是测试容器的核心执行逻辑，负责按顺序执行所有子测试元素，并处理前置处理器、
      * 后置处理器和拦截器等组件。如果某个子元素是取样器且执行失败，则会中断后续执行。
+     * 子元件的具体调度方式见 {@link #runChildren(ContextWrapper)}。
      * </p>
      *
      * @param context 上下文包装器，提供执行环境和变量管理
@@ -112,24 +115,13 @@ public abstract class TestContainerExecutable<SELF extends TestContainerExecutab
             if (!runtime.handlerChain.applyPreHandle(context, runtime)) {
                 return;
             }
+            var suiteResult = (TestSuiteResult) context.getTestResult();
+            var configure = context.getSessionRunner().getConfigure();
+            suiteResult.setRetention(getResultRetention(configure), configure.getResultSampleInterval());
             // 业务处理
-            for (TestElement<R> child : runtime.children) {
-                if (Objects.isNull(child)) {
-                    continue;
-                }
-                R result = context.getSessionRunner().runTest(child, false);
-                if (context.getTestResult() instanceof TestSuiteResult suiteResult) {
-                    suiteResult.addChild(result);
-                }
-                if (child instanceof Sampler<R> && !result.getStatus().isPassed()) {
-                    // 如果子元件是取样器，并且执行失败，则后续步骤无需执行
-                    break;
-                }
-            }
-            var hasFailedChildren = !((TestSuiteResult) context.getTestResult()).getChildren().stream()
-                    .filter(result -> result.getStatus().isBroken() || result.getStatus().isFailed())
-                    .toList().isEmpty();
-            if (hasFailedChildren) {
+            runChildren(context);
+            // 子结果可能未被保留，按统计的失败数判断
+            if (suiteResult.getFailedCount() > 0) {
                 context.getTestResult().setStatus(TestStatus.failed);
             }
             // 执行拦截器后置处理
@@ -151,6 +143,56 @@ public abstract class TestContainerExecutable<SELF extends TestContainerExecutab
 
     }
 
+    /**
+     * 获取子结果保留策略，压测容器等结果数量较多的容器可重写该方法
+     *
+     * @param configure 框架配置
+     * @return 子结果保留策略
+     */
+    protected ResultRetention getResultRetention(Configure configure) {
+        return configure.getResultRetention();
+    }
+
+    /**
+     * 调度子元件执行，当子类有其他调度需求（如压测场景下的多虚拟用户）时可重写该方法
+     * <p>
+     * 默认按顺序执行子元件，取样器执行失败时中断后续执行；开启并行模式时交由 {@link ParallelChildrenExecutor} 调度。
+     * </p>
+     *
+     * @param context 上下文包装器
+     */
+    protected void runChildren(ContextWrapper context) {
+        if (runChildrenInParallel()) {
+            var results = ParallelChildrenExecutor.execute(runtime.children, context);
+            if (context.getTestResult() instanceof TestSuiteResult suiteResult) {
+                results.forEach(suiteResult::addChild);
+            }
+            return;
+        }
+        for (TestElement<R> child : runtime.children) {
+            if (Objects.isNull(child)) {
+                continue;
+            }
+            R result = context.getSessionRunner().runTest(child, false);
+            if (context.getTestResult() instanceof TestSuiteResult suiteResult) {
+                suiteResult.addChild(result);
+            }
+            if (child instanceof Sampler<R> && !result.getStatus().isPassed()) {
+                // 如果子元件是取样器，并且执行失败，则后续步骤无需执行
+                break;
+            }
+        }
+    }
+
+    /**
+     * 是否并行执行子元件，默认顺序执行，由子类决定是否开启
+     *
+     * @return 并行执行返回 true
+     */
+    protected boolean runChildrenInParallel() {
+        return false;
+    }
+
     /**
      * 验证测试容器
      * <p>
@@ -194,6 +236,27 @@ public abstract class TestContainerExecutable<SELF extends TestContainerExecutab
         return self;
     }
 
+    /**
+     * 冻结容器及其所有子元件
+     */
+    @Override
+    protected void freeze() {
+        super.freeze();
+        freeze(children);
+    }
+
+    /**
+     * 派生运行时状态对象，子元件已编译，执行时自行派生运行时对象，直接共享
+     *
+     * @return 运行时状态对象
+     */
+    @Override
+    protected SELF fork() {
+        SELF self = super.fork();
+        self.children = children;
+        return self;
+    }
+
     /**
      * 获取子测试元素列表
      *
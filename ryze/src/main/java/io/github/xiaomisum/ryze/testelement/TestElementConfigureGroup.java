@@ -34,6 +34,9 @@ import io.github.xiaomisum.ryze.config.ConfigureItem;
 import io.github.xiaomisum.ryze.support.fastjson.deserializer.TestElementConfigureObjectReader;
 
 import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * 测试元件配置数据组
@@ -53,6 +56,104 @@ import java.util.HashMap;
 @JSONType(deserializer = TestElementConfigureObjectReader.class)
 public class TestElementConfigureGroup extends HashMap<String, ConfigureItem> implements ConfigureGroup {
 
+    /**
+     * 修改版本号，通过修改方法增删、替换配置项后递增（先修改后递增，读取到新版本号时一定能看到修改）
+     */
+    private transient volatile long version;
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public ConfigureItem put(String key, ConfigureItem value) {
+        var result = super.put(key, value);
+        version++;
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends ConfigureItem> items) {
+        super.putAll(items);
+        version++;
+    }
+
+    @Override
+    public ConfigureItem putIfAbsent(String key, ConfigureItem value) {
+        var result = super.putIfAbsent(key, value);
+        version++;
+        return result;
+    }
+
+    @Override
+    public ConfigureItem remove(Object key) {
+        var result = super.remove(key);
+        version++;
+        return result;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        var result = super.remove(key, value);
+        version++;
+        return result;
+    }
+
+    @Override
+    public ConfigureItem replace(String key, ConfigureItem value) {
+        var result = super.replace(key, value);
+        version++;
+        return result;
+    }
+
+    @Override
+    public boolean replace(String key, ConfigureItem oldValue, ConfigureItem newValue) {
+        var result = super.replace(key, oldValue, newValue);
+        version++;
+        return result;
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super ConfigureItem, ? extends ConfigureItem> function) {
+        super.replaceAll(function);
+        version++;
+    }
+
+    @Override
+    public ConfigureItem compute(String key, BiFunction<? super String, ? super ConfigureItem, ? extends ConfigureItem> function) {
+        var result = super.compute(key, function);
+        version++;
+        return result;
+    }
+
+    @Override
+    public ConfigureItem computeIfAbsent(String key, Function<? super String, ? extends ConfigureItem> function) {
+        var result = super.computeIfAbsent(key, function);
+        version++;
+        return result;
+    }
+
+    @Override
+    public ConfigureItem computeIfPresent(String key, BiFunction<? super String, ? super ConfigureItem, ? extends ConfigureItem> function) {
+        var result = super.computeIfPresent(key, function);
+        version++;
+        return result;
+    }
+
+    @Override
+    public ConfigureItem merge(String key, ConfigureItem value, BiFunction<? super ConfigureItem, ? super ConfigureItem, ? extends ConfigureItem> function) {
+        var result = super.merge(key, value, function);
+        version++;
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        version++;
+    }
+
     /**
      * 根据键获取指定类型的配置项
      * <p>
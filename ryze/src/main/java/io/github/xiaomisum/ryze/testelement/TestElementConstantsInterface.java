@@ -144,4 +144,9 @@ public interface TestElementConstantsInterface {
      */
     String CONDITION = "condition";
 
+    /**
+     * 并行执行字段标识符
+     */
+    String PARALLEL = "parallel";
+
 }
\ No newline at end of file
@@ -25,6 +25,7 @@
 
 package io.github.xiaomisum.ryze.testelement;
 
+import com.alibaba.fastjson2.annotation.JSONField;
 import io.github.xiaomisum.ryze.builder.DefaultChildrenBuilder;
 import io.github.xiaomisum.ryze.builder.DefaultConfigureElementsBuilder;
 import io.github.xiaomisum.ryze.builder.DefaultPostprocessorsBuilder;
@@ -32,6 +33,7 @@ import io.github.xiaomisum.ryze.builder.DefaultPreprocessorsBuilder;
 import io.github.xiaomisum.ryze.config.EmptyConfigureItem;
 import io.github.xiaomisum.ryze.context.ContextWrapper;
 
+import static io.github.xiaomisum.ryze.testelement.TestElementConstantsInterface.PARALLEL;
 import static io.github.xiaomisum.ryze.testelement.TestElementConstantsInterface.TESTSUITE;
 
 /**
@@ -43,12 +45,21 @@ import static io.github.xiaomisum.ryze.testelement.TestElementConstantsInterface
  * <p>
  * TestSuite使用@KW("__testsuite__")注解标识，可以通过"__testsuite__"关键字在配置中引用该类。
  * </p>
+ * <p>
+ * 设置 {@code parallel: true} 后，没有变量依赖关系的子元件将在虚拟线程中并行执行，结果仍按声明顺序记录。
+ * </p>
  *
  * @author xiaomi
  */
 @KW(TESTSUITE)
 public class TestSuite extends TestContainerExecutable<TestSuite, EmptyConfigureItem, TestSuiteResult> {
 
+    /**
+     * 是否并行执行子元件，默认顺序执行
+     */
+    @JSONField(name = PARALLEL, ordinal = 9)
+    protected boolean parallel;
+
     /**
      * 基于构建器的构造函数
      *
@@ -56,6 +67,7 @@ public class TestSuite extends TestContainerExecutable<TestSuite, EmptyConfigure
      */
     public TestSuite(Builder builder) {
         super(builder);
+        this.parallel = builder.parallel;
     }
 
     /**
@@ -104,6 +116,53 @@ public class TestSuite extends TestContainerExecutable<TestSuite, EmptyConfigure
         executeChildren(context);
     }
 
+    @Override
+    protected boolean runChildrenInParallel() {
+        return runtime.parallel;
+    }
+
+    /**
+     * 复制测试套件，包括并行执行标识
+     *
+     * @return 复制的测试套件实例
+     */
+    @Override
+    public TestSuite copy() {
+        var self = super.copy();
+        self.parallel = parallel;
+        return self;
+    }
+
+    /**
+     * 派生运行时状态对象，包括并行执行标识
+     *
+     * @return 运行时状态对象
+     */
+    @Override
+    protected TestSuite fork() {
+        var self = super.fork();
+        self.parallel = parallel;
+        return self;
+    }
+
+    /**
+     * 是否并行执行子元件
+     *
+     * @return 并行执行返回 true
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * 设置是否并行执行子元件
+     *
+     * @param parallel 是否并行执行
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
     /**
      * 测试套件构建器
      * <p>
@@ -114,6 +173,19 @@ public class TestSuite extends TestContainerExecutable<TestSuite, EmptyConfigure
     public static class Builder extends TestContainerExecutable.Builder<TestSuite, Builder, EmptyConfigureItem, EmptyConfigureItem.Builder,
             DefaultConfigureElementsBuilder, DefaultPreprocessorsBuilder, DefaultPostprocessorsBuilder, DefaultChildrenBuilder, TestSuiteResult> {
 
+        private boolean parallel;
+
+        /**
+         * 设置是否并行执行子元件
+         *
+         * @param parallel 是否并行执行
+         * @return 当前构建器实例，用于链式调用
+         */
+        public Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return self;
+        }
+
         /**
          * 获取配置元素构建器
          *
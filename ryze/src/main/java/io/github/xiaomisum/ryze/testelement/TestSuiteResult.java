@@ -26,9 +26,13 @@
 package io.github.xiaomisum.ryze.testelement;
 
 import io.github.xiaomisum.ryze.Result;
+import io.github.xiaomisum.ryze.ResultRetention;
+import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 测试套件结果类
@@ -37,14 +41,45 @@ import java.util.List;
  * 还包含了子测试元素的结果列表。测试套件可以包含多个子元素（如其他测试套件或取样器），
  * 每个子元素的执行结果都会被添加到children列表中，形成一个树状的结果结构。
  * </p>
+ * <p>
+ * 子结果是否加入列表由 {@link ResultRetention} 决定，子结果的总数与失败数始终会被统计。
+ * </p>
+ * <p>
+ * 子结果的记录不加锁（无锁队列与 {@link LongAdder} 计数），压测场景下多个虚拟用户可以并发调用 {@link #addChild(Result)}。
+ * </p>
  */
 public class TestSuiteResult extends Result {
 
     /**
      * 子测试元素结果列表
-     * <p>存储测试套件中所有子元素的执行结果</p>
+     * <p>存储测试套件中所有子元素的执行结果，按加入顺序排列</p>
+     */
+    private final ConcurrentLinkedQueue<Result> children = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 子结果总数
+     */
+    private final LongAdder totalCount = new LongAdder();
+
+    /**
+     * 失败（failed 或 broken）的子结果数
      */
-    private final List<Result> children = new ArrayList<>();
+    private final LongAdder failedCount = new LongAdder();
+
+    /**
+     * 通过的子结果序号，用于按采样间隔抽取
+     */
+    private final AtomicLong passedSequence = new AtomicLong();
+
+    /**
+     * 子结果保留策略，默认保留全部
+     */
+    private ResultRetention retention = ResultRetention.all;
+
+    /**
+     * 采样间隔，仅在 {@link ResultRetention#sampled} 策略下生效
+     */
+    private int sampleInterval = 1;
 
     /**
      * 构造函数，仅指定标题
@@ -68,19 +103,71 @@ public class TestSuiteResult extends Result {
     /**
      * 获取子测试元素结果列表
      *
-     * @return 子测试元素结果列表
+     * @return 子测试元素结果列表的只读快照
      */
     public List<? extends Result> getChildren() {
-        return children;
+        return List.copyOf(children);
     }
 
     /**
      * 添加子测试元素结果
-     * <p>将子测试元素的执行结果添加到结果列表中</p>
+     * <p>统计子结果数量，并按保留策略决定是否将子测试元素的执行结果添加到结果列表中；
+     * 保留策略不保留通过结果的请求/响应数据时，释放通过的取样结果的请求/响应数据。
+     * 子结果在其报告监听器执行完成后才会加入测试套件结果，释放不影响报告。</p>
      *
      * @param child 子测试元素结果
      */
     public void addChild(Result child) {
-        this.children.add(child);
+        totalCount.increment();
+        var status = child.getStatus();
+        if (status.isFailed() || status.isBroken()) {
+            failedCount.increment();
+        }
+        var passed = status.isPassed() && child.getThrowable() == null;
+        if (passed && !retention.retainsPassedBodies() && child instanceof SampleResult sampleResult) {
+            sampleResult.releaseBodies();
+        }
+        var sequence = retention == ResultRetention.sampled && passed ? passedSequence.getAndIncrement() : 0;
+        if (retention.retains(child, sequence, sampleInterval)) {
+            this.children.add(child);
+        }
+    }
+
+    /**
+     * 设置子结果保留策略
+     *
+     * @param retention      保留策略
+     * @param sampleInterval 采样间隔，每 sampleInterval 个通过的子结果保留 1 个
+     */
+    public void setRetention(ResultRetention retention, int sampleInterval) {
+        this.retention = retention == null ? ResultRetention.all : retention;
+        this.sampleInterval = Math.max(1, sampleInterval);
+    }
+
+    /**
+     * 获取子结果保留策略
+     *
+     * @return 保留策略
+     */
+    public ResultRetention getRetention() {
+        return retention;
+    }
+
+    /**
+     * 获取子结果总数，包括未保留的子结果
+     *
+     * @return 子结果总数
+     */
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * 获取失败（failed 或 broken）的子结果数，包括未保留的子结果
+     *
+     * @return 失败的子结果数
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
     }
 }
\ No newline at end of file
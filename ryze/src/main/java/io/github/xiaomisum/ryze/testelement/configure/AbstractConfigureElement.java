@@ -143,6 +143,18 @@ public abstract class AbstractConfigureElement<SELF extends AbstractConfigureEle
         return (SELF) self;
     }
 
+    /**
+     * 派生运行时状态对象，配置元件持有运行时资源，每次执行均使用独立实例
+     *
+     * @return 运行时状态对象
+     */
+    @Override
+    protected AbstractConfigureElement<SELF, CONFIG, R> fork() {
+        var self = super.fork();
+        self.refName = refName;
+        return self;
+    }
+
     /**
      * 执行具体的配置逻辑，由子类实现
      *
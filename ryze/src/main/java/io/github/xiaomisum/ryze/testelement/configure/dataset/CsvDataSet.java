@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.configure.dataset;
+
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.support.ValidateResult;
+import io.github.xiaomisum.ryze.testelement.KW;
+import io.github.xiaomisum.ryze.testelement.TestSuiteResult;
+import io.github.xiaomisum.ryze.testelement.configure.AbstractConfigureElement;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 数据集配置元件
+ * <p>
+ * 从 CSV 或 JSON Lines 数据文件中取出一行数据写入当前上下文：配置了引用名称时整行数据以 Map 形式写入该变量，
+ * 否则每一列（JSON 对象的每个字段）分别写入同名变量。所属测试元件每执行一次取一行，取数方式由 {@link ShareMode} 决定。
+ * </p>
+ * <p>
+ * 数据文件以内存映射方式读取，不会整体加载到堆内存中，适合为压测提供数百万条不重复的账号等数据。
+ * 与 {@link io.github.xiaomisum.ryze.support.dataloader.TestDataLoaderChain} 一次性解析整个文件不同，
+ * 数据行在取数时才解码。
+ * </p>
+ *
+ * @author xiaomi
+ */
+@KW({DataSetConstantsInterface.CSV_DATA_SET, "data_set"})
+public class CsvDataSet extends AbstractConfigureElement<CsvDataSet, CsvDataSetConfigureItem, TestSuiteResult>
+        implements DataSetConstantsInterface {
+
+    /**
+     * 默认构造函数
+     */
+    public CsvDataSet() {
+    }
+
+    /**
+     * 基于构建器的构造函数
+     *
+     * @param builder 构建器实例
+     */
+    public CsvDataSet(Builder builder) {
+        super(builder);
+    }
+
+    /**
+     * 创建数据集构建器
+     *
+     * @return 数据集构建器实例
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 验证数据集配置
+     *
+     * @return 验证结果
+     */
+    @Override
+    public ValidateResult validate() {
+        var result = super.validate();
+        return config == null ? result : result.append(config);
+    }
+
+    /**
+     * 取出一行数据写入上下文
+     *
+     * @param context 测试上下文包装器
+     */
+    @Override
+    protected void doProcess(ContextWrapper context) {
+        var row = DataFeed.of(context.getGlobalContext(), runtime.getConfig()).next(context.getSessionRunner());
+        var variables = context.getLocalVariablesWrapper();
+        if (StringUtils.isNotBlank(runtime.getRefName())) {
+            variables.put(runtime.getRefName(), row);
+        } else {
+            row.forEach(variables::put);
+        }
+    }
+
+    @Override
+    protected TestSuiteResult getTestResult() {
+        return new TestSuiteResult("数据集配置：" + runtime.getConfig().getFile());
+    }
+
+    /**
+     * 数据集构建器
+     */
+    public static class Builder extends AbstractConfigureElement.Builder<CsvDataSet, Builder, CsvDataSetConfigureItem, CsvDataSetConfigureItem.Builder, TestSuiteResult> {
+
+        @Override
+        public CsvDataSet build() {
+            return new CsvDataSet(this);
+        }
+
+        @Override
+        protected CsvDataSetConfigureItem.Builder getConfigureItemBuilder() {
+            return CsvDataSetConfigureItem.builder();
+        }
+    }
+}
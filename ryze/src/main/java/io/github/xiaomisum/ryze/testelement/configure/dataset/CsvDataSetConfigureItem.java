@@ -0,0 +1,318 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.configure.dataset;
+
+import com.alibaba.fastjson2.annotation.JSONField;
+import io.github.xiaomisum.ryze.config.ConfigureItem;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.support.ValidateResult;
+import io.github.xiaomisum.ryze.testelement.AbstractTestElement;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 数据集配置项
+ * <p>
+ * 描述数据文件的路径、格式、CSV 分隔符、变量名称与取数模式。
+ * </p>
+ *
+ * @author xiaomi
+ */
+public class CsvDataSetConfigureItem implements ConfigureItem<CsvDataSetConfigureItem>, DataSetConstantsInterface {
+
+    /**
+     * 数据文件路径，支持 file: 前缀
+     */
+    @JSONField(name = FILE)
+    protected String file;
+
+    /**
+     * 数据文件格式：csv 或 jsonl
+     */
+    @JSONField(name = FORMAT, ordinal = 1)
+    protected String format;
+
+    /**
+     * CSV 分隔符
+     */
+    @JSONField(name = DELIMITER, ordinal = 2)
+    protected String delimiter;
+
+    /**
+     * 以逗号分隔的变量名称
+     */
+    @JSONField(name = VARIABLE_NAMES, ordinal = 3)
+    protected String variableNames;
+
+    /**
+     * 取数模式
+     */
+    @JSONField(name = SHARE_MODE, ordinal = 4)
+    protected String shareMode;
+
+    /**
+     * 默认构造函数
+     */
+    public CsvDataSetConfigureItem() {
+    }
+
+    /**
+     * 创建数据集配置项构建器
+     *
+     * @return 数据集配置项构建器实例
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 合并配置项，当前配置项未配置的属性使用另一个配置项的值
+     *
+     * @param other 要合并的另一个配置项
+     * @return 合并后的新配置项
+     */
+    @Override
+    public CsvDataSetConfigureItem merge(CsvDataSetConfigureItem other) {
+        var self = copy();
+        if (other == null) {
+            return self;
+        }
+        self.file = StringUtils.isBlank(self.file) ? other.file : self.file;
+        self.format = StringUtils.isBlank(self.format) ? other.format : self.format;
+        self.delimiter = StringUtils.isEmpty(self.delimiter) ? other.delimiter : self.delimiter;
+        self.variableNames = StringUtils.isBlank(self.variableNames) ? other.variableNames : self.variableNames;
+        self.shareMode = StringUtils.isBlank(self.shareMode) ? other.shareMode : self.shareMode;
+        return self;
+    }
+
+    /**
+     * 对配置项中的变量进行求值
+     *
+     * @param context 测试上下文包装器
+     * @return 求值后的配置项
+     */
+    @Override
+    public CsvDataSetConfigureItem evaluate(ContextWrapper context) {
+        file = (String) context.evaluate(file);
+        format = (String) context.evaluate(format);
+        delimiter = (String) context.evaluate(delimiter);
+        variableNames = (String) context.evaluate(variableNames);
+        shareMode = (String) context.evaluate(shareMode);
+        return this;
+    }
+
+    /**
+     * 验证配置项
+     *
+     * @return 验证结果
+     */
+    @Override
+    public ValidateResult validate() {
+        var result = new ValidateResult();
+        if (StringUtils.isBlank(file)) {
+            result.append("数据集 %s 字段值缺失或为空", FILE);
+        }
+        if (StringUtils.isNotBlank(format) && !CSV.equalsIgnoreCase(format) && !JSONL.equalsIgnoreCase(format)) {
+            result.append("数据集 %s 字段值只能为 %s 或 %s", FORMAT, CSV, JSONL);
+        }
+        if (StringUtils.isNotBlank(shareMode) && Arrays.stream(ShareMode.values()).noneMatch(mode -> mode.name().equalsIgnoreCase(shareMode.trim()))) {
+            result.append("数据集 %s 字段值 %s 无效", SHARE_MODE, shareMode);
+        }
+        return result;
+    }
+
+    /**
+     * 获取数据文件路径
+     *
+     * @return 数据文件路径
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * 设置数据文件路径
+     *
+     * @param file 数据文件路径
+     */
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    /**
+     * 获取数据文件格式，未配置时按文件扩展名判断，.jsonl、.ndjson 为 jsonl，其余为 csv
+     *
+     * @return 数据文件格式
+     */
+    public String getFormat() {
+        if (StringUtils.isNotBlank(format)) {
+            return format.trim().toLowerCase();
+        }
+        var name = StringUtils.defaultString(file).toLowerCase();
+        return name.endsWith(".jsonl") || name.endsWith(".ndjson") ? JSONL : CSV;
+    }
+
+    /**
+     * 设置数据文件格式
+     *
+     * @param format 数据文件格式
+     */
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    /**
+     * 获取 CSV 分隔符
+     *
+     * @return CSV 分隔符，默认为逗号
+     */
+    public char getDelimiter() {
+        return StringUtils.isEmpty(delimiter) ? ',' : delimiter.charAt(0);
+    }
+
+    /**
+     * 设置 CSV 分隔符
+     *
+     * @param delimiter CSV 分隔符
+     */
+    public void setDelimiter(String delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * 获取变量名称列表
+     *
+     * @return 变量名称列表，未配置时返回空列表
+     */
+    public List<String> getVariableNames() {
+        if (StringUtils.isBlank(variableNames)) {
+            return List.of();
+        }
+        return Arrays.stream(variableNames.split(",")).map(String::trim).toList();
+    }
+
+    /**
+     * 设置以逗号分隔的变量名称
+     *
+     * @param variableNames 变量名称
+     */
+    public void setVariableNames(String variableNames) {
+        this.variableNames = variableNames;
+    }
+
+    /**
+     * 获取取数模式
+     *
+     * @return 取数模式，默认为顺序取数
+     */
+    public ShareMode getShareMode() {
+        return ShareMode.of(shareMode);
+    }
+
+    /**
+     * 设置取数模式
+     *
+     * @param shareMode 取数模式
+     */
+    public void setShareMode(String shareMode) {
+        this.shareMode = shareMode;
+    }
+
+    /**
+     * 数据集配置项构建器
+     */
+    public static class Builder extends AbstractTestElement.ConfigureBuilder<Builder, CsvDataSetConfigureItem> {
+
+        private final CsvDataSetConfigureItem configure = new CsvDataSetConfigureItem();
+
+        /**
+         * 设置数据文件路径
+         *
+         * @param file 数据文件路径
+         * @return 构建器实例
+         */
+        public Builder file(String file) {
+            configure.file = file;
+            return self;
+        }
+
+        /**
+         * 设置数据文件格式
+         *
+         * @param format 数据文件格式：csv 或 jsonl
+         * @return 构建器实例
+         */
+        public Builder format(String format) {
+            configure.format = format;
+            return self;
+        }
+
+        /**
+         * 设置 CSV 分隔符
+         *
+         * @param delimiter CSV 分隔符
+         * @return 构建器实例
+         */
+        public Builder delimiter(String delimiter) {
+            configure.delimiter = delimiter;
+            return self;
+        }
+
+        /**
+         * 设置变量名称
+         *
+         * @param variableNames 变量名称，按顺序对应 CSV 的每一列
+         * @return 构建器实例
+         */
+        public Builder variableNames(String... variableNames) {
+            configure.variableNames = String.join(",", variableNames);
+            return self;
+        }
+
+        /**
+         * 设置取数模式
+         *
+         * @param shareMode 取数模式
+         * @return 构建器实例
+         */
+        public Builder shareMode(ShareMode shareMode) {
+            configure.shareMode = shareMode.name();
+            return self;
+        }
+
+        /**
+         * 构建数据集配置项
+         *
+         * @return 数据集配置项实例
+         */
+        @Override
+        public CsvDataSetConfigureItem build() {
+            return configure;
+        }
+    }
+}
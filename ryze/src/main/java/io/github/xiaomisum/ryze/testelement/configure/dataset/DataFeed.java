@@ -0,0 +1,208 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.configure.dataset;
+
+import com.alibaba.fastjson2.JSON;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.context.GlobalContext;
+
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数据供给器，按取数模式从内存映射的数据文件中取出数据行
+ * <p>
+ * 同一全局上下文内，文件、格式、分隔符、变量名称与取数模式均相同的数据集共享同一个供给器，
+ * 游标为无锁的原子计数器，并发会话取数时互不阻塞。供给器随全局上下文的回收而回收（弱引用）。
+ * </p>
+ *
+ * @author xiaomi
+ */
+final class DataFeed {
+
+    private static final LoadingCache<GlobalContext, Map<String, DataFeed>> FEEDS = Caffeine.newBuilder().weakKeys()
+            .build(global -> new ConcurrentHashMap<>());
+
+    private final MappedDataFile file;
+
+    private final boolean csv;
+
+    private final char delimiter;
+
+    private final List<String> columns;
+
+    /**
+     * 首个数据行的行号，CSV 使用首行作为变量名称时为 1
+     */
+    private final int first;
+
+    private final int rows;
+
+    private final ShareMode mode;
+
+    private final AtomicLong cursor = new AtomicLong();
+
+    /**
+     * 会话独占模式下各会话分配到的数据行
+     */
+    private final Cache<SessionRunner, Integer> users = Caffeine.newBuilder().weakKeys().build();
+
+    DataFeed(Path path, CsvDataSetConfigureItem config) {
+        this.csv = DataSetConstantsInterface.CSV.equals(config.getFormat());
+        this.delimiter = config.getDelimiter();
+        this.file = new MappedDataFile(path, csv ? delimiter : null);
+        this.mode = config.getShareMode();
+        var names = config.getVariableNames();
+        if (csv && names.isEmpty()) {
+            if (file.size() == 0) {
+                throw new RuntimeException(String.format("数据文件 %s 缺少表头", path));
+            }
+            names = parseCsv(file.line(0), delimiter).stream().map(String::trim).toList();
+            this.first = 1;
+        } else {
+            this.first = 0;
+        }
+        this.columns = names;
+        this.rows = file.size() - first;
+        if (rows <= 0) {
+            throw new RuntimeException(String.format("数据文件 %s 没有数据", path));
+        }
+    }
+
+    /**
+     * 获取全局上下文内共享的数据供给器，不存在时创建
+     *
+     * @param global 全局上下文
+     * @param config 数据集配置项
+     * @return 数据供给器
+     */
+    static DataFeed of(GlobalContext global, CsvDataSetConfigureItem config) {
+        var path = resolve(config.getFile());
+        var key = String.join("|", path.toString(), config.getFormat(), String.valueOf(config.getDelimiter()),
+                String.join(",", config.getVariableNames()), config.getShareMode().name());
+        return FEEDS.get(global).computeIfAbsent(key, k -> new DataFeed(path, config));
+    }
+
+    private static Path resolve(String file) {
+        var name = file.startsWith("file:") ? file.substring(5) : file;
+        var path = Path.of(name);
+        if (Files.isRegularFile(path)) {
+            return path.toAbsolutePath().normalize();
+        }
+        // 类路径下的资源需位于文件系统中才能映射，jar 包内的资源不支持
+        var resource = Thread.currentThread().getContextClassLoader().getResource(name.startsWith("/") ? name.substring(1) : name);
+        if (resource != null && "file".equals(resource.getProtocol())) {
+            try {
+                return Path.of(resource.toURI());
+            } catch (URISyntaxException ignored) {
+            }
+        }
+        throw new RuntimeException(String.format("数据文件 %s 不存在", file));
+    }
+
+    /**
+     * 按取数模式取出下一行数据
+     *
+     * @param session 当前会话，会话独占模式下用于分配数据行
+     * @return 变量名称到值的映射
+     */
+    Map<String, Object> next(SessionRunner session) {
+        var index = switch (mode) {
+            case SEQUENTIAL -> claim();
+            case CIRCULAR -> (int) Math.floorMod(cursor.getAndIncrement(), (long) rows);
+            case RANDOM -> ThreadLocalRandom.current().nextInt(rows);
+            case UNIQUE -> session == null ? claim() : users.get(session, key -> claim());
+        };
+        return row(first + index);
+    }
+
+    private int claim() {
+        var index = cursor.getAndIncrement();
+        if (index >= rows) {
+            throw new RuntimeException(String.format("数据文件 %s 的数据已取完，共 %d 行", file.getPath(), rows));
+        }
+        return (int) index;
+    }
+
+    private Map<String, Object> row(int line) {
+        var text = file.line(line);
+        if (!csv) {
+            return JSON.parseObject(text);
+        }
+        var values = parseCsv(text, delimiter);
+        var row = new LinkedHashMap<String, Object>(columns.size() * 2);
+        for (int i = 0; i < columns.size(); i++) {
+            row.put(columns.get(i), i < values.size() ? values.get(i) : "");
+        }
+        return row;
+    }
+
+    /**
+     * 解析一行 CSV，支持双引号包裹的字段及字段内以两个双引号转义的双引号；引用字段内的换行由 {@link MappedDataFile} 保留在行文本中
+     *
+     * @param line      行文本
+     * @param delimiter 分隔符
+     * @return 字段列表
+     */
+    static List<String> parseCsv(String line, char delimiter) {
+        var values = new ArrayList<String>();
+        var value = new StringBuilder();
+        var quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && value.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.configure.dataset;
+
+import io.github.xiaomisum.ryze.testelement.configure.ConfigureElementConstantsInterface;
+
+/**
+ * 数据集配置元件常量接口
+ * <p>
+ * 该接口定义了数据集配置元件的关键字与配置参数键名。
+ * </p>
+ *
+ * @author xiaomi
+ */
+public interface DataSetConstantsInterface extends ConfigureElementConstantsInterface {
+
+    /**
+     * 数据集配置元件关键字
+     */
+    String CSV_DATA_SET = "csv_data_set";
+
+    /**
+     * 数据文件路径键名
+     */
+    String FILE = "file";
+
+    /**
+     * 数据文件格式键名，取值为 csv 或 jsonl，未配置时按文件扩展名判断
+     */
+    String FORMAT = "format";
+
+    /**
+     * CSV 分隔符键名，默认为逗号
+     */
+    String DELIMITER = "delimiter";
+
+    /**
+     * 变量名称键名
+     * <p>
+     * 以逗号分隔的变量名称，按顺序对应 CSV 的每一列；未配置时使用文件首行作为变量名称
+     * </p>
+     */
+    String VARIABLE_NAMES = "variable_names";
+
+    /**
+     * 取数模式键名，取值参考 {@link ShareMode}
+     */
+    String SHARE_MODE = "share_mode";
+
+    /**
+     * CSV 格式
+     */
+    String CSV = "csv";
+
+    /**
+     * JSON Lines 格式，每行一个 JSON 对象
+     */
+    String JSONL = "jsonl";
+}
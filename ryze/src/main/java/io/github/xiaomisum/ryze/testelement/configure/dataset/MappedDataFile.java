@@ -0,0 +1,230 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.configure.dataset;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 内存映射的行文本文件
+ * <p>
+ * 文件以只读方式分段映射到内存，打开时扫描一遍建立行首、行尾偏移索引（每行 16 字节），按行号读取时只解码该行，
+ * 文件内容本身不进入堆内存，数百万行的数据文件也只占用索引大小的堆空间。空白行不计入行号，UTF-8 BOM 会被跳过。
+ * </p>
+ * <p>
+ * CSV 文件按引号状态划分行，与 {@link DataFeed#parseCsv(String, char)} 的规则一致：字段开头的双引号开始引用字段，
+ * 引用字段内两个双引号为转义，引用字段内的换行属于字段内容，不作为行尾；引号直到文件末尾仍未闭合时抛出异常。
+ * 其他格式（JSON Lines）按换行符划分行。
+ * </p>
+ * <p>
+ * 映射建立后只读不写，可被多个线程并发读取。
+ * </p>
+ *
+ * @author xiaomi
+ */
+final class MappedDataFile {
+
+    /**
+     * 单个映射段的大小为 1GB
+     */
+    private static final int SEGMENT_SHIFT = 30;
+
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final Path path;
+
+    private final long size;
+
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * CSV 分隔符的 UTF-8 编码，不是 CSV 文件时为 null
+     */
+    private final byte[] delimiter;
+
+    private long[] starts = new long[1024];
+
+    private long[] ends = new long[1024];
+
+    private int count;
+
+    /**
+     * 打开按换行符划分行的数据文件
+     *
+     * @param path 文件路径
+     */
+    MappedDataFile(Path path) {
+        this(path, null);
+    }
+
+    /**
+     * 打开数据文件
+     *
+     * @param path      文件路径
+     * @param delimiter CSV 分隔符，不为 null 时按引号状态划分行，引用字段内的换行不作为行尾
+     */
+    MappedDataFile(Path path, Character delimiter) {
+        this.path = path;
+        this.delimiter = delimiter == null ? null : String.valueOf(delimiter).getBytes(StandardCharsets.UTF_8);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            this.size = channel.size();
+            this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                var position = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(1L << SEGMENT_SHIFT, size - position));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("映射数据文件 %s 失败", path), e);
+        }
+        index();
+    }
+
+    private void index() {
+        long start = hasBom() ? 3 : 0;
+        var blank = true;
+        // CSV 引号状态：是否在引用字段内、当前字段是否尚无内容
+        var quoted = false;
+        var fieldEmpty = true;
+        // 当前行开始处的物理行号，用于报告未闭合的引号
+        long physical = 1;
+        long rowLine = 1;
+        for (long position = start; position < size; position++) {
+            var b = byteAt(position);
+            if (quoted) {
+                if (b == '\n') {
+                    physical++;
+                } else if (b == '"') {
+                    if (position + 1 < size && byteAt(position + 1) == '"') {
+                        position++;
+                    } else {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                fieldEmpty = false;
+            } else if (b == '\n') {
+                if (!blank) {
+                    add(start, position);
+                }
+                start = position + 1;
+                blank = true;
+                fieldEmpty = true;
+                rowLine = ++physical;
+            } else if (delimiter != null && b == '"' && fieldEmpty) {
+                quoted = true;
+                blank = false;
+            } else {
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    blank = false;
+                }
+                fieldEmpty = delimiter != null && isDelimiterEnd(position);
+            }
+        }
+        if (quoted) {
+            throw new RuntimeException(String.format("数据文件 %s 第 %d 行的引号未闭合", path, rowLine));
+        }
+        if (!blank) {
+            add(start, size);
+        }
+        starts = Arrays.copyOf(starts, count);
+        ends = Arrays.copyOf(ends, count);
+    }
+
+    /**
+     * 判断分隔符是否在指定位置结束，多字节分隔符向前比较完整编码
+     */
+    private boolean isDelimiterEnd(long position) {
+        var length = delimiter.length;
+        if (position - length + 1 < 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (byteAt(position - length + 1 + i) != delimiter[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasBom() {
+        return size >= 3 && byteAt(0) == (byte) 0xEF && byteAt(1) == (byte) 0xBB && byteAt(2) == (byte) 0xBF;
+    }
+
+    private void add(long start, long end) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, starts.length << 1);
+            ends = Arrays.copyOf(ends, ends.length << 1);
+        }
+        starts[count] = start;
+        ends[count++] = end;
+    }
+
+    private byte byteAt(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    /**
+     * 获取行数（不含空白行）
+     *
+     * @return 行数
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * 读取指定行的文本，不含行尾的换行符；CSV 引用字段内的换行保留在文本中
+     *
+     * @param index 行号，从 0 开始
+     * @return 行文本
+     */
+    String line(int index) {
+        var start = starts[index];
+        var end = ends[index];
+        if (end > start && byteAt(end - 1) == '\r') {
+            end--;
+        }
+        var bytes = new byte[(int) (end - start)];
+        var segment = (int) (start >>> SEGMENT_SHIFT);
+        if (segment == (int) ((end - 1) >>> SEGMENT_SHIFT)) {
+            segments[segment].get((int) (start & SEGMENT_MASK), bytes);
+        } else {
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = byteAt(start + i);
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    Path getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.configure.dataset;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 数据集取数模式
+ * <p>
+ * 同一 {@link io.github.xiaomisum.ryze.context.GlobalContext} 下，文件、格式与取数模式相同的数据集共享同一个游标，
+ * 并发执行的所有会话（虚拟用户）从同一个游标取数。
+ * </p>
+ *
+ * @author xiaomi
+ */
+public enum ShareMode {
+
+    /**
+     * 顺序取数，每次取下一行，数据取完后继续取数将执行失败（默认）
+     */
+    SEQUENTIAL,
+
+    /**
+     * 循环取数，每次取下一行，数据取完后从第一行重新开始
+     */
+    CIRCULAR,
+
+    /**
+     * 随机取数，每次随机取一行，不同会话可能取到同一行
+     */
+    RANDOM,
+
+    /**
+     * 每个会话独占一行：会话首次取数时分配一行，之后在该会话内始终使用这一行，不同会话不会取到同一行
+     */
+    UNIQUE;
+
+    /**
+     * 按名称（忽略大小写）获取取数模式
+     *
+     * @param name 模式名称
+     * @return 取数模式，名称为空时返回 {@link #SEQUENTIAL}
+     * @throws IllegalArgumentException 名称无效时抛出
+     */
+    public static ShareMode of(String name) {
+        return StringUtils.isBlank(name) ? SEQUENTIAL : valueOf(name.trim().toUpperCase());
+    }
+}
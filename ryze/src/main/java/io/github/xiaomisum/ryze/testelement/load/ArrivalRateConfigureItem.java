@@ -0,0 +1,453 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.load;
+
+import com.alibaba.fastjson2.annotation.JSONField;
+import io.github.xiaomisum.ryze.config.ConfigureItem;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.support.ValidateResult;
+import io.github.xiaomisum.ryze.template.TemplateEngine;
+import io.github.xiaomisum.ryze.testelement.AbstractTestElement;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 到达率调度器配置项
+ * <p>
+ * 描述开放模型压测的负载形态：按起始到达率启动迭代，在持续时长内线性变化到目标到达率；
+ * 同时执行中的迭代数受最大并发迭代数限制。
+ * </p>
+ * <p>
+ * 各字段既可以是数值，也可以是 {@code ${...}} 表达式（如 {@code rate: ${rps}}），
+ * 表达式在到达率调度器执行时计算，到达率结果需为数值，其余字段结果需为整数。
+ * </p>
+ *
+ * @author xiaomi
+ */
+public class ArrivalRateConfigureItem implements ConfigureItem<ArrivalRateConfigureItem>, LoadConstantsInterface {
+
+    /**
+     * 起始到达率(次/秒)
+     */
+    @JSONField(name = RATE)
+    protected Object rate;
+
+    /**
+     * 目标到达率(次/秒)，为0时保持起始到达率
+     */
+    @JSONField(name = TARGET_RATE, ordinal = 1)
+    protected Object targetRate;
+
+    /**
+     * 持续时长(毫秒)
+     */
+    @JSONField(name = DURATION, ordinal = 2)
+    protected Object duration;
+
+    /**
+     * 最大并发迭代数，默认值为10000
+     */
+    @JSONField(name = MAX_IN_FLIGHT, ordinal = 3)
+    protected Object maxInFlight;
+
+    /**
+     * 延迟阈值(毫秒)，默认值为10
+     */
+    @JSONField(name = LATE_THRESHOLD, ordinal = 4)
+    protected Object lateThreshold;
+
+    /**
+     * 默认构造函数
+     */
+    public ArrivalRateConfigureItem() {
+    }
+
+    /**
+     * 创建到达率调度器配置项构建器
+     *
+     * @return 构建器实例
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 合并配置项，当前配置项未配置（小于等于0）的属性使用另一个配置项的值
+     *
+     * @param other 要合并的另一个配置项
+     * @return 合并后的新配置项
+     */
+    @Override
+    public ArrivalRateConfigureItem merge(ArrivalRateConfigureItem other) {
+        var self = copy();
+        if (other == null) {
+            return self;
+        }
+        self.rate = isSet(self.rate) ? self.rate : other.rate;
+        self.targetRate = isSet(self.targetRate) ? self.targetRate : other.targetRate;
+        self.duration = isSet(self.duration) ? self.duration : other.duration;
+        self.maxInFlight = isSet(self.maxInFlight) ? self.maxInFlight : other.maxInFlight;
+        self.lateThreshold = isSet(self.lateThreshold) ? self.lateThreshold : other.lateThreshold;
+        return self;
+    }
+
+    /**
+     * 在上下文中计算配置项，计算各字段中的表达式
+     *
+     * @param context 测试上下文
+     * @return 当前配置项
+     */
+    @Override
+    public ArrivalRateConfigureItem evaluate(ContextWrapper context) {
+        rate = context.evaluate(rate);
+        targetRate = context.evaluate(targetRate);
+        duration = context.evaluate(duration);
+        maxInFlight = context.evaluate(maxInFlight);
+        lateThreshold = context.evaluate(lateThreshold);
+        return this;
+    }
+
+    /**
+     * 验证配置项，表达式字段在执行时计算后才能确定取值，不在此校验
+     *
+     * @return 验证结果
+     */
+    @Override
+    public ValidateResult validate() {
+        var result = new ValidateResult();
+        try {
+            if (!isExpression(rate) && toDouble(RATE, rate) <= 0) {
+                result.append("到达率调度器 %s 字段值必须大于0", RATE);
+            }
+            if (!isExpression(targetRate) && toDouble(TARGET_RATE, targetRate) < 0) {
+                result.append("到达率调度器 %s 字段值不能小于0", TARGET_RATE);
+            }
+            if (!isExpression(duration) && toLong(DURATION, duration) <= 0) {
+                result.append("到达率调度器 %s 字段值必须大于0", DURATION);
+            }
+            if (!isExpression(maxInFlight) && toLong(MAX_IN_FLIGHT, maxInFlight) < 0
+                    || !isExpression(lateThreshold) && toLong(LATE_THRESHOLD, lateThreshold) < 0) {
+                result.append("到达率调度器 %s、%s 字段值不能小于0", MAX_IN_FLIGHT, LATE_THRESHOLD);
+            }
+        } catch (IllegalArgumentException e) {
+            result.append(e.getMessage());
+        }
+        return result;
+    }
+
+    private static boolean isExpression(Object value) {
+        return value instanceof String text && TemplateEngine.hasExpression(text);
+    }
+
+    /**
+     * 字段是否已配置：数值大于0，或为非空字符串（表达式或待校验的数值）
+     */
+    private static boolean isSet(Object value) {
+        if (value instanceof String text) {
+            return StringUtils.isNotBlank(text);
+        }
+        return value instanceof Number number && number.doubleValue() > 0;
+    }
+
+    private static long toLong(String name, Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value == null || StringUtils.isBlank(value.toString())) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("到达率调度器 %s 字段值 %s 不是有效的整数", name, value));
+        }
+    }
+
+    private static double toDouble(String name, Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value == null || StringUtils.isBlank(value.toString())) {
+            return 0;
+        }
+        try {
+            return Double.parseDouble(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("到达率调度器 %s 字段值 %s 不是有效的数值", name, value));
+        }
+    }
+
+    /**
+     * 计算第 k 次迭代的计划启动时间
+     * <p>
+     * 到达率 r(t) = r0 + (r1 - r0) * t / T，累计到达数 N(t) = r0 * t + (r1 - r0) * t² / (2T)，
+     * 第 k 次迭代的计划启动时间为 N(t) = k 的解。
+     * </p>
+     *
+     * @param k 迭代序号，从0开始
+     * @return 相对调度开始的计划启动时间(纳秒)，超出持续时长时返回 -1
+     */
+    public long scheduledOffset(long k) {
+        var period = getDuration() / 1000.0;
+        var r0 = getRate();
+        var r1 = getTargetRate();
+        double seconds;
+        if (r1 == r0) {
+            seconds = k / r0;
+        } else {
+            var a = (r1 - r0) / period;
+            var discriminant = r0 * r0 + 2 * a * k;
+            if (discriminant < 0) {
+                return -1;
+            }
+            seconds = (Math.sqrt(discriminant) - r0) / a;
+        }
+        if (seconds < 0 || seconds >= period) {
+            return -1;
+        }
+        return (long) (seconds * 1_000_000_000L);
+    }
+
+    /**
+     * 获取起始到达率
+     *
+     * @return 起始到达率(次/秒)
+     */
+    public double getRate() {
+        return toDouble(RATE, rate);
+    }
+
+    /**
+     * 设置起始到达率
+     *
+     * @param rate 起始到达率(次/秒)
+     */
+    public void setRate(Object rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * 获取目标到达率
+     *
+     * @return 目标到达率(次/秒)，未配置时返回起始到达率
+     */
+    public double getTargetRate() {
+        var value = toDouble(TARGET_RATE, targetRate);
+        return value > 0 ? value : getRate();
+    }
+
+    /**
+     * 设置目标到达率
+     *
+     * @param targetRate 目标到达率(次/秒)
+     */
+    public void setTargetRate(Object targetRate) {
+        this.targetRate = targetRate;
+    }
+
+    /**
+     * 获取持续时长
+     *
+     * @return 持续时长(毫秒)
+     */
+    public long getDuration() {
+        return toLong(DURATION, duration);
+    }
+
+    /**
+     * 设置持续时长
+     *
+     * @param duration 持续时长(毫秒)
+     */
+    public void setDuration(Object duration) {
+        this.duration = duration;
+    }
+
+    /**
+     * 获取最大并发迭代数
+     *
+     * @return 最大并发迭代数，默认值为10000
+     */
+    public int getMaxInFlight() {
+        var value = (int) toLong(MAX_IN_FLIGHT, maxInFlight);
+        return value > 0 ? value : 10000;
+    }
+
+    /**
+     * 设置最大并发迭代数
+     *
+     * @param maxInFlight 最大并发迭代数
+     */
+    public void setMaxInFlight(Object maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * 获取延迟阈值
+     *
+     * @return 延迟阈值(毫秒)，默认值为10
+     */
+    public long getLateThreshold() {
+        var value = toLong(LATE_THRESHOLD, lateThreshold);
+        return value > 0 ? value : 10;
+    }
+
+    /**
+     * 设置延迟阈值
+     *
+     * @param lateThreshold 延迟阈值(毫秒)
+     */
+    public void setLateThreshold(Object lateThreshold) {
+        this.lateThreshold = lateThreshold;
+    }
+
+    /**
+     * 到达率调度器配置项构建器
+     */
+    public static class Builder extends AbstractTestElement.ConfigureBuilder<Builder, ArrivalRateConfigureItem> {
+
+        private final ArrivalRateConfigureItem configure = new ArrivalRateConfigureItem();
+
+        /**
+         * 设置起始到达率
+         *
+         * @param rate 起始到达率(次/秒)
+         * @return 构建器实例
+         */
+        public Builder rate(double rate) {
+            configure.rate = rate;
+            return self;
+        }
+
+        /**
+         * 使用表达式设置起始到达率
+         *
+         * @param rate 起始到达率表达式(次/秒)，如 ${rps}
+         * @return 构建器实例
+         */
+        public Builder rate(String rate) {
+            configure.rate = rate;
+            return self;
+        }
+
+        /**
+         * 设置目标到达率
+         *
+         * @param targetRate 目标到达率(次/秒)
+         * @return 构建器实例
+         */
+        public Builder targetRate(double targetRate) {
+            configure.targetRate = targetRate;
+            return self;
+        }
+
+        /**
+         * 使用表达式设置目标到达率
+         *
+         * @param targetRate 目标到达率表达式(次/秒)，如 ${rps}
+         * @return 构建器实例
+         */
+        public Builder targetRate(String targetRate) {
+            configure.targetRate = targetRate;
+            return self;
+        }
+
+        /**
+         * 设置持续时长
+         *
+         * @param duration 持续时长(毫秒)
+         * @return 构建器实例
+         */
+        public Builder duration(long duration) {
+            configure.duration = duration;
+            return self;
+        }
+
+        /**
+         * 使用表达式设置持续时长
+         *
+         * @param duration 持续时长表达式(毫秒)，如 ${duration}
+         * @return 构建器实例
+         */
+        public Builder duration(String duration) {
+            configure.duration = duration;
+            return self;
+        }
+
+        /**
+         * 设置最大并发迭代数
+         *
+         * @param maxInFlight 最大并发迭代数
+         * @return 构建器实例
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            configure.maxInFlight = maxInFlight;
+            return self;
+        }
+
+        /**
+         * 使用表达式设置最大并发迭代数
+         *
+         * @param maxInFlight 最大并发迭代数表达式，如 ${users}
+         * @return 构建器实例
+         */
+        public Builder maxInFlight(String maxInFlight) {
+            configure.maxInFlight = maxInFlight;
+            return self;
+        }
+
+        /**
+         * 设置延迟阈值
+         *
+         * @param lateThreshold 延迟阈值(毫秒)
+         * @return 构建器实例
+         */
+        public Builder lateThreshold(long lateThreshold) {
+            configure.lateThreshold = lateThreshold;
+            return self;
+        }
+
+        /**
+         * 使用表达式设置延迟阈值
+         *
+         * @param lateThreshold 延迟阈值表达式(毫秒)，如 ${threshold}
+         * @return 构建器实例
+         */
+        public Builder lateThreshold(String lateThreshold) {
+            configure.lateThreshold = lateThreshold;
+            return self;
+        }
+
+        /**
+         * 构建到达率调度器配置项
+         *
+         * @return 配置项实例
+         */
+        @Override
+        public ArrivalRateConfigureItem build() {
+            return configure;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.load;
+
+import io.github.xiaomisum.ryze.Configure;
+import io.github.xiaomisum.ryze.ResultRetention;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.builder.DefaultChildrenBuilder;
+import io.github.xiaomisum.ryze.builder.DefaultConfigureElementsBuilder;
+import io.github.xiaomisum.ryze.builder.DefaultPostprocessorsBuilder;
+import io.github.xiaomisum.ryze.builder.DefaultPreprocessorsBuilder;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.support.ValidateResult;
+import io.github.xiaomisum.ryze.testelement.KW;
+import io.github.xiaomisum.ryze.testelement.TestContainerExecutable;
+import io.github.xiaomisum.ryze.testelement.TestElement;
+import io.github.xiaomisum.ryze.testelement.TestSuiteResult;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.github.xiaomisum.ryze.testelement.load.LoadConstantsInterface.ARRIVAL_RATE;
+
+/**
+ * 到达率调度器（开放模型压测容器）
+ * <p>
+ * 按目标到达率启动子元件的迭代，迭代的启动时间只由调度计划决定，与被测系统的响应时间无关，
+ * 避免闭合模型在被测系统变慢时自动降低压力、低估延迟的问题。支持恒定到达率与线性变化的到达率。
+ * </p>
+ * <p>
+ * 每次迭代运行在独立的虚拟线程与虚拟用户会话中，会话记录该迭代的计划启动时间
+ * （{@link SessionRunner#getScheduledStartTime()}），供报告监听器校正协调遗漏。
+ * 执行中的迭代数达到最大并发迭代数时，新到达的迭代被丢弃；迭代实际开始时间晚于计划时间超过阈值时计为延迟，
+ * 统计数据记录在 {@link ArrivalRateResult} 中。
+ * </p>
+ * <p>
+ * 子结果按 {@link Configure#getLoadResultRetention()} 保留，默认只保留统计数据，内存占用不随到达率与持续时长增长。
+ * </p>
+ *
+ * @author xiaomi
+ */
+@KW(ARRIVAL_RATE)
+public class ArrivalRateGroup extends TestContainerExecutable<ArrivalRateGroup, ArrivalRateConfigureItem, TestSuiteResult> {
+
+    /**
+     * 基于构建器的构造函数
+     *
+     * @param builder 构建器实例
+     */
+    public ArrivalRateGroup(Builder builder) {
+        super(builder);
+    }
+
+    /**
+     * 默认构造函数
+     */
+    public ArrivalRateGroup() {
+        super();
+    }
+
+    /**
+     * 创建到达率调度器构建器
+     *
+     * @return 构建器实例
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 验证到达率调度器，到达率与持续时长为必填项
+     *
+     * @return 验证结果
+     */
+    @Override
+    public ValidateResult validate() {
+        var result = super.validate();
+        if (config == null) {
+            result.append("到达率调度器 %s 字段值缺失或为空", CONFIG);
+            return result;
+        }
+        return result.append(config);
+    }
+
+    @Override
+    protected TestSuiteResult getTestResult() {
+        return new ArrivalRateResult(runtime.id, runtime.title);
+    }
+
+    @Override
+    protected ResultRetention getResultRetention(Configure configure) {
+        return configure.getLoadResultRetention();
+    }
+
+    @Override
+    protected void execute(ContextWrapper context, TestSuiteResult result) {
+        executeChildren(context);
+    }
+
+    /**
+     * 计算调度器配置中的表达式，按调度计划启动迭代并等待全部迭代执行完成
+     *
+     * @param context 调度器的上下文包装器
+     */
+    @Override
+    protected void runChildren(ContextWrapper context) {
+        var config = runtime.config;
+        context.evaluate(config);
+        var plan = VirtualUsers.compile(runtime.children);
+        var result = (ArrivalRateResult) context.getTestResult();
+        var permits = new Semaphore(config.getMaxInFlight());
+        var lateThreshold = TimeUnit.MILLISECONDS.toNanos(config.getLateThreshold());
+        var start = System.nanoTime();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long k = 0; ; k++) {
+                var offset = config.scheduledOffset(k);
+                if (offset < 0 || !parkUntil(start + offset)) {
+                    break;
+                }
+                var scheduled = start + offset;
+                result.recordScheduled();
+                if (!permits.tryAcquire()) {
+                    result.recordDropped();
+                    continue;
+                }
+                executor.submit(() -> {
+                    try {
+                        runIteration(context, plan, scheduled, lateThreshold, result);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private static boolean parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void runIteration(ContextWrapper context, List<TestElement<?>> plan, long scheduled,
+                                     long lateThreshold, ArrivalRateResult result) {
+        if (System.nanoTime() - scheduled > lateThreshold) {
+            result.recordLate();
+        }
+        var session = context.getSessionRunner().virtualUser(context.getContextChain().isolate());
+        session.setScheduledStartTime(scheduled);
+        SessionRunner.setSession(session);
+        try {
+            VirtualUsers.iterate(session, plan, result);
+        } catch (Throwable e) {
+            // 断言错误等非运行时异常同样记录到汇总结果，避免被执行器静默吞掉
+            VirtualUsers.fail(result, e);
+        } finally {
+            SessionRunner.removeSession();
+        }
+    }
+
+    /**
+     * 到达率调度器构建器
+     */
+    public static class Builder extends TestContainerExecutable.Builder<ArrivalRateGroup, Builder, ArrivalRateConfigureItem, ArrivalRateConfigureItem.Builder,
+            DefaultConfigureElementsBuilder, DefaultPreprocessorsBuilder, DefaultPostprocessorsBuilder, DefaultChildrenBuilder, TestSuiteResult> {
+
+        @Override
+        protected DefaultConfigureElementsBuilder getConfiguresBuilder() {
+            return DefaultConfigureElementsBuilder.builder();
+        }
+
+        @Override
+        protected DefaultChildrenBuilder getChildrenBuilder() {
+            return DefaultChildrenBuilder.builder();
+        }
+
+        @Override
+        protected DefaultPreprocessorsBuilder getPreprocessorsBuilder() {
+            return DefaultPreprocessorsBuilder.builder();
+        }
+
+        @Override
+        protected DefaultPostprocessorsBuilder getPostprocessorsBuilder() {
+            return DefaultPostprocessorsBuilder.builder();
+        }
+
+        @Override
+        public ArrivalRateGroup build() {
+            return new ArrivalRateGroup(this);
+        }
+
+        @Override
+        protected ArrivalRateConfigureItem.Builder getConfigureItemBuilder() {
+            return ArrivalRateConfigureItem.builder();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.load;
+
+import io.github.xiaomisum.ryze.testelement.TestSuiteResult;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 到达率调度器执行结果
+ * <p>
+ * 在测试套件结果的基础上记录调度统计：计划启动的迭代数、因达到最大并发迭代数而丢弃的迭代数、
+ * 实际开始时间晚于计划时间超过阈值的迭代数。
+ * </p>
+ *
+ * @author xiaomi
+ */
+public class ArrivalRateResult extends TestSuiteResult {
+
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder late = new LongAdder();
+
+    /**
+     * 构造函数，指定ID和标题
+     *
+     * @param id    ID
+     * @param title 标题
+     */
+    public ArrivalRateResult(String id, String title) {
+        super(id, title);
+    }
+
+    void recordScheduled() {
+        scheduled.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    void recordLate() {
+        late.increment();
+    }
+
+    /**
+     * 获取计划启动的迭代数
+     *
+     * @return 计划启动的迭代数（包含被丢弃的迭代）
+     */
+    public long getScheduled() {
+        return scheduled.sum();
+    }
+
+    /**
+     * 获取被丢弃的迭代数
+     *
+     * @return 被丢弃的迭代数
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * 获取延迟开始的迭代数
+     *
+     * @return 延迟开始的迭代数
+     */
+    public long getLate() {
+        return late.sum();
+    }
+}
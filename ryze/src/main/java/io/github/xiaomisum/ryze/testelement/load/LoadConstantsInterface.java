@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.load;
+
+import io.github.xiaomisum.ryze.testelement.TestElementConstantsInterface;
+
+/**
+ * 压测组件常量接口
+ * <p>
+ * 该接口定义了线程组等压测容器相关的关键字与配置参数键名。
+ * </p>
+ *
+ * @author xiaomi
+ */
+public interface LoadConstantsInterface extends TestElementConstantsInterface {
+
+    /**
+     * 线程组（闭合模型）关键字
+     */
+    String THREAD_GROUP = "thread_group";
+
+    /**
+     * 虚拟用户数键名
+     */
+    String THREADS = "threads";
+
+    /**
+     * 启动时长键名
+     * <p>
+     * 所有虚拟用户在该时长(毫秒)内均匀启动
+     * </p>
+     */
+    String RAMP_UP = "ramp_up";
+
+    /**
+     * 持续时长键名
+     * <p>
+     * 全部虚拟用户启动后的持续执行时长(毫秒)
+     * </p>
+     */
+    String DURATION = "duration";
+
+    /**
+     * 迭代次数键名
+     * <p>
+     * 每个虚拟用户执行子元件的次数
+     * </p>
+     */
+    String ITERATIONS = "iterations";
+
+    /**
+     * 停止时长键名
+     * <p>
+     * 持续时长结束后，所有虚拟用户在该时长(毫秒)内依次停止
+     * </p>
+     */
+    String RAMP_DOWN = "ramp_down";
+
+    /**
+     * 到达率调度器（开放模型）关键字
+     */
+    String ARRIVAL_RATE = "arrival_rate";
+
+    /**
+     * 起始到达率键名
+     * <p>
+     * 每秒启动的迭代数
+     * </p>
+     */
+    String RATE = "rate";
+
+    /**
+     * 目标到达率键名
+     * <p>
+     * 在持续时长内由起始到达率线性变化到目标到达率，未配置时保持起始到达率
+     * </p>
+     */
+    String TARGET_RATE = "target_rate";
+
+    /**
+     * 最大并发迭代数键名
+     * <p>
+     * 执行中的迭代数达到上限时，新到达的迭代被丢弃并计数
+     * </p>
+     */
+    String MAX_IN_FLIGHT = "max_in_flight";
+
+    /**
+     * 延迟阈值键名
+     * <p>
+     * 迭代实际开始时间晚于计划时间超过该阈值(毫秒)时计为延迟
+     * </p>
+     */
+    String LATE_THRESHOLD = "late_threshold";
+}
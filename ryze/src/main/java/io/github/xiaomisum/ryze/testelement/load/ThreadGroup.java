@@ -0,0 +1,240 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.load;
+
+import io.github.xiaomisum.ryze.Configure;
+import io.github.xiaomisum.ryze.ResultRetention;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.builder.DefaultChildrenBuilder;
+import io.github.xiaomisum.ryze.builder.DefaultConfigureElementsBuilder;
+import io.github.xiaomisum.ryze.builder.DefaultPostprocessorsBuilder;
+import io.github.xiaomisum.ryze.builder.DefaultPreprocessorsBuilder;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.support.ValidateResult;
+import io.github.xiaomisum.ryze.testelement.AbstractTestElement;
+import io.github.xiaomisum.ryze.testelement.KW;
+import io.github.xiaomisum.ryze.testelement.TestContainerExecutable;
+import io.github.xiaomisum.ryze.testelement.TestElement;
+import io.github.xiaomisum.ryze.testelement.TestSuiteResult;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.github.xiaomisum.ryze.testelement.load.LoadConstantsInterface.THREAD_GROUP;
+
+/**
+ * 线程组（闭合模型压测容器）
+ * <p>
+ * 线程组启动 N 个虚拟用户，每个虚拟用户运行在独立的虚拟线程上，拥有独立的 {@link SessionRunner} 与会话上下文，
+ * 循环执行全部子元件。支持启动时长（虚拟用户在该时长内均匀启动）、持续时长或迭代次数、停止时长（虚拟用户在该时长内依次停止）。
+ * </p>
+ * <p>
+ * 子元件在执行前会被编译为只读执行计划（见 {@link AbstractTestElement#compile()}），
+ * 所有虚拟用户共享同一份执行计划，每次执行各自派生运行时对象，因此单个 JVM 内可以容纳数万个虚拟用户。
+ * </p>
+ * <p>
+ * 单次迭代内的执行语义与测试套件一致：取样器执行失败时，本次迭代的后续子元件不再执行，下一次迭代照常开始。
+ * </p>
+ * <p>
+ * 子结果按 {@link Configure#getLoadResultRetention()} 保留，默认只保留统计数据，内存占用不随虚拟用户数与持续时长增长。
+ * </p>
+ *
+ * @author xiaomi
+ */
+@KW(THREAD_GROUP)
+public class ThreadGroup extends TestContainerExecutable<ThreadGroup, ThreadGroupConfigureItem, TestSuiteResult> {
+
+    /**
+     * 基于构建器的构造函数
+     *
+     * @param builder 线程组构建器实例
+     */
+    public ThreadGroup(Builder builder) {
+        super(builder);
+    }
+
+    /**
+     * 默认构造函数
+     */
+    public ThreadGroup() {
+        super();
+    }
+
+    /**
+     * 创建线程组构建器
+     *
+     * @return 线程组构建器实例
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 验证线程组及其配置
+     *
+     * @return 验证结果
+     */
+    @Override
+    public ValidateResult validate() {
+        var result = super.validate();
+        return config == null ? result : result.append(config);
+    }
+
+    @Override
+    protected TestSuiteResult getTestResult() {
+        return new TestSuiteResult(runtime.id, runtime.title);
+    }
+
+    @Override
+    protected ResultRetention getResultRetention(Configure configure) {
+        return configure.getLoadResultRetention();
+    }
+
+    @Override
+    protected void execute(ContextWrapper context, TestSuiteResult result) {
+        executeChildren(context);
+    }
+
+    /**
+     * 计算线程组配置中的表达式，启动全部虚拟用户并等待其执行完成
+     *
+     * @param context 线程组的上下文包装器
+     */
+    @Override
+    protected void runChildren(ContextWrapper context) {
+        var config = runtime.config == null ? new ThreadGroupConfigureItem() : runtime.config;
+        context.evaluate(config);
+        var plan = VirtualUsers.compile(runtime.children);
+        var start = System.nanoTime();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < config.getThreads(); user++) {
+                var schedule = new Schedule(config, start, user);
+                executor.submit(() -> runVirtualUser(context, plan, schedule));
+            }
+        }
+    }
+
+    private void runVirtualUser(ContextWrapper context, List<TestElement<?>> plan, Schedule schedule) {
+        if (!schedule.awaitStart()) {
+            return;
+        }
+        var result = (TestSuiteResult) context.getTestResult();
+        var session = context.getSessionRunner().virtualUser(context.getContextChain().isolate());
+        SessionRunner.setSession(session);
+        try {
+            for (int iteration = 0; schedule.hasNext(iteration); iteration++) {
+                VirtualUsers.iterate(session, plan, result);
+            }
+        } catch (Throwable e) {
+            // 断言错误等非运行时异常同样记录到汇总结果，避免被执行器静默吞掉
+            VirtualUsers.fail(result, e);
+        } finally {
+            SessionRunner.removeSession();
+        }
+    }
+
+    /**
+     * 单个虚拟用户的执行计划：启动时间、停止时间与迭代次数
+     */
+    private static final class Schedule {
+
+        private final long startAt;
+        private final long stopAt;
+        private final boolean timed;
+        private final int iterations;
+
+        Schedule(ThreadGroupConfigureItem config, long start, int user) {
+            var threads = config.getThreads();
+            var rampUp = TimeUnit.MILLISECONDS.toNanos(config.getRampUp());
+            var rampDown = TimeUnit.MILLISECONDS.toNanos(config.getRampDown());
+            this.startAt = start + rampUp * user / threads;
+            // 先启动的虚拟用户先停止
+            this.stopAt = start + rampUp + TimeUnit.MILLISECONDS.toNanos(config.getDuration()) + rampDown * user / threads;
+            this.timed = config.getDuration() > 0;
+            this.iterations = config.getIterations();
+        }
+
+        boolean awaitStart() {
+            long remaining;
+            while ((remaining = startAt - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean hasNext(int iteration) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            if (iterations > 0 && iteration >= iterations) {
+                return false;
+            }
+            return !timed || System.nanoTime() - stopAt < 0;
+        }
+    }
+
+    /**
+     * 线程组构建器
+     */
+    public static class Builder extends TestContainerExecutable.Builder<ThreadGroup, Builder, ThreadGroupConfigureItem, ThreadGroupConfigureItem.Builder,
+            DefaultConfigureElementsBuilder, DefaultPreprocessorsBuilder, DefaultPostprocessorsBuilder, DefaultChildrenBuilder, TestSuiteResult> {
+
+        @Override
+        protected DefaultConfigureElementsBuilder getConfiguresBuilder() {
+            return DefaultConfigureElementsBuilder.builder();
+        }
+
+        @Override
+        protected DefaultChildrenBuilder getChildrenBuilder() {
+            return DefaultChildrenBuilder.builder();
+        }
+
+        @Override
+        protected DefaultPreprocessorsBuilder getPreprocessorsBuilder() {
+            return DefaultPreprocessorsBuilder.builder();
+        }
+
+        @Override
+        protected DefaultPostprocessorsBuilder getPostprocessorsBuilder() {
+            return DefaultPostprocessorsBuilder.builder();
+        }
+
+        @Override
+        public ThreadGroup build() {
+            return new ThreadGroup(this);
+        }
+
+        @Override
+        protected ThreadGroupConfigureItem.Builder getConfigureItemBuilder() {
+            return ThreadGroupConfigureItem.builder();
+        }
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.load;
+
+import com.alibaba.fastjson2.annotation.JSONField;
+import io.github.xiaomisum.ryze.config.ConfigureItem;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.support.ValidateResult;
+import io.github.xiaomisum.ryze.template.TemplateEngine;
+import io.github.xiaomisum.ryze.testelement.AbstractTestElement;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 线程组配置项
+ * <p>
+ * 描述闭合模型压测的负载形态：虚拟用户数、启动时长、持续时长或迭代次数、停止时长。
+ * 持续时长与迭代次数同时配置时，以先达到者为准；均未配置时每个虚拟用户执行一次。
+ * </p>
+ * <p>
+ * 各字段既可以是数值，也可以是 {@code ${...}} 表达式（如 {@code threads: ${users}}），
+ * 表达式在线程组执行时计算，结果需为整数。
+ * </p>
+ *
+ * @author xiaomi
+ */
+public class ThreadGroupConfigureItem implements ConfigureItem<ThreadGroupConfigureItem>, LoadConstantsInterface {
+
+    /**
+     * 虚拟用户数，默认值为1
+     */
+    @JSONField(name = THREADS)
+    protected Object threads;
+
+    /**
+     * 启动时长(毫秒)
+     */
+    @JSONField(name = RAMP_UP, ordinal = 1)
+    protected Object rampUp;
+
+    /**
+     * 持续时长(毫秒)，为0时不限制
+     */
+    @JSONField(name = DURATION, ordinal = 2)
+    protected Object duration;
+
+    /**
+     * 每个虚拟用户的迭代次数，为0时不限制
+     */
+    @JSONField(name = ITERATIONS, ordinal = 3)
+    protected Object iterations;
+
+    /**
+     * 停止时长(毫秒)
+     */
+    @JSONField(name = RAMP_DOWN, ordinal = 4)
+    protected Object rampDown;
+
+    /**
+     * 默认构造函数
+     */
+    public ThreadGroupConfigureItem() {
+    }
+
+    /**
+     * 创建线程组配置项构建器
+     *
+     * @return 线程组配置项构建器实例
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 合并配置项，当前配置项未配置（小于等于0）的属性使用另一个配置项的值
+     *
+     * @param other 要合并的另一个配置项
+     * @return 合并后的新配置项
+     */
+    @Override
+    public ThreadGroupConfigureItem merge(ThreadGroupConfigureItem other) {
+        var self = copy();
+        if (other == null) {
+            return self;
+        }
+        self.threads = isSet(self.threads) ? self.threads : other.threads;
+        self.rampUp = isSet(self.rampUp) ? self.rampUp : other.rampUp;
+        self.duration = isSet(self.duration) ? self.duration : other.duration;
+        self.iterations = isSet(self.iterations) ? self.iterations : other.iterations;
+        self.rampDown = isSet(self.rampDown) ? self.rampDown : other.rampDown;
+        return self;
+    }
+
+    /**
+     * 在上下文中计算配置项，计算各字段中的表达式
+     *
+     * @param context 测试上下文
+     * @return 当前配置项
+     */
+    @Override
+    public ThreadGroupConfigureItem evaluate(ContextWrapper context) {
+        threads = context.evaluate(threads);
+        rampUp = context.evaluate(rampUp);
+        duration = context.evaluate(duration);
+        iterations = context.evaluate(iterations);
+        rampDown = context.evaluate(rampDown);
+        return this;
+    }
+
+    /**
+     * 验证配置项，表达式字段在执行时计算后才能确定取值，不在此校验
+     *
+     * @return 验证结果
+     */
+    @Override
+    public ValidateResult validate() {
+        var result = new ValidateResult();
+        validate(result, THREADS, threads);
+        validate(result, RAMP_UP, rampUp);
+        validate(result, DURATION, duration);
+        validate(result, ITERATIONS, iterations);
+        validate(result, RAMP_DOWN, rampDown);
+        return result;
+    }
+
+    private static void validate(ValidateResult result, String name, Object value) {
+        if (value instanceof String text && TemplateEngine.hasExpression(text)) {
+            return;
+        }
+        try {
+            if (toLong(name, value) < 0) {
+                result.append("线程组 %s 字段值不能小于0", name);
+            }
+        } catch (IllegalArgumentException e) {
+            result.append(e.getMessage());
+        }
+    }
+
+    /**
+     * 字段是否已配置：数值大于0，或为非空字符串（表达式或待校验的数值）
+     */
+    private static boolean isSet(Object value) {
+        if (value instanceof String text) {
+            return StringUtils.isNotBlank(text);
+        }
+        return value instanceof Number number && number.longValue() > 0;
+    }
+
+    private static long toLong(String name, Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value == null || StringUtils.isBlank(value.toString())) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("线程组 %s 字段值 %s 不是有效的整数", name, value));
+        }
+    }
+
+    /**
+     * 获取虚拟用户数
+     *
+     * @return 虚拟用户数，默认值为1
+     */
+    public int getThreads() {
+        var value = (int) toLong(THREADS, threads);
+        return value > 0 ? value : 1;
+    }
+
+    /**
+     * 设置虚拟用户数
+     *
+     * @param threads 虚拟用户数
+     */
+    public void setThreads(Object threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * 获取启动时长
+     *
+     * @return 启动时长(毫秒)
+     */
+    public long getRampUp() {
+        return toLong(RAMP_UP, rampUp);
+    }
+
+    /**
+     * 设置启动时长
+     *
+     * @param rampUp 启动时长(毫秒)
+     */
+    public void setRampUp(Object rampUp) {
+        this.rampUp = rampUp;
+    }
+
+    /**
+     * 获取持续时长
+     *
+     * @return 持续时长(毫秒)，为0时不限制
+     */
+    public long getDuration() {
+        return toLong(DURATION, duration);
+    }
+
+    /**
+     * 设置持续时长
+     *
+     * @param duration 持续时长(毫秒)
+     */
+    public void setDuration(Object duration) {
+        this.duration = duration;
+    }
+
+    /**
+     * 获取每个虚拟用户的迭代次数
+     *
+     * @return 迭代次数，持续时长与迭代次数均未配置时返回1，仅配置持续时长时返回0（不限制）
+     */
+    public int getIterations() {
+        var value = (int) toLong(ITERATIONS, iterations);
+        return value > 0 || getDuration() > 0 ? value : 1;
+    }
+
+    /**
+     * 设置每个虚拟用户的迭代次数
+     *
+     * @param iterations 迭代次数
+     */
+    public void setIterations(Object iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * 获取停止时长
+     *
+     * @return 停止时长(毫秒)
+     */
+    public long getRampDown() {
+        return toLong(RAMP_DOWN, rampDown);
+    }
+
+    /**
+     * 设置停止时长
+     *
+     * @param rampDown 停止时长(毫秒)
+     */
+    public void setRampDown(Object rampDown) {
+        this.rampDown = rampDown;
+    }
+
+    /**
+     * 线程组配置项构建器
+     */
+    public static class Builder extends AbstractTestElement.ConfigureBuilder<Builder, ThreadGroupConfigureItem> {
+
+        private final ThreadGroupConfigureItem configure = new ThreadGroupConfigureItem();
+
+        /**
+         * 设置虚拟用户数
+         *
+         * @param threads 虚拟用户数
+         * @return 构建器实例
+         */
+        public Builder threads(int threads) {
+            configure.threads = threads;
+            return self;
+        }
+
+        /**
+         * 使用表达式设置虚拟用户数
+         *
+         * @param threads 虚拟用户数表达式，如 ${users}
+         * @return 构建器实例
+         */
+        public Builder threads(String threads) {
+            configure.threads = threads;
+            return self;
+        }
+
+        /**
+         * 设置启动时长
+         *
+         * @param rampUp 启动时长(毫秒)
+         * @return 构建器实例
+         */
+        public Builder rampUp(long rampUp) {
+            configure.rampUp = rampUp;
+            return self;
+        }
+
+        /**
+         * 使用表达式设置启动时长
+         *
+         * @param rampUp 启动时长表达式(毫秒)，如 ${users}
+         * @return 构建器实例
+         */
+        public Builder rampUp(String rampUp) {
+            configure.rampUp = rampUp;
+            return self;
+        }
+
+        /**
+         * 设置持续时长
+         *
+         * @param duration 持续时长(毫秒)
+         * @return 构建器实例
+         */
+        public Builder duration(long duration) {
+            configure.duration = duration;
+            return self;
+        }
+
+        /**
+         * 使用表达式设置持续时长
+         *
+         * @param duration 持续时长表达式(毫秒)，如 ${users}
+         * @return 构建器实例
+         */
+        public Builder duration(String duration) {
+            configure.duration = duration;
+            return self;
+        }
+
+        /**
+         * 设置每个虚拟用户的迭代次数
+         *
+         * @param iterations 迭代次数
+         * @return 构建器实例
+         */
+        public Builder iterations(int iterations) {
+            configure.iterations = iterations;
+            return self;
+        }
+
+        /**
+         * 使用表达式设置迭代次数
+         *
+         * @param iterations 迭代次数表达式，如 ${users}
+         * @return 构建器实例
+         */
+        public Builder iterations(String iterations) {
+            configure.iterations = iterations;
+            return self;
+        }
+
+        /**
+         * 设置停止时长
+         *
+         * @param rampDown 停止时长(毫秒)
+         * @return 构建器实例
+         */
+        public Builder rampDown(long rampDown) {
+            configure.rampDown = rampDown;
+            return self;
+        }
+
+        /**
+         * 使用表达式设置停止时长
+         *
+         * @param rampDown 停止时长表达式(毫秒)，如 ${users}
+         * @return 构建器实例
+         */
+        public Builder rampDown(String rampDown) {
+            configure.rampDown = rampDown;
+            return self;
+        }
+
+        /**
+         * 构建线程组配置项
+         *
+         * @return 线程组配置项实例
+         */
+        @Override
+        public ThreadGroupConfigureItem build() {
+            return configure;
+        }
+    }
+}
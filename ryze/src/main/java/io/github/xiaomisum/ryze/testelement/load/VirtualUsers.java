@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.load;
+
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.testelement.AbstractTestElement;
+import io.github.xiaomisum.ryze.testelement.TestElement;
+import io.github.xiaomisum.ryze.testelement.TestSuiteResult;
+import io.github.xiaomisum.ryze.testelement.sampler.Sampler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 虚拟用户执行工具类
+ * <p>
+ * 封装压测容器共用的逻辑：将子元件编译为共享的执行计划，以及在虚拟用户会话中执行一次迭代。
+ * </p>
+ *
+ * @author xiaomi
+ */
+final class VirtualUsers {
+
+    private VirtualUsers() {
+    }
+
+    /**
+     * 将子元件编译为只读执行计划，所有虚拟用户共享；无法编译的子元件在每次执行前拷贝
+     *
+     * @param children 子元件列表
+     * @return 执行计划
+     */
+    static List<TestElement<?>> compile(List<? extends TestElement<?>> children) {
+        List<TestElement<?>> plan = new ArrayList<>();
+        if (children == null) {
+            return plan;
+        }
+        for (TestElement<?> child : children) {
+            if (child instanceof AbstractTestElement<?, ?, ?> element) {
+                plan.add((TestElement<?>) element.compile());
+            } else if (child != null) {
+                plan.add(child);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * 在虚拟用户会话中执行一次迭代
+     * <p>
+     * 执行语义与测试套件一致：取样器执行失败时，本次迭代的后续子元件不再执行。
+     * 每次迭代开始时递增会话的迭代序号，迭代范围的函数结果缓存随之失效。
+     * </p>
+     *
+     * @param session 虚拟用户会话
+     * @param plan    执行计划
+     * @param result  汇总结果，多个虚拟用户并发写入（无锁）
+     */
+    static void iterate(SessionRunner session, List<TestElement<?>> plan, TestSuiteResult result) {
+        session.nextIteration();
+        for (TestElement<?> child : plan) {
+            var element = child instanceof AbstractTestElement<?, ?, ?> ? child : child.copy();
+            var childResult = session.runTest(element, false);
+            result.addChild(childResult);
+            if (child instanceof Sampler<?> && !childResult.getStatus().isPassed()) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 记录虚拟用户执行过程中的异常
+     * <p>
+     * 多个虚拟用户同时失败时保留其中一个异常；汇总结果在全部虚拟用户结束（执行器关闭）后才被读取，无需加锁。
+     * </p>
+     *
+     * @param result    汇总结果
+     * @param throwable 异常
+     */
+    static void fail(TestSuiteResult result, Throwable throwable) {
+        result.setThrowable(throwable);
+    }
+}
@@ -35,14 +35,14 @@ import io.github.xiaomisum.ryze.SessionRunner;
 import io.github.xiaomisum.ryze.builder.ExtensibleExtractorsBuilder;
 import io.github.xiaomisum.ryze.config.ConfigureItem;
 import io.github.xiaomisum.ryze.config.RyzeVariables;
-import io.github.xiaomisum.ryze.context.Context;
+import io.github.xiaomisum.ryze.context.ContextChain;
 import io.github.xiaomisum.ryze.context.ContextWrapper;
 import io.github.xiaomisum.ryze.context.TestSuiteContext;
 import io.github.xiaomisum.ryze.extractor.Extractor;
 import io.github.xiaomisum.ryze.interceptor.RyzeInterceptor;
 import io.github.xiaomisum.ryze.support.Collections;
 import io.github.xiaomisum.ryze.support.Customizer;
-import io.github.xiaomisum.ryze.support.KryoUtil;
+import io.github.xiaomisum.ryze.support.copier.Copiers;
 import io.github.xiaomisum.ryze.support.ValidateResult;
 import io.github.xiaomisum.ryze.support.groovy.Groovy;
 import io.github.xiaomisum.ryze.testelement.AbstractTestElement;
@@ -53,7 +53,6 @@ import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -180,7 +179,10 @@ public abstract class AbstractProcessor<SELF extends AbstractProcessor<SELF, CON
      * @return 初始化完成的上下文包装器
      */
     protected ContextWrapper initialized(SessionRunner session) {
-        super.initialized();
+        if (runtime != this) {
+            // 派生的运行时对象无需再次拷贝
+            super.initialized();
+        }
         // 构建包含当前变量的新上下文链并创建 localContext
         var localContext = createContextWithVariables(session);
         localContext.setTestResult(getTestResult());
@@ -217,12 +219,11 @@ public abstract class AbstractProcessor<SELF extends AbstractProcessor<SELF, CON
         variables.merge(session.getContextChain().getLast().getConfigGroup().getVariables());
 
         // 构建新上下文链
-        List<Context> newContextChain = new ArrayList<>(session.getContextChain());
         TestSuiteContext currentContext = new TestSuiteContext();
         TestElementConfigureGroup configGroup = new TestElementConfigureGroup();
         configGroup.put(VARIABLES, variables);
         currentContext.setConfigGroup(configGroup);
-        newContextChain.add(currentContext);
+        ContextChain newContextChain = ContextChain.of(session.getContextChain()).append(currentContext);
 
         return new ContextWrapper(newContextChain, session);
     }
@@ -230,7 +231,23 @@ public abstract class AbstractProcessor<SELF extends AbstractProcessor<SELF, CON
     @Override
     public SELF copy() {
         SELF self = (SELF) super.copy();
-        self.variables = KryoUtil.copy(variables);
+        self.variables = Copiers.copy(variables);
+        return self;
+    }
+
+    /**
+     * 派生运行时状态对象
+     * <p>变量在执行期间会被合并和计算，需要拷贝；提取器、异步与条件表达式只读，直接共享</p>
+     *
+     * @return 运行时状态对象
+     */
+    @Override
+    protected AbstractProcessor<SELF, CONFIG, R> fork() {
+        var self = super.fork();
+        self.variables = Copiers.copy(variables);
+        self.extractors = extractors;
+        self.async = async;
+        self.condition = condition;
         return self;
     }
 
@@ -255,6 +272,11 @@ public abstract class AbstractProcessor<SELF extends AbstractProcessor<SELF, CON
      */
     @Override
     public void process(ContextWrapper context) {
+        if (compiled) {
+            // 编译模式：执行计划只读，每次执行派生独立的运行时状态对象
+            fork().process(context);
+            return;
+        }
         var localContext = initialized(context.getSessionRunner());
         // 条件判断
         if (!isConditionPassed(localContext)) {
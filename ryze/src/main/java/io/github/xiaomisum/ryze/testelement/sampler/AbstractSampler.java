@@ -36,18 +36,22 @@ import io.github.xiaomisum.ryze.builder.*;
 import io.github.xiaomisum.ryze.config.ConfigureItem;
 import io.github.xiaomisum.ryze.config.RyzeVariables;
 import io.github.xiaomisum.ryze.context.Context;
+import io.github.xiaomisum.ryze.context.ContextChain;
 import io.github.xiaomisum.ryze.context.ContextWrapper;
 import io.github.xiaomisum.ryze.context.TestRunContext;
 import io.github.xiaomisum.ryze.extractor.Extractor;
 import io.github.xiaomisum.ryze.interceptor.RyzeInterceptor;
 import io.github.xiaomisum.ryze.support.Collections;
 import io.github.xiaomisum.ryze.support.Customizer;
-import io.github.xiaomisum.ryze.support.KryoUtil;
+import io.github.xiaomisum.ryze.support.JSONPathAware;
+import io.github.xiaomisum.ryze.support.copier.Copiers;
 import io.github.xiaomisum.ryze.support.ValidateResult;
 import io.github.xiaomisum.ryze.support.groovy.Groovy;
 import io.github.xiaomisum.ryze.testelement.AbstractTestElementExecutable;
 import io.github.xiaomisum.ryze.testelement.TestElement;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -87,6 +91,8 @@ import java.util.Optional;
 public abstract class AbstractSampler<SELF extends AbstractSampler<SELF, CONFIG, R>, CONFIG extends ConfigureItem<CONFIG>, R extends SampleResult>
         extends AbstractTestElementExecutable<SELF, CONFIG, R> implements Sampler<R> {
 
+    private static final Logger log = LoggerFactory.getLogger(AbstractSampler.class);
+
     /**
      * 断言列表，用于验证取样器执行结果是否符合预期
      */
@@ -125,10 +131,10 @@ public abstract class AbstractSampler<SELF extends AbstractSampler<SELF, CONFIG,
      * 而不创建新的上下文。这样可以确保变量在测试流程中的正确传递。</p>
      *
      * @param parentContext 测试上下文链路
-     * @return 拷贝的新上下文链路
+     * @return 与父级共享结构的上下文链路
      */
     protected List<Context> getContextChain(List<Context> parentContext) {
-        List<Context> contextChain = new ArrayList<>(parentContext);
+        ContextChain contextChain = ContextChain.of(parentContext);
         Context context = parentContext.getLast();
         if (Objects.isNull(variables)) {
             variables = new RyzeVariables();
@@ -177,6 +183,7 @@ public abstract class AbstractSampler<SELF extends AbstractSampler<SELF, CONFIG,
                 handleResponse(context, result);
                 // 执行拦截器后置处理
                 runtime.handlerChain.applyPostHandle(context, runtime);
+                evaluateJsonPaths(result);
                 Optional.ofNullable(runtime.assertions).orElse(Collections.emptyList()).forEach(assertion -> assertion.assertThat(context));
                 Optional.ofNullable(runtime.extractors).orElse(Collections.emptyList()).forEach(extractor -> extractor.process(context));
             }
@@ -190,7 +197,39 @@ public abstract class AbstractSampler<SELF extends AbstractSampler<SELF, CONFIG,
             runtime.handlerChain.triggerAfterCompletion(context);
             // 最终处理 - ReporterListener
             runtime.reporterChain.triggerAfterCompletion(context);
+        }
+    }
 
+    /**
+     * 收集断言与提取器声明的 JSONPath 表达式，在响应的 JSON 树上合并求值一次，
+     * 后续各组件直接读取缓存的结果。包含 {@code ${...}} 的表达式需在组件执行时计算，不参与合并求值；
+     * 响应体不是 JSON 时跳过，由各组件自行报告错误。
+     *
+     * @param result 取样结果
+     */
+    private void evaluateJsonPaths(R result) {
+        if (result.getResponse() == null) {
+            return;
+        }
+        var paths = new ArrayList<String>();
+        Optional.ofNullable(runtime.assertions).ifPresent(assertions -> assertions.forEach(assertion -> addJsonPath(paths, assertion)));
+        Optional.ofNullable(runtime.extractors).ifPresent(extractors -> extractors.forEach(extractor -> addJsonPath(paths, extractor)));
+        if (paths.size() < 2) {
+            return;
+        }
+        try {
+            result.getResponse().evaluateJsonPaths(paths);
+        } catch (RuntimeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("合并求值 JSONPath 失败，由各组件单独求值：{}", e.getMessage());
+            }
+        }
+    }
+
+    private static void addJsonPath(List<String> paths, Object component) {
+        if (component instanceof JSONPathAware aware && StringUtils.isNotBlank(aware.jsonPath())
+                && !aware.jsonPath().contains("${")) {
+            paths.add(aware.jsonPath());
         }
     }
 
@@ -218,8 +257,23 @@ public abstract class AbstractSampler<SELF extends AbstractSampler<SELF, CONFIG,
     @Override
     public SELF copy() {
         SELF self = super.copy();
-        self.assertions = KryoUtil.copy(assertions);
-        self.extractors = KryoUtil.copy(extractors);
+        self.assertions = Copiers.copy(assertions);
+        self.extractors = Copiers.copy(extractors);
+        return self;
+    }
+
+    /**
+     * 派生运行时状态对象
+     *
+     * <p>断言在执行期间会记录实际值和匹配器，需要拷贝；提取器执行期间不修改自身状态，直接共享。</p>
+     *
+     * @return 运行时状态对象
+     */
+    @Override
+    protected SELF fork() {
+        SELF self = super.fork();
+        self.assertions = Copiers.copy(assertions);
+        self.extractors = extractors;
         return self;
     }
 
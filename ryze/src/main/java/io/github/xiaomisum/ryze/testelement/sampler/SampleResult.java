@@ -28,13 +28,31 @@
 
 package io.github.xiaomisum.ryze.testelement.sampler;
 
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONException;
 import io.github.xiaomisum.ryze.Result;
+import io.github.xiaomisum.ryze.support.JSONPaths;
+import io.github.xiaomisum.ryze.support.NanoClock;
+import io.github.xiaomisum.ryze.support.copier.Copiers;
+import org.apache.commons.lang3.StringUtils;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 取样结果抽象类，用于存储和管理取样器执行的结果信息。
@@ -45,7 +63,7 @@ import java.time.ZoneId;
  * <p>主要功能包括：
  * <ul>
  *   <li>记录取样开始和结束时间</li>
- *   <li>计算执行时长</li>
+ *   <li>计算执行时长，并记录各阶段（获取连接、执行、读取等）的耗时</li>
  *   <li>存储请求和响应数据</li>
  *   <li>提供数据格式化方法</li>
  * </ul></p>
@@ -54,6 +72,26 @@ import java.time.ZoneId;
  */
 public abstract class SampleResult extends Result {
 
+    /**
+     * 阶段名称：DNS 解析
+     */
+    public static final String PHASE_DNS = "dns";
+
+    /**
+     * 阶段名称：从连接池获取连接
+     */
+    public static final String PHASE_ACQUIRE = "acquire";
+
+    /**
+     * 阶段名称：发送请求并等待响应（含建立连接、TLS 握手、写请求、首字节等待）
+     */
+    public static final String PHASE_EXECUTE = "execute";
+
+    /**
+     * 阶段名称：读取并转换响应数据
+     */
+    public static final String PHASE_READ = "read";
+
     /**
      * 取样开始时间
      */
@@ -64,6 +102,26 @@ public abstract class SampleResult extends Result {
      */
     private LocalDateTime sampleEndTime;
 
+    /**
+     * 取样开始的单调时间（{@link System#nanoTime()}），0 表示未记录
+     */
+    private long sampleStartNanos;
+
+    /**
+     * 取样结束的单调时间（{@link System#nanoTime()}），0 表示未记录
+     */
+    private long sampleEndNanos;
+
+    /**
+     * 上一个阶段结束的单调时间，用于计算下一个阶段的耗时
+     */
+    private long phaseMarkNanos;
+
+    /**
+     * 各阶段耗时(纳秒)，按记录顺序保存，首次记录时才创建
+     */
+    private Map<String, Long> phases;
+
     /**
      * 请求数据
      */
@@ -96,21 +154,63 @@ public abstract class SampleResult extends Result {
     /**
      * 标记取样开始时间
      *
-     * <p>如果取样开始时间尚未设置，则记录当前时间作为取样开始时间。</p>
+     * <p>记录当前单调时间作为取样开始时间，墙钟时间在读取时才换算。</p>
      */
     public void sampleStart() {
-        setSampleStartTime(LocalDateTime.now(ZoneId.systemDefault()));
+        sampleStartTime = null;
+        sampleStartNanos = NanoClock.now();
+        phaseMarkNanos = sampleStartNanos;
     }
 
     /**
      * 标记取样结束时间
      *
-     * <p>如果取样结束时间尚未设置，则记录当前时间作为取样结束时间。</p>
+     * <p>如果取样结束时间尚未设置，则记录当前单调时间作为取样结束时间。</p>
      */
     public void sampleEnd() {
-        if (sampleEndTime == null) {
-            setSampleEndTime(LocalDateTime.now(ZoneId.systemDefault()));
+        if (sampleEndTime == null && sampleEndNanos == 0) {
+            sampleEndNanos = NanoClock.now();
+        }
+    }
+
+    /**
+     * 标记一个阶段结束
+     *
+     * <p>以上一个阶段结束（或取样开始）至今的耗时记为该阶段的耗时，适用于依次执行的阶段。
+     * 同名阶段重复标记时耗时累加。</p>
+     *
+     * @param name 阶段名称
+     */
+    public void markPhase(String name) {
+        var now = NanoClock.now();
+        if (phaseMarkNanos != 0) {
+            addPhase(name, now - phaseMarkNanos);
+        }
+        phaseMarkNanos = now;
+    }
+
+    /**
+     * 记录一个阶段的耗时，适用于由协议客户端自行测量的阶段
+     *
+     * <p>同名阶段重复记录时耗时累加。</p>
+     *
+     * @param name  阶段名称
+     * @param nanos 阶段耗时(纳秒)
+     */
+    public void addPhase(String name, long nanos) {
+        if (phases == null) {
+            phases = new LinkedHashMap<>();
         }
+        phases.merge(name, nanos, Long::sum);
+    }
+
+    /**
+     * 获取各阶段耗时
+     *
+     * @return 阶段名称到耗时(纳秒)的映射，按记录顺序排列，未记录阶段时返回空映射
+     */
+    public Map<String, Long> getPhases() {
+        return phases == null ? Collections.emptyMap() : Collections.unmodifiableMap(phases);
     }
 
     /**
@@ -119,6 +219,9 @@ public abstract class SampleResult extends Result {
      * @return 取样开始时间
      */
     public LocalDateTime getSampleStartTime() {
+        if (sampleStartTime == null && sampleStartNanos != 0) {
+            sampleStartTime = NanoClock.toLocalDateTime(sampleStartNanos);
+        }
         return sampleStartTime;
     }
 
@@ -129,6 +232,7 @@ public abstract class SampleResult extends Result {
      */
     public void setSampleStartTime(LocalDateTime sampleStartTime) {
         this.sampleStartTime = sampleStartTime;
+        this.sampleStartNanos = 0;
     }
 
     /**
@@ -137,9 +241,46 @@ public abstract class SampleResult extends Result {
      * @return 取样结束时间
      */
     public LocalDateTime getSampleEndTime() {
+        if (sampleEndTime == null && sampleEndNanos != 0) {
+            sampleEndTime = NanoClock.toLocalDateTime(sampleEndNanos);
+        }
         return sampleEndTime;
     }
 
+    /**
+     * 获取取样开始的单调时间
+     *
+     * @return {@link System#nanoTime()} 取得的开始时间，未记录时返回 0
+     */
+    public long getSampleStartNanos() {
+        return sampleStartNanos;
+    }
+
+    /**
+     * 获取取样结束的单调时间
+     *
+     * @return {@link System#nanoTime()} 取得的结束时间，未记录时返回 0
+     */
+    public long getSampleEndNanos() {
+        return sampleEndNanos;
+    }
+
+    /**
+     * 获取取样耗时
+     *
+     * <p>优先使用单调时间计算；开始或结束时间由外部以墙钟时间设置时，按墙钟时间计算。</p>
+     *
+     * @return 取样耗时(纳秒)，开始或结束时间未记录时返回 0
+     */
+    public long getSampleNanos() {
+        if (sampleStartNanos != 0 && sampleEndNanos != 0) {
+            return sampleEndNanos - sampleStartNanos;
+        }
+        var start = getSampleStartTime();
+        var end = getSampleEndTime();
+        return start == null || end == null ? 0 : Duration.between(start, end).toNanos();
+    }
+
     /**
      * 设置取样结束时间
      *
@@ -147,6 +288,7 @@ public abstract class SampleResult extends Result {
      */
     public void setSampleEndTime(LocalDateTime sampleEndTime) {
         this.sampleEndTime = sampleEndTime;
+        this.sampleEndNanos = 0;
     }
 
     /**
@@ -157,10 +299,20 @@ public abstract class SampleResult extends Result {
      * @return 执行时长字符串，格式为 "X.XX s"
      */
     public String getDuration() {
-        var duration = Duration.between(sampleStartTime, sampleEndTime).toMillis() / 1000.00;
+        var duration = TimeUnit.NANOSECONDS.toMillis(getSampleNanos()) / 1000.00;
         return new BigDecimal(duration).setScale(2, RoundingMode.HALF_UP).doubleValue() + " s";
     }
 
+    /**
+     * 释放请求/响应数据
+     *
+     * <p>取样结果只保留计时、状态等信息，请求/响应数据交由垃圾回收。</p>
+     */
+    public void releaseBodies() {
+        this.request = null;
+        this.response = null;
+    }
+
     /**
      * 获取请求数据
      *
@@ -213,11 +365,45 @@ public abstract class SampleResult extends Result {
      * 响应数据抽象类
      *
      * <p>该类定义了响应数据的抽象接口，用于格式化响应数据。</p>
+     *
+     * <p>响应体的解码字符串、解析后的 JSON 树、JSONPath 求值结果与响应头映射在首次使用时构建并缓存，
+     * 同一取样结果上的所有提取器与断言共享同一份解析结果，每个响应体最多解码、解析一次。
+     * 子类的 {@link #bytes()} 在响应创建后不应再变化。</p>
      */
     public static abstract class RealResponse {
 
+        /**
+         * 响应体不是有效 JSON 时缓存的标识
+         */
+        private static final Object INVALID_JSON = new Object();
+
+        private static final Object NULL_VALUE = new Object();
+
+        private static final String RYZE_JSON_STREAMING_THRESHOLD = "ryze.json.streaming.threshold";
+
+        /**
+         * 流式提取的响应体大小阈值，单位字节，小于等于 0 时不使用流式提取
+         */
+        private static final int STREAMING_THRESHOLD = Integer.getInteger(RYZE_JSON_STREAMING_THRESHOLD, 1024 * 1024);
+
         protected int status;
 
+        private transient volatile String text;
+
+        private transient volatile Object json;
+
+        /**
+         * {@link #json()} 返回的只读 JSON 树
+         */
+        private transient volatile Object readOnlyJson;
+
+        private transient volatile Map<String, List<String>> headerMap;
+
+        /**
+         * JSONPath 表达式到求值结果的缓存，结果为 null 时保存 {@link #NULL_VALUE}
+         */
+        private transient volatile Map<String, Object> jsonPathValues;
+
         public int status() {
             return status;
         }
@@ -226,8 +412,287 @@ public abstract class SampleResult extends Result {
 
         public abstract String format();
 
+        /**
+         * 获取解码后的响应体字符串，首次调用时解码并缓存
+         *
+         * @return 响应体字符串，响应体为 null 时返回空字符串
+         */
         public String bytesAsString() {
-            return new String(bytes());
+            var value = text;
+            if (value == null) {
+                var bytes = bytes();
+                text = value = bytes == null ? "" : new String(bytes);
+            }
+            return value;
+        }
+
+        /**
+         * 判断响应体是否为 null 或空白
+         * <p>
+         * 响应体尚未解码时直接检查字节（ASCII 空白字符），不为此解码整个响应体。
+         * </p>
+         *
+         * @return 响应体是否为空白
+         */
+        public boolean isBlank() {
+            if (text != null) {
+                return StringUtils.isBlank(text);
+            }
+            var bytes = bytes();
+            if (bytes == null) {
+                return true;
+            }
+            for (byte b : bytes) {
+                if (!Character.isWhitespace(b)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 获取解析后的只读 JSON 树（不可修改的 Map、List 或基本类型），首次调用时解析并缓存
+         * <p>
+         * 返回的是缓存 JSON 树的只读视图，不复制整棵树，嵌套的对象与数组在访问时才包装为只读视图。
+         * 视图由所有提取器与断言共享，任何层级的修改都会抛出 {@link UnsupportedOperationException}；
+         * 需要修改时请自行复制。
+         * </p>
+         *
+         * @return JSON 树，响应体为空白时返回 null
+         * @throws JSONException 响应体不是有效的 JSON 时抛出
+         */
+        public Object json() {
+            var value = readOnlyJson;
+            if (value == null) {
+                var tree = tree();
+                readOnlyJson = value = tree == null ? INVALID_JSON : readOnly(tree);
+            }
+            return value == INVALID_JSON ? null : value;
+        }
+
+        /**
+         * 获取解析后的 JSON 树（fastjson2 的 JSONObject、JSONArray 或基本类型），仅供内部求值使用
+         *
+         * @return JSON 树，响应体为空白时返回 null
+         * @throws JSONException 响应体不是有效的 JSON 时抛出
+         */
+        private Object tree() {
+            var value = json;
+            if (value == null) {
+                try {
+                    value = JSON.parse(bytesAsString());
+                } catch (JSONException e) {
+                    json = INVALID_JSON;
+                    throw e;
+                }
+                json = value == null ? INVALID_JSON : value;
+            }
+            if (value == INVALID_JSON) {
+                if (StringUtils.isBlank(bytesAsString())) {
+                    return null;
+                }
+                throw new JSONException("响应体不是有效的 JSON：" + StringUtils.abbreviate(bytesAsString(), 200));
+            }
+            return value;
+        }
+
+        /**
+         * 对 JSONPath 表达式求值，同一表达式的结果只计算一次
+         * <p>
+         * 响应体达到流式提取阈值（系统属性 {@value #RYZE_JSON_STREAMING_THRESHOLD}，默认 1 MB）且 JSON 树尚未解析时，
+         * 直接在响应字节上提取，不解码字符串；由属性名、数组下标组成的简单路径流式读取，不构建 JSON 树
+         * （见 {@link JSONPaths}）。否则在缓存的 JSON 树上求值。
+         * 流式提取不校验目标值之后的内容，响应体后半部分不完整时仍可能提取成功。
+         * </p>
+         *
+         * @param path JSONPath 表达式
+         * @return 求值结果，结果为对象或数组时返回缓存结果的深拷贝，调用方可以自由修改
+         * @throws JSONException 响应体不是有效的 JSON 时抛出
+         */
+        public Object jsonPath(String path) {
+            var values = jsonPathValues();
+            var value = values.get(path);
+            if (value == null) {
+                value = streaming() ? JSONPaths.extract(bytes(), path) : JSONPaths.eval(tree(), path);
+                values.put(path, value == null ? NULL_VALUE : value);
+            }
+            return value == NULL_VALUE ? null : detach(value);
+        }
+
+        /**
+         * 对多个 JSONPath 表达式合并求值并缓存结果，已缓存的表达式不再计算
+         * <p>
+         * 合并求值失败（如其中某个表达式不合法）时退回逐个求值，求值失败的表达式不缓存，
+         * 由使用它的组件在读取时报告错误；全部表达式均求值失败时抛出合并求值的异常。
+         * </p>
+         *
+         * @param paths JSONPath 表达式
+         * @throws JSONException 响应体不是有效的 JSON 时抛出
+         */
+        public void evaluateJsonPaths(Collection<String> paths) {
+            var values = jsonPathValues();
+            var missing = paths.stream().filter(path -> !values.containsKey(path)).distinct().toList();
+            if (missing.isEmpty()) {
+                return;
+            }
+            var streaming = streaming();
+            var root = streaming ? null : tree();
+            try {
+                var extracted = streaming ? JSONPaths.extractAll(bytes(), missing) : JSONPaths.evalAll(root, missing);
+                extracted.forEach((path, value) -> values.put(path, value == null ? NULL_VALUE : value));
+            } catch (RuntimeException e) {
+                var evaluated = false;
+                for (String path : missing) {
+                    try {
+                        var value = streaming ? JSONPaths.extract(bytes(), path) : JSONPaths.eval(root, path);
+                        values.put(path, value == null ? NULL_VALUE : value);
+                        evaluated = true;
+                    } catch (RuntimeException ignored) {
+                        // 由使用该表达式的组件重新求值并报告错误
+                    }
+                }
+                if (!evaluated) {
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * 缓存的对象或数组结果由多个组件共享，返回前复制一份，避免提取后的修改影响其他组件
+         */
+        private static Object detach(Object value) {
+            return value instanceof Map<?, ?> || value instanceof Collection<?> ? Copiers.copy(value) : value;
+        }
+
+        /**
+         * 包装为只读视图，嵌套的对象与数组在访问时才包装，不复制 JSON 树
+         */
+        private static Object readOnly(Object node) {
+            if (node instanceof Map<?, ?> map) {
+                return new ReadOnlyMap(map);
+            }
+            if (node instanceof List<?> list) {
+                return new ReadOnlyList(list);
+            }
+            return node;
+        }
+
+        /**
+         * 缓存 JSON 对象的只读视图，所有修改操作均抛出 {@link UnsupportedOperationException}
+         */
+        private static final class ReadOnlyMap extends AbstractMap<Object, Object> {
+
+            private final Map<?, ?> map;
+
+            private ReadOnlyMap(Map<?, ?> map) {
+                this.map = map;
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return map.containsKey(key);
+            }
+
+            @Override
+            public Object get(Object key) {
+                return readOnly(map.get(key));
+            }
+
+            @Override
+            public Set<Entry<Object, Object>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<Object, Object>> iterator() {
+                        var entries = map.entrySet().iterator();
+                        return new Iterator<>() {
+                            @Override
+                            public boolean hasNext() {
+                                return entries.hasNext();
+                            }
+
+                            @Override
+                            public Entry<Object, Object> next() {
+                                var entry = entries.next();
+                                return new SimpleImmutableEntry<>(entry.getKey(), readOnly(entry.getValue()));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return map.size();
+                    }
+                };
+            }
+        }
+
+        /**
+         * 缓存 JSON 数组的只读视图，所有修改操作均抛出 {@link UnsupportedOperationException}
+         */
+        private static final class ReadOnlyList extends AbstractList<Object> implements RandomAccess {
+
+            private final List<?> list;
+
+            private ReadOnlyList(List<?> list) {
+                this.list = list;
+            }
+
+            @Override
+            public Object get(int index) {
+                return readOnly(list.get(index));
+            }
+
+            @Override
+            public int size() {
+                return list.size();
+            }
+        }
+
+        private boolean streaming() {
+            if (STREAMING_THRESHOLD <= 0 || json != null) {
+                return false;
+            }
+            var bytes = bytes();
+            return bytes != null && bytes.length >= STREAMING_THRESHOLD;
+        }
+
+        private Map<String, Object> jsonPathValues() {
+            var values = jsonPathValues;
+            if (values == null) {
+                synchronized (this) {
+                    if ((values = jsonPathValues) == null) {
+                        jsonPathValues = values = new ConcurrentHashMap<>();
+                    }
+                }
+            }
+            return values;
+        }
+
+        /**
+         * 获取响应头映射（名称忽略大小写），首次调用时构建并缓存
+         *
+         * @return 响应头名称到值列表的映射，没有响应头的协议返回空映射
+         */
+        public Map<String, List<String>> headerMap() {
+            var value = headerMap;
+            if (value == null) {
+                headerMap = value = Collections.unmodifiableMap(buildHeaderMap());
+            }
+            return value;
+        }
+
+        /**
+         * 构建响应头映射，由具有响应头的协议覆盖
+         *
+         * @return 响应头映射
+         */
+        protected Map<String, List<String>> buildHeaderMap() {
+            return Collections.emptyMap();
         }
     }
 
@@ -328,7 +793,7 @@ public abstract class SampleResult extends Result {
          */
         @Override
         public String format() {
-            return bytes == null || bytes.length == 0 ? "ok" : new String(bytes);
+            return bytes == null || bytes.length == 0 ? "ok" : bytesAsString();
         }
     }
 }
\ No newline at end of file
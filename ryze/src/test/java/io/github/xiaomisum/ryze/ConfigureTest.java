@@ -0,0 +1,53 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * 框架配置单元测试
+ *
+ * @author xiaomi
+ */
+public class ConfigureTest {
+
+    @Test
+    public void testResultRetentionFallback() {
+        Assert.assertEquals(Configure.resultRetention(null), ResultRetention.all);
+        Assert.assertEquals(Configure.resultRetention(" failures "), ResultRetention.failures);
+        // 拼写错误时使用默认值，而不是在初始化配置时抛出异常
+        Assert.assertEquals(Configure.resultRetention("failure"), ResultRetention.all);
+    }
+
+    @Test
+    public void testLoadResultRetentionDefault() {
+        // 压测容器默认只保留统计数据
+        Assert.assertEquals(Configure.defaultConfigure(false).getLoadResultRetention(), ResultRetention.aggregates);
+        Assert.assertEquals(Configure.resultRetention("ryze.load.result.retention", "failure", ResultRetention.aggregates),
+                ResultRetention.aggregates);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.config;
+
+import com.alibaba.fastjson2.JSON;
+import io.github.xiaomisum.ryze.Configure;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.protocol.debug.config.DebugConfigureItem;
+import io.github.xiaomisum.ryze.protocol.debug.sampler.DebugSampler;
+import io.github.xiaomisum.ryze.support.copier.Copiers;
+import io.github.xiaomisum.ryze.testelement.TestSuite;
+import io.github.xiaomisum.ryze.testelement.sampler.SampleResult;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 变量配置分层作用域测试
+ *
+ * @author xiaomi
+ */
+public class RyzeVariablesTest {
+
+    private static RyzeVariables of(String key, Object value) {
+        return new RyzeVariables().add(key, value);
+    }
+
+    @Test
+    public void testMergeLinksParentWithoutCopy() {
+        var parent = of("a", 1).add("b", 2);
+        var child = of("b", 20);
+        Assert.assertSame(child.merge(parent), child);
+        Assert.assertSame(child.getParent(), parent);
+        // 读取方法沿作用域链进行
+        Assert.assertEquals(child.size(), 2);
+        Assert.assertEquals(child.get("a"), 1);
+        Assert.assertEquals(child.lookup("a"), 1);
+        Assert.assertEquals(child.lookup("b"), 20);
+        Assert.assertTrue(child.containsVariable("a"));
+        Assert.assertFalse(child.containsVariable("c"));
+        // JSONObject 的 String 重载方法同样沿作用域链进行
+        Assert.assertTrue(child.containsKey("a"));
+        Assert.assertEquals(child.getOrDefault("a", 0), 1);
+        Assert.assertEquals(child.get((Object) "a"), 1);
+        // 父作用域后续的修改对子作用域可见
+        parent.put("c", 3);
+        Assert.assertEquals(child.lookup("c"), 3);
+        Assert.assertEquals(child.view(), Map.of("a", 1, "b", 20, "c", 3));
+    }
+
+    @Test
+    public void testNullValueShadowsParent() {
+        var parent = of("a", 1);
+        var child = of("a", null).merge(parent);
+        Assert.assertNull(child.lookup("a"));
+        Assert.assertTrue(child.containsVariable("a"));
+    }
+
+    @Test
+    public void testMergeCycleFallsBackToCopy() {
+        var first = of("a", 1);
+        var second = of("b", 2).merge(first);
+        first.merge(second);
+        Assert.assertNull(first.getParent());
+        Assert.assertEquals(first.get("a"), 1);
+        Assert.assertEquals(first.get("b"), 2);
+        Assert.assertSame(first.merge(first), first);
+    }
+
+    @Test
+    public void testScopeDepthIsBounded() {
+        var scope = of("root", 0);
+        for (int i = 1; i < RyzeVariables.MAX_SCOPE_DEPTH * 3; i++) {
+            scope = of("k" + i, i).merge(scope);
+        }
+        var depth = 0;
+        for (var current = scope; current != null; current = current.getParent()) {
+            depth++;
+        }
+        Assert.assertTrue(depth <= RyzeVariables.MAX_SCOPE_DEPTH, "depth " + depth);
+        Assert.assertEquals(scope.lookup("root"), 0);
+        Assert.assertEquals(scope.lookup("k1"), 1);
+    }
+
+    @Test
+    public void testCopyFlattensParent() {
+        var parent = of("a", 1);
+        var child = of("b", 2).merge(parent);
+        var copy = child.copy();
+        Assert.assertNull(copy.getParent());
+        Assert.assertEquals(copy, Map.of("a", 1, "b", 2));
+        var deepCopy = Copiers.copy(child);
+        Assert.assertNotSame(deepCopy, child);
+        Assert.assertNull(deepCopy.getParent());
+        Assert.assertEquals(deepCopy, Map.of("a", 1, "b", 2));
+        // 副本不再受原对象及其父作用域后续修改的影响
+        parent.put("a", 10);
+        copy.put("b", 3);
+        Assert.assertEquals(copy.get("a"), 1);
+        Assert.assertEquals(deepCopy.get("a"), 1);
+        Assert.assertEquals(child.lookup("b"), 2);
+    }
+
+    @Test
+    public void testIterateMergedVariables() {
+        var parent = of("a", 1).add("b", 2);
+        var child = of("b", 20).add("c", 30).merge(parent);
+        Assert.assertEquals(child.keySet(), Set.of("a", "b", "c"));
+        Assert.assertEquals(List.copyOf(child.values()).size(), 3);
+        var visited = new HashMap<String, Object>();
+        child.forEach(visited::put);
+        Assert.assertEquals(visited, Map.of("a", 1, "b", 20, "c", 30));
+        for (var entry : child.entrySet()) {
+            Assert.assertEquals(entry.getValue(), visited.get(entry.getKey()));
+        }
+        Assert.assertEquals(child.getOrDefault("a", 0), 1);
+        Assert.assertFalse(child.isEmpty());
+        Assert.assertEquals(JSON.parseObject(child.toString()), Map.of("a", 1, "b", 20, "c", 30));
+        // 写入只作用于本层级
+        child.remove("a");
+        Assert.assertEquals(child.get("a"), 1);
+    }
+
+    @Test
+    public void testLayeredView() {
+        var low = of("a", 1).add("b", 1);
+        var high = of("b", 2);
+        var view = RyzeVariables.layered(List.of(high, low));
+        Assert.assertEquals(view.get("a"), 1);
+        Assert.assertEquals(view.get("b"), 2);
+        Assert.assertEquals(view.size(), 2);
+        Assert.assertThrows(UnsupportedOperationException.class, () -> view.put("c", 3));
+    }
+
+    @Test
+    public void testBuilderPutCopiesVisibleVariables() {
+        var parent = of("a", 1);
+        var source = of("b", 2).merge(parent);
+        var variables = RyzeVariables.builder().put("b", 20).put(source).build();
+        Assert.assertNull(variables.getParent());
+        Assert.assertEquals(variables, Map.of("a", 1, "b", 20));
+    }
+
+    @Test
+    public void testSuiteVariableVisibleInSampler() {
+        SessionRunner.newSession(Configure.defaultConfigure(false));
+        try {
+            var sampler = DebugSampler.builder()
+                    .title("debug ${suiteVar}")
+                    .config(DebugConfigureItem.builder().add("message", "hello ${suiteVar}").build())
+                    .build();
+            var suite = TestSuite.builder()
+                    .title("suite")
+                    .variables("suiteVar", "ryze")
+                    .children(List.of(sampler))
+                    .build();
+            var result = SessionRunner.getSession().runTest(suite);
+            Assert.assertTrue(result.getStatus().isPassed());
+            var sample = (SampleResult) result.getChildren().getFirst();
+            Assert.assertEquals(sample.getTitle(), "debug ryze");
+            Assert.assertEquals(JSON.parseObject(sample.getResponse().bytesAsString()).getString("message"), "hello ryze");
+        } finally {
+            SessionRunner.removeSession();
+        }
+    }
+}
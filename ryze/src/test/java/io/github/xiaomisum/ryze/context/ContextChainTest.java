@@ -0,0 +1,188 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.context;
+
+import io.github.xiaomisum.ryze.config.ConfigureItem;
+import io.github.xiaomisum.ryze.config.RyzeVariables;
+import io.github.xiaomisum.ryze.testelement.TestElementConfigureGroup;
+import io.github.xiaomisum.ryze.testelement.TestElementConstantsInterface;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ContextChain 结构共享与合并配置缓存测试
+ *
+ * @author xiaomi
+ */
+public class ContextChainTest {
+
+    private static TestSuiteContext suite(String key, String value) {
+        var variables = new RyzeVariables();
+        variables.put(key, value);
+        var group = new TestElementConfigureGroup();
+        group.put(TestElementConstantsInterface.VARIABLES, variables);
+        var context = new TestSuiteContext();
+        context.setConfigGroup(group);
+        return context;
+    }
+
+    @Test
+    public void testAppendSharesParent() {
+        var global = new GlobalContext(null);
+        var session = new SessionContext();
+        var parent = ContextChain.of(global).append(session);
+        var child = parent.append(suite("a", "1"));
+
+        Assert.assertEquals(parent.size(), 2);
+        Assert.assertEquals(child.size(), 3);
+        Assert.assertSame(child.getParent(), parent);
+        Assert.assertSame(child.getFirst(), global);
+        Assert.assertSame(child.get(1), session);
+        Assert.assertSame(child.getGlobalContext(), global);
+        Assert.assertSame(child.getSessionContext(), session);
+        Assert.assertEquals(new ArrayList<>(child), List.of(global, session, child.getLast()));
+    }
+
+    @Test
+    public void testOfList() {
+        var global = new GlobalContext(null);
+        var chain = ContextChain.of(List.of(global, new SessionContext()));
+        Assert.assertSame(ContextChain.of(chain), chain);
+        Assert.assertThrows(UnsupportedOperationException.class, () -> ContextChain.of(List.of()));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> chain.append(null));
+    }
+
+    @Test
+    public void testMergedConfigGroupCached() {
+        var chain = ContextChain.of(suite("a", "1")).append(suite("b", "2"));
+        var merged = chain.getMergedConfigGroup();
+        Assert.assertSame(chain.getMergedConfigGroup(), merged);
+        Assert.assertEquals(merged.getVariables().get("a"), "1");
+    }
+
+    @Test
+    public void testMergedConfigGroupInvalidated() {
+        var root = suite("a", "1");
+        var chain = ContextChain.of(root).append(new TestSuiteContext());
+        var merged = chain.getMergedConfigGroup();
+        Assert.assertNull(merged.getVariables().get("b"));
+
+        // 替换祖先层级的配置组后，子层级的缓存失效
+        root.setConfigGroup(suite("b", "2").getConfigGroup());
+        var remerged = chain.getMergedConfigGroup();
+        Assert.assertNotSame(remerged, merged);
+        Assert.assertEquals(remerged.getVariables().get("b"), "2");
+    }
+
+    @Test
+    public void testMergedConfigGroupInvalidatedByInPlaceReplace() {
+        var root = suite("a", "1");
+        var chain = ContextChain.of(root).append(new TestSuiteContext());
+        var merged = chain.getMergedConfigGroup();
+
+        // 原地替换配置项，配置项数量不变
+        root.getConfigGroup().put(TestElementConstantsInterface.VARIABLES, suite("a", "2").getConfigGroup().getVariables());
+        var remerged = chain.getMergedConfigGroup();
+        Assert.assertNotSame(remerged, merged);
+        Assert.assertEquals(remerged.getVariables().get("a"), "2");
+        Assert.assertSame(chain.getMergedConfigGroup(), remerged);
+    }
+
+    @Test
+    public void testMergedConfigGroupValidatedByVersion() {
+        var reads = new AtomicInteger();
+        var group = new TestElementConfigureGroup() {
+            @Override
+            public <T extends ConfigureItem<T>> T get(String key) {
+                reads.incrementAndGet();
+                return super.get(key);
+            }
+        };
+        group.putAll(suite("a", "1").getConfigGroup());
+        var root = new TestSuiteContext();
+        root.setConfigGroup(group);
+        var chain = ContextChain.of(root).append(suite("b", "2"));
+        var merged = chain.getMergedConfigGroup();
+
+        // 未变化的层级按版本号判断缓存有效，不逐项读取配置项
+        reads.set(0);
+        Assert.assertSame(chain.getMergedConfigGroup(), merged);
+        Assert.assertEquals(reads.get(), 0);
+
+        var version = group.getVersion();
+        group.remove(TestElementConstantsInterface.VARIABLES);
+        Assert.assertTrue(group.getVersion() > version);
+        Assert.assertNull(chain.getMergedConfigGroup().getVariables().get("a"));
+    }
+
+    @Test
+    public void testMergedConfigGroupUntrackedVersion() {
+        var group = new TestElementConfigureGroup() {
+            @Override
+            public long getVersion() {
+                return -1;
+            }
+        };
+        group.putAll(suite("a", "1").getConfigGroup());
+        var root = new TestSuiteContext();
+        root.setConfigGroup(group);
+        var chain = ContextChain.of(root).append(new TestSuiteContext());
+        var merged = chain.getMergedConfigGroup();
+        Assert.assertSame(chain.getMergedConfigGroup(), merged);
+
+        // 不跟踪版本号的配置组逐项比较，原地替换配置项后缓存失效
+        group.put(TestElementConstantsInterface.VARIABLES, suite("a", "2").getConfigGroup().getVariables());
+        Assert.assertEquals(chain.getMergedConfigGroup().getVariables().get("a"), "2");
+    }
+
+    @Test
+    public void testMergedConfigGroupReadOnly() {
+        var chain = ContextChain.of(suite("a", "1")).append(new TestSuiteContext());
+        var merged = chain.getMergedConfigGroup();
+        Assert.assertThrows(UnsupportedOperationException.class,
+                () -> merged.put(TestElementConstantsInterface.VARIABLES, new RyzeVariables()));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> merged.remove(TestElementConstantsInterface.VARIABLES));
+        Assert.assertThrows(UnsupportedOperationException.class, merged::clear);
+        Assert.assertThrows(UnsupportedOperationException.class, () -> merged.entrySet().clear());
+        // 副本可以修改
+        var copy = merged.copy();
+        copy.put(TestElementConstantsInterface.VARIABLES, new RyzeVariables());
+        Assert.assertEquals(merged.getVariables().get("a"), "1");
+    }
+
+    @Test
+    public void testExecutionIdUnique() {
+        var chain = ContextChain.of(new GlobalContext(null));
+        var first = new ContextWrapper(chain, null);
+        var second = new ContextWrapper(chain, null);
+        Assert.assertNotEquals(first.getUuid(), second.getUuid());
+        Assert.assertEquals(first.getUuid().length(), 36);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.context.variables;
+
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.config.RyzeVariables;
+import io.github.xiaomisum.ryze.context.Context;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.context.GlobalContext;
+import io.github.xiaomisum.ryze.context.SessionContext;
+import io.github.xiaomisum.ryze.testelement.TestElementConfigureGroup;
+import io.github.xiaomisum.ryze.testelement.TestElementConstantsInterface;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * 运行期全局变量（{@link GlobalVariableStore}）的变量查找与模板解析测试
+ *
+ * @author xiaomi
+ */
+public class GlobalVariableStoreLookupTest {
+
+    private GlobalContext globalContext;
+    private RyzeVariables sessionVars;
+    private ContextWrapper context;
+
+    @BeforeMethod
+    public void setUp() {
+        globalContext = new GlobalContext();
+        var globalConfig = new TestElementConfigureGroup();
+        var globalVars = new RyzeVariables();
+        globalVars.put("token", "initial");
+        globalConfig.put(TestElementConstantsInterface.VARIABLES, globalVars);
+        globalContext.setConfigGroup(globalConfig);
+
+        var sessionContext = new SessionContext();
+        var sessionConfig = new TestElementConfigureGroup();
+        sessionVars = new RyzeVariables();
+        sessionVars.merge(globalVars);
+        sessionConfig.put(TestElementConstantsInterface.VARIABLES, sessionVars);
+        sessionContext.setConfigGroup(sessionConfig);
+
+        context = new ContextWrapper(List.<Context>of(globalContext, sessionContext), SessionRunner.getSessionIfNoneCreateNew());
+    }
+
+    @Test
+    public void testTemplateResolvesStoreVariable() {
+        globalContext.getVariableStore().put("orderId", "1001");
+
+        Assert.assertEquals(context.getLocalVariablesWrapper().get("orderId"), "1001");
+        Assert.assertEquals(context.getAllVariablesWrapper().get("orderId"), "1001");
+        Assert.assertEquals(context.evaluate("${orderId}"), "1001");
+    }
+
+    @Test
+    public void testStoreOverridesGlobalDefinition() {
+        Assert.assertEquals(context.evaluate("${token}"), "initial");
+
+        globalContext.getVariableStore().put("token", "refreshed");
+
+        Assert.assertEquals(context.evaluate("${token}"), "refreshed");
+    }
+
+    @Test
+    public void testCloserScopeOverridesStore() {
+        globalContext.getVariableStore().put("token", "refreshed");
+        sessionVars.put("token", "session");
+
+        Assert.assertEquals(context.evaluate("${token}"), "session");
+    }
+}
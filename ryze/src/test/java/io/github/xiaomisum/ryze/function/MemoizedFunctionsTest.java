@@ -0,0 +1,173 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function;
+
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 函数结果缓存测试
+ *
+ * @author xiaomi
+ */
+public class MemoizedFunctionsTest {
+
+    private ContextWrapper context;
+
+    @BeforeMethod
+    public void setUp() {
+        MemoizedFunctions.clear();
+        context = new ContextWrapper(SessionRunner.getSessionIfNoneCreateNew());
+    }
+
+    @Test
+    public void testNoneIsNotCached() {
+        var function = new CountingFunction(Memoization.NONE);
+        MemoizedFunctions.execute(function, context, Args.of("a"));
+        MemoizedFunctions.execute(function, context, Args.of("a"));
+        Assert.assertEquals(function.calls.get(), 2);
+    }
+
+    @Test
+    public void testGlobalCachedByArgs() {
+        var function = new CountingFunction(Memoization.GLOBAL);
+        Assert.assertEquals(MemoizedFunctions.execute(function, context, Args.of("a", 1)), "a1#1");
+        Assert.assertEquals(MemoizedFunctions.execute(function, context, Args.of("a", 1)), "a1#1");
+        Assert.assertEquals(MemoizedFunctions.execute(function, context, Args.of("b", 1)), "b1#2");
+        var other = new ContextWrapper(SessionRunner.getSessionIfNoneCreateNew().virtualUser(context.getContextChain()));
+        Assert.assertEquals(MemoizedFunctions.execute(function, other, Args.of("a", 1)), "a1#1");
+        Assert.assertEquals(function.calls.get(), 2);
+    }
+
+    @Test
+    public void testSessionAndIterationScope() {
+        var session = SessionRunner.getSessionIfNoneCreateNew().virtualUser(context.getContextChain());
+        var ctx = new ContextWrapper(session);
+        var perSession = new CountingFunction(Memoization.SESSION);
+        var perIteration = new CountingFunction(Memoization.ITERATION);
+        MemoizedFunctions.execute(perSession, ctx, Args.of("a"));
+        MemoizedFunctions.execute(perIteration, ctx, Args.of("a"));
+        session.nextIteration();
+        MemoizedFunctions.execute(perSession, ctx, Args.of("a"));
+        MemoizedFunctions.execute(perIteration, ctx, Args.of("a"));
+        MemoizedFunctions.execute(perIteration, ctx, Args.of("a"));
+        Assert.assertEquals(perSession.calls.get(), 1);
+        Assert.assertEquals(perIteration.calls.get(), 2);
+        // 其他会话不共享会话范围的缓存
+        MemoizedFunctions.execute(perSession, context, Args.of("a"));
+        Assert.assertEquals(perSession.calls.get(), 2);
+    }
+
+    @Test
+    public void testMutableArgsAndResultsAreNotCached() {
+        var function = new CountingFunction(Memoization.GLOBAL);
+        MemoizedFunctions.execute(function, context, Args.of(Map.of("k", "v")));
+        MemoizedFunctions.execute(function, context, Args.of(Map.of("k", "v")));
+        Assert.assertEquals(function.calls.get(), 2);
+        var listFunction = new Function() {
+            final AtomicInteger calls = new AtomicInteger();
+
+            @Override
+            public String key() {
+                return "memoized_list";
+            }
+
+            @Override
+            public Memoization memoization() {
+                return Memoization.GLOBAL;
+            }
+
+            @Override
+            public Object execute(ContextWrapper context, Args args) {
+                calls.incrementAndGet();
+                return List.of(args.getFirstString());
+            }
+        };
+        MemoizedFunctions.execute(listFunction, context, Args.of("a"));
+        MemoizedFunctions.execute(listFunction, context, Args.of("a"));
+        Assert.assertEquals(listFunction.calls.get(), 2);
+    }
+
+    @Test
+    public void testCacheKeyIgnoresArgMutation() {
+        var function = new CountingFunction(Memoization.GLOBAL) {
+            @Override
+            public Object execute(ContextWrapper context, Args args) {
+                args.addFirst("md5");
+                return super.execute(context, args);
+            }
+        };
+        var first = MemoizedFunctions.execute(function, context, Args.of("x"));
+        Assert.assertEquals(MemoizedFunctions.execute(function, context, Args.of("x")), first);
+        Assert.assertEquals(function.calls.get(), 1);
+    }
+
+    @Test
+    public void testLargeArgsAreNotCached() {
+        var function = new CountingFunction(Memoization.GLOBAL);
+        var large = "x".repeat(MemoizedFunctions.MAX_VALUE_LENGTH + 1);
+        MemoizedFunctions.execute(function, context, Args.of(large));
+        MemoizedFunctions.execute(function, context, Args.of(large));
+        Assert.assertEquals(function.calls.get(), 2);
+        // 参数本身不大但结果超长时同样不缓存
+        var almost = "x".repeat(MemoizedFunctions.MAX_VALUE_LENGTH);
+        MemoizedFunctions.execute(function, context, Args.of(almost));
+        MemoizedFunctions.execute(function, context, Args.of(almost));
+        Assert.assertEquals(function.calls.get(), 4);
+    }
+
+    private static class CountingFunction implements Function {
+
+        final AtomicInteger calls = new AtomicInteger();
+        private final Memoization memoization;
+
+        CountingFunction(Memoization memoization) {
+            this.memoization = memoization;
+        }
+
+        @Override
+        public String key() {
+            return "memoized_" + memoization.name().toLowerCase();
+        }
+
+        @Override
+        public Memoization memoization() {
+            return memoization;
+        }
+
+        @Override
+        public Object execute(ContextWrapper context, Args args) {
+            return String.join("", args.stream().map(String::valueOf).toList()) + "#" + calls.incrementAndGet();
+        }
+    }
+}
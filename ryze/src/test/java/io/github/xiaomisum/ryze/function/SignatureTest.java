@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function;
+
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+
+/**
+ * 函数签名绑定测试
+ *
+ * @author xiaomi
+ */
+public class SignatureTest {
+
+    private final Signature signature = Signature.of(ArgType.STRING, ArgType.INT).optional(ArgType.LONG, ArgType.BOOLEAN);
+
+    @Test
+    public void testBindConvertsArgs() {
+        var args = signature.bind("test", Args.of(1, "10", new BigDecimal("3"), "TRUE"));
+        Assert.assertEquals(args.get(0), "1");
+        Assert.assertEquals(args.get(1), 10);
+        Assert.assertEquals(args.get(2), 3L);
+        Assert.assertEquals(args.get(3), true);
+        Assert.assertEquals(args.getIntValue(1), 10);
+        Assert.assertTrue(args.getBooleanValue(3));
+    }
+
+    @Test
+    public void testBindOptionalArgs() {
+        var args = signature.bind("test", Args.of("a", 2));
+        Assert.assertEquals(args.size(), 2);
+        Assert.assertNull(signature.bind("test", Args.of("a", " ")).get(1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBindWithTooFewArgs() {
+        signature.bind("test", Args.of("a"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBindWithTooManyArgs() {
+        signature.bind("test", Args.of("a", 1, 2, true, "extra"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBindWithInvalidNumber() {
+        signature.bind("test", Args.of("a", "1.5"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBindWithFractionalNumber() {
+        signature.bind("test", Args.of("a", new BigDecimal("1.5")));
+    }
+
+    @Test
+    public void testExecuteBindsBeforeFunction() {
+        var function = new Function() {
+            @Override
+            public String key() {
+                return "typed";
+            }
+
+            @Override
+            public Signature signature() {
+                return Signature.of(ArgType.INT, ArgType.INT);
+            }
+
+            @Override
+            public Object execute(ContextWrapper context, Args args) {
+                return (Integer) args.get(0) + (Integer) args.get(1);
+            }
+        };
+        Assert.assertEquals(MemoizedFunctions.execute(function, null, Args.of("1", new BigDecimal("2"))), 3);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function.builtin;
+
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.Args;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * CompareAndSet与GlobalVariable函数单元测试类
+ *
+ * @author xiaomi
+ * @see CompareAndSet
+ * @see GlobalVariable
+ */
+public class CompareAndSetTest {
+
+    /**
+     * 测试期望值匹配时才更新全局变量
+     */
+    @Test
+    public void testCompareAndSet() {
+        CompareAndSet function = new CompareAndSet();
+        GlobalVariable global = new GlobalVariable();
+        ContextWrapper context = new ContextWrapper(SessionRunner.getSessionIfNoneCreateNew());
+        Assert.assertEquals(global.execute(context, Args.of("cas_token", "t1")), "t1");
+        Assert.assertTrue(function.execute(context, Args.of("cas_token", "t1", "t2")));
+        Assert.assertFalse(function.execute(context, Args.of("cas_token", "t1", "t3")));
+        Assert.assertEquals(global.execute(context, Args.of("cas_token")), "t2");
+        Assert.assertEquals(context.getGlobalVariablesWrapper().get("cas_token"), "t2");
+    }
+
+    /**
+     * 测试累加器
+     */
+    @Test
+    public void testAccumulate() {
+        Accumulate function = new Accumulate();
+        ContextWrapper context = new ContextWrapper(SessionRunner.getSessionIfNoneCreateNew());
+        Assert.assertEquals(function.execute(context, Args.of("cas_amount")), 0L);
+        Assert.assertEquals(function.execute(context, Args.of("cas_amount", 100)), 100L);
+        Assert.assertEquals(function.execute(context, Args.of("cas_amount", "-30")), 70L);
+    }
+}
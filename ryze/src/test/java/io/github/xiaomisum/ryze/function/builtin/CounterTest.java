@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function.builtin;
+
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.function.Args;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Counter函数单元测试类
+ *
+ * @author xiaomi
+ * @see Counter
+ */
+public class CounterTest {
+
+    /**
+     * 测试计数器递增与步长
+     */
+    @Test
+    public void testCounter() {
+        Counter function = new Counter();
+        ContextWrapper context = new ContextWrapper(SessionRunner.getSessionIfNoneCreateNew());
+        Assert.assertEquals(function.execute(context, Args.of("counter_test")), 1L);
+        Assert.assertEquals(function.execute(context, Args.of("counter_test")), 2L);
+        Assert.assertEquals(function.execute(context, Args.of("counter_test", 10)), 12L);
+    }
+
+    /**
+     * 测试多个会话并发递增时返回值唯一
+     */
+    @Test
+    public void testCounterConcurrentSessions() throws Exception {
+        Counter function = new Counter();
+        var session = SessionRunner.getSessionIfNoneCreateNew();
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    var context = new ContextWrapper(session.virtualUser(session.getContextChain()));
+                    for (int j = 0; j < 1000; j++) {
+                        values.add(function.execute(context, Args.of("counter_concurrent")));
+                    }
+                });
+            }
+        }
+        Assert.assertEquals(values.size(), 8000);
+        Assert.assertTrue(values.contains(8000L));
+    }
+
+    /**
+     * 测试通过模板引擎调用
+     */
+    @Test
+    public void testCounterInTemplate() {
+        ContextWrapper context = new ContextWrapper(SessionRunner.getSessionIfNoneCreateNew());
+        Assert.assertEquals(context.evaluate("order-${counter('counter_template')}"), "order-1");
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function.builtin;
+
+import io.github.xiaomisum.ryze.function.Args;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class FakerBatchTest {
+
+    private final FakerBatch fakerBatch = new FakerBatch();
+
+    @Test
+    public void testKey() {
+        Assert.assertEquals(fakerBatch.key(), "faker_batch");
+    }
+
+    @Test
+    public void testExecute() {
+        List<Object> result = fakerBatch.execute(null, Args.of("name.fullName", 20));
+        Assert.assertEquals(result.size(), 20);
+        result.forEach(value -> Assert.assertFalse(((String) value).isEmpty()));
+    }
+
+    @Test
+    public void testExecuteWithLocale() {
+        List<Object> result = fakerBatch.execute(null, Args.of("address.city", "3", "en-US"));
+        Assert.assertEquals(result.size(), 3);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testExecuteWithInvalidCount() {
+        fakerBatch.execute(null, Args.of("name.fullName", 0));
+    }
+
+    @Test(expectedExceptions = RuntimeException.class)
+    public void testExecuteWithInvalidKey() {
+        fakerBatch.execute(null, Args.of("invalid.key", 2));
+    }
+}
@@ -82,4 +82,19 @@ public class FakerTest {
         args.add("invalid.key");
         faker.execute(null, args);
     }
-}
\ No newline at end of file
+
+    @Test(expectedExceptions = RuntimeException.class)
+    public void testExecuteWithMissingMethod() {
+        Args args = new Args();
+        args.add("name");
+        faker.execute(null, args);
+    }
+
+    @Test
+    public void testRepeatedExecuteReusesResolvedKey() {
+        for (int i = 0; i < 50; i++) {
+            Object result = faker.execute(null, Args.of("name.fullName", "en-US"));
+            Assert.assertFalse(((String) result).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.function.builtin;
+
+import io.github.xiaomisum.ryze.function.Args;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+public class SnowflakeTest {
+
+    private final Snowflake snowflake = new Snowflake();
+
+    @Test
+    public void testKey() {
+        Assert.assertEquals(snowflake.key(), "snowflake");
+    }
+
+    @Test
+    public void testExecuteWithNode() {
+        long id = snowflake.execute(null, Args.of(5));
+        Assert.assertTrue(id > 0);
+        Assert.assertEquals((id >>> Snowflake.SEQUENCE_BITS) & Snowflake.MAX_NODE, 5);
+        var timestamp = (id >>> (Snowflake.NODE_BITS + Snowflake.SEQUENCE_BITS)) + Snowflake.EPOCH;
+        Assert.assertTrue(Math.abs(System.currentTimeMillis() - timestamp) < 60_000);
+    }
+
+    @Test
+    public void testMonotonic() {
+        long last = Snowflake.next(1);
+        for (int i = 0; i < 100_000; i++) {
+            long next = Snowflake.next(1);
+            Assert.assertTrue(next > last);
+            last = next;
+        }
+    }
+
+    @Test
+    public void testConcurrentUnique() {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        ids.add(Snowflake.next(2));
+                    }
+                });
+            }
+        }
+        Assert.assertEquals(ids.size(), 80_000);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testExecuteWithInvalidNode() {
+        snowflake.execute(null, Args.of(1024));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.report.journal;
+
+import com.alibaba.fastjson2.JSON;
+import io.github.xiaomisum.ryze.TestStatus;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 结果日志单元测试
+ *
+ * @author xiaomi
+ */
+public class ResultJournalTest {
+
+    private static JournalRecord record(int i) {
+        return new JournalRecord("id-" + i, "sampler, " + i, "http", i % 10 == 0 ? TestStatus.failed : TestStatus.passed,
+                System.currentTimeMillis(), i, i + 1000L, 10, 20, ("body \"" + i + "\"").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        var directory = Files.createTempDirectory("ryze-journal");
+        try (var writer = new ResultJournalWriter(directory, "run", 4096)) {
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < 1000; i++) {
+                    var index = i;
+                    executor.submit(() -> writer.append(record(index)));
+                }
+            }
+            Assert.assertEquals(writer.getWritten(), 1000);
+            Assert.assertEquals(writer.getDropped(), 0);
+            // 写满的分段已在后台线程释放，只保留当前分段的映射
+            writer.awaitBackground();
+            Assert.assertEquals(writer.getMappedSegments(), 1);
+        }
+        var reader = new ResultJournalReader(directory, "run");
+        Assert.assertTrue(reader.getSegments().size() > 1);
+        var ids = new HashSet<String>();
+        for (JournalRecord record : reader) {
+            ids.add(record.id());
+            var index = Integer.parseInt(record.id().substring(3));
+            Assert.assertEquals(record.title(), "sampler, " + index);
+            Assert.assertEquals(record.elapsedNanos(), 1000);
+            Assert.assertEquals(record.bodyAsString(), "body \"" + index + "\"");
+        }
+        Assert.assertEquals(ids.size(), 1000);
+    }
+
+    @Test
+    public void testNextSegmentPreallocated() throws IOException {
+        var directory = Files.createTempDirectory("ryze-journal");
+        try (var writer = new ResultJournalWriter(directory, "run", 4096)) {
+            writer.awaitBackground();
+            // 当前分段启用后即在后台预分配下一个分段
+            Assert.assertTrue(Files.exists(directory.resolve("run-00001" + ResultJournalWriter.SEGMENT_SUFFIX)));
+            Assert.assertEquals(writer.getMappedSegments(), 1);
+            writer.append(record(1));
+        }
+        // 关闭时删除未使用的预分配分段
+        Assert.assertFalse(Files.exists(directory.resolve("run-00001" + ResultJournalWriter.SEGMENT_SUFFIX)));
+        Assert.assertEquals(new ResultJournalReader(directory, "run").stream().count(), 1);
+    }
+
+    @Test
+    public void testOversizedRecordDropped() throws IOException {
+        var directory = Files.createTempDirectory("ryze-journal");
+        try (var writer = new ResultJournalWriter(directory, "run", 64)) {
+            writer.append(record(1));
+            Assert.assertEquals(writer.getDropped(), 1);
+        }
+        Assert.assertEquals(new ResultJournalReader(directory).stream().count(), 0);
+    }
+
+    @Test
+    public void testCloseWaitsForInFlightAppends() throws Exception {
+        var directory = Files.createTempDirectory("ryze-journal");
+        var writer = new ResultJournalWriter(directory, "run", 4096);
+        var attempts = new AtomicInteger();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        writer.append(record(attempts.getAndIncrement()));
+                    }
+                });
+            }
+            Thread.sleep(1);
+            writer.close();
+        }
+        Assert.assertEquals(writer.getWritten() + writer.getDropped(), attempts.get());
+        // 关闭前完成的写入全部可读
+        Assert.assertEquals(new ResultJournalReader(directory, "run").stream().count(), writer.getWritten());
+    }
+
+    @Test
+    public void testConvert() throws IOException {
+        var directory = Files.createTempDirectory("ryze-journal");
+        try (var writer = new ResultJournalWriter(directory, "run", 1024 * 1024)) {
+            for (int i = 0; i < 10; i++) {
+                writer.append(record(i));
+            }
+        }
+        var csv = new StringWriter();
+        Assert.assertEquals(ResultJournalConverter.toCsv(new ResultJournalReader(directory), csv), 10);
+        var lines = csv.toString().split("\n");
+        Assert.assertEquals(lines.length, 11);
+        Assert.assertTrue(lines[1].startsWith("id-0,\"sampler, 0\",http,failed,"));
+        Assert.assertTrue(lines[1].endsWith(",\"body \"\"0\"\"\""));
+
+        var jsonl = new StringWriter();
+        ResultJournalConverter.toJsonLines(new ResultJournalReader(directory), jsonl);
+        var first = JSON.parseObject(jsonl.toString().split("\n")[0]);
+        Assert.assertEquals(first.getString("title"), "sampler, 0");
+        Assert.assertEquals(first.getLongValue("elapsed_nanos"), 1000);
+    }
+}
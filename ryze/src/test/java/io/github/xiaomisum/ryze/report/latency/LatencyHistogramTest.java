@@ -0,0 +1,164 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.report.latency;
+
+import io.github.xiaomisum.ryze.ApplicationConfig;
+import io.github.xiaomisum.ryze.Configure;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.protocol.debug.config.DebugConfigureItem;
+import io.github.xiaomisum.ryze.protocol.debug.sampler.DebugSampler;
+import io.github.xiaomisum.ryze.report.LatencyHistogramListener;
+import io.github.xiaomisum.ryze.testelement.load.ThreadGroup;
+import io.github.xiaomisum.ryze.testelement.load.ThreadGroupConfigureItem;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * 延迟直方图单元测试
+ *
+ * @author xiaomi
+ */
+public class LatencyHistogramTest {
+
+    private static void assertApproximately(long actual, long expected) {
+        Assert.assertTrue(Math.abs(actual - expected) <= expected / 100, actual + " != " + expected);
+    }
+
+    @Test
+    public void testIndex() {
+        for (long value : new long[]{0, 1, 127, 255, 256, 1000, 65_535, 1_000_000, LatencyHistogram.HIGHEST_TRACKABLE_VALUE}) {
+            var index = LatencyHistogram.countsIndex(value);
+            Assert.assertTrue(LatencyHistogram.lowestEquivalentValue(index) <= value);
+            Assert.assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        var histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i);
+        }
+        var summary = histogram.summary();
+        Assert.assertEquals(summary.count(), 10_000);
+        Assert.assertEquals(summary.min(), 1);
+        Assert.assertEquals(summary.max(), 10_000);
+        assertApproximately(summary.p50(), 5_000);
+        assertApproximately(summary.p90(), 9_000);
+        assertApproximately(summary.p99(), 9_900);
+        assertApproximately(summary.p999(), 9_990);
+    }
+
+    @Test
+    public void testConcurrentRecordAndMerge() {
+        var histogram = new LatencyHistogram();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 100; t++) {
+                executor.submit(() -> {
+                    for (long i = 1; i <= 1_000; i++) {
+                        histogram.record(i);
+                    }
+                });
+            }
+        }
+        Assert.assertEquals(histogram.getTotalCount(), 100_000);
+        var merged = new LatencyHistogram();
+        merged.add(histogram);
+        merged.add(histogram);
+        Assert.assertEquals(merged.getTotalCount(), 200_000);
+        Assert.assertEquals(merged.getMax(), 1_000);
+        assertApproximately(merged.getValueAtPercentile(50), 500);
+    }
+
+    @Test
+    public void testExpectedInterval() {
+        var histogram = new LatencyHistogram();
+        histogram.recordWithExpectedInterval(100, 10);
+        histogram.recordWithExpectedInterval(5, 10);
+        // 100, 90, 80 … 10 共 10 个，另加 5
+        Assert.assertEquals(histogram.getTotalCount(), 11);
+        Assert.assertEquals(histogram.getMin(), 5);
+    }
+
+    @Test
+    public void testListener() {
+        SessionRunner.newSession(Configure.defaultConfigure(false));
+        try {
+            var sampler = DebugSampler.builder()
+                    .title("debug")
+                    .config(DebugConfigureItem.builder().add("message", "hello").build())
+                    .build();
+            var group = ThreadGroup.builder()
+                    .title("thread group")
+                    .config(ThreadGroupConfigureItem.builder().threads(4).iterations(5).build())
+                    .children(List.of(sampler))
+                    .build();
+            SessionRunner.getSession().runTest(group);
+            var listener = (LatencyHistogramListener) SessionRunner.getSession().getConfigure().getBuiltinReporters().stream()
+                    .filter(LatencyHistogramListener.class::isInstance).findFirst().orElseThrow();
+            var report = listener.getLastReport();
+            Assert.assertEquals(report.get(new LatencyKey("debug", "debug")).serviceTime().getTotalCount(), 20);
+            Assert.assertEquals(report.get(new LatencyKey(LatencyHistogramListener.TOTAL, LatencyHistogramListener.TOTAL)).serviceTime().getTotalCount(), 20);
+        } finally {
+            SessionRunner.removeSession();
+        }
+    }
+
+    @Test
+    public void testListenerConcurrentRuns() throws Exception {
+        var listener = (LatencyHistogramListener) ApplicationConfig.getReporterListeners().stream()
+                .filter(LatencyHistogramListener.class::isInstance).findFirst().orElseThrow();
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            var futures = List.of("first", "second").stream().map(title -> executor.submit(() -> {
+                SessionRunner.newSession(Configure.defaultConfigure(false));
+                try {
+                    var sampler = DebugSampler.builder()
+                            .title(title)
+                            .config(DebugConfigureItem.builder().add("message", "hello").build())
+                            .build();
+                    var group = ThreadGroup.builder()
+                            .title(title)
+                            .config(ThreadGroupConfigureItem.builder().threads(4).iterations(50).build())
+                            .children(List.of(sampler))
+                            .build();
+                    SessionRunner.getSession().runTest(group);
+                } finally {
+                    SessionRunner.removeSession();
+                }
+            })).toList();
+            for (var future : futures) {
+                future.get();
+            }
+        }
+        // 每次执行的统计范围独立，最近一次报告只包含一个取样器与汇总行
+        var report = listener.getLastReport();
+        Assert.assertEquals(report.size(), 2);
+        Assert.assertEquals(report.get(new LatencyKey(LatencyHistogramListener.TOTAL, LatencyHistogramListener.TOTAL)).serviceTime().getTotalCount(), 200);
+    }
+}
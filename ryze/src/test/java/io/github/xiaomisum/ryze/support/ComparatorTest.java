@@ -154,6 +154,32 @@ public class ComparatorTest {
         Assert.assertTrue(Comparator.areEqual(person1, person3, false, false));
     }
 
+    @Test
+    public void testDiff() {
+        Map<String, Object> actual = Map.of("code", 0, "data", Map.of("items", List.of(Map.of("name", "a"), Map.of("name", "b"))));
+        Map<String, Object> expected = Map.of("code", "0", "data", Map.of("items", List.of(Map.of("name", "a"), Map.of("name", "c"))));
+        var difference = Comparator.diff(actual, expected, false);
+        Assert.assertNotNull(difference);
+        Assert.assertEquals(difference.path(), "$.data.items[1].name");
+        Assert.assertEquals(difference.expected(), "c");
+        Assert.assertEquals(difference.actual(), "b");
+
+        Assert.assertNull(Comparator.diff(Map.of("name", "A"), Map.of("name", "a"), true));
+        Assert.assertEquals(Comparator.diff(List.of(1, 2), List.of(1), false).path(), "$.size()");
+        Assert.assertEquals(Comparator.diff(Map.of("first-name", 1), Map.of("last", 1), false).path(), "$['first-name']");
+        Assert.assertEquals(Comparator.diff(new Person("Alice", 25), new Person("Alice", 26), false).path(), "$.age");
+        Assert.assertEquals(Comparator.diff("x", "y", false).path(), "$");
+    }
+
+    @Test
+    public void testAreEqualWithCircularMap() {
+        Map<String, Object> map1 = new HashMap<>();
+        map1.put("self", map1);
+        Map<String, Object> map2 = new HashMap<>();
+        map2.put("self", map2);
+        Assert.assertTrue(Comparator.areEqual(map1, map2, false));
+    }
+
     @Test
     public void testContains() {
         // 测试字符串包含
@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.xiaomisum.ryze.support;
+
+import com.alibaba.fastjson2.JSON;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class JSONPathsTest {
+
+    private static final String JSON_TEXT = "{\"code\":0,\"data\":{\"id\":7,\"tags\":[\"a\",\"b\"],\"user\":{\"name\":\"ryze\"}}}";
+
+    @Test
+    public void testCompileCached() {
+        Assert.assertSame(JSONPaths.compile("$.data.id"), JSONPaths.compile("$.data.id"));
+    }
+
+    @Test
+    public void testEvalAndExtract() {
+        var root = JSON.parse(JSON_TEXT);
+        Assert.assertEquals(JSONPaths.eval(root, "$.data.user.name"), "ryze");
+        Assert.assertEquals(JSONPaths.extract(JSON_TEXT, "$.data.tags[1]"), "b");
+        Assert.assertNull(JSONPaths.eval(root, "$.data.missing"));
+    }
+
+    @Test
+    public void testEvalAllMatchesSingleEval() {
+        var root = JSON.parse(JSON_TEXT);
+        var paths = List.of("$.code", "$.data.id", "$.data.tags[0]", "$.data.user.name", "$.data.missing");
+        var values = JSONPaths.evalAll(root, paths);
+        Assert.assertEquals(List.copyOf(values.keySet()), paths);
+        for (var path : paths) {
+            Assert.assertEquals(values.get(path), JSONPaths.eval(root, path), path);
+        }
+        Assert.assertEquals(JSONPaths.evalAll(root, List.of("$.data.id")).get("$.data.id"), 7);
+    }
+
+    @Test
+    public void testStreamingExtract() {
+        var bytes = JSON_TEXT.getBytes(StandardCharsets.UTF_8);
+        var paths = List.of("$.code", "$.data.id", "$.data.user.name", "$.data.missing");
+        var values = JSONPaths.extractAll(bytes, paths);
+        var root = JSON.parse(JSON_TEXT);
+        for (var path : paths) {
+            Assert.assertEquals(values.get(path), JSONPaths.eval(root, path), path);
+            Assert.assertEquals(JSONPaths.extract(bytes, path), JSONPaths.eval(root, path), path);
+        }
+    }
+
+    @Test
+    public void testStreamablePaths() {
+        Assert.assertTrue(JSONPaths.streamable(List.of("$.code", "$.total")));
+        Assert.assertTrue(JSONPaths.streamable(List.of("$[0]", "$[1]")));
+        Assert.assertTrue(JSONPaths.streamable(List.of("$.data.id", "$.data.name")));
+        Assert.assertTrue(JSONPaths.streamable(List.of("$[0].id", "$[0].name")));
+        Assert.assertTrue(JSONPaths.streamable(List.of("$.data.user.id", "$.data.user.name")));
+        // 前缀不同、段数不同、通配符与过滤器等形式合并后会读取完整的 JSON 树
+        Assert.assertFalse(JSONPaths.streamable(List.of("$.code", "$.data.id")));
+        Assert.assertFalse(JSONPaths.streamable(List.of("$.data.id", "$.page.id")));
+        Assert.assertFalse(JSONPaths.streamable(List.of("$[0]", "$.code")));
+        Assert.assertFalse(JSONPaths.streamable(List.of("$.data[*].id", "$.code")));
+        Assert.assertFalse(JSONPaths.streamable(List.of("$.data[?(@.id > 1)]", "$.code")));
+        Assert.assertFalse(JSONPaths.streamable(List.of("$.a.b.c.d", "$.a.b.c.e")));
+    }
+
+    @Test
+    public void testExtractAllMixedPaths() {
+        var bytes = JSON_TEXT.getBytes(StandardCharsets.UTF_8);
+        var paths = List.of("$.code", "$.data.tags[*]", "$.data.user.name");
+        var values = JSONPaths.extractAll(bytes, paths);
+        Assert.assertEquals(List.copyOf(values.keySet()), paths);
+        Assert.assertEquals(values.get("$.code"), 0);
+        Assert.assertEquals(values.get("$.data.tags[*]"), List.of("a", "b"));
+        Assert.assertEquals(values.get("$.data.user.name"), "ryze");
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.xiaomisum.ryze.support;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+public class RegexesTest {
+
+    @Test
+    public void testCompileCached() {
+        Assert.assertSame(Regexes.compile("(\\d+)元", 0), Regexes.compile("(\\d+)元", 0));
+        Assert.assertNotSame(Regexes.compile("abc", 0), Regexes.compile("abc", Pattern.CASE_INSENSITIVE));
+    }
+
+    @Test
+    public void testMatcher() {
+        var matcher = Regexes.matcher("年龄：(\\d+)", 0, "姓名：张三，年龄：25岁");
+        Assert.assertTrue(matcher.find());
+        Assert.assertEquals(matcher.group(1), "25");
+        Assert.assertTrue(Regexes.matcher("HELLO", Pattern.CASE_INSENSITIVE, "hello").matches());
+    }
+
+    @Test(timeOut = 10_000)
+    public void testCatastrophicBacktrackingTimeout() {
+        var input = "a".repeat(40) + "!";
+        var matcher = Regexes.matcher("(a+)+$", 0, input, TimeUnit.MILLISECONDS.toNanos(100));
+        var e = Assert.expectThrows(RuntimeException.class, matcher::matches);
+        Assert.assertTrue(e.getMessage().contains("(a+)+$"));
+    }
+}
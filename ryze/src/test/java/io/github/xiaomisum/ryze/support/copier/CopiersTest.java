@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.support.copier;
+
+import com.alibaba.fastjson2.JSON;
+import io.github.xiaomisum.ryze.assertion.builtin.JSONAssertion;
+import io.github.xiaomisum.ryze.config.RyzeVariables;
+import io.github.xiaomisum.ryze.extractor.builtin.JSONExtractor;
+import io.github.xiaomisum.ryze.protocol.debug.config.DebugConfigureItem;
+import io.github.xiaomisum.ryze.protocol.debug.sampler.DebugSampler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+@SuppressWarnings("unchecked")
+public class CopiersTest {
+
+    @Test
+    public void testCopyNull() {
+        Assert.assertNull(Copiers.copy(null));
+    }
+
+    @Test
+    public void testImmutableShared() {
+        var value = new BigDecimal("1.23");
+        Assert.assertSame(Copiers.copy(value), value);
+        Assert.assertSame(Copiers.copy("ryze"), "ryze");
+    }
+
+    @Test
+    public void testDeepCopyNestedMap() {
+        var variables = new RyzeVariables();
+        var nested = new HashMap<String, Object>();
+        nested.put("list", new ArrayList<>(List.of("a", "b")));
+        variables.put("nested", nested);
+
+        var copied = Copiers.copy(variables);
+        Assert.assertNotSame(copied, variables);
+        Assert.assertEquals(copied.getClass(), RyzeVariables.class);
+        Assert.assertEquals(copied, variables);
+
+        ((Map<String, Object>) copied.get("nested")).put("key", "value");
+        ((List<Object>) ((Map<?, ?>) copied.get("nested")).get("list")).add("c");
+        Assert.assertFalse(nested.containsKey("key"));
+        Assert.assertEquals(((List<?>) nested.get("list")).size(), 2);
+    }
+
+    @Test
+    public void testCopyArray() {
+        int[] ints = {1, 2, 3};
+        var copiedInts = Copiers.copy(ints);
+        Assert.assertNotSame(copiedInts, ints);
+        Assert.assertEquals(copiedInts, ints);
+
+        List<?>[] lists = {new ArrayList<>(List.of(1))};
+        var copiedLists = Copiers.copy(lists);
+        Assert.assertNotSame(copiedLists[0], lists[0]);
+        Assert.assertEquals(copiedLists[0], lists[0]);
+    }
+
+    @Test
+    public void testFallback() {
+        var source = new Custom();
+        source.values.add("ryze");
+        var copied = Copiers.copy(source);
+        Assert.assertNotSame(copied, source);
+        Assert.assertNotSame(copied.values, source.values);
+        Assert.assertEquals(copied.values, source.values);
+    }
+
+    @Test
+    public void testCyclicAndSharedReferences() {
+        var map = new HashMap<String, Object>();
+        map.put("self", map);
+        var shared = new ArrayList<>(List.of("a"));
+        map.put("list", new ArrayList<>(List.of(shared, shared)));
+
+        var copied = Copiers.copy(map);
+        Assert.assertNotSame(copied, map);
+        Assert.assertSame(copied.get("self"), copied);
+        var lists = (List<List<String>>) copied.get("list");
+        Assert.assertNotSame(lists.get(0), shared);
+        Assert.assertSame(lists.get(0), lists.get(1));
+    }
+
+    @Test
+    public void testCopyTestElement() {
+        var sampler = DebugSampler.builder()
+                .title("debug")
+                .variables("name", "ryze")
+                .config(DebugConfigureItem.builder().add("message", "${name}").build())
+                .assertions(List.of(JSONAssertion.builder().field("$.code").expected(0).rule("==").build()))
+                .extractors(List.of(JSONExtractor.builder().field("$.id").refName("id").build()))
+                .build();
+
+        var copied = Copiers.copy(sampler);
+        Assert.assertNotSame(copied, sampler);
+        Assert.assertEquals(JSON.toJSONString(copied), JSON.toJSONString(sampler));
+        Assert.assertNotSame(copied.getConfig(), sampler.getConfig());
+        copied.getConfig().put("message", "changed");
+        Assert.assertEquals(sampler.getConfig().get("message"), "${name}");
+    }
+
+    @Test
+    public void testNewInstance() {
+        Assert.assertNotNull(Copiers.newInstance(RyzeVariables.class));
+        Assert.assertThrows(RuntimeException.class, () -> Copiers.newInstance(Map.class));
+    }
+
+    public static class Custom {
+        private final List<String> values = new ArrayList<>();
+    }
+}
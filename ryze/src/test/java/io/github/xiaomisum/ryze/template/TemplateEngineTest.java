@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.template;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * 模板引擎表达式检测测试
+ *
+ * @author xiaomi
+ */
+public class TemplateEngineTest {
+
+    @DataProvider
+    public Object[][] templates() {
+        return new Object[][]{
+                {"plain text"},
+                {""},
+                {"${a}"},
+                {"prefix ${a} suffix"},
+                {"${}"},
+                {"${}}"},
+                {"$a}"},
+                {"${"},
+                {"${a"},
+                {"${\n}"},
+                {"${a\n}"},
+                {"line1\n${a}\nline3"},
+                {"${ ${ ${"},
+                {"${\r\n${b}"},
+                {"${a }"},
+                {"{\"token\": \"Bearer ${token}\"}"},
+                {"price: $100 {discount}"},
+        };
+    }
+
+    @Test(dataProvider = "templates")
+    public void testHasExpressionMatchesPattern(String template) {
+        Assert.assertEquals(TemplateEngine.hasExpression(template), TemplateEngine.EXPRESSION.matcher(template).matches(),
+                template);
+        Assert.assertEquals(TemplateEngine.noneExpression(template), !TemplateEngine.hasExpression(template));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.template.freemarker;
+
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.template.TemplateEngine;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 快速路径表达式单元测试
+ *
+ * @author xiaomi
+ */
+public class FastExpressionTest {
+
+    private TemplateEngine templateEngine;
+    private ContextWrapper context;
+
+    @BeforeClass
+    public void setUp() {
+        templateEngine = new FreeMarkerTemplateEngine();
+        context = new ContextWrapper(SessionRunner.getSessionIfNoneCreateNew());
+        var localVariablesWrapper = context.getLocalVariablesWrapper();
+        localVariablesWrapper.put("token", "abc");
+        localVariablesWrapper.put("user", Map.of("id", 7, "name", "ryze", "tags", List.of("a", "b")));
+        localVariablesWrapper.put("price", 100.0);
+    }
+
+    @Test
+    public void testCompile() {
+        Assert.assertNotNull(FastExpression.compile("${token}"));
+        Assert.assertNotNull(FastExpression.compile("Bearer ${token}"));
+        Assert.assertNotNull(FastExpression.compile("${user.tags[1]}"));
+        Assert.assertNotNull(FastExpression.compile("${user[\"name\"]}"));
+        Assert.assertNotNull(FastExpression.compile("${base64_encode(user.name, 'x')}"));
+        Assert.assertNotNull(FastExpression.compile("${random(100)}"));
+        // 运算符、内建函数、默认值、方法调用与指令交由 FreeMarker 处理
+        Assert.assertNull(FastExpression.compile("${a + b}"));
+        Assert.assertNull(FastExpression.compile("${name?upper_case}"));
+        Assert.assertNull(FastExpression.compile("${name!\"x\"}"));
+        Assert.assertNull(FastExpression.compile("${vars.get(\"username\")}"));
+        Assert.assertNull(FastExpression.compile("<#if a>${a}</#if>"));
+        Assert.assertNull(FastExpression.compile("${\"${token}\"}"));
+        Assert.assertNull(FastExpression.compile("plain text"));
+    }
+
+    @Test
+    public void testVariablePath() {
+        Assert.assertEquals(templateEngine.evaluate(context, "${token}"), "abc");
+        Assert.assertEquals(templateEngine.evaluate(context, "${user.id}"), 7);
+        Assert.assertEquals(templateEngine.evaluate(context, "${user.tags[1]}"), "b");
+        Assert.assertEquals(templateEngine.evaluate(context, "${user[\"name\"]}"), "ryze");
+        Assert.assertSame(templateEngine.evaluate(context, "${ctx}"), context);
+    }
+
+    @Test
+    public void testInterpolation() {
+        Assert.assertEquals(templateEngine.evaluate(context, "Bearer ${token}"), "Bearer abc");
+        Assert.assertEquals(templateEngine.evaluate(context, "/users/${user.id}/price/${price}"), "/users/7/price/100");
+        Assert.assertEquals(templateEngine.evaluate(context, "${token}-${true}-${'q\\'s'}"), "abc-true-q's");
+    }
+
+    @Test
+    public void testFunctionCall() {
+        var uuid = templateEngine.evaluate(context, "${uuid()}");
+        Assert.assertTrue(uuid instanceof String && ((String) uuid).length() >= 32);
+        var random = templateEngine.evaluate(context, "${random(100)}");
+        Assert.assertTrue(random instanceof Number);
+        var expression = FastExpression.compile("id-${random(10)}");
+        Assert.assertNotNull(expression);
+        Assert.assertTrue(((String) expression.evaluate(context)).startsWith("id-"));
+    }
+
+    @Test
+    public void testFallback() {
+        // 变量不存在时回退至 FreeMarker，行为与 FreeMarker 一致
+        Assert.assertSame(FastExpression.compile("${missing}").evaluate(context), FastExpression.FALLBACK);
+        Assert.assertEquals(templateEngine.evaluate(context, "${missing}"), "${missing}");
+        // 非 Map 对象的属性访问回退至 FreeMarker
+        Assert.assertSame(FastExpression.compile("${token.length}").evaluate(context), FastExpression.FALLBACK);
+        // 无法按 FreeMarker 规则格式化的值回退至 FreeMarker
+        Assert.assertSame(FastExpression.compile("user: ${user}").evaluate(context), FastExpression.FALLBACK);
+        Assert.assertEquals(new BigDecimal("1.50").stripTrailingZeros().toPlainString(), "1.5");
+    }
+}
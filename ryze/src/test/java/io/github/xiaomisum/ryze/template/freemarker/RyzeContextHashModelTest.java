@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.template.freemarker;
+
+import freemarker.template.Configuration;
+import freemarker.template.DefaultObjectWrapperBuilder;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * 基于上下文的 FreeMarker 数据模型测试
+ *
+ * @author xiaomi
+ */
+public class RyzeContextHashModelTest {
+
+    private ContextWrapper context;
+    private RyzeContextHashModel model;
+
+    @BeforeMethod
+    public void setUp() {
+        context = new ContextWrapper(SessionRunner.getSessionIfNoneCreateNew());
+        model = new RyzeContextHashModel(context, new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_32).build());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        SessionRunner.removeSession();
+    }
+
+    @Test
+    public void testLookupContextObjects() {
+        Assert.assertSame(model.lookup("ctx"), context);
+        Assert.assertSame(model.lookup("context"), context);
+        Assert.assertSame(model.lookup("vars"), context.getLocalVariablesWrapper());
+        Assert.assertNull(model.lookup("not_exists"));
+    }
+
+    @Test
+    public void testVariableShadowsFunction() throws Exception {
+        Assert.assertTrue(model.lookup("uuid") instanceof FreeMarkerFunctionAdapter);
+        context.getLocalVariablesWrapper().put("uuid", "fixed");
+        Assert.assertEquals(model.lookup("uuid"), "fixed");
+        Assert.assertEquals(model.get("uuid").toString(), "fixed");
+    }
+
+    @Test
+    public void testFunctionAdapterReusedWithinModel() {
+        var adapter = model.lookup("random");
+        Assert.assertSame(model.lookup("random"), adapter);
+        Assert.assertNotSame(new RyzeContextHashModel(context, null).lookup("random"), adapter);
+    }
+
+    @Test
+    public void testVariableShadowsContextObjects() {
+        context.getLocalVariablesWrapper().put("ctx", "variable");
+        Assert.assertEquals(model.lookup("ctx"), "variable");
+        Assert.assertSame(model.lookup("context"), context);
+    }
+
+    @Test
+    public void testRegisteredObjectTakesPrecedence() {
+        context.getLocalVariablesWrapper().put("name", "variable");
+        model.put("name", "registered");
+        Assert.assertEquals(model.lookup("name"), "registered");
+    }
+
+    @Test
+    public void testEngineEvaluateWithLazyModel() {
+        var engine = new FreeMarkerTemplateEngine();
+        context.getLocalVariablesWrapper().put("count", 3);
+        Assert.assertEquals(String.valueOf(engine.evaluate(context, "${count + 1}")), "4");
+        Assert.assertEquals(engine.evaluate(context, "n=${count?string}"), "n=3");
+        Assert.assertEquals(engine.evaluate(context, "<#if count gt 1>many</#if>"), "many");
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement;
+
+import io.github.xiaomisum.ryze.Configure;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.protocol.debug.config.DebugConfigureItem;
+import io.github.xiaomisum.ryze.protocol.debug.sampler.DebugSampler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * 编译模式（编译一次，执行多次）单元测试
+ *
+ * @author xiaomi
+ */
+public class CompiledTestElementTest {
+
+    private SessionRunner sessionRunner;
+
+    @BeforeMethod
+    public void setUp() {
+        SessionRunner.newSession(Configure.defaultConfigure(false));
+        sessionRunner = SessionRunner.getSession();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        SessionRunner.removeSession();
+    }
+
+    private TestSuite newSuite() {
+        var sampler = DebugSampler.builder()
+                .title("debug ${name}")
+                .config(DebugConfigureItem.builder().add("message", "hello ${name}").build())
+                .build();
+        return TestSuite.builder()
+                .title("compiled suite")
+                .variables("name", "ryze")
+                .children(List.of(sampler))
+                .build();
+    }
+
+    @Test
+    public void testCompileMarksWholeTree() {
+        var suite = newSuite().compile();
+        Assert.assertTrue(suite.isCompiled());
+        Assert.assertTrue(((DebugSampler) suite.getChildren().getFirst()).isCompiled());
+    }
+
+    @Test
+    public void testCompiledPlanIsNotMutatedByExecution() {
+        var suite = newSuite().compile();
+        for (int i = 0; i < 3; i++) {
+            var result = sessionRunner.runTest(suite);
+            Assert.assertTrue(result.getStatus().isPassed());
+            Assert.assertEquals(result.getChildren().size(), 1);
+            Assert.assertEquals(result.getChildren().getFirst().getTitle(), "debug ryze");
+        }
+        var sampler = (DebugSampler) suite.getChildren().getFirst();
+        Assert.assertNull(suite.getRuntime(), "执行计划不应持有运行时对象");
+        Assert.assertNull(sampler.getRuntime(), "执行计划不应持有运行时对象");
+        Assert.assertEquals(sampler.getConfig().get("message"), "hello ${name}", "执行计划中的模板不应被计算覆盖");
+    }
+}
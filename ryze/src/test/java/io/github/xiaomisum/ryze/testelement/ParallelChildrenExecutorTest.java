@@ -0,0 +1,183 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement;
+
+import io.github.xiaomisum.ryze.Configure;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.assertion.builtin.JSONAssertion;
+import io.github.xiaomisum.ryze.extractor.Extractor;
+import io.github.xiaomisum.ryze.extractor.builtin.JSONExtractor;
+import io.github.xiaomisum.ryze.testelement.processor.Postprocessor;
+import io.github.xiaomisum.ryze.testelement.processor.Preprocessor;
+import io.github.xiaomisum.ryze.protocol.debug.config.DebugConfigureItem;
+import io.github.xiaomisum.ryze.protocol.debug.processer.DebugPostprocessor;
+import io.github.xiaomisum.ryze.protocol.debug.processer.DebugPreprocessor;
+import io.github.xiaomisum.ryze.protocol.debug.sampler.DebugSampler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 子元件并行执行单元测试
+ *
+ * @author xiaomi
+ */
+public class ParallelChildrenExecutorTest {
+
+    @BeforeMethod
+    public void setUp() {
+        SessionRunner.newSession(Configure.defaultConfigure(false));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        SessionRunner.removeSession();
+    }
+
+    private static DebugSampler sampler(String title, String message, String refName) {
+        var builder = DebugSampler.builder()
+                .title(title)
+                .config(DebugConfigureItem.builder().add("message", message).build());
+        if (refName != null) {
+            builder.extractors(List.<Extractor>of(JSONExtractor.builder().field("$.message").refName(refName).build()));
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testDependencies() {
+        var children = List.of(
+                sampler("login", "token", "token"),
+                sampler("independent", "hello", null),
+                sampler("query", "${token}", null),
+                sampler("overwrite", "${name}", "token"));
+        var dependencies = ParallelChildrenExecutor.dependencies(children);
+        Assert.assertEquals(dependencies.get(0), new int[0]);
+        Assert.assertEquals(dependencies.get(1), new int[0]);
+        Assert.assertEquals(dependencies.get(2), new int[]{0});
+        // 写后写与读后写
+        Assert.assertEquals(dependencies.get(3), new int[]{0, 2});
+    }
+
+    @Test
+    public void testProcessorsAreBarriers() {
+        var preprocessed = DebugSampler.builder()
+                .title("prepare")
+                .config(DebugConfigureItem.builder().add("message", "hello").build())
+                .preprocessors(List.<Preprocessor>of(DebugPreprocessor.builder()
+                        .config(DebugConfigureItem.builder().add("message", "prepare").build()).build()))
+                .build();
+        var nested = TestSuite.builder()
+                .title("nested")
+                .children(List.<TestElement<?>>of(DebugSampler.builder()
+                        .title("cleanup")
+                        .config(DebugConfigureItem.builder().add("message", "bye").build())
+                        .postprocessors(List.<Postprocessor>of(DebugPostprocessor.builder()
+                                .config(DebugConfigureItem.builder().add("message", "cleanup").build()).build()))
+                        .build()))
+                .build();
+        List<TestElement<?>> children = List.of(
+                sampler("first", "hello", null),
+                preprocessed,
+                sampler("independent", "hello", null),
+                nested,
+                sampler("last", "hello", null));
+        var dependencies = ParallelChildrenExecutor.dependencies(children);
+        Assert.assertEquals(dependencies.get(0), new int[0]);
+        // 处理器的读写无法分析，携带处理器的子元件（包括嵌套在子容器中）与前后子元件均按顺序执行
+        Assert.assertEquals(dependencies.get(1), new int[]{0});
+        Assert.assertEquals(dependencies.get(2), new int[]{1});
+        Assert.assertEquals(dependencies.get(3), new int[]{0, 1, 2});
+        Assert.assertEquals(dependencies.get(4), new int[]{1, 3});
+    }
+
+    @Test
+    public void testParallelResultsInDeclaredOrder() {
+        List<TestElement<?>> children = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            children.add(sampler("step " + i + " ${name}", "message " + i, null));
+        }
+        var suite = TestSuite.builder()
+                .title("parallel suite")
+                .parallel(true)
+                .variables("name", "ryze")
+                .children(children)
+                .build();
+        var result = SessionRunner.getSession().runTest(suite);
+        Assert.assertTrue(result.getStatus().isPassed());
+        Assert.assertEquals(result.getChildren().size(), 10);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(result.getChildren().get(i).getTitle(), "step " + i + " ryze");
+        }
+    }
+
+    @Test
+    public void testPublishVariablesToDependents() {
+        List<TestElement<?>> children = List.of(
+                sampler("login", "abc", "token"),
+                sampler("query ${token}", "${token}", "echo"),
+                sampler("check ${echo}", "done", null));
+        var suite = TestSuite.builder()
+                .title("parallel suite")
+                .parallel(true)
+                .children(children)
+                .build();
+        var result = SessionRunner.getSession().runTest(suite);
+        Assert.assertTrue(result.getStatus().isPassed());
+        Assert.assertEquals(result.getChildren().size(), 3);
+        Assert.assertEquals(result.getChildren().get(1).getTitle(), "query abc");
+        Assert.assertEquals(result.getChildren().get(2).getTitle(), "check abc");
+    }
+
+    @Test
+    public void testFailFastSkipsDependents() {
+        var failed = DebugSampler.builder()
+                .title("login")
+                .config(DebugConfigureItem.builder().add("message", "abc").build())
+                .assertions(List.of(JSONAssertion.builder().field("$.message").expected("other").rule("==").build()))
+                .extractors(List.<Extractor>of(JSONExtractor.builder().field("$.message").refName("token").build()))
+                .build();
+        List<TestElement<?>> children = List.of(
+                failed,
+                sampler("query ${token}", "${token}", null),
+                sampler("independent", "hello", null));
+        var suite = TestSuite.builder()
+                .title("parallel suite")
+                .parallel(true)
+                .children(children)
+                .build();
+        var result = SessionRunner.getSession().runTest(suite);
+        Assert.assertFalse(result.getStatus().isPassed());
+        // 依赖失败取样器的子元件不再执行，无依赖的子元件照常执行
+        Assert.assertEquals(result.getChildren().size(), 2);
+        Assert.assertEquals(result.getChildren().get(0).getTitle(), "login");
+        Assert.assertEquals(result.getChildren().get(1).getTitle(), "independent");
+    }
+}
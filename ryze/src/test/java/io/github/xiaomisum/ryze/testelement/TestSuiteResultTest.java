@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement;
+
+import io.github.xiaomisum.ryze.Configure;
+import io.github.xiaomisum.ryze.ResultRetention;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.TestStatus;
+import io.github.xiaomisum.ryze.protocol.debug.config.DebugConfigureItem;
+import io.github.xiaomisum.ryze.protocol.debug.sampler.DebugSampler;
+import io.github.xiaomisum.ryze.testelement.load.ThreadGroup;
+import io.github.xiaomisum.ryze.testelement.load.ThreadGroupConfigureItem;
+import io.github.xiaomisum.ryze.testelement.sampler.DefaultSampleResult;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * 测试套件结果保留策略单元测试
+ *
+ * @author xiaomi
+ */
+public class TestSuiteResultTest {
+
+    private static TestSuiteResult fill(ResultRetention retention, int sampleInterval) {
+        var result = new TestSuiteResult("suite");
+        result.setRetention(retention, sampleInterval);
+        for (int i = 0; i < 100; i++) {
+            var child = new DefaultSampleResult("child " + i);
+            if (i % 25 == 0) {
+                child.setStatus(TestStatus.failed);
+            }
+            result.addChild(child);
+        }
+        return result;
+    }
+
+    @Test
+    public void testRetention() {
+        Assert.assertEquals(fill(ResultRetention.all, 1).getChildren().size(), 100);
+        Assert.assertEquals(fill(ResultRetention.failures, 1).getChildren().size(), 4);
+        // 4 个失败结果，96 个通过的结果每 10 个保留 1 个
+        Assert.assertEquals(fill(ResultRetention.sampled, 10).getChildren().size(), 4 + 10);
+        var aggregates = fill(ResultRetention.aggregates, 1);
+        Assert.assertTrue(aggregates.getChildren().isEmpty());
+        Assert.assertEquals(aggregates.getTotalCount(), 100);
+        Assert.assertEquals(aggregates.getFailedCount(), 4);
+    }
+
+    @Test
+    public void testReleasePassedBodies() {
+        var configure = Configure.defaultConfigure(false);
+        configure.setLoadResultRetention(ResultRetention.failures);
+        SessionRunner.newSession(configure);
+        try {
+            var sampler = DebugSampler.builder()
+                    .title("debug")
+                    .config(DebugConfigureItem.builder().add("message", "hello").build())
+                    .build();
+            var group = ThreadGroup.builder()
+                    .title("thread group")
+                    .config(ThreadGroupConfigureItem.builder().threads(2).iterations(10).build())
+                    .children(List.of(sampler))
+                    .build();
+            var result = SessionRunner.getSession().runTest(group);
+            Assert.assertTrue(result.getStatus().isPassed());
+            Assert.assertTrue(result.getChildren().isEmpty());
+            Assert.assertEquals(result.getTotalCount(), 20);
+            // 直接执行的取样器结果返回给调用方，保留请求/响应数据
+            var single = SessionRunner.getSession().runTest(sampler);
+            Assert.assertNotNull(single.getResponse());
+            // 加入测试套件结果的通过的取样结果释放请求/响应数据
+            var suite = new TestSuiteResult("suite");
+            suite.setRetention(ResultRetention.failures, 1);
+            suite.addChild(single);
+            Assert.assertNull(single.getResponse());
+        } finally {
+            SessionRunner.removeSession();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.configure.dataset;
+
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.context.ContextWrapper;
+import io.github.xiaomisum.ryze.context.GlobalContext;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * 数据集取数测试
+ *
+ * @author xiaomi
+ */
+public class DataFeedTest {
+
+    private static Path write(String suffix, String content) throws IOException {
+        var file = Files.createTempFile("ryze-data-set", suffix);
+        file.toFile().deleteOnExit();
+        return Files.writeString(file, content);
+    }
+
+    private static CsvDataSetConfigureItem config(Path file, ShareMode mode) {
+        return CsvDataSetConfigureItem.builder().file(file.toString()).shareMode(mode).build();
+    }
+
+    @Test
+    public void testMappedDataFileSkipsBlankLinesAndBom() throws IOException {
+        var file = new MappedDataFile(write(".csv", "\uFEFFa,b\r\n\r\n1,2\n  \n3,4"));
+        Assert.assertEquals(file.size(), 3);
+        Assert.assertEquals(file.line(0), "a,b");
+        Assert.assertEquals(file.line(1), "1,2");
+        Assert.assertEquals(file.line(2), "3,4");
+    }
+
+    @Test
+    public void testQuotedMultiLineFields() throws IOException {
+        var file = write(".csv", "id,note\r\n1,\"line1\r\n\r\nline2\"\r\n2,\"say \"\"hi\"\"\nnext\"\n3,a\"b\n");
+        var feed = new DataFeed(file, config(file, ShareMode.SEQUENTIAL));
+        Assert.assertEquals(feed.next(null), Map.of("id", "1", "note", "line1\r\n\r\nline2"));
+        Assert.assertEquals(feed.next(null), Map.of("id", "2", "note", "say \"hi\"\nnext"));
+        // 非字段开头的双引号是普通字符
+        Assert.assertEquals(feed.next(null), Map.of("id", "3", "note", "a\"b"));
+        Assert.assertThrows(RuntimeException.class, () -> feed.next(null));
+    }
+
+    @Test
+    public void testUnclosedQuoteRejected() throws IOException {
+        var file = write(".csv", "id,note\n1,ok\n2,\"open\n3,x\n");
+        var e = Assert.expectThrows(RuntimeException.class, () -> new DataFeed(file, config(file, ShareMode.SEQUENTIAL)));
+        Assert.assertTrue(e.getMessage().contains("第 3 行的引号未闭合"), e.getMessage());
+        // JSON Lines 不按引号划分行
+        var lines = new MappedDataFile(write(".jsonl", "{\"a\": \"\\\"\"}\n{\"a\": 1}\n"));
+        Assert.assertEquals(lines.size(), 2);
+    }
+
+    @Test
+    public void testParseCsv() {
+        Assert.assertEquals(DataFeed.parseCsv("a,\"b,c\",\"d\"\"e\",", ','), List.of("a", "b,c", "d\"e", ""));
+        Assert.assertEquals(DataFeed.parseCsv("a;b", ';'), List.of("a", "b"));
+    }
+
+    @Test
+    public void testSequentialWithHeader() throws IOException {
+        var file = write(".csv", "user,password\nu1,p1\nu2,p2\n");
+        var feed = new DataFeed(file, config(file, ShareMode.SEQUENTIAL));
+        Assert.assertEquals(feed.next(null), Map.of("user", "u1", "password", "p1"));
+        Assert.assertEquals(feed.next(null), Map.of("user", "u2", "password", "p2"));
+        Assert.assertThrows(RuntimeException.class, () -> feed.next(null));
+    }
+
+    @Test
+    public void testCircularWithVariableNames() throws IOException {
+        var file = write(".csv", "u1\nu2\n");
+        var config = CsvDataSetConfigureItem.builder().file(file.toString()).variableNames("user")
+                .shareMode(ShareMode.CIRCULAR).build();
+        var feed = new DataFeed(file, config);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(feed.next(null).get("user"), i % 2 == 0 ? "u1" : "u2");
+        }
+    }
+
+    @Test
+    public void testJsonLines() throws IOException {
+        var file = write(".jsonl", "{\"id\": 1, \"name\": \"a\"}\n{\"id\": 2, \"name\": \"b\"}\n");
+        var feed = new DataFeed(file, config(file, ShareMode.RANDOM));
+        var row = feed.next(null);
+        Assert.assertTrue(row.get("id").equals(1) || row.get("id").equals(2));
+    }
+
+    @Test
+    public void testUniquePerSession() throws IOException {
+        var file = write(".csv", "user\nu1\nu2\nu3\n");
+        var feed = new DataFeed(file, config(file, ShareMode.UNIQUE));
+        var root = new ContextWrapper(SessionRunner.getSessionIfNoneCreateNew());
+        var first = root.getSessionRunner().virtualUser(root.getContextChain());
+        var second = root.getSessionRunner().virtualUser(root.getContextChain());
+        Assert.assertEquals(feed.next(first), feed.next(first));
+        Assert.assertNotEquals(feed.next(first), feed.next(second));
+    }
+
+    @Test
+    public void testConcurrentSequentialRowsAreDistinct() throws IOException {
+        var content = new StringBuilder("id\n");
+        for (int i = 0; i < 10_000; i++) {
+            content.append(i).append('\n');
+        }
+        var file = write(".csv", content.toString());
+        var feed = new DataFeed(file, config(file, ShareMode.SEQUENTIAL));
+        var seen = ConcurrentHashMap.newKeySet();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 10_000; i++) {
+                executor.submit(() -> seen.add(feed.next(null).get("id")));
+            }
+        }
+        Assert.assertEquals(seen.size(), 10_000);
+    }
+
+    @Test
+    public void testSharedWithinGlobalContext() throws IOException {
+        var file = write(".csv", "user\nu1\nu2\n");
+        var global = new GlobalContext();
+        var feed = DataFeed.of(global, config(file, ShareMode.SEQUENTIAL));
+        Assert.assertSame(DataFeed.of(global, config(file, ShareMode.SEQUENTIAL)), feed);
+        Assert.assertNotSame(DataFeed.of(new GlobalContext(), config(file, ShareMode.SEQUENTIAL)), feed);
+        Assert.assertNotSame(DataFeed.of(global, config(file, ShareMode.CIRCULAR)), feed);
+        var users = new HashSet<>();
+        users.add(feed.next(null).get("user"));
+        users.add(DataFeed.of(global, config(file, ShareMode.SEQUENTIAL)).next(null).get("user"));
+        Assert.assertEquals(users.size(), 2);
+    }
+
+    @Test
+    public void testValidate() {
+        Assert.assertFalse(new CsvDataSetConfigureItem().validate().isValid());
+        var config = CsvDataSetConfigureItem.builder().file("a.csv").build();
+        config.setShareMode("unknown");
+        Assert.assertFalse(config.validate().isValid());
+        config.setShareMode("circular");
+        Assert.assertTrue(config.validate().isValid());
+        Assert.assertEquals(config.getShareMode(), ShareMode.CIRCULAR);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.load;
+
+import io.github.xiaomisum.ryze.Configure;
+import io.github.xiaomisum.ryze.ResultRetention;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.protocol.debug.config.DebugConfigureItem;
+import io.github.xiaomisum.ryze.protocol.debug.sampler.DebugSampler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 到达率调度器单元测试
+ *
+ * @author xiaomi
+ */
+public class ArrivalRateGroupTest {
+
+    @BeforeMethod
+    public void setUp() {
+        SessionRunner.newSession(Configure.defaultConfigure(false));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        SessionRunner.removeSession();
+    }
+
+    @Test
+    public void testConstantRateSchedule() {
+        var config = ArrivalRateConfigureItem.builder().rate(100).duration(1000).build();
+        Assert.assertEquals(config.scheduledOffset(0), 0);
+        Assert.assertEquals(config.scheduledOffset(1), TimeUnit.MILLISECONDS.toNanos(10));
+        Assert.assertEquals(config.scheduledOffset(99), TimeUnit.MILLISECONDS.toNanos(990));
+        Assert.assertEquals(config.scheduledOffset(100), -1);
+    }
+
+    @Test
+    public void testRampRateSchedule() {
+        // 1 秒内由 10 次/秒线性增长到 30 次/秒，共计 20 次
+        var config = ArrivalRateConfigureItem.builder().rate(10).targetRate(30).duration(1000).build();
+        Assert.assertEquals(config.scheduledOffset(0), 0);
+        Assert.assertTrue(config.scheduledOffset(19) > 0);
+        Assert.assertEquals(config.scheduledOffset(20), -1);
+        // 到达间隔随到达率增长而缩短
+        var first = config.scheduledOffset(1) - config.scheduledOffset(0);
+        var last = config.scheduledOffset(19) - config.scheduledOffset(18);
+        Assert.assertTrue(first > last);
+    }
+
+    @Test
+    public void testRun() {
+        SessionRunner.getSession().getConfigure().setLoadResultRetention(ResultRetention.all);
+        var sampler = DebugSampler.builder()
+                .title("debug ${name}")
+                .config(DebugConfigureItem.builder().add("message", "hello ${name}").build())
+                .build();
+        var group = ArrivalRateGroup.builder()
+                .title("arrival rate")
+                .variables("name", "ryze")
+                .config(ArrivalRateConfigureItem.builder().rate(200).duration(200).build())
+                .children(List.of(sampler))
+                .build();
+        var result = (ArrivalRateResult) SessionRunner.getSession().runTest(group);
+        Assert.assertTrue(result.getStatus().isPassed());
+        Assert.assertEquals(result.getScheduled(), 40);
+        Assert.assertEquals(result.getChildren().size(), result.getScheduled() - result.getDropped());
+        result.getChildren().forEach(child -> Assert.assertEquals(child.getTitle(), "debug ryze"));
+    }
+
+    @Test
+    public void testTemplatedConfigKeepsAggregatesByDefault() {
+        var sampler = DebugSampler.builder()
+                .title("debug")
+                .config(DebugConfigureItem.builder().add("message", "hello").build())
+                .build();
+        var group = ArrivalRateGroup.builder()
+                .title("arrival rate")
+                .variables("rps", 200)
+                .variables("period", "200")
+                .config(ArrivalRateConfigureItem.builder().rate("${rps}").duration("${period}").build())
+                .children(List.of(sampler))
+                .build();
+        var result = (ArrivalRateResult) SessionRunner.getSession().runTest(group);
+        Assert.assertTrue(result.getStatus().isPassed());
+        Assert.assertEquals(result.getScheduled(), 40);
+        // 压测容器默认只保留统计数据
+        Assert.assertTrue(result.getChildren().isEmpty());
+        Assert.assertEquals(result.getTotalCount(), result.getScheduled() - result.getDropped());
+    }
+
+    @Test
+    public void testValidate() {
+        var group = ArrivalRateGroup.builder().title("arrival rate").build();
+        Assert.assertFalse(group.validate().isValid());
+        var config = ArrivalRateConfigureItem.builder().rate(10).build();
+        Assert.assertFalse(config.validate().isValid());
+        Assert.assertTrue(ArrivalRateConfigureItem.builder().rate("${rps}").duration("1000").build().validate().isValid());
+        Assert.assertFalse(ArrivalRateConfigureItem.builder().rate("fast").duration(1000).build().validate().isValid());
+    }
+}
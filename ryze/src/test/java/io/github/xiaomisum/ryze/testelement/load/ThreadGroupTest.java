@@ -0,0 +1,132 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.load;
+
+import io.github.xiaomisum.ryze.Configure;
+import io.github.xiaomisum.ryze.ResultRetention;
+import io.github.xiaomisum.ryze.SessionRunner;
+import io.github.xiaomisum.ryze.protocol.debug.config.DebugConfigureItem;
+import io.github.xiaomisum.ryze.protocol.debug.sampler.DebugSampler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * 线程组单元测试
+ *
+ * @author xiaomi
+ */
+public class ThreadGroupTest {
+
+    @BeforeMethod
+    public void setUp() {
+        SessionRunner.newSession(Configure.defaultConfigure(false));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        SessionRunner.removeSession();
+    }
+
+    private static ThreadGroup.Builder threadGroup() {
+        var sampler = DebugSampler.builder()
+                .title("debug ${name}")
+                .config(DebugConfigureItem.builder().add("message", "hello ${name}").build())
+                .build();
+        return ThreadGroup.builder()
+                .title("thread group")
+                .variables("name", "ryze")
+                .children(List.of(sampler));
+    }
+
+    @Test
+    public void testIterations() {
+        var group = threadGroup()
+                .config(ThreadGroupConfigureItem.builder().threads(20).iterations(5).build())
+                .build();
+        var result = SessionRunner.getSession().runTest(group);
+        Assert.assertTrue(result.getStatus().isPassed());
+        // 压测容器默认只保留统计数据
+        Assert.assertTrue(result.getChildren().isEmpty());
+        Assert.assertEquals(result.getTotalCount(), 100);
+    }
+
+    @Test
+    public void testRetainAllResults() {
+        SessionRunner.getSession().getConfigure().setLoadResultRetention(ResultRetention.all);
+        var group = threadGroup()
+                .config(ThreadGroupConfigureItem.builder().threads(20).iterations(5).build())
+                .build();
+        var result = SessionRunner.getSession().runTest(group);
+        Assert.assertTrue(result.getStatus().isPassed());
+        Assert.assertEquals(result.getChildren().size(), 100);
+        result.getChildren().forEach(child -> Assert.assertEquals(child.getTitle(), "debug ryze"));
+    }
+
+    @Test
+    public void testDuration() {
+        var group = threadGroup()
+                .config(ThreadGroupConfigureItem.builder().threads(4).rampUp(50).duration(200).rampDown(50).build())
+                .build();
+        var start = System.currentTimeMillis();
+        var result = SessionRunner.getSession().runTest(group);
+        Assert.assertTrue(System.currentTimeMillis() - start >= 250);
+        Assert.assertTrue(result.getStatus().isPassed());
+        Assert.assertTrue(result.getTotalCount() > 0);
+    }
+
+    @Test
+    public void testTemplatedConfig() {
+        var group = threadGroup()
+                .variables("users", 3)
+                .variables("loops", "4")
+                .config(ThreadGroupConfigureItem.builder().threads("${users}").iterations("${loops}").build())
+                .build();
+        var result = SessionRunner.getSession().runTest(group);
+        Assert.assertTrue(result.getStatus().isPassed());
+        Assert.assertEquals(result.getTotalCount(), 12);
+    }
+
+    @Test
+    public void testValidateConfig() {
+        Assert.assertTrue(ThreadGroupConfigureItem.builder().threads("${users}").build().validate().isValid());
+        Assert.assertTrue(ThreadGroupConfigureItem.builder().threads("5").build().validate().isValid());
+        Assert.assertFalse(ThreadGroupConfigureItem.builder().threads("five").build().validate().isValid());
+        Assert.assertFalse(ThreadGroupConfigureItem.builder().threads(-1).build().validate().isValid());
+    }
+
+    @Test
+    public void testDefaultIterations() {
+        var config = new ThreadGroupConfigureItem();
+        Assert.assertEquals(config.getThreads(), 1);
+        Assert.assertEquals(config.getIterations(), 1);
+        config.setDuration(1000);
+        Assert.assertEquals(config.getIterations(), 0);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022.  Lorem XiaoMiSum (mi_xiao@qq.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * 'Software'), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS', WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package io.github.xiaomisum.ryze.testelement.sampler;
+
+import com.alibaba.fastjson2.JSONException;
+import io.github.xiaomisum.ryze.protocol.http.RealHTTPResponse;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 取样结果计时与响应解析缓存单元测试
+ *
+ * @author xiaomi
+ */
+public class SampleResultTest {
+
+    @Test
+    public void testMonotonicTiming() {
+        var result = new DefaultSampleResult("sample");
+        result.sampleStart();
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        result.sampleEnd();
+        Assert.assertTrue(result.getSampleNanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+        Assert.assertEquals(result.getSampleNanos(), result.getSampleEndNanos() - result.getSampleStartNanos());
+        // 墙钟时间按单调时间换算
+        var wall = Duration.between(result.getSampleStartTime(), result.getSampleEndTime()).toNanos();
+        Assert.assertTrue(Math.abs(wall - result.getSampleNanos()) < TimeUnit.MILLISECONDS.toNanos(1));
+        // 重复结束不覆盖结束时间
+        var end = result.getSampleEndNanos();
+        result.sampleEnd();
+        Assert.assertEquals(result.getSampleEndNanos(), end);
+    }
+
+    @Test
+    public void testWallClockFallback() {
+        var result = new DefaultSampleResult("sample");
+        var now = LocalDateTime.now();
+        result.setSampleStartTime(now);
+        result.setSampleEndTime(now.plusNanos(1500));
+        Assert.assertEquals(result.getSampleNanos(), 1500);
+    }
+
+    @Test
+    public void testPhases() {
+        var result = new DefaultSampleResult("sample");
+        Assert.assertTrue(result.getPhases().isEmpty());
+        result.sampleStart();
+        result.markPhase(SampleResult.PHASE_ACQUIRE);
+        result.markPhase(SampleResult.PHASE_EXECUTE);
+        result.addPhase(SampleResult.PHASE_EXECUTE, 100);
+        result.sampleEnd();
+        Assert.assertEquals(List.copyOf(result.getPhases().keySet()), List.of(SampleResult.PHASE_ACQUIRE, SampleResult.PHASE_EXECUTE));
+        var total = result.getPhases().values().stream().mapToLong(Long::longValue).sum();
+        Assert.assertTrue(total - 100 <= result.getSampleNanos());
+    }
+
+    @Test
+    public void testResponseParsedOnce() {
+        var reads = new AtomicInteger();
+        var response = new SampleResult.RealResponse() {
+            private final byte[] bytes = "{\"data\": {\"id\": 1}}".getBytes();
+
+            @Override
+            public byte[] bytes() {
+                reads.incrementAndGet();
+                return bytes;
+            }
+
+            @Override
+            public String format() {
+                return bytesAsString();
+            }
+        };
+        Assert.assertSame(response.bytesAsString(), response.bytesAsString());
+        Assert.assertSame(response.json(), response.json());
+        Assert.assertEquals(reads.get(), 1);
+    }
+
+    @Test
+    public void testResponseJsonBlankAndInvalid() {
+        Assert.assertNull(SampleResult.DefaultRealResponse.build(new byte[0]).json());
+        Assert.assertEquals(SampleResult.DefaultRealResponse.build(null).bytesAsString(), "");
+        var response = SampleResult.DefaultRealResponse.build("not json".getBytes());
+        Assert.assertThrows(JSONException.class, response::json);
+        Assert.assertThrows(JSONException.class, response::json);
+    }
+
+    @Test
+    public void testResponseBlankWithoutDecoding() {
+        Assert.assertTrue(SampleResult.DefaultRealResponse.build(null).isBlank());
+        Assert.assertTrue(SampleResult.DefaultRealResponse.build(" \r\n\t".getBytes()).isBlank());
+        var response = new SampleResult.RealResponse() {
+            @Override
+            public byte[] bytes() {
+                return "{\"code\":0}".getBytes();
+            }
+
+            @Override
+            public String bytesAsString() {
+                throw new AssertionError("response body should not be decoded");
+            }
+
+            @Override
+            public String format() {
+                return "";
+            }
+        };
+        Assert.assertFalse(response.isBlank());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testResponseJsonReadOnly() {
+        var response = SampleResult.DefaultRealResponse.build("{\"data\":{\"id\":1,\"tags\":[\"a\"]}}".getBytes());
+        var json = (Map<String, Object>) response.json();
+        var data = (Map<String, Object>) json.get("data");
+        Assert.assertThrows(UnsupportedOperationException.class, () -> json.put("code", 0));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> data.put("id", 2));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> ((List<Object>) data.get("tags")).add("b"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> json.entrySet().iterator().next().setValue(0));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> data.keySet().remove("id"));
+        Assert.assertThrows(UnsupportedOperationException.class, json::clear);
+        // 嵌套对象通过 entrySet 访问时同样只读
+        var nested = (Map<String, Object>) json.entrySet().iterator().next().getValue();
+        Assert.assertThrows(UnsupportedOperationException.class, () -> nested.remove("id"));
+        Assert.assertEquals(json, Map.of("data", Map.of("id", 1, "tags", List.of("a"))));
+        Assert.assertEquals(response.jsonPath("$.data.id"), 1);
+    }
+
+    @Test
+    public void testResponseHeaderMap() {
+        var response = new RealHTTPResponse(new byte[0], 200, "HTTP/1.1", "OK",
+                new BasicHeader("Set-Cookie", "a=1"), new BasicHeader("set-cookie", "b=2"), new BasicHeader("Content-Type", "text/plain"));
+        Assert.assertEquals(response.headerMap().get("SET-COOKIE"), List.of("a=1", "b=2"));
+        Assert.assertEquals(response.headerMap().get("content-type"), List.of("text/plain"));
+        Assert.assertSame(response.headerMap(), response.headerMap());
+        Assert.assertTrue(SampleResult.DefaultRealResponse.build().headerMap().isEmpty());
+    }
+
+    @Test
+    public void testResponseJsonPathCached() {
+        var response = SampleResult.DefaultRealResponse.build("{\"data\":{\"id\":1,\"name\":\"ryze\"}}".getBytes());
+        response.evaluateJsonPaths(List.of("$.data.id", "$.data.name", "$.data.id", "$.data.missing"));
+        Assert.assertEquals(response.jsonPath("$.data.id"), 1);
+        Assert.assertEquals(response.jsonPath("$.data.name"), "ryze");
+        Assert.assertNull(response.jsonPath("$.data.missing"));
+        Assert.assertEquals(response.jsonPath("$.data"), response.jsonPath("$.data"));
+        var invalid = SampleResult.DefaultRealResponse.build("not json".getBytes());
+        Assert.assertThrows(JSONException.class, () -> invalid.evaluateJsonPaths(List.of("$.a", "$.b")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testResponseJsonPathResultDetached() {
+        var response = SampleResult.DefaultRealResponse.build("{\"data\":{\"id\":1,\"tags\":[\"a\"]}}".getBytes());
+        var data = (Map<String, Object>) response.jsonPath("$.data");
+        Assert.assertNotSame(response.jsonPath("$.data"), data);
+        data.put("id", 2);
+        ((List<Object>) data.get("tags")).add("b");
+        Assert.assertEquals(response.jsonPath("$.data.id"), 1);
+        Assert.assertEquals(response.jsonPath("$.data.tags"), List.of("a"));
+    }
+
+    @Test
+    public void testResponseJsonPathBatchFallback() {
+        var response = SampleResult.DefaultRealResponse.build("{\"code\":0,\"name\":\"ryze\"}".getBytes());
+        // 不合法的表达式不影响其他表达式的合并求值结果
+        response.evaluateJsonPaths(List.of("$.code", "$.name", "$[?(@.code =="));
+        Assert.assertEquals(response.jsonPath("$.code"), 0);
+        Assert.assertEquals(response.jsonPath("$.name"), "ryze");
+        Assert.assertThrows(RuntimeException.class, () -> response.jsonPath("$[?(@.code =="));
+    }
+
+    @Test
+    public void testResponseJsonPathStreaming() {
+        var rows = "{\"id\":1,\"name\":\"ryze\"},".repeat(100_000);
+        var body = "{\"code\":0,\"data\":[" + rows + "{\"id\":2}],\"total\":100001}";
+        var response = SampleResult.DefaultRealResponse.build(body.getBytes());
+        Assert.assertEquals(response.jsonPath("$.code"), 0);
+        response.evaluateJsonPaths(List.of("$.code", "$.total"));
+        Assert.assertEquals(response.jsonPath("$.total"), 100001);
+        Assert.assertEquals(response.jsonPath("$.data[0].name"), "ryze");
+    }
+}